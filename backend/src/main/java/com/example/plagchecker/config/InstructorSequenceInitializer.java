@@ -0,0 +1,41 @@
+package com.example.plagchecker.config;
+
+import com.example.plagchecker.model.Instructor;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Instructor ids used to come from an identity column. A database created back
+// then gets a new instructor_seq starting at 1, below ids already taken, so on
+// startup the sequence is moved past the highest id when it is behind.
+@Component
+public class InstructorSequenceInitializer {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PostConstruct
+    public void catchUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            long maxId = ((Number) entityManager
+                    .createNativeQuery("SELECT COALESCE(MAX(id), 0) FROM instructors")
+                    .getSingleResult()).longValue();
+            long next = ((Number) entityManager
+                    .createNativeQuery("SELECT NEXT VALUE FOR instructor_seq")
+                    .getSingleResult()).longValue();
+            // Hibernate's pooled optimizer takes the ids up to each value it draws
+            // from the sequence, so the next draw hands out next + 1 onwards
+            if (next < maxId) {
+                entityManager.createNativeQuery("ALTER SEQUENCE instructor_seq RESTART WITH "
+                        + (maxId + Instructor.ID_ALLOCATION_SIZE)).executeUpdate();
+            }
+        });
+    }
+}
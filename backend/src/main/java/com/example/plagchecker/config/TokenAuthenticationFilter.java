@@ -0,0 +1,87 @@
+package com.example.plagchecker.config;
+
+import com.example.plagchecker.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.util.Optional;
+
+// Checks the session token on every API call, in memory: a valid one puts its
+// claims in the CLAIMS request attribute, an invalid or expired one is a 401.
+// Calls without a token pass unless plagchecker.auth.required is set, in which
+// case only signing up, logging in and /api/hello do without one.
+@Component
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String CLAIMS = "plagchecker.auth.claims";
+
+    private static final String BEARER = "Bearer ";
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${plagchecker.auth.required:false}")
+    private boolean required;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !path(request).startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = tokenOf(request);
+        if (token != null) {
+            Optional<TokenService.Claims> claims = tokenService.verify(token);
+            if (claims.isEmpty()) {
+                reject(response, "invalid_token");
+                return;
+            }
+            request.setAttribute(CLAIMS, claims.get());
+        } else if (required && !isPublic(request)) {
+            reject(response, null);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    // The instructor a call acts for: the one named by its token, else the one it asks for
+    public static Long instructorOf(TokenService.Claims claims, Long requested) {
+        return claims != null ? Long.valueOf(claims.instructorId()) : requested;
+    }
+
+    private static String tokenOf(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return header.substring(BEARER.length()).trim();
+        }
+        // EventSource cannot set headers, so event streams may carry the token in the URL
+        if (path(request).endsWith("/events")) {
+            return request.getParameter("token");
+        }
+        return null;
+    }
+
+    private static boolean isPublic(HttpServletRequest request) {
+        String path = path(request);
+        return path.equals("/api/hello")
+                || "POST".equals(request.getMethod())
+                        && (path.equals("/api/instructors") || path.equals("/api/instructors/login"));
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static void reject(HttpServletResponse response, String error) {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setHeader("WWW-Authenticate", error == null ? "Bearer" : "Bearer error=\"" + error + "\"");
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.plagchecker.controller;
+
+import com.example.plagchecker.dto.AlignmentResult;
+import com.example.plagchecker.service.AlignmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/alignments")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AlignmentController {
+
+    @Autowired
+    private AlignmentService alignmentService;
+
+    @GetMapping
+    public ResponseEntity<AlignmentResult> align(@RequestParam Long first, @RequestParam Long second) {
+        return alignmentService.align(first, second)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
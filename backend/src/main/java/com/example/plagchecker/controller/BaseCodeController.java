@@ -0,0 +1,60 @@
+package com.example.plagchecker.controller;
+
+import com.example.plagchecker.config.TokenAuthenticationFilter;
+import com.example.plagchecker.dto.BaseCodeRequest;
+import com.example.plagchecker.model.BaseCode;
+import com.example.plagchecker.service.BaseCodeService;
+import com.example.plagchecker.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/base-code")
+@CrossOrigin(origins = "http://localhost:3000")
+public class BaseCodeController {
+
+    @Autowired
+    private BaseCodeService baseCodeService;
+
+    // With a token, starter code can only be added to the token's own assignments
+    @PostMapping
+    public ResponseEntity<BaseCode> addBaseCode(
+            @RequestAttribute(name = TokenAuthenticationFilter.CLAIMS, required = false) TokenService.Claims claims,
+            @RequestBody BaseCodeRequest request) {
+        Long instructor = TokenAuthenticationFilter.instructorOf(claims, request.getInstructorId());
+        if (instructor == null || request.getAssignment() == null
+                || request.getFileName() == null || request.getContent() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return baseCodeService.addBaseCode(instructor, request.getAssignment(),
+                        request.getFileName(), request.getContent())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    public ResponseEntity<List<BaseCode>> getBaseCode(
+            @RequestAttribute(name = TokenAuthenticationFilter.CLAIMS, required = false) TokenService.Claims claims,
+            @RequestParam(required = false) Long instructorId, @RequestParam String assignment) {
+        Long instructor = TokenAuthenticationFilter.instructorOf(claims, instructorId);
+        if (instructor == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(baseCodeService.getBaseCode(instructor, assignment));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteBaseCode(
+            @RequestAttribute(name = TokenAuthenticationFilter.CLAIMS, required = false) TokenService.Claims claims,
+            @RequestParam(required = false) Long instructorId, @PathVariable Long id) {
+        Long instructor = TokenAuthenticationFilter.instructorOf(claims, instructorId);
+        if (instructor == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return baseCodeService.deleteBaseCode(instructor, id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.plagchecker.controller;
+
+import com.example.plagchecker.config.TokenAuthenticationFilter;
+import com.example.plagchecker.dto.AssignmentResults;
+import com.example.plagchecker.dto.CheckJobStatus;
+import com.example.plagchecker.dto.CheckRequest;
+import com.example.plagchecker.dto.PairCacheStats;
+import com.example.plagchecker.service.CheckJobService;
+import com.example.plagchecker.service.PlagiarismCheckService;
+import com.example.plagchecker.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/checks")
+@CrossOrigin(origins = "http://localhost:3000")
+public class CheckController {
+
+    @Autowired
+    private CheckJobService checkJobService;
+
+    @Autowired
+    private PlagiarismCheckService plagiarismCheckService;
+
+    @PostMapping
+    public ResponseEntity<CheckJobStatus> startCheck(
+            @RequestAttribute(name = TokenAuthenticationFilter.CLAIMS, required = false) TokenService.Claims claims,
+            @RequestBody CheckRequest request) {
+        request.setInstructorId(TokenAuthenticationFilter.instructorOf(claims, request.getInstructorId()));
+        try {
+            CheckJobStatus status = checkJobService.submit(request).toStatus();
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("Location", "/api/checks/" + status.getId())
+                    .body(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CheckJobStatus> getCheck(@PathVariable String id) {
+        return checkJobService.getJob(id)
+                .map(job -> ResponseEntity.ok(job.toStatus()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Pairs and progress of a check as Server-Sent Events while it runs (see CheckSubscription);
+    // pairs below minSimilarity are not streamed, on top of the check's own threshold
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCheck(@PathVariable String id,
+                                                  @RequestParam(defaultValue = "0") double minSimilarity) {
+        return checkJobService.subscribe(id, minSimilarity)
+                .map(subscription -> {
+                    // No timeout; the stream ends with the job or when the client goes away
+                    SseEmitter emitter = new SseEmitter(0L);
+                    emitter.onCompletion(subscription::cancel);
+                    emitter.onTimeout(subscription::cancel);
+                    emitter.onError(error -> subscription.cancel());
+                    checkJobService.stream(subscription,
+                            (event, data) -> emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON)),
+                            emitter::complete);
+                    return ResponseEntity.ok(emitter);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Latest result set of an assignment, kept current as submissions are added, replaced or removed
+    @GetMapping("/results")
+    public ResponseEntity<AssignmentResults> getResults(
+            @RequestAttribute(name = TokenAuthenticationFilter.CLAIMS, required = false) TokenService.Claims claims,
+            @RequestParam(required = false) Long instructorId, @RequestParam String assignment) {
+        Long instructor = TokenAuthenticationFilter.instructorOf(claims, instructorId);
+        if (instructor == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return plagiarismCheckService.getResults(instructor, assignment)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Hit/miss counters and size of the pair-score cache, for sizing plagchecker.check.pair-cache-bytes
+    @GetMapping("/cache")
+    public PairCacheStats getPairCacheStats() {
+        return plagiarismCheckService.getPairCacheStats();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.plagchecker.controller;
+
+import com.example.plagchecker.config.TokenAuthenticationFilter;
+import com.example.plagchecker.dto.CorpusMatches;
+import com.example.plagchecker.dto.CorpusStats;
+import com.example.plagchecker.service.CorpusService;
+import com.example.plagchecker.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/corpus")
+@CrossOrigin(origins = "http://localhost:3000")
+public class CorpusController {
+
+    @Autowired
+    private CorpusService corpusService;
+
+    @PostMapping
+    public ResponseEntity<CorpusStats> archiveAssignment(
+            @RequestAttribute(name = TokenAuthenticationFilter.CLAIMS, required = false) TokenService.Claims claims,
+            @RequestParam(required = false) Long instructorId, @RequestParam String assignment) {
+        Long instructor = TokenAuthenticationFilter.instructorOf(claims, instructorId);
+        if (instructor == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(corpusService.archiveAssignment(instructor, assignment));
+    }
+
+    @GetMapping
+    public ResponseEntity<CorpusStats> getStats() {
+        return ResponseEntity.ok(corpusService.getStats());
+    }
+
+    @GetMapping("/matches")
+    public ResponseEntity<CorpusMatches> findMatches(@RequestParam Long submissionId,
+                                                     @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return corpusService.findMatches(submissionId, limit)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,15 +1,33 @@
 package com.example.plagchecker.controller;
 
+import com.example.plagchecker.config.TokenAuthenticationFilter;
+import com.example.plagchecker.dto.ImportReport;
+import com.example.plagchecker.dto.InstructorCacheStats;
+import com.example.plagchecker.dto.InstructorPage;
 import com.example.plagchecker.dto.LoginRequest;
+import com.example.plagchecker.dto.LoginResponse;
 import com.example.plagchecker.model.Instructor;
 import com.example.plagchecker.service.InstructorService;
+import com.example.plagchecker.service.RosterImportService;
+import com.example.plagchecker.service.TokenService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import org.springframework.http.HttpStatus;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/instructors")
@@ -18,23 +36,83 @@ public class InstructorController {
     
     @Autowired
     private InstructorService instructorService;
+
+    @Autowired
+    private RosterImportService rosterImportService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
     
+    // Answered once the password pool has hashed the password; 503 when that pool is full
     @PostMapping
-    public ResponseEntity<Instructor> createInstructor(@RequestBody Instructor instructor) {
+    public CompletableFuture<ResponseEntity<Instructor>> createInstructor(@RequestBody Instructor instructor) {
+        return instructorService.createInstructorAsync(instructor)
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(failure -> poolSaturated(failure)
+                        ? serviceUnavailable()
+                        : ResponseEntity.badRequest().build());
+    }
+    
+    // Bulk account creation from a CSV roster, read as the body arrives; bad rows are reported, not fatal
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReport> importCsv(InputStream body) throws IOException {
         try {
-            Instructor createdInstructor = instructorService.createInstructor(instructor);
-            return ResponseEntity.ok(createdInstructor);
-        } catch (Exception e) {
+            return ResponseEntity.ok(rosterImportService.importCsv(body));
+        } catch (IllegalArgumentException e) {
+            // No header, or a required column missing from it
             return ResponseEntity.badRequest().build();
         }
     }
-    
+
+    // The same from a JSON array of accounts, or newline-delimited JSON
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportReport> importJson(InputStream body) throws IOException {
+        return ResponseEntity.ok(rosterImportService.importJson(body));
+    }
+
     @GetMapping
     public ResponseEntity<List<Instructor>> getAllInstructors() {
         List<Instructor> instructors = instructorService.getAllInstructors();
         return ResponseEntity.ok(instructors);
     }
     
+    // Keyset pagination: ?after= the last id seen (0 for the first page), up to limit instructors
+    @GetMapping("/page")
+    public ResponseEntity<InstructorPage> getInstructorPage(@RequestParam(defaultValue = "0") long after,
+                                                            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(instructorService.getInstructorPage(after, limit));
+    }
+
+    // All instructors as newline-delimited JSON, written row by row as the database returns them
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamInstructors() {
+        StreamingResponseBody body = out -> {
+            ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            try {
+                instructorService.forEachInstructor(instructor -> {
+                    try {
+                        writer.writeValue(out, instructor);
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Client went away; the cursor is already closed
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<InstructorCacheStats> getCacheStats() {
+        return ResponseEntity.ok(instructorService.getCacheStats());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Instructor> getInstructorById(@PathVariable Long id) {
         Optional<Instructor> instructor = instructorService.getInstructorById(id);
@@ -42,23 +120,73 @@ public class InstructorController {
                         .orElse(ResponseEntity.notFound().build());
     }
     
+    // Answered asynchronously once the password pool has checked the hash; 503 when that pool is full
     @PostMapping("/login")
-    public ResponseEntity<Instructor> login(@RequestBody LoginRequest request) {
-        return instructorService.authenticate(request.getUsername(), request.getPassword())
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@RequestBody LoginRequest request) {
+        return instructorService.authenticateAsync(request.getUsername(), request.getPassword())
+                .thenApply(authenticated -> authenticated
+                        .map(instructor -> {
+                            TokenService.IssuedToken issued = tokenService.issue(instructor);
+                            return new LoginResponse(instructor, issued.token(), issued.expiresAt());
+                        })
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build()))
+                .exceptionally(InstructorController::serviceUnavailableIfSaturated);
+    }
+
+    // Who the session token belongs to, read from the token alone
+    @GetMapping("/me")
+    public ResponseEntity<TokenService.Claims> me(
+            @RequestAttribute(name = TokenAuthenticationFilter.CLAIMS, required = false) TokenService.Claims claims) {
+        return claims == null
+                ? ResponseEntity.status(HttpStatus.UNAUTHORIZED).build()
+                : ResponseEntity.ok(claims);
+    }
+
+    // Changes the token holder's password and ends all their sessions, this one included;
+    // answered once the password pool has checked and rehashed, 503 when that pool is full
+    @PutMapping("/me/password")
+    public CompletableFuture<ResponseEntity<String>> updateOwnPassword(
+            @RequestAttribute(name = TokenAuthenticationFilter.CLAIMS, required = false) TokenService.Claims claims,
+            @RequestBody Map<String, String> passwords) {
+        if (claims == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        return passwordUpdated(instructorService.updatePasswordAsync(claims.instructorId(),
+                passwords.get("oldPassword"), passwords.get("newPassword")));
     }
 
     @PutMapping("/password/{username}")
-    public ResponseEntity<String> updatePassword(@PathVariable String username, @RequestBody Map<String, String> passwords) {
+    public CompletableFuture<ResponseEntity<String>> updatePassword(@PathVariable String username,
+                                                                    @RequestBody Map<String, String> passwords) {
         String oldPassword = passwords.get("oldPassword");
         String newPassword = passwords.get("newPassword");
         
-        boolean updated = instructorService.updatePassword(username, oldPassword, newPassword);
-        if (updated) {
-            return ResponseEntity.ok("Password updated successfully");
-        } else {
-            return ResponseEntity.badRequest().body("Invalid old password");
+        return passwordUpdated(instructorService.updatePasswordAsync(username, oldPassword, newPassword));
+    }
+
+    private static CompletableFuture<ResponseEntity<String>> passwordUpdated(CompletableFuture<Boolean> updated) {
+        return updated
+                .thenApply(done -> done
+                        ? ResponseEntity.ok("Password updated successfully")
+                        : ResponseEntity.badRequest().body("Invalid old password"))
+                .exceptionally(InstructorController::serviceUnavailableIfSaturated);
+    }
+
+    // Rejected by the password pool: 503 with a retry hint; any other failure is rethrown
+    private static <T> ResponseEntity<T> serviceUnavailableIfSaturated(Throwable failure) {
+        if (poolSaturated(failure)) {
+            return serviceUnavailable();
         }
+        throw failure instanceof CompletionException completion ? completion : new CompletionException(failure);
+    }
+
+    private static boolean poolSaturated(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+        return cause instanceof RejectedExecutionException;
+    }
+
+    private static <T> ResponseEntity<T> serviceUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.example.plagchecker.controller;
+
+import com.example.plagchecker.config.TokenAuthenticationFilter;
+import com.example.plagchecker.dto.IndexMemoryStats;
+import com.example.plagchecker.dto.IndexStats;
+import com.example.plagchecker.dto.IngestReport;
+import com.example.plagchecker.dto.OverlapCandidate;
+import com.example.plagchecker.dto.SubmissionRequest;
+import com.example.plagchecker.model.Submission;
+import com.example.plagchecker.service.ArchiveIngestService;
+import com.example.plagchecker.service.SubmissionService;
+import com.example.plagchecker.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/submissions")
+@CrossOrigin(origins = "http://localhost:3000")
+public class SubmissionController {
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Autowired
+    private ArchiveIngestService archiveIngestService;
+
+    @PostMapping
+    public ResponseEntity<Submission> createSubmission(
+            @RequestAttribute(name = TokenAuthenticationFilter.CLAIMS, required = false) TokenService.Claims claims,
+            @RequestBody SubmissionRequest request) {
+        if (claims == null && request.getInstructorId() == null || request.getAssignment() == null
+                || request.getStudentName() == null || request.getFileName() == null || request.getContent() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        // A session token names the instructor, who is then known to exist
+        if (claims != null) {
+            return ResponseEntity.ok(submissionService.createSubmissionAs(claims.instructorId(),
+                    request.getAssignment(), request.getStudentName(), request.getFileName(), request.getContent()));
+        }
+        return submissionService.createSubmission(request.getInstructorId(), request.getAssignment(),
+                        request.getStudentName(), request.getFileName(), request.getContent())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Raw ZIP request body, read straight off the socket
+    @PostMapping(value = "/archive", consumes = {"application/zip", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<IngestReport> uploadArchive(@RequestParam Long instructorId, @RequestParam String assignment,
+                                                      InputStream body) throws IOException {
+        return archiveIngestService.ingest(body, instructorId, assignment)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Multipart form upload; the container spools the part to disk, never to heap
+    @PostMapping(value = "/archive", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<IngestReport> uploadArchiveForm(@RequestParam Long instructorId, @RequestParam String assignment,
+                                                          @RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream body = file.getInputStream()) {
+            return archiveIngestService.ingest(body, instructorId, assignment)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Submission> replaceSubmission(@PathVariable Long id, @RequestBody SubmissionRequest request) {
+        if (request.getContent() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return submissionService.replaceContent(id, request.getContent())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSubmission(@PathVariable Long id) {
+        return submissionService.deleteSubmission(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Submission> getSubmissionById(@PathVariable Long id) {
+        Optional<Submission> submission = submissionService.getSubmissionById(id);
+        return submission.map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Submission>> getSubmissionsByAssignment(
+            @RequestAttribute(name = TokenAuthenticationFilter.CLAIMS, required = false) TokenService.Claims claims,
+            @RequestParam(required = false) Long instructorId, @RequestParam String assignment) {
+        Long instructor = TokenAuthenticationFilter.instructorOf(claims, instructorId);
+        if (instructor == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(submissionService.getSubmissionsByAssignment(instructor, assignment));
+    }
+
+    @GetMapping("/{id}/duplicates")
+    public ResponseEntity<List<Submission>> getExactDuplicates(@PathVariable Long id) {
+        return submissionService.findExactDuplicates(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/overlaps")
+    public ResponseEntity<List<OverlapCandidate>> getOverlappingSubmissions(@PathVariable Long id) {
+        return submissionService.findOverlapping(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/index")
+    public ResponseEntity<IndexStats> getIndexStats(
+            @RequestAttribute(name = TokenAuthenticationFilter.CLAIMS, required = false) TokenService.Claims claims,
+            @RequestParam(required = false) Long instructorId, @RequestParam String assignment) {
+        Long instructor = TokenAuthenticationFilter.instructorOf(claims, instructorId);
+        if (instructor == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(submissionService.getIndexStats(instructor, assignment));
+    }
+
+    @GetMapping("/index/memory")
+    public ResponseEntity<IndexMemoryStats> getIndexMemoryStats() {
+        return ResponseEntity.ok(submissionService.getIndexMemoryStats());
+    }
+}
\ No newline at end of file
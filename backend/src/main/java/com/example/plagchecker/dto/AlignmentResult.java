@@ -0,0 +1,33 @@
+package com.example.plagchecker.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AlignmentResult {
+    private Long firstSubmissionId;
+    private Long secondSubmissionId;
+    // Share of both token streams covered by tiles: 2 * matched / (first + second)
+    private double similarity;
+    private List<MatchRegion> matches = new ArrayList<>();
+
+    public AlignmentResult() {}
+
+    public AlignmentResult(Long firstSubmissionId, Long secondSubmissionId, double similarity, List<MatchRegion> matches) {
+        this.firstSubmissionId = firstSubmissionId;
+        this.secondSubmissionId = secondSubmissionId;
+        this.similarity = similarity;
+        this.matches = matches;
+    }
+
+    public Long getFirstSubmissionId() { return firstSubmissionId; }
+    public void setFirstSubmissionId(Long firstSubmissionId) { this.firstSubmissionId = firstSubmissionId; }
+
+    public Long getSecondSubmissionId() { return secondSubmissionId; }
+    public void setSecondSubmissionId(Long secondSubmissionId) { this.secondSubmissionId = secondSubmissionId; }
+
+    public double getSimilarity() { return similarity; }
+    public void setSimilarity(double similarity) { this.similarity = similarity; }
+
+    public List<MatchRegion> getMatches() { return matches; }
+    public void setMatches(List<MatchRegion> matches) { this.matches = matches; }
+}
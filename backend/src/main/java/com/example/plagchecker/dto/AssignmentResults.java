@@ -0,0 +1,43 @@
+package com.example.plagchecker.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AssignmentResults {
+    private String assignment;
+    private double threshold;
+    private int topK;
+    private LocalDateTime fullCheckAt;
+    private LocalDateTime updatedAt;
+    private int incrementalUpdates;
+    private List<PairResult> pairs = new ArrayList<>();
+
+    public AssignmentResults() {}
+
+    public AssignmentResults(String assignment, double threshold) {
+        this.assignment = assignment;
+        this.threshold = threshold;
+    }
+
+    public String getAssignment() { return assignment; }
+    public void setAssignment(String assignment) { this.assignment = assignment; }
+
+    public double getThreshold() { return threshold; }
+    public void setThreshold(double threshold) { this.threshold = threshold; }
+
+    public int getTopK() { return topK; }
+    public void setTopK(int topK) { this.topK = topK; }
+
+    public LocalDateTime getFullCheckAt() { return fullCheckAt; }
+    public void setFullCheckAt(LocalDateTime fullCheckAt) { this.fullCheckAt = fullCheckAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public int getIncrementalUpdates() { return incrementalUpdates; }
+    public void setIncrementalUpdates(int incrementalUpdates) { this.incrementalUpdates = incrementalUpdates; }
+
+    public List<PairResult> getPairs() { return pairs; }
+    public void setPairs(List<PairResult> pairs) { this.pairs = pairs; }
+}
@@ -0,0 +1,22 @@
+package com.example.plagchecker.dto;
+
+public class BaseCodeRequest {
+    private Long instructorId;
+    private String assignment;
+    private String fileName;
+    private String content;
+
+    public BaseCodeRequest() {}
+
+    public Long getInstructorId() { return instructorId; }
+    public void setInstructorId(Long instructorId) { this.instructorId = instructorId; }
+
+    public String getAssignment() { return assignment; }
+    public void setAssignment(String assignment) { this.assignment = assignment; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+}
@@ -0,0 +1,55 @@
+package com.example.plagchecker.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CheckJobStatus {
+    private String id;
+    private String state;
+    private double progress;
+    private long completedUnits;
+    private long totalUnits;
+    private long elapsedMillis;
+    private Long etaMillis;
+    private String error;
+    // Pairs found so far while the check is running; replaced by result once it completes
+    private List<PairResult> partialPairs = new ArrayList<>();
+    private CheckResult result;
+
+    public CheckJobStatus() {}
+
+    public CheckJobStatus(String id, String state) {
+        this.id = id;
+        this.state = state;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public double getProgress() { return progress; }
+    public void setProgress(double progress) { this.progress = progress; }
+
+    public long getCompletedUnits() { return completedUnits; }
+    public void setCompletedUnits(long completedUnits) { this.completedUnits = completedUnits; }
+
+    public long getTotalUnits() { return totalUnits; }
+    public void setTotalUnits(long totalUnits) { this.totalUnits = totalUnits; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public Long getEtaMillis() { return etaMillis; }
+    public void setEtaMillis(Long etaMillis) { this.etaMillis = etaMillis; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public List<PairResult> getPartialPairs() { return partialPairs; }
+    public void setPartialPairs(List<PairResult> partialPairs) { this.partialPairs = partialPairs; }
+
+    public CheckResult getResult() { return result; }
+    public void setResult(CheckResult result) { this.result = result; }
+}
@@ -0,0 +1,10 @@
+package com.example.plagchecker.dto;
+
+public enum CheckMode {
+    // Candidates from the inverted fingerprint index; every overlapping pair is scored
+    INDEX,
+    // Candidates from MinHash signatures banded with LSH; only likely-similar pairs are scored
+    MINHASH_LSH,
+    // Every pair scored exactly, spread over a fork/join pool
+    ALL_PAIRS
+}
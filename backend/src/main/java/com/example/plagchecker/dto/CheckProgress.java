@@ -0,0 +1,41 @@
+package com.example.plagchecker.dto;
+
+// Progress tick of a streamed check
+public class CheckProgress {
+    private String state;
+    private double progress;
+    private long completedUnits;
+    private long totalUnits;
+    private Long etaMillis;
+    // Pairs found but not streamed because this subscriber's buffer was full; the final result still has them
+    private long droppedPairs;
+
+    public CheckProgress() {}
+
+    public CheckProgress(CheckJobStatus status, long droppedPairs) {
+        this.state = status.getState();
+        this.progress = status.getProgress();
+        this.completedUnits = status.getCompletedUnits();
+        this.totalUnits = status.getTotalUnits();
+        this.etaMillis = status.getEtaMillis();
+        this.droppedPairs = droppedPairs;
+    }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public double getProgress() { return progress; }
+    public void setProgress(double progress) { this.progress = progress; }
+
+    public long getCompletedUnits() { return completedUnits; }
+    public void setCompletedUnits(long completedUnits) { this.completedUnits = completedUnits; }
+
+    public long getTotalUnits() { return totalUnits; }
+    public void setTotalUnits(long totalUnits) { this.totalUnits = totalUnits; }
+
+    public Long getEtaMillis() { return etaMillis; }
+    public void setEtaMillis(Long etaMillis) { this.etaMillis = etaMillis; }
+
+    public long getDroppedPairs() { return droppedPairs; }
+    public void setDroppedPairs(long droppedPairs) { this.droppedPairs = droppedPairs; }
+}
@@ -0,0 +1,55 @@
+package com.example.plagchecker.dto;
+
+public class CheckRequest {
+    // Set from the session token when there is one
+    private Long instructorId;
+    private String assignment;
+    private CheckMode mode = CheckMode.INDEX;
+    private double threshold = 0.5;
+    private int bands = 32;
+    private int rows = 4;
+    private boolean measureRecall;
+    // Worker threads for ALL_PAIRS; 0 means the server-wide cap
+    private int parallelism;
+    // Pairs kept: the topK most similar overall plus each submission's perSubmissionTopK closest matches
+    private int topK = 500;
+    private int perSubmissionTopK = 3;
+
+    public CheckRequest() {}
+
+    public CheckRequest(Long instructorId, String assignment, CheckMode mode) {
+        this.instructorId = instructorId;
+        this.assignment = assignment;
+        this.mode = mode;
+    }
+
+    public Long getInstructorId() { return instructorId; }
+    public void setInstructorId(Long instructorId) { this.instructorId = instructorId; }
+
+    public String getAssignment() { return assignment; }
+    public void setAssignment(String assignment) { this.assignment = assignment; }
+
+    public CheckMode getMode() { return mode; }
+    public void setMode(CheckMode mode) { this.mode = mode; }
+
+    public double getThreshold() { return threshold; }
+    public void setThreshold(double threshold) { this.threshold = threshold; }
+
+    public int getBands() { return bands; }
+    public void setBands(int bands) { this.bands = bands; }
+
+    public int getRows() { return rows; }
+    public void setRows(int rows) { this.rows = rows; }
+
+    public boolean isMeasureRecall() { return measureRecall; }
+    public void setMeasureRecall(boolean measureRecall) { this.measureRecall = measureRecall; }
+
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+
+    public int getTopK() { return topK; }
+    public void setTopK(int topK) { this.topK = topK; }
+
+    public int getPerSubmissionTopK() { return perSubmissionTopK; }
+    public void setPerSubmissionTopK(int perSubmissionTopK) { this.perSubmissionTopK = perSubmissionTopK; }
+}
@@ -0,0 +1,65 @@
+package com.example.plagchecker.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CheckResult {
+    private String assignment;
+    private CheckMode mode;
+    private int submissions;
+    private long candidatePairs;
+    private long comparedPairs;
+    private long elapsedMillis;
+    private int parallelism = 1;
+    private double pairsPerSecond;
+    // Fraction of exact-mode pairs above the threshold that this run also found; null unless requested
+    private Double recall;
+    // Pairs at or above the threshold, of which only the ranked top-K selection is returned
+    private long matchedPairs;
+    // Starter-code and common fingerprints left out of the comparison
+    private int suppressedFingerprints;
+    private List<PairResult> pairs = new ArrayList<>();
+
+    public CheckResult() {}
+
+    public CheckResult(String assignment, CheckMode mode) {
+        this.assignment = assignment;
+        this.mode = mode;
+    }
+
+    public String getAssignment() { return assignment; }
+    public void setAssignment(String assignment) { this.assignment = assignment; }
+
+    public CheckMode getMode() { return mode; }
+    public void setMode(CheckMode mode) { this.mode = mode; }
+
+    public int getSubmissions() { return submissions; }
+    public void setSubmissions(int submissions) { this.submissions = submissions; }
+
+    public long getCandidatePairs() { return candidatePairs; }
+    public void setCandidatePairs(long candidatePairs) { this.candidatePairs = candidatePairs; }
+
+    public long getComparedPairs() { return comparedPairs; }
+    public void setComparedPairs(long comparedPairs) { this.comparedPairs = comparedPairs; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+
+    public double getPairsPerSecond() { return pairsPerSecond; }
+    public void setPairsPerSecond(double pairsPerSecond) { this.pairsPerSecond = pairsPerSecond; }
+
+    public Double getRecall() { return recall; }
+    public void setRecall(Double recall) { this.recall = recall; }
+
+    public int getSuppressedFingerprints() { return suppressedFingerprints; }
+    public void setSuppressedFingerprints(int suppressedFingerprints) { this.suppressedFingerprints = suppressedFingerprints; }
+
+    public long getMatchedPairs() { return matchedPairs; }
+    public void setMatchedPairs(long matchedPairs) { this.matchedPairs = matchedPairs; }
+
+    public List<PairResult> getPairs() { return pairs; }
+    public void setPairs(List<PairResult> pairs) { this.pairs = pairs; }
+}
@@ -0,0 +1,32 @@
+package com.example.plagchecker.dto;
+
+import java.util.List;
+
+// Corpus matches of one submission, with how much work the segment Bloom filters saved
+public class CorpusMatches {
+    private List<OverlapCandidate> matches;
+    private long lookups;
+    private long skippedLookups;
+    private long falsePositives;
+
+    public CorpusMatches() {}
+
+    public CorpusMatches(List<OverlapCandidate> matches, long lookups, long skippedLookups, long falsePositives) {
+        this.matches = matches;
+        this.lookups = lookups;
+        this.skippedLookups = skippedLookups;
+        this.falsePositives = falsePositives;
+    }
+
+    public List<OverlapCandidate> getMatches() { return matches; }
+    public void setMatches(List<OverlapCandidate> matches) { this.matches = matches; }
+
+    public long getLookups() { return lookups; }
+    public void setLookups(long lookups) { this.lookups = lookups; }
+
+    public long getSkippedLookups() { return skippedLookups; }
+    public void setSkippedLookups(long skippedLookups) { this.skippedLookups = skippedLookups; }
+
+    public long getFalsePositives() { return falsePositives; }
+    public void setFalsePositives(long falsePositives) { this.falsePositives = falsePositives; }
+}
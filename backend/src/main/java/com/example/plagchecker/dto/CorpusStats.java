@@ -0,0 +1,46 @@
+package com.example.plagchecker.dto;
+
+public class CorpusStats {
+    private int segments;
+    private long documents;
+    private long postings;
+    private long bytesOnDisk;
+    private int pendingDocuments;
+    private long merges;
+    private String lastMergeError;
+    private long lookups;
+    private long skippedLookups;
+    private long falsePositives;
+
+    public CorpusStats() {}
+
+    public int getSegments() { return segments; }
+    public void setSegments(int segments) { this.segments = segments; }
+
+    public long getDocuments() { return documents; }
+    public void setDocuments(long documents) { this.documents = documents; }
+
+    public long getPostings() { return postings; }
+    public void setPostings(long postings) { this.postings = postings; }
+
+    public long getBytesOnDisk() { return bytesOnDisk; }
+    public void setBytesOnDisk(long bytesOnDisk) { this.bytesOnDisk = bytesOnDisk; }
+
+    public int getPendingDocuments() { return pendingDocuments; }
+    public void setPendingDocuments(int pendingDocuments) { this.pendingDocuments = pendingDocuments; }
+
+    public long getMerges() { return merges; }
+    public void setMerges(long merges) { this.merges = merges; }
+
+    public String getLastMergeError() { return lastMergeError; }
+    public void setLastMergeError(String lastMergeError) { this.lastMergeError = lastMergeError; }
+
+    public long getLookups() { return lookups; }
+    public void setLookups(long lookups) { this.lookups = lookups; }
+
+    public long getSkippedLookups() { return skippedLookups; }
+    public void setSkippedLookups(long skippedLookups) { this.skippedLookups = skippedLookups; }
+
+    public long getFalsePositives() { return falsePositives; }
+    public void setFalsePositives(long falsePositives) { this.falsePositives = falsePositives; }
+}
@@ -0,0 +1,25 @@
+package com.example.plagchecker.dto;
+
+// One roster row that was not imported; row is the CSV line or the JSON element, from 1
+public class ImportError {
+    private long row;
+    private String username;
+    private String message;
+
+    public ImportError() {}
+
+    public ImportError(long row, String username, String message) {
+        this.row = row;
+        this.username = username;
+        this.message = message;
+    }
+
+    public long getRow() { return row; }
+    public void setRow(long row) { this.row = row; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
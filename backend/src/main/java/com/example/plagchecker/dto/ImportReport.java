@@ -0,0 +1,38 @@
+package com.example.plagchecker.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+    private long rows;
+    private long created;
+    private long rejected;
+    private int batches;
+    private long elapsedMillis;
+    // The first rejected rows only; rejected counts them all
+    private List<ImportError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    public ImportReport() {}
+
+    public long getRows() { return rows; }
+    public void setRows(long rows) { this.rows = rows; }
+
+    public long getCreated() { return created; }
+    public void setCreated(long created) { this.created = created; }
+
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+
+    public int getBatches() { return batches; }
+    public void setBatches(int batches) { this.batches = batches; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public List<ImportError> getErrors() { return errors; }
+    public void setErrors(List<ImportError> errors) { this.errors = errors; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+}
@@ -0,0 +1,32 @@
+package com.example.plagchecker.dto;
+
+public class IndexMemoryStats {
+    private boolean offHeap;
+    private int assignments;
+    private long indexBytes;
+    private long offHeapBytes;
+    private long heapUsedBytes;
+    private long gcCount;
+    private long gcPauseMillis;
+
+    public boolean isOffHeap() { return offHeap; }
+    public void setOffHeap(boolean offHeap) { this.offHeap = offHeap; }
+
+    public int getAssignments() { return assignments; }
+    public void setAssignments(int assignments) { this.assignments = assignments; }
+
+    public long getIndexBytes() { return indexBytes; }
+    public void setIndexBytes(long indexBytes) { this.indexBytes = indexBytes; }
+
+    public long getOffHeapBytes() { return offHeapBytes; }
+    public void setOffHeapBytes(long offHeapBytes) { this.offHeapBytes = offHeapBytes; }
+
+    public long getHeapUsedBytes() { return heapUsedBytes; }
+    public void setHeapUsedBytes(long heapUsedBytes) { this.heapUsedBytes = heapUsedBytes; }
+
+    public long getGcCount() { return gcCount; }
+    public void setGcCount(long gcCount) { this.gcCount = gcCount; }
+
+    public long getGcPauseMillis() { return gcPauseMillis; }
+    public void setGcPauseMillis(long gcPauseMillis) { this.gcPauseMillis = gcPauseMillis; }
+}
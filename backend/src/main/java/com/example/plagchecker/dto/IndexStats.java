@@ -0,0 +1,42 @@
+package com.example.plagchecker.dto;
+
+public class IndexStats {
+    private String assignment;
+    private int documents;
+    private int distinctFingerprints;
+    private int postings;
+    private long memoryBytes;
+    private long offHeapBytes;
+    private int suppressedFingerprints;
+
+    public IndexStats() {}
+
+    public IndexStats(String assignment, int documents, int distinctFingerprints, int postings, long memoryBytes) {
+        this.assignment = assignment;
+        this.documents = documents;
+        this.distinctFingerprints = distinctFingerprints;
+        this.postings = postings;
+        this.memoryBytes = memoryBytes;
+    }
+
+    public String getAssignment() { return assignment; }
+    public void setAssignment(String assignment) { this.assignment = assignment; }
+
+    public int getDocuments() { return documents; }
+    public void setDocuments(int documents) { this.documents = documents; }
+
+    public int getDistinctFingerprints() { return distinctFingerprints; }
+    public void setDistinctFingerprints(int distinctFingerprints) { this.distinctFingerprints = distinctFingerprints; }
+
+    public int getPostings() { return postings; }
+    public void setPostings(int postings) { this.postings = postings; }
+
+    public long getMemoryBytes() { return memoryBytes; }
+    public void setMemoryBytes(long memoryBytes) { this.memoryBytes = memoryBytes; }
+
+    public long getOffHeapBytes() { return offHeapBytes; }
+    public void setOffHeapBytes(long offHeapBytes) { this.offHeapBytes = offHeapBytes; }
+
+    public int getSuppressedFingerprints() { return suppressedFingerprints; }
+    public void setSuppressedFingerprints(int suppressedFingerprints) { this.suppressedFingerprints = suppressedFingerprints; }
+}
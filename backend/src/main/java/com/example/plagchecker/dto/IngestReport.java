@@ -0,0 +1,46 @@
+package com.example.plagchecker.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IngestReport {
+    private String assignment;
+    private int entries;
+    private int sourceFiles;
+    private int submissionsCreated;
+    private int skippedByExtension;
+    private int skippedBySize;
+    private long bytesRead;
+    // Students with files left out because they were over plagchecker.ingest.max-student-bytes
+    private List<String> truncatedStudents = new ArrayList<>();
+
+    public IngestReport() {}
+
+    public IngestReport(String assignment) {
+        this.assignment = assignment;
+    }
+
+    public String getAssignment() { return assignment; }
+    public void setAssignment(String assignment) { this.assignment = assignment; }
+
+    public int getEntries() { return entries; }
+    public void setEntries(int entries) { this.entries = entries; }
+
+    public int getSourceFiles() { return sourceFiles; }
+    public void setSourceFiles(int sourceFiles) { this.sourceFiles = sourceFiles; }
+
+    public int getSubmissionsCreated() { return submissionsCreated; }
+    public void setSubmissionsCreated(int submissionsCreated) { this.submissionsCreated = submissionsCreated; }
+
+    public int getSkippedByExtension() { return skippedByExtension; }
+    public void setSkippedByExtension(int skippedByExtension) { this.skippedByExtension = skippedByExtension; }
+
+    public int getSkippedBySize() { return skippedBySize; }
+    public void setSkippedBySize(int skippedBySize) { this.skippedBySize = skippedBySize; }
+
+    public long getBytesRead() { return bytesRead; }
+    public void setBytesRead(long bytesRead) { this.bytesRead = bytesRead; }
+
+    public List<String> getTruncatedStudents() { return truncatedStudents; }
+    public void setTruncatedStudents(List<String> truncatedStudents) { this.truncatedStudents = truncatedStudents; }
+}
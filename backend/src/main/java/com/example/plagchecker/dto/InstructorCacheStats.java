@@ -0,0 +1,30 @@
+package com.example.plagchecker.dto;
+
+public class InstructorCacheStats {
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+    private long entries;
+    private long maximumEntries;
+
+    public InstructorCacheStats() {}
+
+    public long getHits() { return hits; }
+    public void setHits(long hits) { this.hits = hits; }
+
+    public long getMisses() { return misses; }
+    public void setMisses(long misses) { this.misses = misses; }
+
+    public double getHitRate() { return hitRate; }
+    public void setHitRate(double hitRate) { this.hitRate = hitRate; }
+
+    public long getEvictions() { return evictions; }
+    public void setEvictions(long evictions) { this.evictions = evictions; }
+
+    public long getEntries() { return entries; }
+    public void setEntries(long entries) { this.entries = entries; }
+
+    public long getMaximumEntries() { return maximumEntries; }
+    public void setMaximumEntries(long maximumEntries) { this.maximumEntries = maximumEntries; }
+}
@@ -0,0 +1,30 @@
+package com.example.plagchecker.dto;
+
+// One account of a roster import
+public class InstructorImportRow {
+    private String username;
+    private String password;
+    private String firstName;
+    private String lastName;
+
+    public InstructorImportRow() {}
+
+    public InstructorImportRow(String username, String password, String firstName, String lastName) {
+        this.username = username;
+        this.password = password;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+}
@@ -0,0 +1,24 @@
+package com.example.plagchecker.dto;
+
+import com.example.plagchecker.model.Instructor;
+import java.util.List;
+
+// One keyset page of instructors in id order; pass nextCursor as `after` for the next page
+public class InstructorPage {
+    private List<Instructor> items;
+    // Null once there are no more instructors
+    private Long nextCursor;
+
+    public InstructorPage() {}
+
+    public InstructorPage(List<Instructor> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Instructor> getItems() { return items; }
+    public void setItems(List<Instructor> items) { this.items = items; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,42 @@
+package com.example.plagchecker.dto;
+
+import com.example.plagchecker.model.Instructor;
+
+// The instructor's public fields, as login returned before, plus a session token
+public class LoginResponse {
+    private Long id;
+    private String username;
+    private String firstName;
+    private String lastName;
+    private String token;
+    private long expiresAt;
+
+    public LoginResponse() {}
+
+    public LoginResponse(Instructor instructor, String token, long expiresAt) {
+        this.id = instructor.getId();
+        this.username = instructor.getUsername();
+        this.firstName = instructor.getFirstName();
+        this.lastName = instructor.getLastName();
+        this.token = token;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+
+    public long getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(long expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,35 @@
+package com.example.plagchecker.dto;
+
+// One matched tile: token length plus the character range it covers in each submission (end exclusive)
+public class MatchRegion {
+    private int tokens;
+    private int firstStart;
+    private int firstEnd;
+    private int secondStart;
+    private int secondEnd;
+
+    public MatchRegion() {}
+
+    public MatchRegion(int tokens, int firstStart, int firstEnd, int secondStart, int secondEnd) {
+        this.tokens = tokens;
+        this.firstStart = firstStart;
+        this.firstEnd = firstEnd;
+        this.secondStart = secondStart;
+        this.secondEnd = secondEnd;
+    }
+
+    public int getTokens() { return tokens; }
+    public void setTokens(int tokens) { this.tokens = tokens; }
+
+    public int getFirstStart() { return firstStart; }
+    public void setFirstStart(int firstStart) { this.firstStart = firstStart; }
+
+    public int getFirstEnd() { return firstEnd; }
+    public void setFirstEnd(int firstEnd) { this.firstEnd = firstEnd; }
+
+    public int getSecondStart() { return secondStart; }
+    public void setSecondStart(int secondStart) { this.secondStart = secondStart; }
+
+    public int getSecondEnd() { return secondEnd; }
+    public void setSecondEnd(int secondEnd) { this.secondEnd = secondEnd; }
+}
@@ -0,0 +1,24 @@
+package com.example.plagchecker.dto;
+
+public class OverlapCandidate {
+    private Long submissionId;
+    private int sharedFingerprints;
+    private double similarity;
+
+    public OverlapCandidate() {}
+
+    public OverlapCandidate(Long submissionId, int sharedFingerprints, double similarity) {
+        this.submissionId = submissionId;
+        this.sharedFingerprints = sharedFingerprints;
+        this.similarity = similarity;
+    }
+
+    public Long getSubmissionId() { return submissionId; }
+    public void setSubmissionId(Long submissionId) { this.submissionId = submissionId; }
+
+    public int getSharedFingerprints() { return sharedFingerprints; }
+    public void setSharedFingerprints(int sharedFingerprints) { this.sharedFingerprints = sharedFingerprints; }
+
+    public double getSimilarity() { return similarity; }
+    public void setSimilarity(double similarity) { this.similarity = similarity; }
+}
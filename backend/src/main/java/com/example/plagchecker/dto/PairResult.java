@@ -0,0 +1,24 @@
+package com.example.plagchecker.dto;
+
+public class PairResult {
+    private Long firstSubmissionId;
+    private Long secondSubmissionId;
+    private double similarity;
+
+    public PairResult() {}
+
+    public PairResult(Long firstSubmissionId, Long secondSubmissionId, double similarity) {
+        this.firstSubmissionId = firstSubmissionId;
+        this.secondSubmissionId = secondSubmissionId;
+        this.similarity = similarity;
+    }
+
+    public Long getFirstSubmissionId() { return firstSubmissionId; }
+    public void setFirstSubmissionId(Long firstSubmissionId) { this.firstSubmissionId = firstSubmissionId; }
+
+    public Long getSecondSubmissionId() { return secondSubmissionId; }
+    public void setSecondSubmissionId(Long secondSubmissionId) { this.secondSubmissionId = secondSubmissionId; }
+
+    public double getSimilarity() { return similarity; }
+    public void setSimilarity(double similarity) { this.similarity = similarity; }
+}
@@ -0,0 +1,26 @@
+package com.example.plagchecker.dto;
+
+public class SubmissionRequest {
+    private Long instructorId;
+    private String assignment;
+    private String studentName;
+    private String fileName;
+    private String content;
+
+    public SubmissionRequest() {}
+
+    public Long getInstructorId() { return instructorId; }
+    public void setInstructorId(Long instructorId) { this.instructorId = instructorId; }
+
+    public String getAssignment() { return assignment; }
+    public void setAssignment(String assignment) { this.assignment = assignment; }
+
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+}
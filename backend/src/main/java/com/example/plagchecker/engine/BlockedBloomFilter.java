@@ -0,0 +1,88 @@
+package com.example.plagchecker.engine;
+
+import java.nio.LongBuffer;
+
+// Bloom filter split into 512-bit blocks, one cache line each: a key picks a
+// block and sets or tests all of its bits inside it, so a probe costs one
+// cache miss (or one page touch when the bits live in a mapped file) instead
+// of k. The false-positive rate is slightly above a plain Bloom filter's for
+// the same size, which the sizing below does not try to compensate for.
+//
+// The bits are held in a LongBuffer, either on the heap or a view of a
+// segment file.
+public class BlockedBloomFilter {
+
+    public static final int BLOCK_LONGS = 8;
+    private static final int BLOCK_BITS = BLOCK_LONGS * Long.SIZE;
+
+    private final LongBuffer bits;
+    private final int blocks;
+    private final int hashes;
+
+    public BlockedBloomFilter(LongBuffer bits, int hashes) {
+        if (bits.capacity() % BLOCK_LONGS != 0 || bits.capacity() == 0 || hashes < 1) {
+            throw new IllegalArgumentException("Invalid filter: " + bits.capacity() + " longs, " + hashes + " hashes");
+        }
+        this.bits = bits;
+        this.blocks = bits.capacity() / BLOCK_LONGS;
+        this.hashes = hashes;
+    }
+
+    // Blocks needed for the given number of keys at the target false-positive rate
+    public static int blocksFor(long keys, double falsePositiveRate) {
+        long totalBits = (long) Math.ceil(keys * bitsPerKey(falsePositiveRate));
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE / BLOCK_LONGS, (totalBits + BLOCK_BITS - 1) / BLOCK_BITS));
+    }
+
+    public static int hashesFor(double falsePositiveRate) {
+        return (int) Math.max(1, Math.min(16, Math.round(bitsPerKey(falsePositiveRate) * Math.log(2))));
+    }
+
+    private static double bitsPerKey(double falsePositiveRate) {
+        return -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+    }
+
+    public void add(long key) {
+        long h = mix(key);
+        int base = block(h);
+        int h1 = (int) h;
+        int h2 = (int) (mix(h) >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            int index = base + (bit >>> 6);
+            bits.put(index, bits.get(index) | (1L << bit));
+        }
+    }
+
+    public boolean mightContain(long key) {
+        long h = mix(key);
+        int base = block(h);
+        int h1 = (int) h;
+        int h2 = (int) (mix(h) >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            if ((bits.get(base + (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int blocks() { return blocks; }
+
+    public int hashes() { return hashes; }
+
+    private int block(long h) {
+        return (int) (((h >>> 32) * blocks) >>> 32) * BLOCK_LONGS;
+    }
+
+    // Finaliser of MurmurHash3; winnowed hashes are not uniform enough in their low bits
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.plagchecker.engine;
+
+import java.util.List;
+
+// C11; preprocessor lines are tokenised like code
+public class CLexer extends DfaLexer {
+
+    private static final String[] KEYWORDS = {
+            "auto", "break", "case", "char", "const", "continue", "default", "do", "double", "else",
+            "enum", "extern", "float", "for", "goto", "if", "inline", "int", "long", "register",
+            "restrict", "return", "short", "signed", "sizeof", "static", "struct", "switch", "typedef", "union",
+            "unsigned", "void", "volatile", "while", "_Alignas", "_Alignof", "_Atomic", "_Bool", "_Complex",
+            "_Generic", "_Imaginary", "_Noreturn", "_Static_assert", "_Thread_local"};
+
+    private static final String[] OPERATORS = {
+            "(", ")", "{", "}", "[", "]", ";", ",", ".", "...", "->", "#", "##",
+            "=", ">", "<", "!", "~", "?", ":", "==", ">=", "<=", "!=", "&&", "||", "++", "--",
+            "+", "-", "*", "/", "&", "|", "^", "%", "<<", ">>",
+            "+=", "-=", "*=", "/=", "&=", "|=", "^=", "%=", "<<=", ">>="};
+
+    public CLexer() {
+        super(new Builder()
+                .whitespace()
+                .identifiers("", KEYWORDS)
+                .operators(OPERATORS)
+                .numbers()
+                .lineComment("//")
+                .blockComment("/*", "*/")
+                .quoted('"', STRING, false, false)
+                .quoted('\'', CHARACTER, false, false));
+    }
+
+    @Override
+    public String language() { return "c"; }
+
+    @Override
+    public List<String> extensions() { return List.of(".c", ".h"); }
+}
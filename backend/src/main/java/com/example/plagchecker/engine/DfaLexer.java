@@ -0,0 +1,263 @@
+package com.example.plagchecker.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Lexer driven by a transition table: one row per DFA state, one column per
+// ASCII character plus one shared by every character above 127. Tokenising
+// follows the table from the start state for the longest match, backing up to
+// the last accepting state when it runs into a dead end (">>>" is an operator,
+// ".." is not), appends that token's code and starts over. Nothing is
+// allocated per token.
+//
+// A state accepts with a token code, with SKIP (whitespace, comments) or not
+// at all. Subclasses describe their language with a Builder.
+public abstract class DfaLexer implements Lexer {
+
+    // Codes shared by all languages; keywords and operators are numbered after these, per language
+    public static final int IDENTIFIER = 1;
+    public static final int NUMBER = 2;
+    public static final int STRING = 3;
+    public static final int CHARACTER = 4;
+    static final int KEYWORD_BASE = 256;
+    static final int OPERATOR_BASE = 512;
+    // A character no token starts with is kept as a token of its own
+    static final int UNKNOWN_BASE = 1024;
+
+    protected static final int REJECT = -1;
+    protected static final int SKIP = 0;
+
+    private static final int COLUMNS = 129;
+    private static final int NON_ASCII = 128;
+
+    private final int[] transitions;
+    private final int[] accepts;
+
+    protected DfaLexer(Builder builder) {
+        this.transitions = builder.table();
+        this.accepts = builder.accepts();
+    }
+
+    @Override
+    public void tokenize(CharSequence text, TokenStream out) {
+        out.clear();
+        int[] transitions = this.transitions;
+        int[] accepts = this.accepts;
+        int length = text.length();
+        int position = 0;
+        while (position < length) {
+            int state = Builder.START;
+            int accepted = REJECT;
+            int end = position;
+            for (int i = position; i < length; ) {
+                char c = text.charAt(i);
+                state = transitions[state * COLUMNS + (c < NON_ASCII ? c : NON_ASCII)];
+                if (state < 0) {
+                    break;
+                }
+                i++;
+                if (accepts[state] != REJECT) {
+                    accepted = accepts[state];
+                    end = i;
+                }
+            }
+            if (accepted == REJECT) {
+                out.add(UNKNOWN_BASE + text.charAt(position), position);
+                position++;
+            } else {
+                if (accepted != SKIP) {
+                    out.add(accepted, position, end);
+                }
+                position = end;
+            }
+        }
+    }
+
+    // Builds the table state by state. The helpers cover the usual token
+    // shapes; on/any/except remain for anything they do not.
+    protected static final class Builder {
+        public static final int START = 0;
+        private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ_";
+        private static final String DIGITS = "0123456789";
+
+        private final List<int[]> rows = new ArrayList<>();
+        private int[] accepts = new int[64];
+
+        public Builder() {
+            state(REJECT);
+        }
+
+        public int state(int accept) {
+            int[] row = new int[COLUMNS];
+            Arrays.fill(row, -1);
+            rows.add(row);
+            if (rows.size() > accepts.length) {
+                accepts = Arrays.copyOf(accepts, accepts.length * 2);
+            }
+            accepts[rows.size() - 1] = accept;
+            return rows.size() - 1;
+        }
+
+        public void accept(int state, int accept) {
+            accepts[state] = accept;
+        }
+
+        public Builder on(int from, String chars, int to) {
+            for (int i = 0; i < chars.length(); i++) {
+                rows.get(from)[column(chars.charAt(i))] = to;
+            }
+            return this;
+        }
+
+        public Builder nonAscii(int from, int to) {
+            rows.get(from)[NON_ASCII] = to;
+            return this;
+        }
+
+        public Builder any(int from, int to) {
+            Arrays.fill(rows.get(from), to);
+            return this;
+        }
+
+        public Builder except(int from, String chars) {
+            return on(from, chars, -1);
+        }
+
+        // The state reached from START by the given characters, adding non-accepting states where missing
+        public int pathTo(String chars) {
+            int state = START;
+            for (int i = 0; i < chars.length(); i++) {
+                int[] row = rows.get(state);
+                int column = column(chars.charAt(i));
+                if (row[column] < 0) {
+                    row[column] = state(REJECT);
+                }
+                state = row[column];
+            }
+            return state;
+        }
+
+        public Builder whitespace() {
+            int blank = state(SKIP);
+            String blanks = " \t\r\n\f\u000b";
+            on(START, blanks, blank);
+            on(blank, blanks, blank);
+            return this;
+        }
+
+        // Identifiers are letters, digits, '_', the extra characters and anything
+        // non-ASCII, not starting with a digit. Keywords are spelled out as a trie
+        // inside the identifier state, so "form" is an identifier and "for" is not.
+        public Builder identifiers(String extraChars, String... keywords) {
+            int identifier = state(IDENTIFIER);
+            on(START, LETTERS + extraChars, identifier).nonAscii(START, identifier);
+            on(identifier, LETTERS + DIGITS + extraChars, identifier).nonAscii(identifier, identifier);
+            for (int k = 0; k < keywords.length; k++) {
+                int state = START;
+                for (int i = 0; i < keywords[k].length(); i++) {
+                    int column = column(keywords[k].charAt(i));
+                    int next = rows.get(state)[column];
+                    if (next == identifier) {
+                        next = state(IDENTIFIER);
+                        System.arraycopy(rows.get(identifier), 0, rows.get(next), 0, COLUMNS);
+                        rows.get(state)[column] = next;
+                    }
+                    state = next;
+                }
+                accept(state, KEYWORD_BASE + k);
+            }
+            return this;
+        }
+
+        // Operators and punctuation, longest match first; codes follow the argument order
+        public Builder operators(String... operators) {
+            for (int i = 0; i < operators.length; i++) {
+                accept(pathTo(operators[i]), OPERATOR_BASE + i);
+            }
+            return this;
+        }
+
+        // Decimal, hex, octal and binary literals with suffixes, separators and
+        // exponents, as one loose pattern; also ".5" once "." is an operator.
+        public Builder numbers() {
+            String part = LETTERS + DIGITS + ".";
+            int number = state(NUMBER);
+            int exponent = state(NUMBER);
+            on(START, DIGITS, number);
+            on(pathTo("."), DIGITS, number);
+            on(number, part, number).on(number, "eE", exponent);
+            on(exponent, part, number).on(exponent, "eE", exponent).on(exponent, "+-", number);
+            return this;
+        }
+
+        public Builder lineComment(String opener) {
+            int comment = pathTo(opener);
+            accept(comment, SKIP);
+            any(comment, comment).except(comment, "\n");
+            return this;
+        }
+
+        // A comment from opener to a two-character closer such as "*/", not nested
+        public Builder blockComment(String opener, String closer) {
+            int body = pathTo(opener);
+            int closing = state(SKIP);
+            int closed = state(SKIP);
+            accept(body, SKIP);
+            any(body, body).on(body, closer.substring(0, 1), closing);
+            any(closing, body).on(closing, closer.substring(0, 1), closing).on(closing, closer.substring(1, 2), closed);
+            return this;
+        }
+
+        // A literal between two quote characters, with backslash escapes. Unless
+        // multiline it ends at a line break; with triple, three quotes open a
+        // literal that only three quotes close (Python strings, Java text blocks).
+        // An unterminated literal runs to where it breaks off.
+        public Builder quoted(char quote, int code, boolean multiline, boolean triple) {
+            String quotes = String.valueOf(quote);
+            int opened = pathTo(quotes);
+            int body = state(code);
+            int escape = state(code);
+            int closed = state(code);
+            accept(opened, code);
+            for (int state : new int[]{opened, body}) {
+                any(state, body).on(state, "\\", escape).on(state, quotes, closed);
+                if (!multiline) {
+                    except(state, "\n");
+                }
+            }
+            any(escape, body);
+            if (triple) {
+                // "" is an empty literal unless a third quote follows
+                int empty = state(code);
+                int block = state(code);
+                int blockEscape = state(code);
+                int oneQuote = state(code);
+                int twoQuotes = state(code);
+                int blockClosed = state(code);
+                on(opened, quotes, empty).on(empty, quotes, block);
+                any(blockEscape, block);
+                any(block, block).on(block, "\\", blockEscape).on(block, quotes, oneQuote);
+                any(oneQuote, block).on(oneQuote, "\\", blockEscape).on(oneQuote, quotes, twoQuotes);
+                any(twoQuotes, block).on(twoQuotes, "\\", blockEscape).on(twoQuotes, quotes, blockClosed);
+            }
+            return this;
+        }
+
+        private static int column(char c) {
+            return c < NON_ASCII ? c : NON_ASCII;
+        }
+
+        int[] table() {
+            int[] table = new int[rows.size() * COLUMNS];
+            for (int state = 0; state < rows.size(); state++) {
+                System.arraycopy(rows.get(state), 0, table, state * COLUMNS, COLUMNS);
+            }
+            return table;
+        }
+
+        int[] accepts() {
+            return Arrays.copyOf(accepts, rows.size());
+        }
+    }
+}
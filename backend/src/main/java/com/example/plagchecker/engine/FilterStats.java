@@ -0,0 +1,25 @@
+package com.example.plagchecker.engine;
+
+// Counters of one query against Bloom-filtered segments. Not thread-safe;
+// each query fills its own.
+public class FilterStats {
+
+    // Hashes looked up, one per hash per segment
+    long lookups;
+    // Lookups the filter answered without touching the key table
+    long skipped;
+    // Lookups the filter let through for keys the segment does not have
+    long falsePositives;
+
+    public void add(FilterStats other) {
+        lookups += other.lookups;
+        skipped += other.skipped;
+        falsePositives += other.falsePositives;
+    }
+
+    public long getLookups() { return lookups; }
+
+    public long getSkipped() { return skipped; }
+
+    public long getFalsePositives() { return falsePositives; }
+}
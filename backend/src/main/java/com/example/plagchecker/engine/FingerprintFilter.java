@@ -0,0 +1,137 @@
+package com.example.plagchecker.engine;
+
+import java.util.Arrays;
+
+// Immutable set of fingerprint hashes to leave out of comparisons: those of
+// an assignment's starter code and those too common among its submissions.
+// An open-addressing table of longs at most half full, 0 marking an empty
+// slot (a 0 hash is kept in a flag of its own).
+public final class FingerprintFilter {
+
+    public static final FingerprintFilter EMPTY = new FingerprintFilter(new long[2], false, 0, 0);
+
+    private final long[] table;
+    private final boolean containsZero;
+    private final int size;
+    // Order-independent hash of the members, for cache keys
+    private final long digest;
+
+    private FingerprintFilter(long[] table, boolean containsZero, int size, long digest) {
+        this.table = table;
+        this.containsZero = containsZero;
+        this.size = size;
+        this.digest = digest;
+    }
+
+    public static FingerprintFilter of(long[] hashes) {
+        return EMPTY.union(hashes);
+    }
+
+    // This set plus the given hashes, which may repeat
+    public FingerprintFilter union(long[] hashes) {
+        if (hashes.length == 0) {
+            return this;
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, (size + hashes.length) * 2) - 1) << 1;
+        long[] newTable = new long[capacity];
+        boolean newContainsZero = containsZero;
+        int newSize = containsZero ? 1 : 0;
+        long newDigest = containsZero ? mix(0) : 0;
+        for (long hash : table) {
+            if (hash != 0) {
+                insert(newTable, hash);
+                newSize++;
+                newDigest += mix(hash);
+            }
+        }
+        for (long hash : hashes) {
+            if (hash == 0) {
+                if (!newContainsZero) {
+                    newContainsZero = true;
+                    newSize++;
+                    newDigest += mix(0);
+                }
+            } else if (insert(newTable, hash)) {
+                newSize++;
+                newDigest += mix(hash);
+            }
+        }
+        return new FingerprintFilter(newTable, newContainsZero, newSize, newDigest);
+    }
+
+    public boolean contains(long hash) {
+        if (hash == 0) {
+            return containsZero;
+        }
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            if (table[slot] == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The hashes not in this set, in their order; the array itself when none are
+    public long[] strip(long[] hashes) {
+        if (size == 0) {
+            return hashes;
+        }
+        long[] kept = new long[hashes.length];
+        int count = 0;
+        for (long hash : hashes) {
+            if (!contains(hash)) {
+                kept[count++] = hash;
+            }
+        }
+        return count == hashes.length ? hashes : Arrays.copyOf(kept, count);
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public long digest() { return digest; }
+
+    public long[] toArray() {
+        long[] hashes = new long[size];
+        int count = 0;
+        if (containsZero) {
+            hashes[count++] = 0;
+        }
+        for (long hash : table) {
+            if (hash != 0) {
+                hashes[count++] = hash;
+            }
+        }
+        return hashes;
+    }
+
+    // Bytes held by the table
+    public long memoryFootprint() {
+        return 16L + (long) table.length * Long.BYTES;
+    }
+
+    private static boolean insert(long[] table, long hash) {
+        int mask = table.length - 1;
+        int slot = spread(hash) & mask;
+        while (table[slot] != 0) {
+            if (table[slot] == hash) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = hash;
+        return true;
+    }
+
+    private static int spread(long hash) {
+        long h = hash * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static long mix(long hash) {
+        long h = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.plagchecker.engine;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Winnowed fingerprints of one document: selected k-gram hashes and the token
+// position each one was taken from, in document order.
+public class Fingerprints {
+    private long[] hashes;
+    private int[] positions;
+    private int size;
+
+    public Fingerprints(int initialCapacity) {
+        hashes = new long[Math.max(16, initialCapacity)];
+        positions = new int[hashes.length];
+    }
+
+    private Fingerprints(long[] hashes, int[] positions) {
+        this.hashes = hashes;
+        this.positions = positions;
+        this.size = hashes.length;
+    }
+
+    void add(long hash, int position) {
+        if (size == hashes.length) {
+            int newCapacity = hashes.length + (hashes.length >> 1);
+            hashes = Arrays.copyOf(hashes, newCapacity);
+            positions = Arrays.copyOf(positions, newCapacity);
+        }
+        hashes[size] = hash;
+        positions[size] = position;
+        size++;
+    }
+
+    public int size() { return size; }
+
+    public long hash(int index) { return hashes[index]; }
+
+    public int position(int index) { return positions[index]; }
+
+    public long[] hashes() {
+        return Arrays.copyOf(hashes, size);
+    }
+
+    // Sorted, duplicate-free hashes; the form used for set similarity and indexing.
+    public long[] distinctHashes() {
+        long[] sorted = Arrays.copyOf(hashes, size);
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return unique == sorted.length ? sorted : Arrays.copyOf(sorted, unique);
+    }
+
+    // Fixed-width binary form stored on the Submission row: (hash, position) pairs.
+    public byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(size * (Long.BYTES + Integer.BYTES));
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(hashes[i]).putInt(positions[i]);
+        }
+        return buffer.array();
+    }
+
+    public static Fingerprints decode(byte[] data) {
+        if (data == null) {
+            return new Fingerprints(new long[0], new int[0]);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int count = data.length / (Long.BYTES + Integer.BYTES);
+        long[] hashes = new long[count];
+        int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            hashes[i] = buffer.getLong();
+            positions[i] = buffer.getInt();
+        }
+        return new Fingerprints(hashes, positions);
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.plagchecker.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Running Karp-Rabin Greedy String Tiling (Wise, 1993), the pairwise
+// alignment used by JPlag. Finds a set of non-overlapping tiles, longest
+// first, each at least minimumMatchLength tokens long. Candidate matches are
+// located by hashing every window of the current search length over the
+// unmarked tokens, which keeps typical inputs close to linear time.
+public class GreedyStringTiling {
+
+    public record Tile(int leftStart, int rightStart, int length) {}
+
+    private static final long BASE = 0x100000001B3L;
+    private static final int POSITION_BITS = 24;
+    private static final long POSITION_MASK = (1L << POSITION_BITS) - 1;
+
+    private final int minimumMatchLength;
+    private final int initialSearchLength;
+
+    public GreedyStringTiling(int minimumMatchLength) {
+        this(minimumMatchLength, Math.max(minimumMatchLength, 20));
+    }
+
+    public GreedyStringTiling(int minimumMatchLength, int initialSearchLength) {
+        if (minimumMatchLength < 1) {
+            throw new IllegalArgumentException("minimum match length must be positive");
+        }
+        this.minimumMatchLength = minimumMatchLength;
+        this.initialSearchLength = Math.max(minimumMatchLength, initialSearchLength);
+    }
+
+    public List<Tile> tile(int[] left, int leftLength, int[] right, int rightLength) {
+        if (leftLength > POSITION_MASK || rightLength > POSITION_MASK) {
+            throw new IllegalArgumentException("token stream too long for alignment");
+        }
+        boolean[] leftMarked = new boolean[leftLength];
+        boolean[] rightMarked = new boolean[rightLength];
+        List<Tile> tiles = new ArrayList<>();
+        Matches matches = new Matches();
+        int searchLength = initialSearchLength;
+        while (true) {
+            matches.clear();
+            int longest = scanPatterns(searchLength, left, leftLength, leftMarked, right, rightLength, rightMarked, matches);
+            if (longest > 2 * searchLength) {
+                searchLength = longest;
+                continue;
+            }
+            markTiles(matches, leftMarked, rightMarked, tiles);
+            if (searchLength > 2 * minimumMatchLength) {
+                searchLength /= 2;
+            } else if (searchLength > minimumMatchLength) {
+                searchLength = minimumMatchLength;
+            } else {
+                break;
+            }
+        }
+        return tiles;
+    }
+
+    // Records maximal matches of at least searchLength unmarked tokens and
+    // returns the longest; stops early once a match exceeds twice the search
+    // length, since the caller then restarts with that longer length.
+    private int scanPatterns(int searchLength, int[] left, int leftLength, boolean[] leftMarked,
+                             int[] right, int rightLength, boolean[] rightMarked, Matches matches) {
+        long[] windows = windowHashes(searchLength, right, rightLength, rightMarked);
+        if (windows.length == 0) {
+            return 0;
+        }
+        long power = power(searchLength);
+        int longest = 0;
+        long rolling = 0;
+        int run = 0;
+        for (int i = 0; i < leftLength; i++) {
+            if (leftMarked[i]) {
+                run = 0;
+                rolling = 0;
+                continue;
+            }
+            if (run == searchLength) {
+                rolling -= left[i - searchLength] * power;
+            } else {
+                run++;
+            }
+            rolling = rolling * BASE + left[i];
+            if (run < searchLength) {
+                continue;
+            }
+            int leftStart = i - searchLength + 1;
+            long key = Winnower.mix(rolling) >>> POSITION_BITS;
+            int found = lowerBound(windows, key << POSITION_BITS);
+            for (int w = found; w < windows.length && (windows[w] >>> POSITION_BITS) == key; w++) {
+                int rightStart = (int) (windows[w] & POSITION_MASK);
+                int length = 0;
+                while (leftStart + length < leftLength && rightStart + length < rightLength
+                        && !leftMarked[leftStart + length] && !rightMarked[rightStart + length]
+                        && left[leftStart + length] == right[rightStart + length]) {
+                    length++;
+                }
+                if (length >= searchLength) {
+                    if (length > 2 * searchLength) {
+                        return length;
+                    }
+                    matches.add(leftStart, rightStart, length);
+                    longest = Math.max(longest, length);
+                }
+            }
+        }
+        return longest;
+    }
+
+    // (hash << POSITION_BITS | start) for every window of unmarked tokens, sorted by hash.
+    private static long[] windowHashes(int searchLength, int[] tokens, int length, boolean[] marked) {
+        long power = power(searchLength);
+        long[] windows = new long[Math.max(0, length - searchLength + 1)];
+        int count = 0;
+        long rolling = 0;
+        int run = 0;
+        for (int i = 0; i < length; i++) {
+            if (marked[i]) {
+                run = 0;
+                rolling = 0;
+                continue;
+            }
+            if (run == searchLength) {
+                rolling -= tokens[i - searchLength] * power;
+            } else {
+                run++;
+            }
+            rolling = rolling * BASE + tokens[i];
+            if (run == searchLength) {
+                windows[count++] = ((Winnower.mix(rolling) >>> POSITION_BITS) << POSITION_BITS) | (i - searchLength + 1);
+            }
+        }
+        long[] result = Arrays.copyOf(windows, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static void markTiles(Matches matches, boolean[] leftMarked, boolean[] rightMarked, List<Tile> tiles) {
+        for (int m : matches.byDescendingLength()) {
+            int leftStart = matches.leftStarts[m];
+            int rightStart = matches.rightStarts[m];
+            int length = matches.lengths[m];
+            if (occluded(leftMarked, leftStart, length) || occluded(rightMarked, rightStart, length)) {
+                continue;
+            }
+            Arrays.fill(leftMarked, leftStart, leftStart + length, true);
+            Arrays.fill(rightMarked, rightStart, rightStart + length, true);
+            tiles.add(new Tile(leftStart, rightStart, length));
+        }
+    }
+
+    private static boolean occluded(boolean[] marked, int start, int length) {
+        for (int i = start; i < start + length; i++) {
+            if (marked[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int lowerBound(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long power(int exponent) {
+        long power = 1;
+        for (int i = 1; i < exponent; i++) {
+            power *= BASE;
+        }
+        return power;
+    }
+
+    private static class Matches {
+        int[] leftStarts = new int[64];
+        int[] rightStarts = new int[64];
+        int[] lengths = new int[64];
+        int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        void add(int leftStart, int rightStart, int length) {
+            if (size == lengths.length) {
+                leftStarts = Arrays.copyOf(leftStarts, size * 2);
+                rightStarts = Arrays.copyOf(rightStarts, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            leftStarts[size] = leftStart;
+            rightStarts[size] = rightStart;
+            lengths[size] = length;
+            size++;
+        }
+
+        int[] byDescendingLength() {
+            // Sort (length, index) packed into longs, longest first
+            long[] keyed = new long[size];
+            for (int i = 0; i < size; i++) {
+                keyed[i] = ((long) -lengths[i] << 32) | i;
+            }
+            Arrays.sort(keyed);
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = (int) keyed[i];
+            }
+            return order;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.plagchecker.engine;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+// Plain Java arrays; released arrays are left to the garbage collector
+final class HeapIndexMemory implements IndexMemory {
+
+    static final HeapIndexMemory INSTANCE = new HeapIndexMemory();
+
+    private HeapIndexMemory() {}
+
+    @Override
+    public LongArray allocateLongs(int length) {
+        return new Longs(new long[length]);
+    }
+
+    @Override
+    public IntArray allocateInts(int length) {
+        return new Ints(new int[length]);
+    }
+
+    @Override
+    public boolean isOffHeap() { return false; }
+
+    @Override
+    public long offHeapBytes() { return 0; }
+
+    @Override
+    public void close() {}
+
+    private record Longs(long[] values) implements LongArray {
+        @Override
+        public long get(int index) { return values[index]; }
+
+        @Override
+        public void set(int index, long value) { values[index] = value; }
+
+        @Override
+        public int length() { return values.length; }
+
+        @Override
+        public void copyTo(LongBuffer out, int count) {
+            out.duplicate().put(values, 0, count);
+        }
+
+        @Override
+        public void copyFrom(LongBuffer in, int count) {
+            in.duplicate().get(values, 0, count);
+        }
+
+        @Override
+        public void release() {}
+    }
+
+    private record Ints(int[] values) implements IntArray {
+        @Override
+        public int get(int index) { return values[index]; }
+
+        @Override
+        public void set(int index, int value) { values[index] = value; }
+
+        @Override
+        public int length() { return values.length; }
+
+        @Override
+        public void fill(int value) {
+            Arrays.fill(values, value);
+        }
+
+        @Override
+        public IntArray copyOf(int length) {
+            return new Ints(Arrays.copyOf(values, length));
+        }
+
+        @Override
+        public void copyTo(IntBuffer out, int count) {
+            out.duplicate().put(values, 0, count);
+        }
+
+        @Override
+        public void copyFrom(IntBuffer in, int count) {
+            in.duplicate().get(values, 0, count);
+        }
+
+        @Override
+        public void release() {}
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.plagchecker.engine;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+// Where a PostingsIndex keeps its hash table and postings arrays: on the heap,
+// or outside it through the Foreign Function & Memory API, so that a large
+// resident index neither grows the heap nor is copied around by the collector.
+// Arrays are zero-filled; each is freed on its own when released (the postings
+// arrays are replaced whenever they grow), and whatever is left when the
+// memory is closed.
+public interface IndexMemory extends AutoCloseable {
+
+    interface LongArray {
+        long get(int index);
+        void set(int index, long value);
+        int length();
+        // Bulk copies at the buffer's position, in its byte order; the position is not moved
+        void copyTo(LongBuffer out, int count);
+        void copyFrom(LongBuffer in, int count);
+        void release();
+    }
+
+    interface IntArray {
+        int get(int index);
+        void set(int index, int value);
+        int length();
+        void fill(int value);
+        // A new array of the given length from the same memory, starting with this one's contents
+        IntArray copyOf(int length);
+        void copyTo(IntBuffer out, int count);
+        void copyFrom(IntBuffer in, int count);
+        void release();
+    }
+
+    LongArray allocateLongs(int length);
+
+    IntArray allocateInts(int length);
+
+    boolean isOffHeap();
+
+    // Bytes currently allocated outside the heap
+    long offHeapBytes();
+
+    // Frees every array not yet released
+    @Override
+    void close();
+
+    static IndexMemory heap() {
+        return HeapIndexMemory.INSTANCE;
+    }
+
+    // Off-heap memory when java.lang.foreign is usable, the heap otherwise. On
+    // Java 21 the API is a preview: OffHeapIndexMemory only loads on a JVM
+    // started with --enable-preview.
+    static IndexMemory create(boolean offHeap) {
+        if (offHeap) {
+            try {
+                IndexMemory memory = new OffHeapIndexMemory();
+                // Forces the foreign memory classes to link here rather than on first real use
+                memory.allocateInts(1).release();
+                return memory;
+            } catch (LinkageError e) {
+                // Preview features not enabled; fall through to the heap
+            }
+        }
+        return heap();
+    }
+}
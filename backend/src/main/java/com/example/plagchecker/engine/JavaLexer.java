@@ -0,0 +1,38 @@
+package com.example.plagchecker.engine;
+
+import java.util.List;
+
+public class JavaLexer extends DfaLexer {
+
+    private static final String[] KEYWORDS = {
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const",
+            "continue", "default", "do", "double", "else", "enum", "extends", "final", "finally", "float",
+            "for", "goto", "if", "implements", "import", "instanceof", "int", "interface", "long", "native",
+            "new", "package", "private", "protected", "public", "return", "short", "static", "strictfp", "super",
+            "switch", "synchronized", "this", "throw", "throws", "transient", "try", "void", "volatile", "while",
+            "true", "false", "null", "var", "record", "yield"};
+
+    private static final String[] OPERATORS = {
+            "(", ")", "{", "}", "[", "]", ";", ",", ".", "...", "@", "::",
+            "=", ">", "<", "!", "~", "?", ":", "->", "==", ">=", "<=", "!=", "&&", "||", "++", "--",
+            "+", "-", "*", "/", "&", "|", "^", "%", "<<", ">>", ">>>",
+            "+=", "-=", "*=", "/=", "&=", "|=", "^=", "%=", "<<=", ">>=", ">>>="};
+
+    public JavaLexer() {
+        super(new Builder()
+                .whitespace()
+                .identifiers("$", KEYWORDS)
+                .operators(OPERATORS)
+                .numbers()
+                .lineComment("//")
+                .blockComment("/*", "*/")
+                .quoted('"', STRING, false, true)
+                .quoted('\'', CHARACTER, false, false));
+    }
+
+    @Override
+    public String language() { return "java"; }
+
+    @Override
+    public List<String> extensions() { return List.of(".java"); }
+}
@@ -0,0 +1,25 @@
+package com.example.plagchecker.engine;
+
+// Hashes every run of k consecutive token codes. Implementations must agree
+// bit for bit: the hashes end up in stored fingerprints and are compared
+// across submissions fingerprinted on different machines.
+public interface KGramHasher {
+
+    // Writes the mixed hash of the k-gram starting at each position, tokens - k + 1 values
+    void hash(int[] codes, int tokens, long[] out);
+
+    // The vectorised hasher when jdk.incubator.vector is resolved (--add-modules), the scalar one otherwise
+    static KGramHasher create(int kGramLength, boolean vectorized) {
+        if (vectorized) {
+            try {
+                KGramHasher hasher = new VectorKGramHasher(kGramLength);
+                // Forces the vector classes to link here rather than on first real use
+                hasher.hash(new int[kGramLength], kGramLength, new long[1]);
+                return hasher;
+            } catch (LinkageError e) {
+                // Module not in the boot layer; fall through to scalar
+            }
+        }
+        return new ScalarKGramHasher(kGramLength);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.plagchecker.engine;
+
+import java.util.List;
+
+// Turns the source of one language into a normalised token stream for
+// fingerprinting: identifiers and literals become one code per kind, so renaming
+// a variable or changing a constant does not change the stream, and whitespace
+// and comments are dropped. Keywords and operators keep a code each.
+//
+// Implementations are found through ServiceLoader (see Lexers) and must be
+// stateless: one instance tokenises on many threads at once. The codes are
+// part of every stored fingerprint, so changing them invalidates those.
+public interface Lexer {
+
+    // Short lower-case name, e.g. "java"; stored with the fingerprints
+    String language();
+
+    // File extensions handled, with the dot, e.g. ".java"
+    List<String> extensions();
+
+    // Replaces the contents of out with the tokens of text
+    void tokenize(CharSequence text, TokenStream out);
+}
@@ -0,0 +1,36 @@
+package com.example.plagchecker.engine;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+// The available lexers by file extension. Bundled and third-party languages
+// are found alike through ServiceLoader: a jar on the classpath that lists a
+// Lexer in META-INF/services/com.example.plagchecker.engine.Lexer adds its
+// language without changes here. The first lexer found wins an extension.
+public class Lexers {
+
+    private final Map<String, Lexer> byExtension = new HashMap<>();
+
+    public Lexers(Iterable<? extends Lexer> lexers) {
+        for (Lexer lexer : lexers) {
+            for (String extension : lexer.extensions()) {
+                byExtension.putIfAbsent(extension.toLowerCase(Locale.ROOT), lexer);
+            }
+        }
+    }
+
+    public static Lexers load() {
+        return new Lexers(ServiceLoader.load(Lexer.class, Lexers.class.getClassLoader()));
+    }
+
+    // The lexer for the file's extension, or null when there is none
+    public Lexer forFile(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? null : byExtension.get(fileName.substring(dot).toLowerCase(Locale.ROOT));
+    }
+}
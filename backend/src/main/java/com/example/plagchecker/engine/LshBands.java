@@ -0,0 +1,102 @@
+package com.example.plagchecker.engine;
+
+import java.util.Arrays;
+
+// Banded locality-sensitive hashing over MinHash signatures. The signature is
+// cut into b bands of r rows; two documents become a candidate pair when all
+// rows of at least one band agree, which happens with probability
+// 1 - (1 - s^r)^b for Jaccard similarity s.
+//
+// Buckets are found by sorting, per band, a long[] of (band hash, document)
+// packed into one word, so no per-bucket objects are created.
+public class LshBands {
+    private static final int DOC_BITS = 24;
+    private static final long DOC_MASK = (1L << DOC_BITS) - 1;
+
+    private final int bands;
+    private final int rows;
+
+    public LshBands(int bands, int rows) {
+        if (bands < 1 || rows < 1) {
+            throw new IllegalArgumentException("bands and rows must be positive");
+        }
+        this.bands = bands;
+        this.rows = rows;
+    }
+
+    public int getBands() { return bands; }
+
+    public int getRows() { return rows; }
+
+    public double detectionProbability(double similarity) {
+        return 1.0 - Math.pow(1.0 - Math.pow(similarity, rows), bands);
+    }
+
+    // Candidate pairs of document ordinals, each packed as (low << 32 | high),
+    // sorted and duplicate-free. A null signature marks an empty document: all
+    // empty documents would share one signature and collide in every band, so
+    // they are left out of the buckets.
+    public long[] candidatePairs(long[][] signatures) {
+        int docs = signatures.length;
+        if (docs > DOC_MASK) {
+            throw new IllegalArgumentException("too many documents for LSH banding: " + docs);
+        }
+        int[] bucketed = new int[docs];
+        int count = 0;
+        for (int doc = 0; doc < docs; doc++) {
+            if (signatures[doc] != null) {
+                bucketed[count++] = doc;
+            }
+        }
+        long[] entries = new long[count];
+        long[] pairs = new long[Math.max(16, count)];
+        int pairCount = 0;
+        for (int band = 0; band < bands; band++) {
+            for (int i = 0; i < count; i++) {
+                entries[i] = (bandHash(signatures[bucketed[i]], band) << DOC_BITS) | bucketed[i];
+            }
+            Arrays.sort(entries);
+            int runStart = 0;
+            for (int i = 1; i <= count; i++) {
+                if (i == count || (entries[i] >>> DOC_BITS) != (entries[runStart] >>> DOC_BITS)) {
+                    for (int a = runStart; a < i; a++) {
+                        for (int b = a + 1; b < i; b++) {
+                            if (pairCount == pairs.length) {
+                                pairs = Arrays.copyOf(pairs, pairCount * 2);
+                            }
+                            pairs[pairCount++] = pack((int) (entries[a] & DOC_MASK), (int) (entries[b] & DOC_MASK));
+                        }
+                    }
+                    runStart = i;
+                }
+            }
+        }
+        Arrays.sort(pairs, 0, pairCount);
+        int unique = 0;
+        for (int i = 0; i < pairCount; i++) {
+            if (i == 0 || pairs[i] != pairs[i - 1]) {
+                pairs[unique++] = pairs[i];
+            }
+        }
+        return Arrays.copyOf(pairs, unique);
+    }
+
+    public static long pack(int left, int right) {
+        int low = Math.min(left, right);
+        int high = Math.max(left, right);
+        return ((long) low << 32) | high;
+    }
+
+    public static int first(long pair) { return (int) (pair >>> 32); }
+
+    public static int second(long pair) { return (int) pair; }
+
+    private long bandHash(long[] signature, int band) {
+        long hash = band;
+        for (int row = band * rows; row < (band + 1) * rows; row++) {
+            hash = Winnower.mix(hash * 31 + signature[row]);
+        }
+        // Keep the top bits that fit beside the document ordinal
+        return hash >>> DOC_BITS;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.plagchecker.engine;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// MinHash signatures over fingerprint sets. The probability that two
+// signatures agree in a position equals the Jaccard similarity of the sets.
+public class MinHasher {
+    private final long[] multipliers;
+    private final long[] increments;
+
+    public MinHasher(int signatureLength, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        multipliers = new long[signatureLength];
+        increments = new long[signatureLength];
+        for (int i = 0; i < signatureLength; i++) {
+            multipliers[i] = random.nextLong() | 1L;
+            increments[i] = random.nextLong();
+        }
+    }
+
+    public int getSignatureLength() { return multipliers.length; }
+
+    public long[] signature(long[] distinctHashes) {
+        long[] signature = new long[multipliers.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (long hash : distinctHashes) {
+            for (int i = 0; i < signature.length; i++) {
+                long permuted = Winnower.mix(hash * multipliers[i] + increments[i]);
+                if (permuted < signature[i]) {
+                    signature[i] = permuted;
+                }
+            }
+        }
+        return signature;
+    }
+
+    public static byte[] encode(long[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Long.BYTES);
+        for (long value : signature) {
+            buffer.putLong(value);
+        }
+        return buffer.array();
+    }
+
+    public static long[] decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        long[] signature = new long[data.length / Long.BYTES];
+        for (int i = 0; i < signature.length; i++) {
+            signature[i] = buffer.getLong();
+        }
+        return signature;
+    }
+
+    // Jaccard similarity of two sorted, duplicate-free hash arrays.
+    public static double jaccard(long[] left, long[] right) {
+        int shared = intersectionSize(left, right);
+        int union = left.length + right.length - shared;
+        return union == 0 ? 0.0 : (double) shared / union;
+    }
+
+    public static int intersectionSize(long[] left, long[] right) {
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                shared++;
+                i++;
+                j++;
+            }
+        }
+        return shared;
+    }
+}
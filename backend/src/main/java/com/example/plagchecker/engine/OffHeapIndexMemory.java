@@ -0,0 +1,169 @@
+package com.example.plagchecker.engine;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Native memory, one shared arena per array so that a grown or compacted
+// array is returned to the OS as soon as it is replaced, not when the whole
+// index goes. Shared arenas because an index is read from many threads under
+// its own lock; closing one waits for no reader, so callers release an array
+// only while holding that lock exclusively.
+//
+// Uses java.lang.foreign, a preview API in Java 21; see IndexMemory#create.
+final class OffHeapIndexMemory implements IndexMemory {
+
+    private final Set<Arena> live = ConcurrentHashMap.newKeySet();
+    private final AtomicLong bytes = new AtomicLong();
+
+    @Override
+    public LongArray allocateLongs(int length) {
+        return new Longs(allocate((long) length * Long.BYTES), length);
+    }
+
+    @Override
+    public IntArray allocateInts(int length) {
+        return new Ints(allocate((long) length * Integer.BYTES), length);
+    }
+
+    private Block allocate(long byteSize) {
+        Arena arena = Arena.ofShared();
+        // Zero-filled by the arena
+        MemorySegment segment = arena.allocate(byteSize, Long.BYTES);
+        live.add(arena);
+        bytes.addAndGet(byteSize);
+        return new Block(arena, segment);
+    }
+
+    private void free(Block block) {
+        if (live.remove(block.arena)) {
+            bytes.addAndGet(-block.segment.byteSize());
+            block.arena.close();
+        }
+    }
+
+    @Override
+    public boolean isOffHeap() { return true; }
+
+    @Override
+    public long offHeapBytes() { return bytes.get(); }
+
+    @Override
+    public void close() {
+        for (Arena arena : live) {
+            if (live.remove(arena)) {
+                arena.close();
+            }
+        }
+        bytes.set(0);
+    }
+
+    private record Block(Arena arena, MemorySegment segment) {}
+
+    private final class Longs implements LongArray {
+        private final Block block;
+        private final MemorySegment segment;
+        private final int length;
+
+        Longs(Block block, int length) {
+            this.block = block;
+            this.segment = block.segment;
+            this.length = length;
+        }
+
+        @Override
+        public long get(int index) {
+            return segment.getAtIndex(ValueLayout.JAVA_LONG, index);
+        }
+
+        @Override
+        public void set(int index, long value) {
+            segment.setAtIndex(ValueLayout.JAVA_LONG, index, value);
+        }
+
+        @Override
+        public int length() { return length; }
+
+        @Override
+        public void copyTo(LongBuffer out, int count) {
+            MemorySegment.copy(segment, ValueLayout.JAVA_LONG, 0, MemorySegment.ofBuffer(out),
+                    ValueLayout.JAVA_LONG_UNALIGNED.withOrder(out.order()), 0, count);
+        }
+
+        @Override
+        public void copyFrom(LongBuffer in, int count) {
+            MemorySegment.copy(MemorySegment.ofBuffer(in), ValueLayout.JAVA_LONG_UNALIGNED.withOrder(in.order()), 0,
+                    segment, ValueLayout.JAVA_LONG, 0, count);
+        }
+
+        @Override
+        public void release() {
+            free(block);
+        }
+    }
+
+    private final class Ints implements IntArray {
+        private final Block block;
+        private final MemorySegment segment;
+        private final int length;
+
+        Ints(Block block, int length) {
+            this.block = block;
+            this.segment = block.segment;
+            this.length = length;
+        }
+
+        @Override
+        public int get(int index) {
+            return segment.getAtIndex(ValueLayout.JAVA_INT, index);
+        }
+
+        @Override
+        public void set(int index, int value) {
+            segment.setAtIndex(ValueLayout.JAVA_INT, index, value);
+        }
+
+        @Override
+        public int length() { return length; }
+
+        @Override
+        public void fill(int value) {
+            if (value == 0 || value == -1) {
+                segment.fill((byte) value);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    set(i, value);
+                }
+            }
+        }
+
+        @Override
+        public IntArray copyOf(int newLength) {
+            Ints copy = new Ints(allocate((long) newLength * Integer.BYTES), newLength);
+            MemorySegment.copy(segment, 0, copy.segment, 0, (long) Math.min(length, newLength) * Integer.BYTES);
+            return copy;
+        }
+
+        @Override
+        public void copyTo(IntBuffer out, int count) {
+            MemorySegment.copy(segment, ValueLayout.JAVA_INT, 0, MemorySegment.ofBuffer(out),
+                    ValueLayout.JAVA_INT_UNALIGNED.withOrder(out.order()), 0, count);
+        }
+
+        @Override
+        public void copyFrom(IntBuffer in, int count) {
+            MemorySegment.copy(MemorySegment.ofBuffer(in), ValueLayout.JAVA_INT_UNALIGNED.withOrder(in.order()), 0,
+                    segment, ValueLayout.JAVA_INT, 0, count);
+        }
+
+        @Override
+        public void release() {
+            free(block);
+        }
+    }
+}
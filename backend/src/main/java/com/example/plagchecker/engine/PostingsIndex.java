@@ -0,0 +1,451 @@
+package com.example.plagchecker.engine;
+
+import com.example.plagchecker.engine.IndexMemory.IntArray;
+import com.example.plagchecker.engine.IndexMemory.LongArray;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Inverted index from fingerprint hash to the documents containing it, held
+// entirely in primitive arrays:
+//
+//   keys/heads   open-addressing table, hash -> newest posting (-1 = empty slot)
+//   postingDoc   document ordinal of each posting
+//   postingNext  previous posting of the same hash (-1 = end of list)
+//   docIds       document ordinal -> submission id
+//   docSizes     document ordinal -> number of distinct fingerprints
+//   docRemoved   document ordinal -> tombstone, skipped by queries
+//
+// Removing a document only sets its tombstone; once a quarter of the
+// ordinals are dead the arrays are compacted in one pass. Documents must be
+// added with duplicate-free hashes. Not thread-safe; callers guard it with
+// their own lock.
+//
+// The table and postings arrays, which grow with the number of fingerprints,
+// come from an IndexMemory and may live off-heap; the per-document arrays stay
+// on the heap. close() frees the off-heap arrays, after which the index must
+// not be used.
+//
+// writeTo/readFrom copy the arrays as they are, tombstones and table layout
+// included, so a restored index needs no rehashing.
+public class PostingsIndex implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface OverlapConsumer {
+        void accept(long docId, int sharedFingerprints, int docSize);
+    }
+
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int SNAPSHOT_HEADER_BYTES = 24;
+
+    private final IndexMemory memory;
+    private LongArray keys;
+    private IntArray heads;
+    private int distinctKeys;
+    private int resizeThreshold;
+
+    private IntArray postingDoc;
+    private IntArray postingNext;
+    private int postingCount;
+
+    private long[] docIds;
+    private int[] docSizes;
+    private boolean[] docRemoved;
+    private int docCount;
+    private int removedCount;
+
+    public PostingsIndex() {
+        this(1 << 12);
+    }
+
+    public PostingsIndex(int expectedKeys) {
+        this(expectedKeys, IndexMemory.heap());
+    }
+
+    public PostingsIndex(int expectedKeys, IndexMemory memory) {
+        this(memory, Integer.highestOneBit(Math.max(16, (int) (expectedKeys / LOAD_FACTOR)) - 1) << 1,
+                Math.max(16, expectedKeys), 16);
+    }
+
+    private PostingsIndex(IndexMemory memory, int capacity, int postingCapacity, int docCapacity) {
+        this.memory = memory;
+        keys = memory.allocateLongs(capacity);
+        heads = memory.allocateInts(capacity);
+        heads.fill(-1);
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+        postingDoc = memory.allocateInts(postingCapacity);
+        postingNext = memory.allocateInts(postingCapacity);
+        docIds = new long[docCapacity];
+        docSizes = new int[docCapacity];
+        docRemoved = new boolean[docCapacity];
+    }
+
+    public int add(long docId, long[] distinctHashes) {
+        if (docCount == docIds.length) {
+            docIds = Arrays.copyOf(docIds, docCount * 2);
+            docSizes = Arrays.copyOf(docSizes, docCount * 2);
+            docRemoved = Arrays.copyOf(docRemoved, docCount * 2);
+        }
+        int ordinal = docCount++;
+        docIds[ordinal] = docId;
+        docSizes[ordinal] = distinctHashes.length;
+        ensurePostingCapacity(postingCount + distinctHashes.length);
+        for (long hash : distinctHashes) {
+            int slot = slotFor(hash);
+            int head = heads.get(slot);
+            if (head == -1) {
+                keys.set(slot, hash);
+                distinctKeys++;
+            }
+            postingDoc.set(postingCount, ordinal);
+            postingNext.set(postingCount, head);
+            heads.set(slot, postingCount++);
+            if (distinctKeys > resizeThreshold) {
+                rehash(keys.length() << 1);
+            }
+        }
+        return ordinal;
+    }
+
+    public boolean remove(long docId) {
+        for (int ordinal = docCount - 1; ordinal >= 0; ordinal--) {
+            if (docIds[ordinal] == docId && !docRemoved[ordinal]) {
+                docRemoved[ordinal] = true;
+                removedCount++;
+                if (removedCount > 16 && removedCount * 4 > docCount) {
+                    compact();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Counts, for every indexed document, how many of the given hashes it
+    // shares, walking each matching postings list exactly once.
+    public void forEachOverlap(long[] distinctHashes, OverlapConsumer consumer) {
+        int[] shared = new int[docCount];
+        int[] touched = new int[Math.min(docCount, 64)];
+        int touchedCount = 0;
+        for (long hash : distinctHashes) {
+            int slot = find(hash);
+            if (slot < 0) {
+                continue;
+            }
+            for (int p = heads.get(slot); p != -1; p = postingNext.get(p)) {
+                int doc = postingDoc.get(p);
+                if (docRemoved[doc]) {
+                    continue;
+                }
+                if (shared[doc]++ == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = doc;
+                }
+            }
+        }
+        for (int i = 0; i < touchedCount; i++) {
+            int doc = touched[i];
+            consumer.accept(docIds[doc], shared[doc], docSizes[doc]);
+        }
+    }
+
+    public int documentFrequency(long hash) {
+        int slot = find(hash);
+        int frequency = 0;
+        if (slot >= 0) {
+            for (int p = heads.get(slot); p != -1; p = postingNext.get(p)) {
+                if (!docRemoved[postingDoc.get(p)]) {
+                    frequency++;
+                }
+            }
+        }
+        return frequency;
+    }
+
+    // Hashes held by at least minDocuments live documents, found in one pass over the table
+    public long[] frequentHashes(int minDocuments) {
+        if (minDocuments < 1) {
+            return new long[0];
+        }
+        long[] frequent = new long[16];
+        int count = 0;
+        for (int slot = 0; slot < keys.length(); slot++) {
+            int frequency = 0;
+            for (int p = heads.get(slot); p != -1 && frequency < minDocuments; p = postingNext.get(p)) {
+                if (!docRemoved[postingDoc.get(p)]) {
+                    frequency++;
+                }
+            }
+            if (frequency >= minDocuments) {
+                if (count == frequent.length) {
+                    frequent = Arrays.copyOf(frequent, count * 2);
+                }
+                frequent[count++] = keys.get(slot);
+            }
+        }
+        return Arrays.copyOf(frequent, count);
+    }
+
+    // Drops the given hashes with their postings, as if no document had
+    // contained them; document sizes shrink accordingly. The postings are left
+    // unreferenced until the next compaction. Returns how many hashes were dropped.
+    public int suppress(long[] hashes) {
+        // Look every hash up before emptying any slot, which would cut probe chains short
+        int[] slots = new int[hashes.length];
+        int found = 0;
+        for (long hash : hashes) {
+            int slot = find(hash);
+            if (slot >= 0) {
+                slots[found++] = slot;
+            }
+        }
+        int dropped = 0;
+        for (int i = 0; i < found; i++) {
+            int slot = slots[i];
+            if (heads.get(slot) == -1) {
+                continue;
+            }
+            for (int p = heads.get(slot); p != -1; p = postingNext.get(p)) {
+                docSizes[postingDoc.get(p)]--;
+            }
+            heads.set(slot, -1);
+            distinctKeys--;
+            dropped++;
+        }
+        if (dropped > 0) {
+            // Rebuild the table so probes do not stop at the emptied slots
+            rehash(keys.length());
+        }
+        return dropped;
+    }
+
+    public int documentCount() { return docCount - removedCount; }
+
+    public int distinctFingerprints() { return distinctKeys; }
+
+    public int postingCount() { return postingCount; }
+
+    // Bytes held by the backing arrays, on or off the heap (array headers included, object headers ignored).
+    public long memoryFootprint() {
+        return tableBytes() + (memory.isOffHeap() ? 0 : 4 * 16L)
+                + arrayBytes(docIds.length, Long.BYTES) + arrayBytes(docSizes.length, Integer.BYTES)
+                + arrayBytes(docRemoved.length, 1);
+    }
+
+    // The part of memoryFootprint() held outside the heap
+    public long offHeapBytes() {
+        return memory.isOffHeap() ? tableBytes() : 0;
+    }
+
+    private long tableBytes() {
+        return (long) keys.length() * Long.BYTES
+                + (long) (heads.length() + postingDoc.length() + postingNext.length()) * Integer.BYTES;
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        return 16L + (long) length * elementBytes;
+    }
+
+    // Frees the table and postings arrays; a no-op for heap memory
+    @Override
+    public void close() {
+        keys.release();
+        heads.release();
+        postingDoc.release();
+        postingNext.release();
+    }
+
+    // Size of writeTo's output; a multiple of 8 when started 8-byte aligned, longs come first
+    public long serializedBytes() {
+        return SNAPSHOT_HEADER_BYTES + (long) (keys.length() + docCount) * Long.BYTES
+                + (long) (keys.length() + 2L * postingCount + docCount) * Integer.BYTES
+                + ((docCount + Long.BYTES - 1) & -Long.BYTES);
+    }
+
+    // Writes the index at the buffer's position, which the buffer's byte order applies to
+    public void writeTo(ByteBuffer out) {
+        int capacity = keys.length();
+        out.putInt(capacity).putInt(distinctKeys).putInt(postingCount)
+                .putInt(docCount).putInt(removedCount).putInt(0);
+        keys.copyTo(out.asLongBuffer(), capacity);
+        skip(out, capacity * Long.BYTES);
+        out.asLongBuffer().put(docIds, 0, docCount);
+        skip(out, docCount * Long.BYTES);
+        heads.copyTo(out.asIntBuffer(), capacity);
+        skip(out, capacity * Integer.BYTES);
+        postingDoc.copyTo(out.asIntBuffer(), postingCount);
+        skip(out, postingCount * Integer.BYTES);
+        postingNext.copyTo(out.asIntBuffer(), postingCount);
+        skip(out, postingCount * Integer.BYTES);
+        out.asIntBuffer().put(docSizes, 0, docCount);
+        skip(out, docCount * Integer.BYTES);
+        for (int i = 0; i < docCount; i++) {
+            out.put(docRemoved[i] ? (byte) 1 : 0);
+        }
+        skip(out, ((docCount + Long.BYTES - 1) & -Long.BYTES) - docCount);
+    }
+
+    // Reads what writeTo wrote, advancing the buffer's position past it
+    public static PostingsIndex readFrom(ByteBuffer in) {
+        return readFrom(in, IndexMemory.heap());
+    }
+
+    public static PostingsIndex readFrom(ByteBuffer in, IndexMemory memory) {
+        int capacity = in.getInt();
+        int distinctKeys = in.getInt();
+        int postingCount = in.getInt();
+        int docCount = in.getInt();
+        int removedCount = in.getInt();
+        in.getInt();
+        if (capacity < 16 || Integer.bitCount(capacity) != 1 || distinctKeys < 0 || distinctKeys > capacity
+                || postingCount < 0 || docCount < 0 || removedCount < 0 || removedCount > docCount) {
+            throw new IllegalArgumentException("Corrupt postings index header");
+        }
+        PostingsIndex index = new PostingsIndex(memory, capacity, Math.max(16, postingCount), Math.max(16, docCount));
+        index.distinctKeys = distinctKeys;
+        index.postingCount = postingCount;
+        index.docCount = docCount;
+        index.removedCount = removedCount;
+
+        try {
+            index.keys.copyFrom(in.asLongBuffer(), capacity);
+            skip(in, capacity * Long.BYTES);
+            in.asLongBuffer().get(index.docIds, 0, docCount);
+            skip(in, docCount * Long.BYTES);
+            index.heads.copyFrom(in.asIntBuffer(), capacity);
+            skip(in, capacity * Integer.BYTES);
+            index.postingDoc.copyFrom(in.asIntBuffer(), postingCount);
+            skip(in, postingCount * Integer.BYTES);
+            index.postingNext.copyFrom(in.asIntBuffer(), postingCount);
+            skip(in, postingCount * Integer.BYTES);
+            in.asIntBuffer().get(index.docSizes, 0, docCount);
+            skip(in, docCount * Integer.BYTES);
+            for (int i = 0; i < docCount; i++) {
+                index.docRemoved[i] = in.get() != 0;
+            }
+            skip(in, ((docCount + Long.BYTES - 1) & -Long.BYTES) - docCount);
+        } catch (RuntimeException e) {
+            // A truncated buffer must not leak the off-heap arrays
+            index.close();
+            throw e;
+        }
+        return index;
+    }
+
+    private static void skip(ByteBuffer buffer, int bytes) {
+        buffer.position(buffer.position() + bytes);
+    }
+
+    private int find(long hash) {
+        int mask = keys.length() - 1;
+        for (int slot = spread(hash) & mask; heads.get(slot) != -1; slot = (slot + 1) & mask) {
+            if (keys.get(slot) == hash) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int slotFor(long hash) {
+        int mask = keys.length() - 1;
+        int slot = spread(hash) & mask;
+        while (heads.get(slot) != -1 && keys.get(slot) != hash) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int spread(long hash) {
+        long h = hash * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void rehash(int newCapacity) {
+        LongArray oldKeys = keys;
+        IntArray oldHeads = heads;
+        keys = memory.allocateLongs(newCapacity);
+        heads = memory.allocateInts(newCapacity);
+        heads.fill(-1);
+        resizeThreshold = (int) (newCapacity * LOAD_FACTOR);
+        for (int i = 0; i < oldKeys.length(); i++) {
+            int head = oldHeads.get(i);
+            if (head != -1) {
+                long key = oldKeys.get(i);
+                int slot = slotFor(key);
+                keys.set(slot, key);
+                heads.set(slot, head);
+            }
+        }
+        oldKeys.release();
+        oldHeads.release();
+    }
+
+    // Drops tombstoned documents and their postings, renumbering the survivors.
+    private void compact() {
+        int[] newOrdinal = new int[docCount];
+        int live = 0;
+        for (int ordinal = 0; ordinal < docCount; ordinal++) {
+            if (docRemoved[ordinal]) {
+                newOrdinal[ordinal] = -1;
+            } else {
+                newOrdinal[ordinal] = live;
+                docIds[live] = docIds[ordinal];
+                docSizes[live] = docSizes[ordinal];
+                live++;
+            }
+        }
+        Arrays.fill(docRemoved, false);
+        docCount = live;
+        removedCount = 0;
+
+        IntArray oldDoc = postingDoc;
+        IntArray oldNext = postingNext;
+        postingDoc = memory.allocateInts(Math.max(16, postingCount));
+        postingNext = memory.allocateInts(postingDoc.length());
+        postingCount = 0;
+        distinctKeys = 0;
+        for (int slot = 0; slot < keys.length(); slot++) {
+            if (heads.get(slot) == -1) {
+                continue;
+            }
+            // Re-link the surviving postings of this key in their original order
+            int head = -1;
+            int tail = -1;
+            for (int p = heads.get(slot); p != -1; p = oldNext.get(p)) {
+                int ordinal = newOrdinal[oldDoc.get(p)];
+                if (ordinal < 0) {
+                    continue;
+                }
+                postingDoc.set(postingCount, ordinal);
+                postingNext.set(postingCount, -1);
+                if (tail == -1) {
+                    head = postingCount;
+                } else {
+                    postingNext.set(tail, postingCount);
+                }
+                tail = postingCount++;
+            }
+            heads.set(slot, head);
+            if (head != -1) {
+                distinctKeys++;
+            }
+        }
+        oldDoc.release();
+        oldNext.release();
+        // Keys left without postings became empty slots mid-probe-chain; rebuild the table
+        rehash(keys.length());
+    }
+
+    private void ensurePostingCapacity(int required) {
+        if (required > postingDoc.length()) {
+            int newCapacity = Math.max(required, postingDoc.length() + (postingDoc.length() >> 1));
+            IntArray oldDoc = postingDoc;
+            IntArray oldNext = postingNext;
+            postingDoc = oldDoc.copyOf(newCapacity);
+            postingNext = oldNext.copyOf(newCapacity);
+            oldDoc.release();
+            oldNext.release();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.plagchecker.engine;
+
+import java.util.List;
+
+// Python 3. Indentation is dropped with the rest of the whitespace, and a
+// string prefix (r, b, f) comes out as an identifier before the string.
+public class PythonLexer extends DfaLexer {
+
+    private static final String[] KEYWORDS = {
+            "False", "None", "True", "and", "as", "assert", "async", "await", "break", "class",
+            "continue", "def", "del", "elif", "else", "except", "finally", "for", "from", "global",
+            "if", "import", "in", "is", "lambda", "nonlocal", "not", "or", "pass", "raise",
+            "return", "try", "while", "with", "yield"};
+
+    private static final String[] OPERATORS = {
+            "(", ")", "[", "]", "{", "}", ",", ":", ".", ";", "@", "=", "->", "...",
+            "+", "-", "*", "/", "//", "%", "**", "<<", ">>", "&", "|", "^", "~", ":=",
+            "<", ">", "<=", ">=", "==", "!=",
+            "+=", "-=", "*=", "/=", "//=", "%=", "@=", "&=", "|=", "^=", ">>=", "<<=", "**="};
+
+    public PythonLexer() {
+        super(new Builder()
+                .whitespace()
+                .identifiers("", KEYWORDS)
+                .operators(OPERATORS)
+                .numbers()
+                .lineComment("#")
+                .quoted('"', STRING, false, true)
+                .quoted('\'', STRING, false, true));
+    }
+
+    @Override
+    public String language() { return "python"; }
+
+    @Override
+    public List<String> extensions() { return List.of(".py"); }
+}
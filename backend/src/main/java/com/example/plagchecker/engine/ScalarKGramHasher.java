@@ -0,0 +1,39 @@
+package com.example.plagchecker.engine;
+
+// Polynomial rolling hash: each step removes the token leaving the k-gram and
+// appends the one entering, so a hash costs two multiplications whatever k is.
+public class ScalarKGramHasher implements KGramHasher {
+    static final long BASE = 0x100000001B3L;
+
+    private final int kGramLength;
+    private final long highestPower;
+
+    public ScalarKGramHasher(int kGramLength) {
+        this.kGramLength = kGramLength;
+        this.highestPower = power(kGramLength - 1);
+    }
+
+    static long power(int exponent) {
+        long power = 1;
+        for (int i = 0; i < exponent; i++) {
+            power *= BASE;
+        }
+        return power;
+    }
+
+    @Override
+    public void hash(int[] codes, int tokens, long[] out) {
+        int count = tokens - kGramLength + 1;
+        long rolling = 0;
+        for (int i = 0; i < kGramLength - 1 && i < tokens; i++) {
+            rolling = rolling * BASE + codes[i];
+        }
+        for (int start = 0; start < count; start++) {
+            if (start > 0) {
+                rolling -= codes[start - 1] * highestPower;
+            }
+            rolling = rolling * BASE + codes[start + kGramLength - 1];
+            out[start] = Winnower.mix(rolling);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.plagchecker.engine;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Immutable on-disk postings for a batch of documents, read through a
+// read-only memory mapping. Queries binary-search the key table and walk the
+// posting ranges in place; nothing is deserialised onto the heap. Layout
+// (little-endian):
+//
+//   header    magic, version, docCount, keyCount, postingCount,
+//             firstGeneration, lastGeneration, filterBlocks, filterHashes
+//   docIds    long[docCount]   ordinal -> submission id
+//   docSizes  int[docCount]    ordinal -> number of distinct fingerprints
+//   keys      long[keyCount]   sorted, 8-byte aligned
+//   offsets   int[keyCount+1]  key -> first posting; the last entry closes the range
+//   postings  int[postingCount] document ordinals, ascending per key
+//   filter    long[filterBlocks * 8], 8-byte aligned; blocked Bloom filter of the keys
+//
+// Queries test the filter before binary-searching the keys; most hashes of a
+// new submission occur in no archived document. Version 1 files have no
+// filter (filterBlocks is 0) and are still read.
+//
+// The generation range names the flushes the segment was built from, so a
+// merged segment that was written but whose inputs were not yet deleted can
+// be recognised on startup.
+public class Segment {
+
+    static final int MAGIC = 0x46505347;
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 48;
+    // Mappings are indexed by int
+    public static final long MAX_BYTES = Integer.MAX_VALUE;
+
+    // Reads the postings of a segment key by key; used to merge segments
+    interface KeyCursor {
+        boolean advance();
+
+        long key();
+
+        int postingCount();
+
+        int posting(int index);
+    }
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int docCount;
+    private final int keyCount;
+    private final int postingCount;
+    private final long firstGeneration;
+    private final long lastGeneration;
+    private final int docSizesAt;
+    private final int keysAt;
+    private final int offsetsAt;
+    private final int postingsAt;
+    private final BlockedBloomFilter filter;
+
+    private Segment(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC
+                || buffer.getInt(4) < 1 || buffer.getInt(4) > VERSION) {
+            throw new IOException("Not a fingerprint segment: " + path);
+        }
+        docCount = buffer.getInt(8);
+        keyCount = buffer.getInt(12);
+        long postings = buffer.getLong(16);
+        firstGeneration = buffer.getLong(24);
+        lastGeneration = buffer.getLong(32);
+        int filterBlocks = buffer.getInt(40);
+        int filterHashes = buffer.getInt(44);
+        if (docCount < 0 || keyCount < 0 || postings < 0 || filterBlocks < 0
+                || size(docCount, keyCount, postings, filterBlocks) != buffer.capacity()) {
+            throw new IOException("Truncated or corrupt segment: " + path);
+        }
+        postingCount = (int) postings;
+        docSizesAt = HEADER_BYTES + docCount * Long.BYTES;
+        keysAt = (int) keysAt(docCount);
+        offsetsAt = keysAt + keyCount * Long.BYTES;
+        postingsAt = offsetsAt + (keyCount + 1) * Integer.BYTES;
+        filter = filterBlocks == 0 ? null : new BlockedBloomFilter(buffer
+                .slice((int) filterAt(docCount, keyCount, postingCount), filterBlocks * BlockedBloomFilter.BLOCK_LONGS * Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer(), filterHashes);
+    }
+
+    public static Segment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > MAX_BYTES) {
+                throw new IOException("Segment too large: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return new Segment(path, buffer);
+        }
+    }
+
+    static long size(long docCount, long keyCount, long postingCount, int filterBlocks) {
+        long end = keysAt(docCount) + keyCount * Long.BYTES + (keyCount + 1) * Integer.BYTES + postingCount * Integer.BYTES;
+        return filterBlocks == 0 ? end : filterAt(docCount, keyCount, postingCount)
+                + (long) filterBlocks * BlockedBloomFilter.BLOCK_LONGS * Long.BYTES;
+    }
+
+    static long filterAt(long docCount, long keyCount, long postingCount) {
+        long end = keysAt(docCount) + keyCount * Long.BYTES + (keyCount + 1) * Integer.BYTES + postingCount * Integer.BYTES;
+        return (end + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    static long keysAt(long docCount) {
+        long end = HEADER_BYTES + docCount * (Long.BYTES + Integer.BYTES);
+        return (end + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    public void forEachOverlap(long[] distinctHashes, PostingsIndex.OverlapConsumer consumer) {
+        forEachOverlap(distinctHashes, consumer, new FilterStats());
+    }
+
+    // Reports every document sharing at least one of the sorted, duplicate-free hashes
+    public void forEachOverlap(long[] distinctHashes, PostingsIndex.OverlapConsumer consumer, FilterStats stats) {
+        int[] counts = null;
+        int[] touched = new int[16];
+        int touchedCount = 0;
+        int low = 0;
+        for (long hash : distinctHashes) {
+            stats.lookups++;
+            if (filter != null && !filter.mightContain(hash)) {
+                stats.skipped++;
+                continue;
+            }
+            int found = search(hash, low);
+            if (found < 0) {
+                if (filter != null) {
+                    stats.falsePositives++;
+                }
+                low = -found - 1;
+                if (low == keyCount) {
+                    break;
+                }
+                continue;
+            }
+            low = found + 1;
+            if (counts == null) {
+                counts = new int[docCount];
+            }
+            int end = offset(found + 1);
+            for (int p = offset(found); p < end; p++) {
+                int ordinal = posting(p);
+                if (counts[ordinal]++ == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = ordinal;
+                }
+            }
+        }
+        for (int i = 0; i < touchedCount; i++) {
+            int ordinal = touched[i];
+            consumer.accept(docId(ordinal), counts[ordinal], docSize(ordinal));
+        }
+    }
+
+    // Index of the key in [from, keyCount), or -(insertion point) - 1
+    private int search(long hash, int from) {
+        int low = from;
+        int high = keyCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long key = key(middle);
+            if (key < hash) {
+                low = middle + 1;
+            } else if (key > hash) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    KeyCursor cursor(int ordinalBase) {
+        return new KeyCursor() {
+            private int index = -1;
+            private int start;
+            private int end;
+
+            @Override
+            public boolean advance() {
+                if (++index >= keyCount) {
+                    return false;
+                }
+                start = offset(index);
+                end = offset(index + 1);
+                return true;
+            }
+
+            @Override
+            public long key() { return Segment.this.key(index); }
+
+            @Override
+            public int postingCount() { return end - start; }
+
+            @Override
+            public int posting(int i) { return ordinalBase + Segment.this.posting(start + i); }
+        };
+    }
+
+    public long docId(int ordinal) { return buffer.getLong(HEADER_BYTES + ordinal * Long.BYTES); }
+
+    public int docSize(int ordinal) { return buffer.getInt(docSizesAt + ordinal * Integer.BYTES); }
+
+    private long key(int index) { return buffer.getLong(keysAt + index * Long.BYTES); }
+
+    private int offset(int index) { return buffer.getInt(offsetsAt + index * Integer.BYTES); }
+
+    private int posting(int index) { return buffer.getInt(postingsAt + index * Integer.BYTES); }
+
+    public Path getPath() { return path; }
+
+    public int documentCount() { return docCount; }
+
+    public int keyCount() { return keyCount; }
+
+    public int postingCount() { return postingCount; }
+
+    public long sizeBytes() { return buffer.capacity(); }
+
+    public boolean hasFilter() { return filter != null; }
+
+    public long firstGeneration() { return firstGeneration; }
+
+    public long lastGeneration() { return lastGeneration; }
+}
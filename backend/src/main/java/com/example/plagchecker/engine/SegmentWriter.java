@@ -0,0 +1,242 @@
+package com.example.plagchecker.engine;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Writes Segment files. Both a flush of in-memory documents and a merge of
+// existing segments are a k-way merge of sorted key cursors: one pass counts
+// keys and postings to size the file, a second pass writes it through a
+// writable mapping. The file appears under its final name only once complete.
+// A false-positive rate of 0 writes no Bloom filter.
+public final class SegmentWriter {
+
+    private SegmentWriter() {}
+
+    // Documents given as sorted, duplicate-free hash arrays
+    public static Segment write(Path file, long generation, long[] docIds, long[][] docHashes,
+                                double falsePositiveRate) throws IOException {
+        int[] docSizes = new int[docIds.length];
+        for (int i = 0; i < docIds.length; i++) {
+            docSizes[i] = docHashes[i].length;
+        }
+        return write(file, generation, generation, docIds, docSizes, falsePositiveRate, () -> {
+            Segment.KeyCursor[] cursors = new Segment.KeyCursor[docHashes.length];
+            for (int i = 0; i < cursors.length; i++) {
+                cursors[i] = documentCursor(i, docHashes[i]);
+            }
+            return cursors;
+        });
+    }
+
+    // Merges adjacent segments into one covering their whole generation range
+    public static Segment merge(Path file, List<Segment> segments, double falsePositiveRate) throws IOException {
+        int docCount = 0;
+        for (Segment segment : segments) {
+            docCount += segment.documentCount();
+        }
+        long[] docIds = new long[docCount];
+        int[] docSizes = new int[docCount];
+        int[] bases = new int[segments.size()];
+        int ordinal = 0;
+        for (int s = 0; s < segments.size(); s++) {
+            Segment segment = segments.get(s);
+            bases[s] = ordinal;
+            for (int i = 0; i < segment.documentCount(); i++, ordinal++) {
+                docIds[ordinal] = segment.docId(i);
+                docSizes[ordinal] = segment.docSize(i);
+            }
+        }
+        long first = segments.stream().mapToLong(Segment::firstGeneration).min().orElse(0);
+        long last = segments.stream().mapToLong(Segment::lastGeneration).max().orElse(0);
+        return write(file, first, last, docIds, docSizes, falsePositiveRate, () -> {
+            Segment.KeyCursor[] cursors = new Segment.KeyCursor[segments.size()];
+            for (int s = 0; s < cursors.length; s++) {
+                cursors[s] = segments.get(s).cursor(bases[s]);
+            }
+            return cursors;
+        });
+    }
+
+    private static Segment write(Path file, long firstGeneration, long lastGeneration, long[] docIds, int[] docSizes,
+                                 double falsePositiveRate, Supplier<Segment.KeyCursor[]> cursors) throws IOException {
+        long[] counts = new long[2];
+        mergeKeys(cursors.get(), (key, merged, n) -> {
+            counts[0]++;
+            for (int i = 0; i < n; i++) {
+                counts[1] += merged[i].postingCount();
+            }
+        });
+        long keyCount = counts[0];
+        long postingCount = counts[1];
+        boolean filtered = falsePositiveRate > 0 && falsePositiveRate < 1 && keyCount > 0;
+        int filterBlocks = filtered ? BlockedBloomFilter.blocksFor(keyCount, falsePositiveRate) : 0;
+        int filterHashes = filtered ? BlockedBloomFilter.hashesFor(falsePositiveRate) : 0;
+        long size = Segment.size(docIds.length, keyCount, postingCount, filterBlocks);
+        if (size > Segment.MAX_BYTES) {
+            throw new IOException("Segment would exceed " + Segment.MAX_BYTES + " bytes: " + file);
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                out.order(ByteOrder.LITTLE_ENDIAN);
+                out.putInt(0, Segment.MAGIC);
+                out.putInt(4, Segment.VERSION);
+                out.putInt(8, docIds.length);
+                out.putInt(12, (int) keyCount);
+                out.putLong(16, postingCount);
+                out.putLong(24, firstGeneration);
+                out.putLong(32, lastGeneration);
+                out.putInt(40, filterBlocks);
+                out.putInt(44, filterHashes);
+                int docSizesAt = Segment.HEADER_BYTES + docIds.length * Long.BYTES;
+                for (int i = 0; i < docIds.length; i++) {
+                    out.putLong(Segment.HEADER_BYTES + i * Long.BYTES, docIds[i]);
+                    out.putInt(docSizesAt + i * Integer.BYTES, docSizes[i]);
+                }
+                int keysAt = (int) Segment.keysAt(docIds.length);
+                int offsetsAt = keysAt + (int) keyCount * Long.BYTES;
+                int postingsAt = offsetsAt + ((int) keyCount + 1) * Integer.BYTES;
+                BlockedBloomFilter filter = filtered ? new BlockedBloomFilter(out
+                        .slice((int) Segment.filterAt(docIds.length, keyCount, postingCount),
+                                filterBlocks * BlockedBloomFilter.BLOCK_LONGS * Long.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer(), filterHashes) : null;
+                int[] position = new int[2];
+                mergeKeys(cursors.get(), (key, merged, n) -> {
+                    if (filter != null) {
+                        filter.add(key);
+                    }
+                    int k = position[0]++;
+                    out.putLong(keysAt + k * Long.BYTES, key);
+                    out.putInt(offsetsAt + k * Integer.BYTES, position[1]);
+                    for (int i = 0; i < n; i++) {
+                        Segment.KeyCursor cursor = merged[i];
+                        for (int p = 0; p < cursor.postingCount(); p++) {
+                            out.putInt(postingsAt + position[1]++ * Integer.BYTES, cursor.posting(p));
+                        }
+                    }
+                });
+                out.putInt(offsetsAt + (int) keyCount * Integer.BYTES, position[1]);
+                out.force();
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return Segment.open(file);
+    }
+
+    @FunctionalInterface
+    private interface KeyVisitor {
+        // Cursors positioned on the key, in input order so postings stay ascending
+        void visit(long key, Segment.KeyCursor[] merged, int count);
+    }
+
+    private static void mergeKeys(Segment.KeyCursor[] cursors, KeyVisitor visitor) {
+        // Min-heap of cursor indexes ordered by current key, then by index
+        int[] heap = new int[cursors.length];
+        int size = 0;
+        for (int i = 0; i < cursors.length; i++) {
+            if (cursors[i].advance()) {
+                heap[size] = i;
+                siftUp(cursors, heap, size++);
+            }
+        }
+        int[] popped = new int[cursors.length];
+        Segment.KeyCursor[] merged = new Segment.KeyCursor[cursors.length];
+        while (size > 0) {
+            long key = cursors[heap[0]].key();
+            int count = 0;
+            while (size > 0 && cursors[heap[0]].key() == key) {
+                popped[count++] = heap[0];
+                heap[0] = heap[--size];
+                siftDown(cursors, heap, size, 0);
+            }
+            // Insertion sort; only a handful of cursors share a key
+            for (int i = 1; i < count; i++) {
+                int value = popped[i];
+                int j = i - 1;
+                while (j >= 0 && popped[j] > value) {
+                    popped[j + 1] = popped[j];
+                    j--;
+                }
+                popped[j + 1] = value;
+            }
+            for (int i = 0; i < count; i++) {
+                merged[i] = cursors[popped[i]];
+            }
+            visitor.visit(key, merged, count);
+            for (int i = 0; i < count; i++) {
+                if (cursors[popped[i]].advance()) {
+                    heap[size] = popped[i];
+                    siftUp(cursors, heap, size++);
+                }
+            }
+        }
+    }
+
+    private static boolean less(Segment.KeyCursor[] cursors, int a, int b) {
+        long left = cursors[a].key();
+        long right = cursors[b].key();
+        return left < right || (left == right && a < b);
+    }
+
+    private static void siftUp(Segment.KeyCursor[] cursors, int[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(cursors, heap[i], heap[parent])) {
+                return;
+            }
+            int swap = heap[i];
+            heap[i] = heap[parent];
+            heap[parent] = swap;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(Segment.KeyCursor[] cursors, int[] heap, int size, int i) {
+        while (true) {
+            int smallest = i;
+            for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                if (less(cursors, heap[child], heap[smallest])) {
+                    smallest = child;
+                }
+            }
+            if (smallest == i) {
+                return;
+            }
+            int swap = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = swap;
+            i = smallest;
+        }
+    }
+
+    private static Segment.KeyCursor documentCursor(int ordinal, long[] hashes) {
+        return new Segment.KeyCursor() {
+            private int index = -1;
+
+            @Override
+            public boolean advance() { return ++index < hashes.length; }
+
+            @Override
+            public long key() { return hashes[index]; }
+
+            @Override
+            public int postingCount() { return 1; }
+
+            @Override
+            public int posting(int i) { return ordinal; }
+        };
+    }
+}
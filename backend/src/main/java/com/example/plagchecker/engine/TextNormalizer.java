@@ -0,0 +1,20 @@
+package com.example.plagchecker.engine;
+
+// Character-level normalisation used when no language lexer applies:
+// whitespace is dropped and letters are lower-cased, so layout and
+// capitalisation changes do not affect the fingerprints.
+public class TextNormalizer {
+
+    public TokenStream normalize(CharSequence text, TokenStream out) {
+        out.clear();
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            out.add(Character.toLowerCase(c), i);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.plagchecker.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+// Exact all-pairs comparison on a fork/join pool. The upper triangle of the
+// N x N pair matrix is cut into square tiles; tile ranges are split
+// recursively so idle workers steal the remaining halves, which evens out
+// tiles holding unusually large submissions. Each leaf scores its tile into
+// its own accumulator and accumulators are merged on the way back up, so
+// workers never contend on shared result state.
+public class TiledPairScheduler {
+
+    @FunctionalInterface
+    public interface PairScorer {
+        double score(int first, int second);
+    }
+
+    public interface Accumulator<A extends Accumulator<A>> {
+        void accept(int first, int second, double score);
+
+        A merge(A other);
+    }
+
+    private final int tileSize;
+
+    public TiledPairScheduler(int tileSize) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("tile size must be positive");
+        }
+        this.tileSize = tileSize;
+    }
+
+    public static long pairCount(int documents) {
+        return (long) documents * (documents - 1) / 2;
+    }
+
+    public <A extends Accumulator<A>> A run(ForkJoinPool pool, int documents, PairScorer scorer,
+                                            Supplier<A> accumulators, LongConsumer onPairsCompared) {
+        int blocks = (documents + tileSize - 1) / tileSize;
+        int tiles = blocks * (blocks + 1) / 2;
+        int[] tileRows = new int[tiles];
+        int[] tileColumns = new int[tiles];
+        int t = 0;
+        for (int row = 0; row < blocks; row++) {
+            for (int column = row; column < blocks; column++) {
+                tileRows[t] = row;
+                tileColumns[t] = column;
+                t++;
+            }
+        }
+        return pool.invoke(new TileRange<>(0, tiles, tileRows, tileColumns, documents, scorer, accumulators, onPairsCompared));
+    }
+
+    private class TileRange<A extends Accumulator<A>> extends RecursiveTask<A> {
+        private final int from;
+        private final int to;
+        private final int[] tileRows;
+        private final int[] tileColumns;
+        private final int documents;
+        private final PairScorer scorer;
+        private final Supplier<A> accumulators;
+        private final LongConsumer onPairsCompared;
+
+        TileRange(int from, int to, int[] tileRows, int[] tileColumns, int documents, PairScorer scorer,
+                  Supplier<A> accumulators, LongConsumer onPairsCompared) {
+            this.from = from;
+            this.to = to;
+            this.tileRows = tileRows;
+            this.tileColumns = tileColumns;
+            this.documents = documents;
+            this.scorer = scorer;
+            this.accumulators = accumulators;
+            this.onPairsCompared = onPairsCompared;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= 1) {
+                A accumulator = accumulators.get();
+                if (from < to) {
+                    onPairsCompared.accept(scoreTile(tileRows[from], tileColumns[from], accumulator));
+                }
+                return accumulator;
+            }
+            int middle = (from + to) >>> 1;
+            TileRange<A> right = new TileRange<>(middle, to, tileRows, tileColumns, documents, scorer, accumulators, onPairsCompared);
+            right.fork();
+            A left = new TileRange<>(from, middle, tileRows, tileColumns, documents, scorer, accumulators, onPairsCompared).compute();
+            return left.merge(right.join());
+        }
+
+        private long scoreTile(int row, int column, A accumulator) {
+            int rowStart = row * tileSize;
+            int rowEnd = Math.min(rowStart + tileSize, documents);
+            int columnStart = column * tileSize;
+            int columnEnd = Math.min(columnStart + tileSize, documents);
+            long compared = 0;
+            for (int i = rowStart; i < rowEnd; i++) {
+                // Diagonal tiles only hold the pairs above the diagonal
+                for (int j = row == column ? i + 1 : columnStart; j < columnEnd; j++) {
+                    accumulator.accept(i, j, scorer.score(i, j));
+                    compared++;
+                }
+            }
+            return compared;
+        }
+    }
+}
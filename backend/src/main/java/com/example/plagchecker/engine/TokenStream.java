@@ -0,0 +1,58 @@
+package com.example.plagchecker.engine;
+
+import java.util.Arrays;
+
+// Growable buffer of token codes plus the source range each token came from.
+// Reused across documents so that tokenising does not allocate per token.
+public class TokenStream {
+    private int[] codes;
+    private int[] offsets;
+    private int[] ends;
+    private int size;
+
+    public TokenStream() {
+        this(1024);
+    }
+
+    public TokenStream(int initialCapacity) {
+        codes = new int[Math.max(16, initialCapacity)];
+        offsets = new int[codes.length];
+        ends = new int[codes.length];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // A one-character token
+    public void add(int code, int offset) {
+        add(code, offset, offset + 1);
+    }
+
+    public void add(int code, int offset, int end) {
+        if (size == codes.length) {
+            int newCapacity = codes.length + (codes.length >> 1);
+            codes = Arrays.copyOf(codes, newCapacity);
+            offsets = Arrays.copyOf(offsets, newCapacity);
+            ends = Arrays.copyOf(ends, newCapacity);
+        }
+        codes[size] = code;
+        offsets[size] = offset;
+        ends[size] = end;
+        size++;
+    }
+
+    public int size() { return size; }
+
+    public int code(int index) { return codes[index]; }
+
+    public int offset(int index) { return offsets[index]; }
+
+    // Source offset just past the token
+    public int end(int index) { return ends[index]; }
+
+    // Backing arrays, valid up to size(); exposed for tight loops.
+    public int[] codes() { return codes; }
+
+    public int[] offsets() { return offsets; }
+}
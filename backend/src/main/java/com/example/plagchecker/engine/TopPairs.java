@@ -0,0 +1,303 @@
+package com.example.plagchecker.engine;
+
+import java.util.Arrays;
+
+// Bounded selection of the most similar pairs. A min-heap keeps the K best
+// pairs overall and a small min-heap per document keeps its k best partners,
+// all in primitive arrays, so a check holds O(K + N*k) scores no matter how
+// many of the N^2 pairs clear the threshold. Per-document heaps are only
+// allocated for documents that actually received a pair.
+public class TopPairs implements TiledPairScheduler.Accumulator<TopPairs> {
+
+    @FunctionalInterface
+    public interface PairConsumer {
+        void accept(int first, int second, double score);
+    }
+
+    private final double threshold;
+    private final int limit;
+    private final int perDocument;
+
+    private int[] firsts;
+    private int[] seconds;
+    private double[] scores;
+    private int size;
+
+    private int[] docKeys;
+    private int[] docBlocks;
+    private int docMask;
+    private int docCount;
+    private int[] partners;
+    private double[] partnerScores;
+    private int[] blockSizes;
+
+    private long matched;
+
+    public TopPairs(double threshold, int limit, int perDocument) {
+        if (limit < 1 || perDocument < 0) {
+            throw new IllegalArgumentException("limit must be positive and perDocument non-negative");
+        }
+        this.threshold = threshold;
+        this.limit = limit;
+        this.perDocument = perDocument;
+        int initial = Math.min(limit, 16);
+        firsts = new int[initial];
+        seconds = new int[initial];
+        scores = new double[initial];
+        if (perDocument > 0) {
+            docKeys = new int[16];
+            Arrays.fill(docKeys, -1);
+            docBlocks = new int[16];
+            docMask = 15;
+            partners = new int[8 * perDocument];
+            partnerScores = new double[8 * perDocument];
+            blockSizes = new int[8];
+        }
+    }
+
+    @Override
+    public void accept(int first, int second, double score) {
+        if (score < threshold) {
+            return;
+        }
+        matched++;
+        int low = Math.min(first, second);
+        int high = Math.max(first, second);
+        offer(low, high, score);
+        if (perDocument > 0) {
+            offerPartner(low, high, score);
+            offerPartner(high, low, score);
+        }
+    }
+
+    @Override
+    public TopPairs merge(TopPairs other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.firsts[i], other.seconds[i], other.scores[i]);
+        }
+        if (perDocument > 0) {
+            for (int slot = 0; slot < other.docKeys.length; slot++) {
+                if (other.docKeys[slot] == -1) {
+                    continue;
+                }
+                int base = other.docBlocks[slot] * perDocument;
+                for (int i = 0; i < other.blockSizes[other.docBlocks[slot]]; i++) {
+                    offerPartner(other.docKeys[slot], other.partners[base + i], other.partnerScores[base + i]);
+                }
+            }
+        }
+        matched += other.matched;
+        return this;
+    }
+
+    // Pairs at or above the threshold seen so far, including those that did not make the cut
+    public long matched() { return matched; }
+
+    // Union of the global top K and every document's top k, most similar first,
+    // each pair reported once with first < second
+    public void forEachRanked(PairConsumer consumer) {
+        int blocks = perDocument > 0 ? docCount : 0;
+        int capacity = size;
+        for (int block = 0; block < blocks; block++) {
+            capacity += blockSizes[block];
+        }
+        long[] keys = new long[capacity];
+        double[] values = new double[capacity];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            keys[n] = pack(firsts[i], seconds[i]);
+            values[n++] = scores[i];
+        }
+        if (perDocument > 0) {
+            for (int slot = 0; slot < docKeys.length; slot++) {
+                if (docKeys[slot] == -1) {
+                    continue;
+                }
+                int base = docBlocks[slot] * perDocument;
+                for (int i = 0; i < blockSizes[docBlocks[slot]]; i++) {
+                    int partner = partners[base + i];
+                    keys[n] = pack(Math.min(docKeys[slot], partner), Math.max(docKeys[slot], partner));
+                    values[n++] = partnerScores[base + i];
+                }
+            }
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> values[a] != values[b]
+                ? Double.compare(values[b], values[a])
+                : Long.compare(keys[a], keys[b]));
+        long previous = -1;
+        for (int index : order) {
+            if (keys[index] == previous) {
+                continue;
+            }
+            previous = keys[index];
+            consumer.accept((int) (previous >>> 32), (int) previous, values[index]);
+        }
+    }
+
+    private void offer(int first, int second, double score) {
+        if (size < limit) {
+            if (size == scores.length) {
+                int grown = (int) Math.min(limit, (long) size * 2);
+                firsts = Arrays.copyOf(firsts, grown);
+                seconds = Arrays.copyOf(seconds, grown);
+                scores = Arrays.copyOf(scores, grown);
+            }
+            firsts[size] = first;
+            seconds[size] = second;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (worse(scores[0], pack(firsts[0], seconds[0]), score, pack(first, second))) {
+            firsts[0] = first;
+            seconds[0] = second;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(scores[i], pack(firsts[i], seconds[i]), scores[parent], pack(firsts[parent], seconds[parent]))) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                if (worse(scores[child], pack(firsts[child], seconds[child]),
+                        scores[smallest], pack(firsts[smallest], seconds[smallest]))) {
+                    smallest = child;
+                }
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int first = firsts[a];
+        firsts[a] = firsts[b];
+        firsts[b] = first;
+        int second = seconds[a];
+        seconds[a] = seconds[b];
+        seconds[b] = second;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+    private void offerPartner(int doc, int partner, double score) {
+        int block = blockFor(doc);
+        int base = block * perDocument;
+        int count = blockSizes[block];
+        int i;
+        if (count < perDocument) {
+            i = base + count;
+            blockSizes[block] = count + 1;
+        } else if (worse(partnerScores[base], partners[base], score, partner)) {
+            i = base;
+            partnerScores[i] = score;
+            partners[i] = partner;
+            // Sift the replaced root down within the block
+            while (true) {
+                int smallest = i;
+                for (int child = base + 2 * (i - base) + 1; child <= base + 2 * (i - base) + 2 && child < base + count; child++) {
+                    if (worse(partnerScores[child], partners[child], partnerScores[smallest], partners[smallest])) {
+                        smallest = child;
+                    }
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swapPartners(i, smallest);
+                i = smallest;
+            }
+        } else {
+            return;
+        }
+        partnerScores[i] = score;
+        partners[i] = partner;
+        while (i > base) {
+            int parent = base + ((i - base - 1) >>> 1);
+            if (!worse(partnerScores[i], partners[i], partnerScores[parent], partners[parent])) {
+                return;
+            }
+            swapPartners(i, parent);
+            i = parent;
+        }
+    }
+
+    private void swapPartners(int a, int b) {
+        int partner = partners[a];
+        partners[a] = partners[b];
+        partners[b] = partner;
+        double score = partnerScores[a];
+        partnerScores[a] = partnerScores[b];
+        partnerScores[b] = score;
+    }
+
+    private int blockFor(int doc) {
+        int slot = slotFor(doc);
+        if (docKeys[slot] != -1) {
+            return docBlocks[slot];
+        }
+        if ((docCount + 1) * 2 > docKeys.length) {
+            rehash(docKeys.length << 1);
+            slot = slotFor(doc);
+        }
+        if (docCount == blockSizes.length) {
+            blockSizes = Arrays.copyOf(blockSizes, docCount * 2);
+            partners = Arrays.copyOf(partners, docCount * 2 * perDocument);
+            partnerScores = Arrays.copyOf(partnerScores, docCount * 2 * perDocument);
+        }
+        docKeys[slot] = doc;
+        docBlocks[slot] = docCount;
+        return docCount++;
+    }
+
+    private int slotFor(int doc) {
+        int slot = (doc * 0x9E3779B9) & docMask;
+        while (docKeys[slot] != -1 && docKeys[slot] != doc) {
+            slot = (slot + 1) & docMask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = docKeys;
+        int[] oldBlocks = docBlocks;
+        docKeys = new int[capacity];
+        Arrays.fill(docKeys, -1);
+        docBlocks = new int[capacity];
+        docMask = capacity - 1;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != -1) {
+                int target = slotFor(oldKeys[slot]);
+                docKeys[target] = oldKeys[slot];
+                docBlocks[target] = oldBlocks[slot];
+            }
+        }
+    }
+
+    // Lower score loses; among equal scores the larger key loses, so results do not
+    // depend on the order in which workers offered or merged them
+    private static boolean worse(double score, long key, double otherScore, long otherKey) {
+        return score < otherScore || (score == otherScore && key > otherKey);
+    }
+
+    private static long pack(int first, int second) {
+        return ((long) first << 32) | (second & 0xFFFFFFFFL);
+    }
+}
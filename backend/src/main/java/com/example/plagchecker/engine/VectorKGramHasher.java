@@ -0,0 +1,105 @@
+package com.example.plagchecker.engine;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Same hashes as ScalarKGramHasher, computed from prefix hashes so that the
+// k-grams no longer depend on each other and can fill vector lanes:
+//
+//   prefix[i + 1] = prefix[i] * BASE + codes[i]
+//   hash(s)       = prefix[s + k] - prefix[s] * BASE^k      (mod 2^64)
+//
+// The identity holds for a prefix started anywhere at or before s, so the
+// k-grams are split into four chunks, each with its own prefix over its tokens
+// plus k - 1 of overlap. The four prefix scans are interleaved in one scalar
+// loop so their multiply latencies overlap; the subtraction and the
+// MurmurHash3 finaliser then run on as many lanes as the CPU offers.
+//
+// Needs --add-modules jdk.incubator.vector at run time; KGramHasher#create
+// falls back to the scalar hasher without it.
+class VectorKGramHasher implements KGramHasher {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int CHUNKS = 4;
+
+    private final int kGramLength;
+    private final long kthPower;
+    // Prefix buffers are reused per thread, like FingerprintService's token buffers
+    private final ThreadLocal<long[][]> prefixBuffers = ThreadLocal.withInitial(() -> new long[1][256]);
+
+    VectorKGramHasher(int kGramLength) {
+        this.kGramLength = kGramLength;
+        this.kthPower = ScalarKGramHasher.power(kGramLength);
+    }
+
+    @Override
+    public void hash(int[] codes, int tokens, long[] out) {
+        int count = tokens - kGramLength + 1;
+        if (count <= 0) {
+            return;
+        }
+        int chunk = (count + CHUNKS - 1) / CHUNKS;
+        int span = chunk + kGramLength;
+        long[][] holder = prefixBuffers.get();
+        if (holder[0].length < CHUNKS * span) {
+            holder[0] = new long[Math.max(CHUNKS * span, holder[0].length * 2)];
+        }
+        long[] prefix = holder[0];
+        scanPrefixes(codes, count, chunk, span, prefix);
+        for (int c = 0; c < CHUNKS && c * chunk < count; c++) {
+            int first = c * chunk;
+            hashChunk(prefix, c * span, first, Math.min(chunk, count - first), out);
+        }
+    }
+
+    // Chunk c's prefix of its k-grams' tokens goes to prefix[c * span ...]
+    private void scanPrefixes(int[] codes, int count, int chunk, int span, long[] prefix) {
+        int[] needed = new int[CHUNKS];
+        for (int c = 0; c < CHUNKS; c++) {
+            needed[c] = Math.max(0, Math.min(chunk, count - c * chunk)) + kGramLength - 1;
+            prefix[c * span] = 0;
+        }
+        // The last chunk is the shortest; all four advance together up to its length
+        int shared = count > (CHUNKS - 1) * chunk ? needed[CHUNKS - 1] : 0;
+        long a = 0;
+        long b = 0;
+        long c = 0;
+        long d = 0;
+        int i = 0;
+        for (; i < shared; i++) {
+            a = a * ScalarKGramHasher.BASE + codes[i];
+            prefix[i + 1] = a;
+            b = b * ScalarKGramHasher.BASE + codes[chunk + i];
+            prefix[span + i + 1] = b;
+            c = c * ScalarKGramHasher.BASE + codes[2 * chunk + i];
+            prefix[2 * span + i + 1] = c;
+            d = d * ScalarKGramHasher.BASE + codes[3 * chunk + i];
+            prefix[3 * span + i + 1] = d;
+        }
+        long[] rolling = {a, b, c, d};
+        for (int n = 0; n < CHUNKS; n++) {
+            long value = rolling[n];
+            int from = n * chunk;
+            int at = n * span;
+            for (int j = i; j < needed[n] && from < count; j++) {
+                value = value * ScalarKGramHasher.BASE + codes[from + j];
+                prefix[at + j + 1] = value;
+            }
+        }
+    }
+
+    private void hashChunk(long[] prefix, int at, int first, int length, long[] out) {
+        int t = 0;
+        for (int bound = SPECIES.loopBound(length); t < bound; t += SPECIES.length()) {
+            LongVector h = LongVector.fromArray(SPECIES, prefix, at + t + kGramLength)
+                    .sub(LongVector.fromArray(SPECIES, prefix, at + t).mul(kthPower));
+            h = h.lanewise(VectorOperators.XOR, h.lanewise(VectorOperators.LSHR, 33)).mul(0xff51afd7ed558ccdL);
+            h = h.lanewise(VectorOperators.XOR, h.lanewise(VectorOperators.LSHR, 33)).mul(0xc4ceb9fe1a85ec53L);
+            h = h.lanewise(VectorOperators.XOR, h.lanewise(VectorOperators.LSHR, 33));
+            h.intoArray(out, first + t);
+        }
+        for (; t < length; t++) {
+            out[first + t] = Winnower.mix(prefix[at + t + kGramLength] - prefix[at + t] * kthPower);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.plagchecker.engine;
+
+import java.util.Arrays;
+
+// k-gram rolling hash plus winnowing (Schleimer, Wilkerson and Aiken, 2003),
+// the document fingerprinting scheme used by MOSS.
+//
+// Every run of k tokens is hashed with a polynomial rolling hash, and from
+// each window of w consecutive k-gram hashes the minimum is kept. Any match
+// of at least w + k - 1 tokens is therefore guaranteed to share a fingerprint,
+// while only about 2 / (w + 1) of the hashes are stored.
+//
+// The k-gram hashes come from a KGramHasher, vectorised where the JVM allows.
+// The only allocations per document are the hash array, the w-slot window and
+// the output arrays.
+public class Winnower {
+    private final int kGramLength;
+    private final int windowSize;
+    private final KGramHasher hasher;
+
+    public Winnower(int kGramLength, int windowSize) {
+        this(kGramLength, windowSize, false);
+    }
+
+    public Winnower(int kGramLength, int windowSize, boolean vectorized) {
+        if (kGramLength < 1 || windowSize < 1) {
+            throw new IllegalArgumentException("k-gram length and window size must be positive");
+        }
+        this.kGramLength = kGramLength;
+        this.windowSize = windowSize;
+        this.hasher = KGramHasher.create(kGramLength, vectorized);
+    }
+
+    public int getKGramLength() { return kGramLength; }
+
+    public int getWindowSize() { return windowSize; }
+
+    public boolean isVectorized() { return !(hasher instanceof ScalarKGramHasher); }
+
+    public Fingerprints winnow(TokenStream tokens) {
+        int[] codes = tokens.codes();
+        int count = tokens.size() - kGramLength + 1;
+        Fingerprints out = new Fingerprints(Math.max(0, count) * 2 / (windowSize + 1) + 1);
+        if (count <= 0) {
+            return out;
+        }
+
+        long[] window = new long[windowSize];
+        int[] windowPositions = new int[windowSize];
+        Arrays.fill(window, Long.MAX_VALUE);
+        int right = 0;
+        int min = 0;
+
+        long[] hashes = new long[count];
+        hasher.hash(codes, tokens.size(), hashes);
+        for (int start = 0; start < count; start++) {
+            long hash = hashes[start];
+            // Wrap by comparison; an integer division per k-gram cost more than the hashing
+            right = right + 1 == windowSize ? 0 : right + 1;
+            window[right] = hash;
+            windowPositions[right] = start;
+            if (min == right) {
+                // The previous minimum slid out of the window; rescan for the
+                // rightmost minimum.
+                for (int i = right == 0 ? windowSize - 1 : right - 1; i != right; i = i == 0 ? windowSize - 1 : i - 1) {
+                    if (window[i] < window[min]) {
+                        min = i;
+                    }
+                }
+                out.add(window[min], windowPositions[min]);
+            } else if (window[right] <= window[min]) {
+                min = right;
+                out.add(window[min], windowPositions[min]);
+            }
+        }
+        return out;
+    }
+
+    // Finaliser from MurmurHash3, so that the low-entropy polynomial hash of
+    // small token codes spreads evenly before minima are taken.
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.plagchecker.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Starter code handed out with an assignment by its instructor. Its fingerprints
+// are left out of every comparison between that assignment's submissions.
+@Entity
+@Table(name = "base_code", indexes = {
+        @Index(name = "idx_base_code_instructor_assignment", columnList = "instructor_id, assignment")
+})
+public class BaseCode {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String assignment;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "instructor_id", nullable = false)
+    private Instructor instructor;
+
+    // Winnowed fingerprints, see Fingerprints#encode
+    @JsonIgnore
+    @Lob
+    private byte[] fingerprints;
+
+    private int fingerprintCount;
+
+    // Lexer the fingerprints were made with, see FingerprintService#languageOf
+    @Column(length = 32)
+    private String language;
+
+    private LocalDateTime uploadedAt;
+
+    // Default constructor
+    public BaseCode() {}
+
+    // Constructor with parameters
+    public BaseCode(Instructor instructor, String assignment, String fileName) {
+        this.instructor = instructor;
+        this.assignment = assignment;
+        this.fileName = fileName;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getAssignment() { return assignment; }
+    public void setAssignment(String assignment) { this.assignment = assignment; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public Instructor getInstructor() { return instructor; }
+    public void setInstructor(Instructor instructor) { this.instructor = instructor; }
+
+    public Long getInstructorId() { return instructor != null ? instructor.getId() : null; }
+
+    public byte[] getFingerprints() { return fingerprints; }
+    public void setFingerprints(byte[] fingerprints) { this.fingerprints = fingerprints; }
+
+    public int getFingerprintCount() { return fingerprintCount; }
+    public void setFingerprintCount(int fingerprintCount) { this.fingerprintCount = fingerprintCount; }
+
+    public String getLanguage() { return language; }
+    public void setLanguage(String language) { this.language = language; }
+
+    public LocalDateTime getUploadedAt() { return uploadedAt; }
+    public void setUploadedAt(LocalDateTime uploadedAt) { this.uploadedAt = uploadedAt; }
+}
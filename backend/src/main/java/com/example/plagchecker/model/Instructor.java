@@ -7,8 +7,12 @@ import jakarta.persistence.*;
 @Entity
 @Table(name = "instructors")
 public class Instructor {
+    // Ids handed out per sequence call; Hibernate cannot batch inserts with IDENTITY ids
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "instructor_seq")
+    @SequenceGenerator(name = "instructor_seq", sequenceName = "instructor_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -0,0 +1,121 @@
+package com.example.plagchecker.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "submissions", indexes = {
+        @Index(name = "idx_submissions_instructor_assignment", columnList = "instructor_id, assignment"),
+        @Index(name = "idx_submissions_content_hash", columnList = "contentHash")
+})
+public class Submission {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String assignment;
+
+    @Column(nullable = false)
+    private String studentName;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    // Source text lives in the BlobStore; only set on upload or when resolved from there
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    @Transient
+    private String content;
+
+    // SHA-256 of the content, the key of its blob
+    @Column(length = 64)
+    private String contentHash;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "instructor_id", nullable = false)
+    private Instructor instructor;
+
+    // Winnowed fingerprints, see Fingerprints#encode
+    @JsonIgnore
+    @Lob
+    private byte[] fingerprints;
+
+    private int fingerprintCount;
+
+    // Lexer the fingerprints were made with, see FingerprintService#languageOf; null for "text"
+    @Column(length = 32)
+    private String language;
+
+    // k-gram length and window the fingerprints were made with; null on rows from before they were recorded
+    private Integer fingerprintK;
+
+    private Integer fingerprintWindow;
+
+    // MinHash signature of the distinct fingerprints, see MinHasher#encode
+    @JsonIgnore
+    @Lob
+    private byte[] minHashSignature;
+
+    private LocalDateTime submittedAt;
+
+    // Default constructor
+    public Submission() {}
+
+    // Constructor with parameters
+    public Submission(Instructor instructor, String assignment, String studentName, String fileName, String content) {
+        this.instructor = instructor;
+        this.assignment = assignment;
+        this.studentName = studentName;
+        this.fileName = fileName;
+        this.content = content;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getAssignment() { return assignment; }
+    public void setAssignment(String assignment) { this.assignment = assignment; }
+
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public Instructor getInstructor() { return instructor; }
+    public void setInstructor(Instructor instructor) { this.instructor = instructor; }
+
+    public Long getInstructorId() { return instructor != null ? instructor.getId() : null; }
+
+    public byte[] getFingerprints() { return fingerprints; }
+    public void setFingerprints(byte[] fingerprints) { this.fingerprints = fingerprints; }
+
+    public int getFingerprintCount() { return fingerprintCount; }
+    public void setFingerprintCount(int fingerprintCount) { this.fingerprintCount = fingerprintCount; }
+
+    public String getLanguage() { return language; }
+    public void setLanguage(String language) { this.language = language; }
+
+    public Integer getFingerprintK() { return fingerprintK; }
+    public void setFingerprintK(Integer fingerprintK) { this.fingerprintK = fingerprintK; }
+
+    public Integer getFingerprintWindow() { return fingerprintWindow; }
+    public void setFingerprintWindow(Integer fingerprintWindow) { this.fingerprintWindow = fingerprintWindow; }
+
+    public byte[] getMinHashSignature() { return minHashSignature; }
+    public void setMinHashSignature(byte[] minHashSignature) { this.minHashSignature = minHashSignature; }
+
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+}
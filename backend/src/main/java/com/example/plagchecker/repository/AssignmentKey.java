@@ -0,0 +1,17 @@
+package com.example.plagchecker.repository;
+
+import com.example.plagchecker.model.Submission;
+
+// An assignment as one instructor's: two instructors may both have a "hw1",
+// and their indexes, results and checks must never mix.
+public record AssignmentKey(long instructorId, String assignment) {
+
+    public static AssignmentKey of(Submission submission) {
+        return new AssignmentKey(submission.getInstructorId(), submission.getAssignment());
+    }
+
+    @Override
+    public String toString() {
+        return instructorId + "/" + assignment;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.plagchecker.repository;
+
+import com.example.plagchecker.model.BaseCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface BaseCodeRepository extends JpaRepository<BaseCode, Long> {
+    List<BaseCode> findByInstructor_IdAndAssignment(Long instructorId, String assignment);
+}
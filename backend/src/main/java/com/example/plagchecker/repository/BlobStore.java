@@ -0,0 +1,102 @@
+package com.example.plagchecker.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Content-addressed store for submission sources, next to the H2 files under ./data.
+// A blob is named by the SHA-256 of its UTF-8 bytes and sharded two levels deep
+// (ab/cd/abcd...), so identical uploads share one file and are written only once.
+// Blobs are immutable; writes go to a temp file that is atomically renamed into place.
+@Repository
+public class BlobStore {
+
+    private final Path root;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+
+    public BlobStore(@Value("${plagchecker.blobs.dir:./data/blobs}") String root) {
+        this.root = Path.of(root);
+    }
+
+    // Stores the content unless an identical blob exists and returns its hash
+    public String put(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        String hash = sha256(bytes);
+        Path target = pathOf(hash);
+        if (Files.exists(target)) {
+            deduplicated.incrementAndGet();
+            return hash;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                Files.write(temp, bytes);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                written.incrementAndGet();
+            } catch (FileAlreadyExistsException e) {
+                // Another upload of the same content won the race
+                deduplicated.incrementAndGet();
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store blob " + hash, e);
+        }
+        return hash;
+    }
+
+    public Optional<String> get(String hash) {
+        if (!isHash(hash)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.readString(pathOf(hash), StandardCharsets.UTF_8));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read blob " + hash, e);
+        }
+    }
+
+    public boolean contains(String hash) {
+        return isHash(hash) && Files.exists(pathOf(hash));
+    }
+
+    public long getWritten() { return written.get(); }
+
+    public long getDeduplicated() { return deduplicated.get(); }
+
+    Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    public static String sha256(String content) {
+        return sha256(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static boolean isHash(String hash) {
+        return hash != null && hash.length() == 64 && hash.chars().allMatch(c -> Character.digit(c, 16) >= 0);
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.plagchecker.repository;
+
+import com.example.plagchecker.dto.CorpusStats;
+import com.example.plagchecker.engine.FilterStats;
+import com.example.plagchecker.engine.MinHasher;
+import com.example.plagchecker.engine.PostingsIndex;
+import com.example.plagchecker.engine.Segment;
+import com.example.plagchecker.engine.SegmentWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+// Fingerprints of archived submissions (previous semesters), kept on disk in
+// immutable memory-mapped segments so the corpus can outgrow the heap. New
+// documents are buffered and flushed as a small segment; a background thread
+// merges runs of adjacent segments of the same size tier into one, LSM-style,
+// so the number of segments a query fans out to stays logarithmic. Each
+// segment carries a Bloom filter of its keys, sized for bloom-fpp.
+@Repository
+public class FingerprintCorpus {
+
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int flushDocuments;
+    private final int mergeFactor;
+    private final double falsePositiveRate;
+
+    // Immutable snapshot, ordered by generation; replaced on flush and merge
+    private volatile List<Segment> segments = List.of();
+    private final Object lock = new Object();
+    private final List<long[]> pendingHashes = new ArrayList<>();
+    private final List<Long> pendingIds = new ArrayList<>();
+    // Ids of every flushed document, sorted, so a document is archived at most once
+    private long[] archivedIds = new long[0];
+    private long nextGeneration = 1;
+    private final AtomicLong merges = new AtomicLong();
+    private volatile String lastMergeError;
+    private final FilterStats filterStats = new FilterStats();
+    private final ExecutorService merger = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "corpus-merge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FingerprintCorpus(@Value("${plagchecker.corpus.dir:./data/corpus}") String directory,
+                             @Value("${plagchecker.corpus.flush-documents:1000}") int flushDocuments,
+                             @Value("${plagchecker.corpus.merge-factor:4}") int mergeFactor,
+                             @Value("${plagchecker.corpus.bloom-fpp:0.01}") double falsePositiveRate) {
+        this.directory = Path.of(directory);
+        this.flushDocuments = Math.max(1, flushDocuments);
+        this.mergeFactor = Math.max(2, mergeFactor);
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Segment> found = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    found.add(Segment.open(file));
+                } catch (IOException e) {
+                    // Set aside rather than fail startup; the file stays for inspection
+                    Files.move(file, file.resolveSibling(file.getFileName() + ".corrupt"),
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        // A merge that crashed before deleting its inputs leaves segments covered by the merged one
+        List<Segment> live = new ArrayList<>();
+        for (Segment segment : found) {
+            boolean superseded = found.stream().anyMatch(other -> other != segment
+                    && other.firstGeneration() <= segment.firstGeneration()
+                    && segment.lastGeneration() <= other.lastGeneration()
+                    && (other.lastGeneration() - other.firstGeneration()) > (segment.lastGeneration() - segment.firstGeneration()));
+            if (superseded) {
+                Files.deleteIfExists(segment.getPath());
+            } else {
+                live.add(segment);
+            }
+        }
+        live.sort(Comparator.comparingLong(Segment::firstGeneration));
+        synchronized (lock) {
+            segments = List.copyOf(live);
+            archivedIds = live.stream()
+                    .flatMapToLong(segment -> IntStream.range(0, segment.documentCount()).mapToLong(segment::docId))
+                    .sorted()
+                    .toArray();
+            nextGeneration = live.stream().mapToLong(Segment::lastGeneration).max().orElse(0) + 1;
+        }
+        scheduleMerge();
+    }
+
+    // Buffers a document; every flush-documents documents become a new segment.
+    // Returns false, adding nothing, if the document is already in the corpus.
+    public boolean add(long docId, long[] distinctHashes) {
+        synchronized (lock) {
+            if (Arrays.binarySearch(archivedIds, docId) >= 0 || pendingIds.contains(docId)) {
+                return false;
+            }
+            pendingIds.add(docId);
+            pendingHashes.add(distinctHashes);
+            if (pendingIds.size() >= flushDocuments) {
+                flushLocked();
+            }
+        }
+        return true;
+    }
+
+    public void flush() {
+        synchronized (lock) {
+            flushLocked();
+        }
+    }
+
+    private void flushLocked() {
+        if (pendingIds.isEmpty()) {
+            return;
+        }
+        long generation = nextGeneration++;
+        long[] ids = pendingIds.stream().mapToLong(Long::longValue).toArray();
+        long[][] hashes = pendingHashes.toArray(new long[0][]);
+        try {
+            Segment segment = SegmentWriter.write(fileFor(generation, generation), generation, ids, hashes, falsePositiveRate);
+            List<Segment> updated = new ArrayList<>(segments);
+            updated.add(segment);
+            segments = List.copyOf(updated);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not flush corpus segment " + generation, e);
+        }
+        long[] archived = Arrays.copyOf(archivedIds, archivedIds.length + ids.length);
+        System.arraycopy(ids, 0, archived, archivedIds.length, ids.length);
+        Arrays.sort(archived);
+        archivedIds = archived;
+        pendingIds.clear();
+        pendingHashes.clear();
+        scheduleMerge();
+    }
+
+    // Fans the query out to every segment and to the unflushed documents; returns the filter counters of the query
+    public FilterStats forEachOverlap(long[] distinctHashes, PostingsIndex.OverlapConsumer consumer) {
+        List<Segment> current;
+        long[] ids;
+        long[][] hashes;
+        // One consistent view, so a concurrent flush cannot hide or double a document
+        synchronized (lock) {
+            current = segments;
+            ids = pendingIds.stream().mapToLong(Long::longValue).toArray();
+            hashes = pendingHashes.toArray(new long[0][]);
+        }
+        FilterStats stats = new FilterStats();
+        for (Segment segment : current) {
+            segment.forEachOverlap(distinctHashes, consumer, stats);
+        }
+        for (int i = 0; i < ids.length; i++) {
+            int shared = MinHasher.intersectionSize(distinctHashes, hashes[i]);
+            if (shared > 0) {
+                consumer.accept(ids[i], shared, hashes[i].length);
+            }
+        }
+        synchronized (filterStats) {
+            filterStats.add(stats);
+        }
+        return stats;
+    }
+
+    public CorpusStats stats() {
+        List<Segment> current = segments;
+        CorpusStats stats = new CorpusStats();
+        stats.setSegments(current.size());
+        stats.setDocuments(current.stream().mapToLong(Segment::documentCount).sum());
+        stats.setPostings(current.stream().mapToLong(Segment::postingCount).sum());
+        stats.setBytesOnDisk(current.stream().mapToLong(Segment::sizeBytes).sum());
+        synchronized (lock) {
+            stats.setPendingDocuments(pendingIds.size());
+        }
+        stats.setMerges(merges.get());
+        stats.setLastMergeError(lastMergeError);
+        synchronized (filterStats) {
+            stats.setLookups(filterStats.getLookups());
+            stats.setSkippedLookups(filterStats.getSkipped());
+            stats.setFalsePositives(filterStats.getFalsePositives());
+        }
+        return stats;
+    }
+
+    private void scheduleMerge() {
+        if (!merger.isShutdown()) {
+            merger.execute(this::mergeWhilePossible);
+        }
+    }
+
+    private void mergeWhilePossible() {
+        List<Segment> run;
+        while ((run = nextMerge(segments)) != null) {
+            Segment merged;
+            try {
+                merged = SegmentWriter.merge(fileFor(run.get(0).firstGeneration(),
+                        run.get(run.size() - 1).lastGeneration()), run, falsePositiveRate);
+            } catch (IOException | RuntimeException e) {
+                lastMergeError = e.getMessage();
+                return;
+            }
+            synchronized (lock) {
+                List<Segment> updated = new ArrayList<>(segments);
+                int at = updated.indexOf(run.get(0));
+                updated.removeAll(run);
+                updated.add(at, merged);
+                segments = List.copyOf(updated);
+            }
+            merges.incrementAndGet();
+            // Readers still holding the old snapshot keep their mappings; the files can go.
+            // Inputs left behind are dropped by open() as superseded.
+            for (Segment input : run) {
+                try {
+                    Files.deleteIfExists(input.getPath());
+                } catch (IOException e) {
+                    lastMergeError = e.getMessage();
+                }
+            }
+        }
+    }
+
+    // First run of mergeFactor adjacent segments in the same size tier, or null.
+    // Only adjacent segments are merged so each segment covers a contiguous
+    // generation range, which is what recovery in open() relies on.
+    List<Segment> nextMerge(List<Segment> current) {
+        for (int start = 0; start + mergeFactor <= current.size(); start++) {
+            int tier = tier(current.get(start));
+            long bytes = 0;
+            boolean sameTier = true;
+            for (int i = start; i < start + mergeFactor && sameTier; i++) {
+                sameTier = tier(current.get(i)) == tier;
+                bytes += current.get(i).sizeBytes();
+            }
+            if (sameTier && bytes <= Segment.MAX_BYTES / 2) {
+                return List.copyOf(current.subList(start, start + mergeFactor));
+            }
+        }
+        return null;
+    }
+
+    private int tier(Segment segment) {
+        int tier = 0;
+        for (long size = flushDocuments; size * mergeFactor <= segment.documentCount(); size *= mergeFactor) {
+            tier++;
+        }
+        return tier;
+    }
+
+    // Named by the generation range covered, which is unique among live segments
+    private Path fileFor(long firstGeneration, long lastGeneration) {
+        return directory.resolve(String.format("%012d-%012d%s", firstGeneration, lastGeneration, SUFFIX));
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        flush();
+        merger.shutdown();
+        merger.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
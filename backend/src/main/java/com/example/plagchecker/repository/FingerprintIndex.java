@@ -0,0 +1,278 @@
+package com.example.plagchecker.repository;
+
+import com.example.plagchecker.dto.IndexStats;
+import com.example.plagchecker.engine.FingerprintFilter;
+import com.example.plagchecker.engine.IndexMemory;
+import com.example.plagchecker.engine.PostingsIndex;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// In-memory fingerprint -> submission index, one PostingsIndex per assignment
+// of each instructor.
+// With off-heap enabled the postings live in native memory, which is freed
+// when the assignment is evicted or the application shuts down.
+@Repository
+public class FingerprintIndex {
+
+    private final ConcurrentMap<AssignmentKey, AssignmentIndex> assignments = new ConcurrentHashMap<>();
+    private final IndexMemory memory;
+
+    public FingerprintIndex() {
+        this(false);
+    }
+
+    // Off-heap postings also need the JVM to run with --enable-preview (Java 21)
+    @Autowired
+    public FingerprintIndex(@Value("${plagchecker.index.off-heap:true}") boolean offHeap) {
+        this.memory = IndexMemory.create(offHeap);
+    }
+
+    // Returns the index of an assignment, running the loader once to populate
+    // it the first time the assignment is touched.
+    public AssignmentIndex getOrLoad(AssignmentKey assignment, Consumer<AssignmentIndex> loader) {
+        return assignments.computeIfAbsent(assignment, key -> {
+            AssignmentIndex index = new AssignmentIndex(key, new PostingsIndex(1 << 12, memory), Map.of(),
+                    FingerprintFilter.EMPTY);
+            try {
+                loader.accept(index);
+            } catch (RuntimeException e) {
+                index.close();
+                throw e;
+            }
+            return index;
+        });
+    }
+
+    // Where postings are allocated; snapshots are read back into the same memory
+    public IndexMemory memory() { return memory; }
+
+    public boolean restore(AssignmentKey assignment, PostingsIndex postings, Map<Long, String> contentHashes) {
+        return restore(assignment, postings, contentHashes, new long[0]);
+    }
+
+    // Registers an index read back from a snapshot, unless the assignment was loaded
+    // meanwhile; the caller closes the postings if it was.
+    public boolean restore(AssignmentKey assignment, PostingsIndex postings, Map<Long, String> contentHashes,
+                           long[] suppressed) {
+        return assignments.putIfAbsent(assignment,
+                new AssignmentIndex(assignment, postings, contentHashes, FingerprintFilter.of(suppressed))) == null;
+    }
+
+    public Collection<AssignmentIndex> loaded() {
+        return List.copyOf(assignments.values());
+    }
+
+    public boolean isLoaded(AssignmentKey assignment) {
+        return assignments.containsKey(assignment);
+    }
+
+    public void evict(AssignmentKey assignment) {
+        AssignmentIndex index = assignments.remove(assignment);
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    public long memoryFootprint() {
+        return assignments.values().stream().mapToLong(index -> index.stats().getMemoryBytes()).sum();
+    }
+
+    public long offHeapBytes() {
+        return memory.offHeapBytes();
+    }
+
+    @PreDestroy
+    public void close() {
+        for (AssignmentKey assignment : List.copyOf(assignments.keySet())) {
+            evict(assignment);
+        }
+        memory.close();
+    }
+
+    // The content hash of every indexed submission is kept next to its
+    // postings, so a snapshot can later be checked against the database.
+    // A closed index (evicted) has freed its postings and rejects every call.
+    //
+    // Suppressed fingerprints (starter code, fingerprints common to most
+    // submissions) are dropped from the postings and from everything added
+    // later. They stay suppressed until the index is evicted and reloaded,
+    // even if they become rare again.
+    public static class AssignmentIndex {
+        private final AssignmentKey assignment;
+        private final PostingsIndex postings;
+        final Map<Long, String> contentHashes;
+        private FingerprintFilter suppressed;
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        // Bumped on every change; compared with the version last written to a snapshot
+        private long version;
+        volatile long snapshotVersion;
+        private boolean closed;
+
+        AssignmentIndex(AssignmentKey assignment, PostingsIndex postings, Map<Long, String> contentHashes,
+                        FingerprintFilter suppressed) {
+            this.assignment = assignment;
+            this.postings = postings;
+            this.contentHashes = new HashMap<>(contentHashes);
+            this.suppressed = suppressed;
+        }
+
+        public AssignmentKey getAssignment() { return assignment; }
+
+        PostingsIndex postings() { return postings; }
+
+        long version() { return version; }
+
+        // Callers hold the lock
+        FingerprintFilter suppressedFilter() { return suppressed; }
+
+        // Callers hold the lock
+        boolean isClosed() { return closed; }
+
+        private void checkOpen() {
+            if (closed) {
+                throw new IllegalStateException("Index of assignment " + assignment + " was evicted");
+            }
+        }
+
+        void close() {
+            lock.writeLock().lock();
+            try {
+                if (!closed) {
+                    closed = true;
+                    postings.close();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        public void add(long submissionId, String contentHash, long[] distinctHashes) {
+            lock.writeLock().lock();
+            try {
+                checkOpen();
+                postings.add(submissionId, suppressed.strip(distinctHashes));
+                contentHashes.put(submissionId, contentHash);
+                version++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        public boolean remove(long submissionId) {
+            lock.writeLock().lock();
+            try {
+                checkOpen();
+                contentHashes.remove(submissionId);
+                version++;
+                return postings.remove(submissionId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        public void replace(long submissionId, String contentHash, long[] distinctHashes) {
+            lock.writeLock().lock();
+            try {
+                checkOpen();
+                postings.remove(submissionId);
+                postings.add(submissionId, suppressed.strip(distinctHashes));
+                contentHashes.put(submissionId, contentHash);
+                version++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Leaves the given hashes out of the postings from now on
+        public int suppress(long[] hashes) {
+            lock.writeLock().lock();
+            try {
+                checkOpen();
+                suppressed = suppressed.union(hashes);
+                int dropped = postings.suppress(hashes);
+                version++;
+                return dropped;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Suppresses every fingerprint held by more than the given fraction of
+        // the submissions, once there are at least minSubmissions of them;
+        // returns how many were added.
+        public int suppressCommon(double fraction, int minSubmissions) {
+            lock.writeLock().lock();
+            try {
+                checkOpen();
+                int documents = postings.documentCount();
+                if (fraction <= 0 || fraction >= 1 || documents < Math.max(1, minSubmissions)) {
+                    return 0;
+                }
+                long[] common = postings.frequentHashes((int) (fraction * documents) + 1);
+                if (common.length == 0) {
+                    return 0;
+                }
+                suppressed = suppressed.union(common);
+                postings.suppress(common);
+                version++;
+                return common.length;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // The given hashes minus the suppressed ones, as they would be indexed
+        public long[] strip(long[] distinctHashes) {
+            lock.readLock().lock();
+            try {
+                return suppressed.strip(distinctHashes);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        public FingerprintFilter suppressed() {
+            lock.readLock().lock();
+            try {
+                return suppressed;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        public void forEachOverlap(long[] distinctHashes, PostingsIndex.OverlapConsumer consumer) {
+            lock.readLock().lock();
+            try {
+                checkOpen();
+                postings.forEachOverlap(distinctHashes, consumer);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        public IndexStats stats() {
+            lock.readLock().lock();
+            try {
+                checkOpen();
+                IndexStats stats = new IndexStats(assignment.assignment(), postings.documentCount(), postings.distinctFingerprints(),
+                        postings.postingCount(), postings.memoryFootprint() + suppressed.memoryFootprint());
+                stats.setOffHeapBytes(postings.offHeapBytes());
+                stats.setSuppressedFingerprints(suppressed.size());
+                return stats;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
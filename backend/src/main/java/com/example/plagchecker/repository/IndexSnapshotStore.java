@@ -0,0 +1,213 @@
+package com.example.plagchecker.repository;
+
+import com.example.plagchecker.engine.IndexMemory;
+import com.example.plagchecker.engine.PostingsIndex;
+import com.example.plagchecker.repository.FingerprintIndex.AssignmentIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+// One snapshot file per assignment index, so a restart maps the indexes back
+// in instead of decoding every submission's fingerprints again. Layout
+// (little-endian):
+//
+//   header    magic, version, payload length, CRC32C of the payload
+//   payload   instructor id, assignment name, (submission id, content hash)
+//             per document,
+//             suppressed fingerprints, padding to 8 bytes, then
+//             PostingsIndex#writeTo
+//
+// Files are named by the SHA-256 of the instructor and assignment and
+// replaced atomically.
+// A file that fails the checks is renamed to .corrupt and its assignment is
+// rebuilt from the database as before.
+@Repository
+public class IndexSnapshotStore {
+
+    static final int MAGIC = 0x58495046;
+    static final int VERSION = 3;
+    private static final int HEADER_BYTES = 24;
+    private static final String SUFFIX = ".snap";
+
+    public record Snapshot(AssignmentKey assignment, PostingsIndex postings, Map<Long, String> contentHashes,
+                           long[] suppressed) {
+        public Snapshot(AssignmentKey assignment, PostingsIndex postings, Map<Long, String> contentHashes) {
+            this(assignment, postings, contentHashes, new long[0]);
+        }
+    }
+
+    private final Path directory;
+
+    public IndexSnapshotStore(@Value("${plagchecker.index.snapshot-dir:./data/index}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    // Writes the index unless it is unchanged since its last snapshot; returns whether it did.
+    // Holds the index's read lock while writing, so the file is one consistent state.
+    public boolean write(AssignmentIndex index) throws IOException {
+        index.lock.readLock().lock();
+        try {
+            long version = index.version();
+            if (index.isClosed() || version == index.snapshotVersion) {
+                return false;
+            }
+            write(index.getAssignment(), index.postings(), index.contentHashes, index.suppressedFilter().toArray());
+            index.snapshotVersion = version;
+            return true;
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    private void write(AssignmentKey assignment, PostingsIndex postings, Map<Long, String> contentHashes,
+                       long[] suppressed) throws IOException {
+        byte[] name = assignment.assignment().getBytes(StandardCharsets.UTF_8);
+        long documentsBytes = 0;
+        for (String hash : contentHashes.values()) {
+            documentsBytes += Long.BYTES + Integer.BYTES + (hash == null ? 0 : hash.length());
+        }
+        long headBytes = Long.BYTES + Integer.BYTES + name.length + Integer.BYTES + documentsBytes
+                + Integer.BYTES + (long) suppressed.length * Long.BYTES;
+        long payload = align(headBytes) + postings.serializedBytes();
+        if (HEADER_BYTES + payload > Integer.MAX_VALUE) {
+            throw new IOException("Index of " + assignment + " is too large to snapshot");
+        }
+
+        Files.createDirectories(directory);
+        Path file = pathOf(assignment);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + payload);
+                out.order(ByteOrder.LITTLE_ENDIAN);
+                out.position(HEADER_BYTES);
+                out.putLong(assignment.instructorId());
+                out.putInt(name.length).put(name);
+                out.putInt(contentHashes.size());
+                for (Map.Entry<Long, String> document : contentHashes.entrySet()) {
+                    out.putLong(document.getKey());
+                    if (document.getValue() == null) {
+                        out.putInt(-1);
+                    } else {
+                        byte[] hash = document.getValue().getBytes(StandardCharsets.US_ASCII);
+                        out.putInt(hash.length).put(hash);
+                    }
+                }
+                out.putInt(suppressed.length);
+                for (long hash : suppressed) {
+                    out.putLong(hash);
+                }
+                out.position((int) (HEADER_BYTES + align(headBytes)));
+                postings.writeTo(out);
+
+                CRC32C crc = new CRC32C();
+                crc.update(out.slice(HEADER_BYTES, (int) payload));
+                out.putInt(0, MAGIC);
+                out.putInt(4, VERSION);
+                out.putLong(8, payload);
+                out.putInt(16, (int) crc.getValue());
+                out.force();
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Every readable snapshot; unreadable ones are set aside
+    public List<Snapshot> readAll() throws IOException {
+        return readAll(IndexMemory.heap());
+    }
+
+    // Postings are read into the given memory; the caller closes those it does not keep
+    public List<Snapshot> readAll(IndexMemory memory) throws IOException {
+        List<Snapshot> snapshots = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return snapshots;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    snapshots.add(read(file, memory));
+                } catch (IOException | RuntimeException e) {
+                    Files.move(file, file.resolveSibling(file.getFileName() + ".corrupt"),
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        return snapshots;
+    }
+
+    static Snapshot read(Path file, IndexMemory memory) throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not an index snapshot: " + file);
+            }
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        in.order(ByteOrder.LITTLE_ENDIAN);
+        if (in.getInt(0) != MAGIC || in.getInt(4) != VERSION || in.getLong(8) != in.capacity() - HEADER_BYTES) {
+            throw new IOException("Not an index snapshot, or from another version: " + file);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(in.slice(HEADER_BYTES, in.capacity() - HEADER_BYTES));
+        if ((int) crc.getValue() != in.getInt(16)) {
+            throw new IOException("Checksum mismatch: " + file);
+        }
+
+        in.position(HEADER_BYTES);
+        long instructorId = in.getLong();
+        byte[] name = new byte[in.getInt()];
+        in.get(name);
+        int documents = in.getInt();
+        Map<Long, String> contentHashes = new HashMap<>(Math.max(16, documents * 2));
+        for (int i = 0; i < documents; i++) {
+            long id = in.getLong();
+            int length = in.getInt();
+            String hash = null;
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                in.get(bytes);
+                hash = new String(bytes, StandardCharsets.US_ASCII);
+            }
+            contentHashes.put(id, hash);
+        }
+        long[] suppressed = new long[in.getInt()];
+        for (int i = 0; i < suppressed.length; i++) {
+            suppressed[i] = in.getLong();
+        }
+        in.position((int) (HEADER_BYTES + align(in.position() - HEADER_BYTES)));
+        PostingsIndex postings = PostingsIndex.readFrom(in, memory);
+        return new Snapshot(new AssignmentKey(instructorId, new String(name, StandardCharsets.UTF_8)), postings,
+                contentHashes, suppressed);
+    }
+
+    public void delete(AssignmentKey assignment) throws IOException {
+        Files.deleteIfExists(pathOf(assignment));
+    }
+
+    Path pathOf(AssignmentKey assignment) {
+        return directory.resolve(BlobStore.sha256(assignment.toString()) + SUFFIX);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + Long.BYTES - 1) & -Long.BYTES;
+    }
+}
@@ -1,11 +1,40 @@
 package com.example.plagchecker.repository;
 
 import com.example.plagchecker.model.Instructor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface InstructorRepository extends JpaRepository<Instructor, Long> {
+
+    // Public columns only; rows read this way are not managed, so the persistence context stays empty
+    interface Listing {
+        Long getId();
+
+        String getUsername();
+
+        String getFirstName();
+
+        String getLastName();
+    }
+
     Optional<Instructor> findByUsername(String username);
-}
\ No newline at end of file
+
+    // Which of the usernames are taken, in one query per import batch
+    List<Listing> findByUsernameIn(Collection<String> usernames);
+
+    // Keyset page: the first instructors with an id above afterId, served from the primary key index
+    List<Instructor> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Every instructor in id order off one JDBC cursor; needs an open transaction and must be closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+    Stream<Listing> streamAllByOrderByIdAsc();
+}
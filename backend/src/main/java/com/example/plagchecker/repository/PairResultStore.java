@@ -0,0 +1,175 @@
+package com.example.plagchecker.repository;
+
+import com.example.plagchecker.dto.AssignmentResults;
+import com.example.plagchecker.dto.PairResult;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Latest result set per assignment of each instructor. A full check replaces it;
+// adding, replacing or removing a single submission only touches that submission's pairs.
+// Merges keep the check's bounds, as TopPairs does: a min-heap holds the top K
+// pairs, and a pair pushed out of it is dropped unless it is among a submission's
+// own top k. A submission contributes its own top k pairs plus any pair that
+// beats the weakest of the current top K, so at most K + N*k pairs are stored.
+@Repository
+public class PairResultStore {
+
+    // Weakest first; among equal scores the larger pair goes first, as in TopPairs
+    private static final Comparator<PairResult> WEAKEST_FIRST = Comparator.comparingDouble(PairResult::getSimilarity)
+            .thenComparing(PairResult::getFirstSubmissionId, Comparator.reverseOrder())
+            .thenComparing(PairResult::getSecondSubmissionId, Comparator.reverseOrder());
+
+    private final ConcurrentMap<AssignmentKey, StoredResults> assignments = new ConcurrentHashMap<>();
+
+    public void replace(AssignmentKey assignment, double threshold, int topK, int perSubmissionTopK,
+                        List<PairResult> pairs) {
+        StoredResults stored = new StoredResults(assignment, threshold, topK, perSubmissionTopK);
+        // Each submission's own top k stay whatever the top K does later
+        Map<Long, List<PairResult>> bySubmission = new HashMap<>();
+        for (PairResult pair : pairs) {
+            bySubmission.computeIfAbsent(pair.getFirstSubmissionId(), id -> new ArrayList<>()).add(pair);
+            bySubmission.computeIfAbsent(pair.getSecondSubmissionId(), id -> new ArrayList<>()).add(pair);
+        }
+        for (List<PairResult> own : bySubmission.values()) {
+            own.sort(WEAKEST_FIRST.reversed());
+            for (PairResult pair : own.subList(0, Math.min(perSubmissionTopK, own.size()))) {
+                stored.pinned.add(key(pair.getFirstSubmissionId(), pair.getSecondSubmissionId()));
+            }
+        }
+        for (PairResult pair : pairs) {
+            stored.offer(pair);
+        }
+        stored.fullCheckAt = stored.updatedAt = LocalDateTime.now();
+        assignments.put(assignment, stored);
+    }
+
+    public Optional<Double> getThreshold(AssignmentKey assignment) {
+        StoredResults stored = assignments.get(assignment);
+        return stored == null ? Optional.empty() : Optional.of(stored.threshold);
+    }
+
+    // Swaps in the pairs of one submission, dropping whatever was stored for it before
+    public void mergeSubmission(AssignmentKey assignment, long submissionId, List<PairResult> pairs) {
+        StoredResults stored = assignments.get(assignment);
+        if (stored == null) {
+            return;
+        }
+        List<PairResult> ranked = new ArrayList<>(pairs);
+        ranked.sort(WEAKEST_FIRST.reversed());
+        synchronized (stored) {
+            stored.removeSubmission(submissionId);
+            for (int i = 0; i < ranked.size(); i++) {
+                PairResult pair = ranked.get(i);
+                if (pair.getSimilarity() < stored.threshold) {
+                    break;
+                }
+                if (i < stored.perSubmissionTopK) {
+                    stored.pinned.add(key(pair.getFirstSubmissionId(), pair.getSecondSubmissionId()));
+                }
+                stored.offer(pair);
+            }
+            stored.touch();
+        }
+    }
+
+    public void removeSubmission(AssignmentKey assignment, long submissionId) {
+        StoredResults stored = assignments.get(assignment);
+        if (stored == null) {
+            return;
+        }
+        synchronized (stored) {
+            stored.removeSubmission(submissionId);
+            stored.touch();
+        }
+    }
+
+    public Optional<AssignmentResults> getResults(AssignmentKey assignment) {
+        StoredResults stored = assignments.get(assignment);
+        if (stored == null) {
+            return Optional.empty();
+        }
+        synchronized (stored) {
+            AssignmentResults results = new AssignmentResults(assignment.assignment(), stored.threshold);
+            results.setTopK(stored.topK);
+            results.setFullCheckAt(stored.fullCheckAt);
+            results.setUpdatedAt(stored.updatedAt);
+            results.setIncrementalUpdates(stored.incrementalUpdates);
+            List<PairResult> pairs = new ArrayList<>(stored.pairs.values());
+            pairs.sort(Comparator.comparingDouble(PairResult::getSimilarity).reversed());
+            results.setPairs(pairs);
+            return Optional.of(results);
+        }
+    }
+
+    private static String key(long first, long second) {
+        return Math.min(first, second) + ":" + Math.max(first, second);
+    }
+
+    private static class StoredResults {
+        final AssignmentKey assignment;
+        final double threshold;
+        final int topK;
+        final int perSubmissionTopK;
+        final Map<String, PairResult> pairs = new LinkedHashMap<>();
+        // The top K pairs, weakest at the head
+        final PriorityQueue<PairResult> top = new PriorityQueue<>(WEAKEST_FIRST);
+        // Pairs among a submission's own top k, kept when they fall out of the top K
+        final Set<String> pinned = new HashSet<>();
+        LocalDateTime fullCheckAt;
+        LocalDateTime updatedAt;
+        int incrementalUpdates;
+
+        StoredResults(AssignmentKey assignment, double threshold, int topK, int perSubmissionTopK) {
+            this.assignment = assignment;
+            this.threshold = threshold;
+            this.topK = topK;
+            this.perSubmissionTopK = perSubmissionTopK;
+        }
+
+        // Stores the pair if it makes the top K or is pinned; whatever it pushes out
+        // of the top K is dropped unless pinned. O(log K).
+        void offer(PairResult pair) {
+            String key = key(pair.getFirstSubmissionId(), pair.getSecondSubmissionId());
+            if (top.size() < topK) {
+                top.add(pair);
+            } else if (WEAKEST_FIRST.compare(top.peek(), pair) < 0) {
+                PairResult evicted = top.poll();
+                String evictedKey = key(evicted.getFirstSubmissionId(), evicted.getSecondSubmissionId());
+                if (!pinned.contains(evictedKey)) {
+                    pairs.remove(evictedKey);
+                }
+                top.add(pair);
+            } else if (!pinned.contains(key)) {
+                return;
+            }
+            pairs.put(key, pair);
+        }
+
+        void removeSubmission(long submissionId) {
+            pairs.values().removeIf(pair -> involves(pair, submissionId));
+            top.removeIf(pair -> involves(pair, submissionId));
+            pinned.removeIf(key -> key.startsWith(submissionId + ":") || key.endsWith(":" + submissionId));
+        }
+
+        private static boolean involves(PairResult pair, long submissionId) {
+            return pair.getFirstSubmissionId() == submissionId || pair.getSecondSubmissionId() == submissionId;
+        }
+
+        void touch() {
+            updatedAt = LocalDateTime.now();
+            incrementalUpdates++;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.plagchecker.repository;
+
+import com.example.plagchecker.model.Submission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SubmissionRepository extends JpaRepository<Submission, Long> {
+
+    // Id and content hash only, without loading fingerprints
+    interface ContentVersion {
+        Long getId();
+
+        String getContentHash();
+    }
+
+    // Through the association: getInstructorId() is a getter, not a mapped attribute
+    List<Submission> findByInstructor_Id(Long instructorId);
+
+    // Assignment names are only unique per instructor
+    List<Submission> findByInstructor_IdAndAssignment(Long instructorId, String assignment);
+
+    List<ContentVersion> findContentVersionsByInstructor_IdAndAssignment(Long instructorId, String assignment);
+
+    List<Submission> findByInstructor_IdAndAssignmentAndContentHash(Long instructorId, String assignment,
+                                                                    String contentHash);
+
+    Optional<Submission> findFirstByContentHashAndLanguageAndFingerprintKAndFingerprintWindowAndFingerprintsIsNotNull(
+            String contentHash, String language, Integer fingerprintK, Integer fingerprintWindow);
+
+    // A row whose fingerprints can stand in for new ones of the same content: same lexer, same k and window
+    default Optional<Submission> findTwin(String contentHash, String language, int fingerprintK, int fingerprintWindow) {
+        return findFirstByContentHashAndLanguageAndFingerprintKAndFingerprintWindowAndFingerprintsIsNotNull(
+                contentHash, language, fingerprintK, fingerprintWindow);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.AlignmentResult;
+import com.example.plagchecker.dto.MatchRegion;
+import com.example.plagchecker.engine.GreedyStringTiling;
+import com.example.plagchecker.engine.GreedyStringTiling.Tile;
+import com.example.plagchecker.engine.TokenStream;
+import com.example.plagchecker.model.Submission;
+import com.example.plagchecker.repository.SubmissionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+// Matched-region alignment for a single pair. Only run when an instructor
+// opens that pair; checks themselves never align.
+@Service
+public class AlignmentService {
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private FingerprintService fingerprintService;
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Value("${plagchecker.alignment.min-match:30}")
+    private int minimumMatchLength = 30;
+
+    public Optional<AlignmentResult> align(Long firstId, Long secondId) {
+        Optional<Submission> first = submissionRepository.findById(firstId);
+        Optional<Submission> second = submissionRepository.findById(secondId);
+        if (first.isEmpty() || second.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(align(first.get(), second.get()));
+    }
+
+    public AlignmentResult align(Submission first, Submission second) {
+        TokenStream left = fingerprintService.tokenize(contentOf(first), first.getFileName(), new TokenStream());
+        TokenStream right = fingerprintService.tokenize(contentOf(second), second.getFileName(), new TokenStream());
+        List<Tile> tiles = new GreedyStringTiling(minimumMatchLength)
+                .tile(left.codes(), left.size(), right.codes(), right.size());
+
+        List<MatchRegion> regions = new ArrayList<>(tiles.size());
+        int matched = 0;
+        for (Tile tile : tiles) {
+            matched += tile.length();
+            regions.add(new MatchRegion(tile.length(),
+                    left.offset(tile.leftStart()), left.end(tile.leftStart() + tile.length() - 1),
+                    right.offset(tile.rightStart()), right.end(tile.rightStart() + tile.length() - 1)));
+        }
+        regions.sort(Comparator.comparingInt(MatchRegion::getFirstStart));
+        int total = left.size() + right.size();
+        double similarity = total == 0 ? 0.0 : 2.0 * matched / total;
+        return new AlignmentResult(first.getId(), second.getId(), similarity, regions);
+    }
+
+    private String contentOf(Submission submission) {
+        return submission.getContent() != null ? submission.getContent()
+                : submissionService.getContent(submission).orElse("");
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.IngestReport;
+import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.model.Submission;
+import com.example.plagchecker.repository.InstructorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+// Turns one ZIP per assignment into submissions while the upload is still
+// arriving. Entries are read one at a time into a single bounded buffer, so
+// heap use is bounded by the per-student cap, not by the archive size. Each
+// student's files become one submission, so a student's own files are never
+// compared with each other.
+@Service
+public class ArchiveIngestService {
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    @Value("${plagchecker.ingest.extensions:java,c,h,cpp,hpp,cc,py,js,ts,txt}")
+    private String extensions = "java,c,h,cpp,hpp,cc,py,js,ts,txt";
+
+    @Value("${plagchecker.ingest.max-file-bytes:1048576}")
+    private int maxFileBytes = 1 << 20;
+
+    @Value("${plagchecker.ingest.max-student-bytes:4194304}")
+    private long maxStudentBytes = 4 << 20;
+
+    public Optional<IngestReport> ingest(InputStream archive, Long instructorId, String assignment) throws IOException {
+        Optional<Instructor> instructorOpt = instructorRepository.findById(instructorId);
+        if (instructorOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        Set<String> allowed = allowedExtensions();
+        Upload upload = new Upload(instructorOpt.get(), assignment);
+        IngestReport report = upload.report;
+        byte[] buffer = new byte[Math.min(maxFileBytes + 1, 64 * 1024)];
+
+        ZipInputStream zip = new ZipInputStream(new BufferedInputStream(archive, 64 * 1024), StandardCharsets.UTF_8);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (entry.isDirectory()) {
+                continue;
+            }
+            report.setEntries(report.getEntries() + 1);
+            String path = entry.getName();
+            if (isHidden(path)) {
+                report.setSkippedByExtension(report.getSkippedByExtension() + 1);
+                continue;
+            }
+            upload.locate(path);
+            if (!allowed.contains(extensionOf(path))) {
+                report.setSkippedByExtension(report.getSkippedByExtension() + 1);
+                continue;
+            }
+            if (entry.getSize() > maxFileBytes) {
+                report.setSkippedBySize(report.getSkippedBySize() + 1);
+                continue;
+            }
+            // Sizes are often missing from streamed archives, so enforce the limit while reading
+            int length = 0;
+            int read;
+            while ((read = zip.read(buffer, length, buffer.length - length)) > 0) {
+                length += read;
+                if (length == buffer.length) {
+                    if (buffer.length > maxFileBytes) {
+                        break;
+                    }
+                    buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, maxFileBytes + 1));
+                }
+            }
+            report.setBytesRead(report.getBytesRead() + length);
+            if (length > maxFileBytes) {
+                report.setSkippedBySize(report.getSkippedBySize() + 1);
+                continue;
+            }
+            upload.add(path, new String(buffer, 0, length, StandardCharsets.UTF_8), length);
+        }
+        upload.finish();
+        return Optional.of(report);
+    }
+
+    // One student's files, concatenated; the first file's name picks the lexer
+    private static final class StudentFiles {
+        final String student;
+        final String fileName;
+        final StringBuilder content = new StringBuilder();
+
+        StudentFiles(String student, String fileName) {
+            this.student = student;
+            this.fileName = fileName;
+        }
+
+        void add(String file) {
+            if (!content.isEmpty()) {
+                content.append('\n');
+            }
+            content.append(file);
+        }
+    }
+
+    // State of one archive while it is read. Students are saved as soon as the
+    // archive moves on to the next one, and each student's files are held to
+    // maxStudentBytes; files past that are skipped and the student is reported.
+    //
+    // An archive of one folder holding every student's folder ("hw1/alice/Main.java")
+    // cannot be told from one student's folder with subfolders until the archive
+    // moves on. So while every entry sits at least two folders deep under the
+    // same top-level folder, the next folder down is taken as the student. An
+    // entry outside it, or a file directly in it, means it was a student's own
+    // folder after all, and the submissions made for its subfolders are merged
+    // into one for that student.
+    private final class Upload {
+        final Instructor instructor;
+        final String assignment;
+        final IngestReport report;
+        // Student -> id of their submission, for a folder split across the archive
+        final Map<String, Long> submitted = new LinkedHashMap<>();
+        // Student -> bytes of their files taken so far
+        final Map<String, Long> studentBytes = new HashMap<>();
+        final Set<String> truncated = new LinkedHashSet<>();
+        StudentFiles pending;
+        // The possible wrapper folder; "" before the first entry, null once ruled out
+        String wrapper = "";
+
+        Upload(Instructor instructor, String assignment) {
+            this.instructor = instructor;
+            this.assignment = assignment;
+            this.report = new IngestReport(assignment);
+        }
+
+        void locate(String path) {
+            if (wrapper == null) {
+                return;
+            }
+            int slash = path.indexOf('/');
+            boolean nested = slash > 0 && path.indexOf('/', slash + 1) > slash + 1;
+            if (wrapper.isEmpty()) {
+                wrapper = nested ? path.substring(0, slash) : null;
+            } else if (!nested || !path.substring(0, slash).equals(wrapper)) {
+                unwrap();
+            }
+        }
+
+        void add(String path, String file, int bytes) {
+            String relative = wrapper == null ? path : path.substring(wrapper.length() + 1);
+            String student = studentOf(relative);
+            long total = studentBytes.getOrDefault(student, 0L) + bytes;
+            if (total > maxStudentBytes) {
+                report.setSkippedBySize(report.getSkippedBySize() + 1);
+                truncated.add(student);
+                return;
+            }
+            studentBytes.put(student, total);
+            report.setSourceFiles(report.getSourceFiles() + 1);
+            // Archives list a folder's files together, so a student's files arrive one after another
+            if (pending != null && !pending.student.equals(student)) {
+                save(pending);
+                pending = null;
+            }
+            if (pending == null) {
+                pending = new StudentFiles(student, fileNameOf(relative));
+            }
+            pending.add(file);
+        }
+
+        void finish() {
+            if (pending != null) {
+                save(pending);
+                pending = null;
+            }
+            report.setTruncatedStudents(List.copyOf(truncated));
+        }
+
+        // The wrapper was one student's folder: everything so far, saved or pending, was
+        // in its subfolders and becomes that student's pending files, within the cap
+        private void unwrap() {
+            String student = wrapper;
+            wrapper = null;
+            if (pending != null) {
+                save(pending);
+                pending = null;
+            }
+            StudentFiles merged = null;
+            long total = 0;
+            boolean cut = false;
+            for (Map.Entry<String, Long> subfolder : submitted.entrySet()) {
+                Optional<Submission> submission = submissionService.getSubmissionById(subfolder.getValue());
+                Optional<String> content = submission.flatMap(submissionService::getContent);
+                long bytes = studentBytes.getOrDefault(subfolder.getKey(), 0L);
+                cut |= truncated.contains(subfolder.getKey());
+                if (content.isPresent() && total + bytes <= maxStudentBytes) {
+                    if (merged == null) {
+                        merged = new StudentFiles(student, subfolder.getKey() + "/" + submission.get().getFileName());
+                    }
+                    merged.add(content.get());
+                    total += bytes;
+                } else {
+                    cut = true;
+                }
+                submissionService.deleteSubmission(subfolder.getValue());
+                report.setSubmissionsCreated(report.getSubmissionsCreated() - 1);
+            }
+            submitted.clear();
+            studentBytes.clear();
+            truncated.clear();
+            studentBytes.put(student, total);
+            if (cut) {
+                truncated.add(student);
+            }
+            pending = merged;
+        }
+
+        private void save(StudentFiles files) {
+            Long earlier = submitted.get(files.student);
+            if (earlier == null) {
+                Submission saved = submissionService.createSubmission(instructor, assignment, files.student,
+                        files.fileName, files.content.toString());
+                submitted.put(files.student, saved.getId());
+                report.setSubmissionsCreated(report.getSubmissionsCreated() + 1);
+                return;
+            }
+            // More of a student whose folder appeared earlier in the archive: add it to their submission
+            submissionService.getSubmissionById(earlier)
+                    .flatMap(submission -> submissionService.getContent(submission))
+                    .ifPresent(content -> submissionService.replaceContent(earlier, content + "\n" + files.content));
+        }
+    }
+
+    private Set<String> allowedExtensions() {
+        return Arrays.stream(extensions.split(","))
+                .map(extension -> extension.trim().toLowerCase(Locale.ROOT))
+                .filter(extension -> !extension.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    private static String extensionOf(String path) {
+        int dot = path.lastIndexOf('.');
+        int slash = path.lastIndexOf('/');
+        return dot > slash ? path.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static boolean isHidden(String path) {
+        return path.startsWith("__MACOSX/") || path.startsWith(".") || path.contains("/.");
+    }
+
+    // "alice/src/Main.java" belongs to alice; a top-level "bob.py" belongs to bob
+    static String studentOf(String path) {
+        int slash = path.indexOf('/');
+        if (slash > 0) {
+            return path.substring(0, slash);
+        }
+        int dot = path.lastIndexOf('.');
+        return dot > 0 ? path.substring(0, dot) : path;
+    }
+
+    private static String fileNameOf(String path) {
+        int slash = path.indexOf('/');
+        return slash > 0 ? path.substring(slash + 1) : path;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.engine.FingerprintFilter;
+import com.example.plagchecker.engine.Fingerprints;
+import com.example.plagchecker.model.BaseCode;
+import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.repository.AssignmentKey;
+import com.example.plagchecker.repository.BaseCodeRepository;
+import com.example.plagchecker.repository.FingerprintIndex;
+import com.example.plagchecker.repository.IndexSnapshotStore;
+import com.example.plagchecker.repository.InstructorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// Starter code per assignment of each instructor. Only its fingerprints are kept; they are
+// suppressed in the assignment's index when it is loaded, so adding or
+// removing a file drops the loaded index and its snapshot to rebuild them.
+@Service
+public class BaseCodeService {
+
+    @Autowired
+    private BaseCodeRepository baseCodeRepository;
+
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    @Autowired
+    private FingerprintService fingerprintService;
+
+    @Autowired
+    private FingerprintIndex fingerprintIndex;
+
+    @Autowired
+    private IndexSnapshotStore indexSnapshotStore;
+
+    public Optional<BaseCode> addBaseCode(Long instructorId, String assignment, String fileName, String content) {
+        Optional<Instructor> instructorOpt = instructorRepository.findById(instructorId);
+        if (instructorOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        BaseCode baseCode = new BaseCode(instructorOpt.get(), assignment, fileName);
+        Fingerprints fingerprints = fingerprintService.fingerprint(content, fileName);
+        baseCode.setFingerprints(fingerprints.encode());
+        baseCode.setFingerprintCount(fingerprints.size());
+        baseCode.setLanguage(fingerprintService.languageOf(fileName));
+        baseCode.setUploadedAt(LocalDateTime.now());
+        BaseCode saved = baseCodeRepository.save(baseCode);
+        reindex(new AssignmentKey(instructorId, assignment));
+        return Optional.of(saved);
+    }
+
+    public List<BaseCode> getBaseCode(Long instructorId, String assignment) {
+        return baseCodeRepository.findByInstructor_IdAndAssignment(instructorId, assignment);
+    }
+
+    // Only the instructor who uploaded a starter file may delete it; to anyone else it does not exist
+    public boolean deleteBaseCode(Long instructorId, Long id) {
+        Optional<BaseCode> baseCodeOpt = baseCodeRepository.findById(id);
+        if (baseCodeOpt.isEmpty() || !baseCodeOpt.get().getInstructorId().equals(instructorId)) {
+            return false;
+        }
+        baseCodeRepository.delete(baseCodeOpt.get());
+        reindex(new AssignmentKey(baseCodeOpt.get().getInstructorId(), baseCodeOpt.get().getAssignment()));
+        return true;
+    }
+
+    // Distinct fingerprints of all the given starter files together
+    public static long[] hashesOf(List<BaseCode> baseCode) {
+        FingerprintFilter hashes = FingerprintFilter.EMPTY;
+        for (BaseCode file : baseCode) {
+            hashes = hashes.union(Fingerprints.decode(file.getFingerprints()).distinctHashes());
+        }
+        return hashes.toArray();
+    }
+
+    // The next use of the assignment loads its index afresh, with the current starter code suppressed
+    private void reindex(AssignmentKey assignment) {
+        fingerprintIndex.evict(assignment);
+        try {
+            indexSnapshotStore.delete(assignment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
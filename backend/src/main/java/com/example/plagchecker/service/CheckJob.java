@@ -0,0 +1,148 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.CheckJobStatus;
+import com.example.plagchecker.dto.CheckProgress;
+import com.example.plagchecker.dto.CheckRequest;
+import com.example.plagchecker.dto.CheckResult;
+import com.example.plagchecker.dto.PairResult;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// In-memory state of one asynchronous check, updated by the worker and read by
+// status requests and by the subscriptions streaming it.
+public class CheckJob implements CheckProgressListener {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final CheckRequest request;
+    private final Instant createdAt = Instant.now();
+    private final CompletableFuture<CheckResult> completion = new CompletableFuture<>();
+    private final ConcurrentLinkedQueue<PairResult> partialPairs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger partialPairCount = new AtomicInteger();
+    private final List<CheckSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private volatile State state = State.QUEUED;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private final AtomicReference<Progress> progress = new AtomicReference<>(new Progress(0, 0));
+    private volatile CheckResult result;
+    private volatile String error;
+
+    public CheckJob(String id, CheckRequest request) {
+        this.id = id;
+        this.request = request;
+    }
+
+    public String getId() { return id; }
+
+    public CheckRequest getRequest() { return request; }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    public State getState() { return state; }
+
+    public CompletableFuture<CheckResult> getCompletion() { return completion; }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    public long getCompletedUnits() { return progress.get().completed(); }
+
+    void subscribe(CheckSubscription subscription) {
+        subscriptions.add(subscription);
+    }
+
+    void unsubscribe(CheckSubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    int subscriberCount() { return subscriptions.size(); }
+
+    void markRunning() {
+        startedNanos = System.nanoTime();
+        state = State.RUNNING;
+    }
+
+    void markCompleted(CheckResult result) {
+        this.result = result;
+        finishedNanos = System.nanoTime();
+        state = State.COMPLETED;
+        completion.complete(result);
+    }
+
+    void markFailed(Throwable cause) {
+        error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        finishedNanos = System.nanoTime();
+        state = State.FAILED;
+        completion.completeExceptionally(cause);
+    }
+
+    // Completed and total units, read and replaced together
+    private record Progress(long completed, long total) {}
+
+    // Workers report concurrently and out of order; within one total, completed only moves forward
+    @Override
+    public void onProgress(long completed, long total) {
+        progress.updateAndGet(current -> current.total() == total && current.completed() >= completed
+                ? current : new Progress(completed, total));
+    }
+
+    // Only the first topK pairs are kept for status polls; the final result carries the ranked selection.
+    // Subscribers get every pair their buffers have room for.
+    @Override
+    public void onPairs(List<PairResult> pairs) {
+        for (CheckSubscription subscription : subscriptions) {
+            subscription.offer(pairs);
+        }
+        for (PairResult pair : pairs) {
+            if (partialPairCount.get() >= request.getTopK()) {
+                return;
+            }
+            if (partialPairCount.getAndIncrement() < request.getTopK()) {
+                partialPairs.add(pair);
+            }
+        }
+    }
+
+    public CheckJobStatus toStatus() {
+        CheckJobStatus status = progressStatus();
+        if (result != null) {
+            status.setResult(result);
+        } else {
+            status.setPartialPairs(new ArrayList<>(partialPairs));
+        }
+        return status;
+    }
+
+    public CheckProgress toProgress(long droppedPairs) {
+        return new CheckProgress(progressStatus(), droppedPairs);
+    }
+
+    private CheckJobStatus progressStatus() {
+        CheckJobStatus status = new CheckJobStatus(id, state.name());
+        Progress snapshot = progress.get();
+        long completed = snapshot.completed();
+        long total = snapshot.total();
+        status.setCompletedUnits(completed);
+        status.setTotalUnits(total);
+        status.setProgress(state == State.COMPLETED ? 1.0 : total == 0 ? 0.0 : (double) completed / total);
+        if (state != State.QUEUED) {
+            long end = isFinished() ? finishedNanos : System.nanoTime();
+            long elapsedMillis = (end - startedNanos) / 1_000_000;
+            status.setElapsedMillis(elapsedMillis);
+            if (state == State.RUNNING && completed > 0) {
+                status.setEtaMillis(elapsedMillis * (total - completed) / completed);
+            }
+        }
+        status.setError(error);
+        return status;
+    }
+}
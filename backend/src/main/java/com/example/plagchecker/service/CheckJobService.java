@@ -0,0 +1,96 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.CheckRequest;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Runs plagiarism checks off the request thread. Each job gets its own
+// virtual thread, so a long check only parks a cheap carrier-multiplexed
+// thread instead of holding a Tomcat worker.
+@Service
+public class CheckJobService {
+
+    @Autowired
+    private PlagiarismCheckService plagiarismCheckService;
+
+    @Value("${plagchecker.checks.retention-minutes:60}")
+    private long retentionMinutes = 60;
+
+    // Pairs buffered per stream subscriber before further ones are dropped, and the progress tick interval
+    @Value("${plagchecker.check.stream-buffer-pairs:1024}")
+    private int streamBufferPairs = 1024;
+
+    @Value("${plagchecker.check.stream-progress-millis:250}")
+    private long streamProgressMillis = 250;
+
+    private final ConcurrentMap<String, CheckJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("check-", 0).factory());
+
+    public CheckJob submit(CheckRequest request) {
+        PlagiarismCheckService.validate(request);
+        evictExpiredJobs();
+        CheckJob job = new CheckJob(UUID.randomUUID().toString(), request);
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    public Optional<CheckJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    // Registers a subscriber for the job's pairs from now on; the caller runs it with its event sink
+    public Optional<CheckSubscription> subscribe(String id, double minSimilarity) {
+        return getJob(id).map(job -> {
+            CheckSubscription subscription = new CheckSubscription(job, streamBufferPairs, minSimilarity,
+                    streamProgressMillis);
+            job.subscribe(subscription);
+            return subscription;
+        });
+    }
+
+    // Streams a subscription on a virtual thread of its own, so a slow client only parks that thread
+    public void stream(CheckSubscription subscription, CheckSubscription.EventSink sink, Runnable onEnd) {
+        executor.execute(() -> {
+            try {
+                subscription.run(sink);
+            } finally {
+                onEnd.run();
+            }
+        });
+    }
+
+    private void run(CheckJob job) {
+        job.markRunning();
+        try {
+            job.markCompleted(plagiarismCheckService.runCheck(job.getRequest(), job));
+        } catch (Throwable e) {
+            // Errors too (OutOfMemoryError on a large check), or the job would stay RUNNING and streams never end
+            job.markFailed(e);
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(retentionMinutes));
+        jobs.values().removeIf(job -> job.isFinished() && job.getCreatedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
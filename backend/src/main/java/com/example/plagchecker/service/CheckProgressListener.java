@@ -0,0 +1,16 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.PairResult;
+import java.util.List;
+
+// Callbacks from a running check. ALL_PAIRS checks call them from their worker
+// threads, several at once and not necessarily in order, so implementations
+// must be thread-safe and must not assume progress arrives increasing.
+public interface CheckProgressListener {
+
+    CheckProgressListener NONE = new CheckProgressListener() {};
+
+    default void onProgress(long completed, long total) {}
+
+    default void onPairs(List<PairResult> pairs) {}
+}
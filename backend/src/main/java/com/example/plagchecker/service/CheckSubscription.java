@@ -0,0 +1,108 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.PairResult;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// One client following a check as it runs. Workers hand pairs to offer(),
+// which never blocks: a full buffer drops the pair and counts it, so a slow
+// client costs at most `capacity` pairs of memory and never slows the check.
+// run() sends from its own thread, in this order:
+//
+//   status     the job as it stands when the client subscribes
+//   pairs      batches of pairs found since (may repeat some from status)
+//   progress   at most one tick per interval, with the dropped-pair count
+//   complete   the final status, result or error included; the stream ends
+public class CheckSubscription {
+
+    @FunctionalInterface
+    public interface EventSink {
+        // Throws once the client has gone away
+        void send(String event, Object data) throws IOException;
+    }
+
+    static final int MAX_BATCH = 256;
+
+    private final CheckJob job;
+    private final double minSimilarity;
+    private final long progressIntervalNanos;
+    private final BlockingQueue<PairResult> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean cancelled;
+
+    CheckSubscription(CheckJob job, int capacity, double minSimilarity, long progressIntervalMillis) {
+        this.job = job;
+        this.minSimilarity = minSimilarity;
+        this.progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(progressIntervalMillis);
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+    // Called by the check's workers, possibly several at once
+    void offer(List<PairResult> pairs) {
+        for (PairResult pair : pairs) {
+            if (pair.getSimilarity() >= minSimilarity && !buffer.offer(pair)) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    public long getDroppedPairs() { return dropped.get(); }
+
+    public boolean isCancelled() { return cancelled; }
+
+    // Stops run() at its next wake-up; safe to call from any thread, more than once
+    public void cancel() {
+        cancelled = true;
+        job.unsubscribe(this);
+    }
+
+    // Streams until the job finishes or the sink fails; returns whether the stream ran to completion
+    public boolean run(EventSink sink) {
+        try {
+            sink.send("status", job.toStatus());
+            List<PairResult> batch = new ArrayList<>(MAX_BATCH);
+            long lastProgress = System.nanoTime();
+            long lastCompleted = -1;
+            long lastDropped = 0;
+            while (!cancelled) {
+                // Read before draining, so every pair offered before the job finished is sent
+                boolean finished = job.isFinished();
+                PairResult first = finished ? buffer.poll()
+                        : buffer.poll(progressIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, MAX_BATCH - 1);
+                    sink.send("pairs", List.copyOf(batch));
+                    batch.clear();
+                }
+                if (finished && buffer.isEmpty()) {
+                    sink.send("complete", job.toStatus());
+                    return true;
+                }
+                long now = System.nanoTime();
+                long completed = job.getCompletedUnits();
+                if (now - lastProgress >= progressIntervalNanos
+                        && (completed != lastCompleted || dropped.get() != lastDropped)) {
+                    lastCompleted = completed;
+                    lastDropped = dropped.get();
+                    lastProgress = now;
+                    sink.send("progress", job.toProgress(lastDropped));
+                }
+            }
+            return false;
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected, or the response was already closed
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            cancel();
+        }
+    }
+}
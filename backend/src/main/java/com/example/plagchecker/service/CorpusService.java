@@ -0,0 +1,58 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.CorpusMatches;
+import com.example.plagchecker.dto.CorpusStats;
+import com.example.plagchecker.dto.OverlapCandidate;
+import com.example.plagchecker.engine.FilterStats;
+import com.example.plagchecker.engine.Fingerprints;
+import com.example.plagchecker.model.Submission;
+import com.example.plagchecker.repository.FingerprintCorpus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+// Checks submissions against the on-disk corpus of earlier assignments.
+@Service
+public class CorpusService {
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Autowired
+    private FingerprintCorpus fingerprintCorpus;
+
+    // Copies an assignment's fingerprints into the corpus, typically once at the end of a semester.
+    // Submissions already archived are skipped, so archiving again only adds the new ones.
+    public CorpusStats archiveAssignment(Long instructorId, String assignment) {
+        for (Submission submission : submissionService.getSubmissionsByAssignment(instructorId, assignment)) {
+            fingerprintCorpus.add(submission.getId(), Fingerprints.decode(submission.getFingerprints()).distinctHashes());
+        }
+        fingerprintCorpus.flush();
+        return fingerprintCorpus.stats();
+    }
+
+    // Most similar archived submissions, excluding the submission itself
+    public Optional<CorpusMatches> findMatches(Long submissionId, int limit) {
+        return submissionService.getSubmissionById(submissionId).map(submission -> {
+            long[] hashes = Fingerprints.decode(submission.getFingerprints()).distinctHashes();
+            List<OverlapCandidate> candidates = new ArrayList<>();
+            FilterStats stats = fingerprintCorpus.forEachOverlap(hashes, (docId, shared, docSize) -> {
+                if (docId != submissionId) {
+                    double similarity = (double) shared / (hashes.length + docSize - shared);
+                    candidates.add(new OverlapCandidate(docId, shared, similarity));
+                }
+            });
+            candidates.sort(Comparator.comparingDouble(OverlapCandidate::getSimilarity).reversed());
+            List<OverlapCandidate> matches = candidates.size() > limit
+                    ? new ArrayList<>(candidates.subList(0, limit)) : candidates;
+            return new CorpusMatches(matches, stats.getLookups(), stats.getSkipped(), stats.getFalsePositives());
+        });
+    }
+
+    public CorpusStats getStats() {
+        return fingerprintCorpus.stats();
+    }
+}
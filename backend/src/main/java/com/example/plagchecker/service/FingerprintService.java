@@ -0,0 +1,122 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.engine.Fingerprints;
+import com.example.plagchecker.engine.Lexer;
+import com.example.plagchecker.engine.Lexers;
+import com.example.plagchecker.engine.MinHasher;
+import com.example.plagchecker.engine.TextNormalizer;
+import com.example.plagchecker.engine.TokenStream;
+import com.example.plagchecker.engine.Winnower;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Source files in a language with a lexer (by extension) are fingerprinted as
+// normalised token streams, so renamed identifiers and changed literals still
+// match; anything else goes through the character-level TextNormalizer. The two
+// have their own k and window: a token stands for several characters, so a
+// k-gram of 25 characters is a fraction of a statement but 25 tokens are a few lines.
+@Service
+public class FingerprintService {
+
+    // Long enough for any bands x rows combination a check may ask for
+    public static final int SIGNATURE_LENGTH = 128;
+    // Language recorded for fingerprints made without a lexer
+    public static final String TEXT = "text";
+    private static final long SIGNATURE_SEED = 0x5EEDL;
+
+    private final TextNormalizer normalizer = new TextNormalizer();
+    private final Lexers lexers = Lexers.load();
+    private final MinHasher minHasher = new MinHasher(SIGNATURE_LENGTH, SIGNATURE_SEED);
+    private final Winnower winnower;
+    private final Winnower tokenWinnower;
+
+    @Value("${plagchecker.fingerprint.lexers:true}")
+    private boolean lexersEnabled = true;
+
+    // Token buffers are reused per thread so repeated fingerprinting does not
+    // re-grow them for every submission.
+    private final ThreadLocal<TokenStream> tokenBuffers = ThreadLocal.withInitial(TokenStream::new);
+
+    // The same k and window for characters and tokens
+    public FingerprintService(int kGramLength, int windowSize) {
+        this(kGramLength, windowSize, false);
+    }
+
+    public FingerprintService(int kGramLength, int windowSize, boolean vectorized) {
+        this(kGramLength, windowSize, kGramLength, windowSize, vectorized);
+    }
+
+    // Vectorised k-gram hashing also needs the JVM to run with --add-modules jdk.incubator.vector
+    @Autowired
+    public FingerprintService(@Value("${plagchecker.fingerprint.k:25}") int kGramLength,
+                              @Value("${plagchecker.fingerprint.window:40}") int windowSize,
+                              @Value("${plagchecker.fingerprint.token-k:8}") int tokenKGramLength,
+                              @Value("${plagchecker.fingerprint.token-window:8}") int tokenWindowSize,
+                              @Value("${plagchecker.fingerprint.vectorized:false}") boolean vectorized) {
+        this.winnower = new Winnower(kGramLength, windowSize, vectorized);
+        this.tokenWinnower = new Winnower(tokenKGramLength, tokenWindowSize, vectorized);
+    }
+
+    public Fingerprints fingerprint(String content) {
+        return fingerprint(content, null);
+    }
+
+    public Fingerprints fingerprint(String content, String fileName) {
+        Winnower chosen = lexerFor(fileName) == null ? winnower : tokenWinnower;
+        return chosen.winnow(tokenize(content, fileName, tokenBuffers.get()));
+    }
+
+    public TokenStream tokenize(String content) {
+        return tokenize(content, tokenBuffers.get());
+    }
+
+    public TokenStream tokenize(String content, TokenStream out) {
+        return tokenize(content, null, out);
+    }
+
+    public TokenStream tokenize(String content, String fileName, TokenStream out) {
+        String text = content == null ? "" : content;
+        Lexer lexer = lexerFor(fileName);
+        if (lexer == null) {
+            return normalizer.normalize(text, out);
+        }
+        lexer.tokenize(text, out);
+        return out;
+    }
+
+    // Fingerprints are only comparable between files of the same language
+    public String languageOf(String fileName) {
+        Lexer lexer = lexerFor(fileName);
+        return lexer == null ? TEXT : lexer.language();
+    }
+
+    private Lexer lexerFor(String fileName) {
+        return lexersEnabled ? lexers.forFile(fileName) : null;
+    }
+
+    public long[] minHashSignature(long[] distinctHashes) {
+        return minHasher.signature(distinctHashes);
+    }
+
+    public int getKGramLength() { return winnower.getKGramLength(); }
+
+    public int getWindowSize() { return winnower.getWindowSize(); }
+
+    public int getTokenKGramLength() { return tokenWinnower.getKGramLength(); }
+
+    public int getTokenWindowSize() { return tokenWinnower.getWindowSize(); }
+
+    // k and window used for fingerprints of the given language (as returned by languageOf)
+    public int getKGramLength(String language) {
+        return TEXT.equals(language) ? getKGramLength() : getTokenKGramLength();
+    }
+
+    public int getWindowSize(String language) {
+        return TEXT.equals(language) ? getWindowSize() : getTokenWindowSize();
+    }
+
+    public boolean isVectorized() { return winnower.isVectorized(); }
+
+    public boolean isLexersEnabled() { return lexersEnabled; }
+}
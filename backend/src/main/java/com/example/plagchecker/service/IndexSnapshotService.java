@@ -0,0 +1,100 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.repository.FingerprintIndex;
+import com.example.plagchecker.repository.FingerprintIndex.AssignmentIndex;
+import com.example.plagchecker.repository.IndexSnapshotStore;
+import com.example.plagchecker.repository.SubmissionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Warm restarts: assignment indexes are snapshotted periodically and on
+// shutdown, and read back before the application starts serving. A snapshot
+// is only used if the ids and content hashes it was built from still match
+// the database; otherwise it is dropped and the assignment is loaded from the
+// stored fingerprints on first use, as without snapshots.
+@Service
+public class IndexSnapshotService {
+
+    @Autowired
+    private FingerprintIndex fingerprintIndex;
+
+    @Autowired
+    private IndexSnapshotStore indexSnapshotStore;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Value("${plagchecker.index.snapshot-interval-seconds:300}")
+    private long intervalSeconds = 300;
+
+    private volatile String lastError;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "index-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void start() throws IOException {
+        restore();
+        if (intervalSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::writeAll, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    // Returns the number of assignments restored
+    public int restore() throws IOException {
+        int restored = 0;
+        for (IndexSnapshotStore.Snapshot snapshot : indexSnapshotStore.readAll(fingerprintIndex.memory())) {
+            Map<Long, String> current = new HashMap<>();
+            for (SubmissionRepository.ContentVersion version
+                    : submissionRepository.findContentVersionsByInstructor_IdAndAssignment(
+                            snapshot.assignment().instructorId(), snapshot.assignment().assignment())) {
+                current.put(version.getId(), version.getContentHash());
+            }
+            if (current.equals(snapshot.contentHashes())
+                    && fingerprintIndex.restore(snapshot.assignment(), snapshot.postings(), current,
+                            snapshot.suppressed())) {
+                restored++;
+            } else {
+                snapshot.postings().close();
+                indexSnapshotStore.delete(snapshot.assignment());
+            }
+        }
+        return restored;
+    }
+
+    // Writes every loaded index that changed since its last snapshot; returns how many were written
+    public int writeAll() {
+        int written = 0;
+        for (AssignmentIndex index : fingerprintIndex.loaded()) {
+            try {
+                if (indexSnapshotStore.write(index)) {
+                    written++;
+                }
+            } catch (IOException | RuntimeException e) {
+                // A missing snapshot only costs a rebuild on the next start
+                lastError = e.getMessage();
+            }
+        }
+        return written;
+    }
+
+    public String getLastError() { return lastError; }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        writeAll();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.InstructorCacheStats;
+import com.example.plagchecker.model.Instructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Read-through cache of instructors by id and by username, so logins and
+// lookups do not query the instructors table each time. Writes go through
+// InstructorService, which invalidates the instructor's entries after saving;
+// the expiry bounds how long an edit made behind the service's back (e.g. in
+// the H2 console) can go unseen. Missing instructors are not cached.
+//
+// Cached instances are shared between callers and must not be modified:
+// anything that changes an instructor loads its own copy from the repository.
+@Service
+public class InstructorCache {
+
+    private final long maximumSize;
+    private final Cache<Long, Instructor> byId;
+    private final Cache<String, Instructor> byUsername;
+
+    public InstructorCache(@Value("${plagchecker.instructors.cache-size:10000}") long maximumSize,
+                           @Value("${plagchecker.instructors.cache-ttl-seconds:600}") long ttlSeconds) {
+        this.maximumSize = Math.max(0, maximumSize);
+        this.byId = build(this.maximumSize, ttlSeconds);
+        this.byUsername = build(this.maximumSize, ttlSeconds);
+    }
+
+    private static <K> Cache<K, Instructor> build(long maximumSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(Math.max(1, ttlSeconds)))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Instructor> byId(Long id, Function<Long, Optional<Instructor>> loader) {
+        if (id == null || maximumSize == 0) {
+            return loader.apply(id);
+        }
+        return Optional.ofNullable(byId.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public Optional<Instructor> byUsername(String username, Function<String, Optional<Instructor>> loader) {
+        if (username == null || maximumSize == 0) {
+            return loader.apply(username);
+        }
+        return Optional.ofNullable(byUsername.get(username, key -> loader.apply(key).orElse(null)));
+    }
+
+    // Drops the entries of a saved instructor, under its old username too; call
+    // after the save, so a lookup racing it cannot put the old row back
+    public void invalidate(Instructor instructor) {
+        if (instructor.getId() != null) {
+            byId.invalidate(instructor.getId());
+            // Writes are rare enough for a scan
+            byUsername.asMap().values().removeIf(cached -> instructor.getId().equals(cached.getId()));
+        }
+        if (instructor.getUsername() != null) {
+            byUsername.invalidate(instructor.getUsername());
+        }
+    }
+
+    public void clear() {
+        byId.invalidateAll();
+        byUsername.invalidateAll();
+    }
+
+    public InstructorCacheStats getStats() {
+        CacheStats stats = byId.stats().plus(byUsername.stats());
+        InstructorCacheStats result = new InstructorCacheStats();
+        result.setHits(stats.hitCount());
+        result.setMisses(stats.missCount());
+        result.setHitRate(stats.hitRate());
+        result.setEvictions(stats.evictionCount());
+        result.setEntries(byId.estimatedSize() + byUsername.estimatedSize());
+        result.setMaximumEntries(2 * maximumSize);
+        return result;
+    }
+}
@@ -1,49 +1,181 @@
 package com.example.plagchecker.service;
 
+import com.example.plagchecker.dto.InstructorCacheStats;
+import com.example.plagchecker.dto.InstructorPage;
 import com.example.plagchecker.model.Instructor;
 import com.example.plagchecker.repository.InstructorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class InstructorService {
     
+    static final int MAX_PAGE_SIZE = 1000;
+
     @Autowired
     private InstructorRepository instructorRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private InstructorCache instructorCache;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
     
+    // Hashes on the calling thread; request handlers use createInstructorAsync
     public Instructor createInstructor(Instructor instructor) {
-        return instructorRepository.save(instructor);
+        if (instructor != null && instructor.getPassword() != null) {
+            instructor.setPassword(passwordHasher.hash(instructor.getPassword()));
+        }
+        Instructor saved = instructorRepository.save(instructor);
+        if (saved != null) {
+            instructorCache.invalidate(saved);
+        }
+        return saved;
+    }
+    
+    // Hashing and saving run on the password pool. Fails with
+    // RejectedExecutionException, without waiting, when that pool is saturated.
+    public CompletableFuture<Instructor> createInstructorAsync(Instructor instructor) {
+        return passwordHasher.submit(() -> createInstructor(instructor));
     }
     
     public List<Instructor> getAllInstructors() {
         return instructorRepository.findAll();
     }
+
+    // Up to limit instructors with an id above afterId; one more page follows when this one is full
+    public InstructorPage getInstructorPage(long afterId, int limit) {
+        int size = Math.min(Math.max(1, limit), MAX_PAGE_SIZE);
+        List<Instructor> items = instructorRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size));
+        Long nextCursor = items.size() == size ? items.get(items.size() - 1).getId() : null;
+        return new InstructorPage(items, nextCursor);
+    }
+
+    // Hands every instructor to action in id order as rows come off the cursor,
+    // each a fresh unmanaged copy without the password, so memory does not grow with the table
+    @Transactional(readOnly = true)
+    public void forEachInstructor(Consumer<Instructor> action) {
+        try (Stream<InstructorRepository.Listing> rows = instructorRepository.streamAllByOrderByIdAsc()) {
+            rows.forEach(row -> {
+                Instructor instructor = new Instructor();
+                instructor.setId(row.getId());
+                instructor.setUsername(row.getUsername());
+                instructor.setFirstName(row.getFirstName());
+                instructor.setLastName(row.getLastName());
+                action.accept(instructor);
+            });
+        }
+    }
     
     public Optional<Instructor> getInstructorById(Long id) {
-        return instructorRepository.findById(id);
+        return instructorCache.byId(id, instructorRepository::findById);
     }
     
     public Optional<Instructor> getInstructorByUsername(String username) {
-        return instructorRepository.findByUsername(username);
+        return instructorCache.byUsername(username, instructorRepository::findByUsername);
+    }
+
+    public InstructorCacheStats getCacheStats() {
+        return instructorCache.getStats();
     }
 
+    // Writes load their own copy rather than the shared cached one. Hashes on the
+    // calling thread; request handlers use updatePasswordAsync
     public boolean updatePassword(String username, String oldPassword, String newPassword) {
-        Optional<Instructor> instructorOpt = instructorRepository.findByUsername(username);
+        return changePassword(instructorRepository.findByUsername(username), oldPassword, newPassword);
+    }
+
+    // For a caller already identified by a session token
+    public boolean updatePassword(long instructorId, String oldPassword, String newPassword) {
+        return changePassword(instructorRepository.findById(instructorId), oldPassword, newPassword);
+    }
+
+    // As updatePassword, with the lookup here and the check and new hash on the
+    // password pool; RejectedExecutionException when that pool is saturated
+    public CompletableFuture<Boolean> updatePasswordAsync(String username, String oldPassword, String newPassword) {
+        return changePasswordAsync(instructorRepository.findByUsername(username), oldPassword, newPassword);
+    }
+
+    public CompletableFuture<Boolean> updatePasswordAsync(long instructorId, String oldPassword, String newPassword) {
+        return changePasswordAsync(instructorRepository.findById(instructorId), oldPassword, newPassword);
+    }
+
+    private CompletableFuture<Boolean> changePasswordAsync(Optional<Instructor> instructor,
+                                                           String oldPassword, String newPassword) {
+        if (instructor.isEmpty()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return passwordHasher.submit(() -> changePassword(instructor, oldPassword, newPassword));
+    }
+
+    private boolean changePassword(Optional<Instructor> instructorOpt, String oldPassword, String newPassword) {
         if (instructorOpt.isPresent()) {
             Instructor instructor = instructorOpt.get();
-            if (instructor.getPassword().equals(oldPassword)) {
-                instructor.setPassword(newPassword);
+            if (passwordHasher.matches(oldPassword, instructor.getPassword())) {
+                instructor.setPassword(newPassword == null ? null : passwordHasher.hash(newPassword));
                 instructorRepository.save(instructor);
+                instructorCache.invalidate(instructor);
+                // Sessions opened with the old password end here
+                if (instructor.getId() != null) {
+                    tokenService.revokeAll(instructor.getId());
+                }
                 return true;
             }
         }
         return false;
     }
 
+    // Hashes on the calling thread; request handlers use authenticateAsync
     public Optional<Instructor> authenticate(String username, String password) {
-        return instructorRepository.findByUsername(username)
-                .filter(instructor -> instructor.getPassword().equals(password));
+        return getInstructorByUsername(username)
+                .filter(instructor -> checkPassword(instructor, password));
+    }
+
+    // The lookup runs here, the hashing on the password pool. Fails with
+    // RejectedExecutionException, without waiting, when that pool is saturated.
+    // An unknown username is hashed against too, on the same pool at the same
+    // cost, so neither the response time nor a 503 tells which usernames exist.
+    public CompletableFuture<Optional<Instructor>> authenticateAsync(String username, String password) {
+        Optional<Instructor> instructor = getInstructorByUsername(username);
+        if (instructor.isEmpty()) {
+            return passwordHasher.submit(() -> {
+                passwordHasher.matchesNone(password);
+                return instructor;
+            });
+        }
+        return passwordHasher.submit(() -> instructor.filter(found -> checkPassword(found, password)));
+    }
+
+    // A password stored in plaintext or with an outdated cost is rehashed once it has matched
+    private boolean checkPassword(Instructor instructor, String password) {
+        String stored = instructor.getPassword();
+        if (!passwordHasher.matches(password, stored)) {
+            return false;
+        }
+        if (passwordHasher.needsRehash(stored) && instructor.getId() != null) {
+            rehash(instructor.getId(), stored, password);
+        }
+        return true;
+    }
+
+    // Saves over a fresh copy, and only if the password was not changed meanwhile
+    private void rehash(long instructorId, String stored, String password) {
+        instructorRepository.findById(instructorId)
+                .filter(current -> stored.equals(current.getPassword()))
+                .ifPresent(current -> {
+                    current.setPassword(passwordHasher.hash(password));
+                    instructorRepository.save(current);
+                    instructorCache.invalidate(current);
+                });
     }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.PairCacheStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.function.DoubleSupplier;
+
+// Similarity of two contents under one set of engine parameters never changes, so
+// scores are cached by (content, content, parameters) across checks. Caffeine's
+// W-TinyLFU eviction keeps frequently re-compared pairs over one-off ones, and
+// entries are weighed by their estimated heap size against a byte budget.
+@Service
+public class PairScoreCache {
+
+    // Record header and fields plus the headers of the three strings it keeps alive;
+    // their characters are added per key
+    private static final int KEY_OVERHEAD_BYTES = 32 + 3 * (24 + 16);
+    // Boxed Double plus Caffeine's node
+    private static final int VALUE_OVERHEAD_BYTES = 16 + 64;
+
+    record PairKey(String firstHash, String secondHash, String parameters) {
+        static PairKey of(String left, String right, String parameters) {
+            return left.compareTo(right) <= 0
+                    ? new PairKey(left, right, parameters)
+                    : new PairKey(right, left, parameters);
+        }
+    }
+
+    private final long budgetBytes;
+    private final Cache<PairKey, Double> cache;
+
+    public PairScoreCache(@Value("${plagchecker.check.pair-cache-bytes:67108864}") long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(0, budgetBytes))
+                .weigher((PairKey key, Double score) -> KEY_OVERHEAD_BYTES + VALUE_OVERHEAD_BYTES
+                        + 2 * (key.firstHash().length() + key.secondHash().length() + key.parameters().length()))
+                .recordStats()
+                .build();
+    }
+
+    // Cached score of the two contents, computed and stored on a miss; submissions
+    // without a content hash are always computed
+    public double score(String leftHash, String rightHash, String parameters, DoubleSupplier compute) {
+        if (leftHash == null || rightHash == null || budgetBytes <= 0) {
+            return compute.getAsDouble();
+        }
+        return cache.get(PairKey.of(leftHash, rightHash, parameters), key -> compute.getAsDouble());
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public PairCacheStats getStats() {
+        CacheStats stats = cache.stats();
+        PairCacheStats result = new PairCacheStats();
+        result.setHits(stats.hitCount());
+        result.setMisses(stats.missCount());
+        result.setHitRate(stats.hitRate());
+        result.setEvictions(stats.evictionCount());
+        result.setEntries(cache.estimatedSize());
+        result.setEstimatedBytes(cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L));
+        result.setBudgetBytes(budgetBytes);
+        return result;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.plagchecker.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// PBKDF2-HMAC-SHA256 password hashes, stored as
+//
+//   pbkdf2-sha256$<iterations>$<salt>$<hash>     (salt and hash in base64)
+//
+// The iteration count is calibrated at startup so one hash takes about the
+// target time on this machine, never below MIN_ITERATIONS; each stored hash
+// keeps its own count, so raising it only affects new hashes. Hashes below
+// MIN_ITERATIONS (or below a lower count pinned by configuration, as tests do)
+// are refused, whether at login or when imported ready-hashed, and so are hashes
+// above MAX_ITERATION_FACTOR times the current count: a planted row or an import
+// cannot make one login cost minutes of CPU. Anything else
+// in the password column is a plaintext password from before hashing, still
+// accepted (compared in constant time) until the next login rehashes it.
+//
+// At ~100 ms of CPU per hash, logins run on a pool of their own: a few
+// threads and a bounded queue, so a burst cannot take every core or every
+// Tomcat thread, and a full queue fails at once instead of piling up. Bulk
+// hashing (roster imports) gets a second pool of as many threads, whose
+// callers wait for it, so an import neither fills the login queue nor runs
+// one hash at a time.
+@Service
+public class PasswordHasher {
+
+    static final String PREFIX = "pbkdf2-sha256$";
+    static final int MIN_ITERATIONS = 100_000;
+    // Headroom for hashes made before the count was lowered or calibrated on a faster machine
+    static final int MAX_ITERATION_FACTOR = 4;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final int CALIBRATION_ITERATIONS = 20_000;
+    private static final byte[] DUMMY_SALT = new byte[SALT_BYTES];
+
+    private final int iterations;
+    private final int minIterations;
+    private final int maxIterations;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService bulkExecutor;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public PasswordHasher(@Value("${plagchecker.auth.hash-iterations:0}") int iterations,
+                          @Value("${plagchecker.auth.hash-target-millis:100}") long targetMillis,
+                          @Value("${plagchecker.auth.hash-threads:0}") int threads,
+                          @Value("${plagchecker.auth.hash-queue:64}") int queueCapacity) {
+        this(iterations > 0 ? iterations : Math.max(MIN_ITERATIONS, calibrate(targetMillis)),
+                threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                queueCapacity);
+    }
+
+    PasswordHasher(int iterations, int threads, int queueCapacity) {
+        this.iterations = iterations;
+        this.minIterations = Math.min(MIN_ITERATIONS, iterations);
+        this.maxIterations = (int) Math.min(Integer.MAX_VALUE, (long) iterations * MAX_ITERATION_FACTOR);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), daemonThreads("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.bulkExecutor = Executors.newFixedThreadPool(threads, daemonThreads("password-bulk-"));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(pbkdf2(password, salt, iterations));
+    }
+
+    public boolean matches(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!stored.startsWith(PREFIX)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+                    stored.getBytes(StandardCharsets.UTF_8));
+        }
+        Stored parsed = parse(stored);
+        return parsed != null && MessageDigest.isEqual(pbkdf2(password, parsed.salt(), parsed.iterations()), parsed.hash());
+    }
+
+    // Costs what checking a password hashed at the current count does, and never matches,
+    // so a login for an unknown username takes as long as one with a wrong password
+    public boolean matchesNone(String password) {
+        pbkdf2(password == null ? "" : password, DUMMY_SALT, iterations);
+        return false;
+    }
+
+    // A value in the stored format that matches could accept: well formed and
+    // with iterations between the minimum and the maximum
+    public boolean isAcceptableHash(String stored) {
+        return stored != null && stored.startsWith(PREFIX) && parse(stored) != null;
+    }
+
+    private record Stored(int iterations, byte[] salt, byte[] hash) {}
+
+    // null when malformed or outside the accepted iterations
+    private Stored parse(String stored) {
+        String[] parts = stored.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[0]);
+            Base64.Decoder decoder = Base64.getDecoder();
+            byte[] salt = decoder.decode(parts[1]);
+            byte[] hash = decoder.decode(parts[2]);
+            return storedIterations >= minIterations && storedIterations <= maxIterations && salt.length > 0 && hash.length == HASH_BITS / 8
+                    ? new Stored(storedIterations, salt, hash)
+                    : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Plaintext, or hashed with fewer iterations than new hashes get
+    public boolean needsRehash(String stored) {
+        if (stored == null || !stored.startsWith(PREFIX)) {
+            return true;
+        }
+        int end = stored.indexOf('$', PREFIX.length());
+        try {
+            return end < 0 || Integer.parseInt(stored.substring(PREFIX.length(), end)) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    // Runs the task on the hashing pool; completes with RejectedExecutionException
+    // straight away when the pool and its queue are full
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Hashes of the passwords in order, computed in parallel on the bulk pool;
+    // blocks until all are done
+    public List<String> hashAll(List<String> passwords) {
+        List<CompletableFuture<String>> hashes = passwords.stream()
+                .map(password -> CompletableFuture.supplyAsync(() -> hash(password), bulkExecutor))
+                .toList();
+        return hashes.stream().map(CompletableFuture::join).toList();
+    }
+
+    public int getIterations() { return iterations; }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        bulkExecutor.shutdown();
+    }
+
+    // Iterations taking about targetMillis, from the fastest of a few timed runs
+    static int calibrate(long targetMillis) {
+        byte[] salt = new byte[SALT_BYTES];
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 5; run++) {
+            long start = System.nanoTime();
+            pbkdf2("calibration", salt, CALIBRATION_ITERATIONS);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double perIteration = (double) Math.max(1, best) / CALIBRATION_ITERATIONS;
+        long calibrated = (long) (TimeUnit.MILLISECONDS.toNanos(targetMillis) / perIteration);
+        // Round to a multiple of 10 000 so restarts on one machine mostly agree
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(10_000, calibrated / 10_000 * 10_000));
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " unavailable", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.AssignmentResults;
+import com.example.plagchecker.dto.CheckMode;
+import com.example.plagchecker.dto.CheckRequest;
+import com.example.plagchecker.dto.CheckResult;
+import com.example.plagchecker.dto.PairCacheStats;
+import com.example.plagchecker.dto.PairResult;
+import com.example.plagchecker.engine.FingerprintFilter;
+import com.example.plagchecker.engine.Fingerprints;
+import com.example.plagchecker.engine.LshBands;
+import com.example.plagchecker.engine.MinHasher;
+import com.example.plagchecker.engine.TiledPairScheduler;
+import com.example.plagchecker.engine.TopPairs;
+import com.example.plagchecker.model.Submission;
+import com.example.plagchecker.repository.AssignmentKey;
+import com.example.plagchecker.repository.FingerprintIndex.AssignmentIndex;
+import com.example.plagchecker.repository.PairResultStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class PlagiarismCheckService {
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Autowired
+    private FingerprintService fingerprintService;
+
+    @Autowired
+    private PairResultStore pairResultStore;
+
+    @Autowired
+    private PairScoreCache pairScoreCache;
+
+    // Upper bound on worker threads of all running ALL_PAIRS checks together; 0 means half the cores
+    @Value("${plagchecker.check.max-parallelism:0}")
+    private int maxParallelism;
+
+    // One permit per worker thread, shared by concurrent checks; created on first use
+    private volatile Semaphore workerPermits;
+
+    @Value("${plagchecker.check.tile-size:64}")
+    private int tileSize = 64;
+
+    // Fingerprints in more than this fraction of an assignment's submissions are suppressed
+    // before a check, once it has min-submissions of them; 0 turns this off
+    @Value("${plagchecker.suppression.common-fraction:0.5}")
+    private double commonFraction = 0.5;
+
+    @Value("${plagchecker.suppression.min-submissions:10}")
+    private int commonMinSubmissions = 10;
+
+    public CheckResult runCheck(CheckRequest request) {
+        return runCheck(request, CheckProgressListener.NONE);
+    }
+
+    public Optional<AssignmentResults> getResults(Long instructorId, String assignment) {
+        return pairResultStore.getResults(new AssignmentKey(instructorId, assignment));
+    }
+
+    public CheckResult runCheck(CheckRequest request, CheckProgressListener listener) {
+        validate(request);
+        long start = System.nanoTime();
+        List<Submission> submissions = submissionService.getSubmissionsByAssignment(request.getInstructorId(),
+                request.getAssignment());
+        // Starter code and fingerprints nearly everyone shares are left out of every mode
+        AssignmentIndex index = submissionService.indexFor(assignmentOf(request));
+        index.suppressCommon(commonFraction, commonMinSubmissions);
+        FingerprintFilter suppressed = index.suppressed();
+        long[][] hashes = new long[submissions.size()][];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = suppressed.strip(Fingerprints.decode(submissions.get(i).getFingerprints()).distinctHashes());
+        }
+
+        CheckResult result = new CheckResult(request.getAssignment(), request.getMode());
+        result.setSubmissions(submissions.size());
+        result.setSuppressedFingerprints(suppressed.size());
+        TopPairs top = switch (request.getMode()) {
+            case MINHASH_LSH -> lshPairs(request, submissions, hashes, suppressed, result, listener);
+            case ALL_PAIRS -> allPairs(request, submissions, hashes, suppressed, result, listener);
+            default -> indexPairs(request, submissions, hashes, result, listener);
+        };
+        List<PairResult> pairs = ranked(top, submissions);
+        if (request.isMeasureRecall() && request.getMode() != CheckMode.INDEX) {
+            TopPairs exact = indexPairs(request, submissions, hashes, new CheckResult(), CheckProgressListener.NONE);
+            result.setRecall(recall(pairs, ranked(exact, submissions)));
+        }
+        result.setMatchedPairs(top.matched());
+        result.setPairs(pairs);
+        // Later additions and removals are merged into this set incrementally
+        pairResultStore.replace(assignmentOf(request), request.getThreshold(),
+                request.getTopK(), request.getPerSubmissionTopK(), pairs);
+        long elapsedNanos = System.nanoTime() - start;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setPairsPerSecond(elapsedNanos == 0 ? 0.0 : result.getComparedPairs() * 1e9 / elapsedNanos);
+        return result;
+    }
+
+    private TopPairs allPairs(CheckRequest request, List<Submission> submissions, long[][] hashes,
+                              FingerprintFilter suppressed, CheckResult result, CheckProgressListener listener) {
+        Semaphore permits = workerPermits();
+        int parallelism = acquireWorkers(permits, effectiveParallelism(request.getParallelism()));
+        long total = TiledPairScheduler.pairCount(hashes.length);
+        AtomicLong compared = new AtomicLong();
+        int[] contentGroups = contentGroups(submissions);
+        String parameters = scoringParameters(suppressed);
+        listener.onProgress(0, total);
+        TopPairs found;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            found = new TiledPairScheduler(tileSize).run(pool, hashes.length,
+                    (first, second) -> {
+                        // Identical content shares a blob hash, so it scores 1.0 without a comparison,
+                        // unless nothing of it is left to match once empty or suppressed
+                        double similarity = contentGroups[first] == contentGroups[second] && hashes[first].length > 0
+                                ? 1.0 : cachedJaccard(submissions, hashes, first, second, parameters);
+                        if (similarity >= request.getThreshold()) {
+                            listener.onPairs(List.of(orderedPair(submissions.get(first).getId(),
+                                    submissions.get(second).getId(), similarity)));
+                        }
+                        return similarity;
+                    },
+                    () -> topPairs(request),
+                    tilePairs -> listener.onProgress(compared.addAndGet(tilePairs), total));
+        } finally {
+            pool.shutdown();
+            permits.release(parallelism);
+        }
+        result.setParallelism(parallelism);
+        result.setCandidatePairs(total);
+        result.setComparedPairs(total);
+        return found;
+    }
+
+    private double cachedJaccard(List<Submission> submissions, long[][] hashes, int first, int second, String parameters) {
+        return pairScoreCache.score(scoredContent(submissions.get(first)), scoredContent(submissions.get(second)),
+                parameters, () -> MinHasher.jaccard(hashes[first], hashes[second]));
+    }
+
+    // The same bytes fingerprint differently under another lexer, so a side is its
+    // content together with the language its fingerprints were made in
+    private static String scoredContent(Submission submission) {
+        String hash = submission.getContentHash();
+        return hash == null ? null
+                : hash + "@" + Objects.requireNonNullElse(submission.getLanguage(), FingerprintService.TEXT);
+    }
+
+    // Everything besides the two sides that a cached score depends on
+    private String scoringParameters(FingerprintFilter suppressed) {
+        String parameters = "jaccard:k=" + fingerprintService.getKGramLength() + ":w=" + fingerprintService.getWindowSize()
+                + ":tk=" + fingerprintService.getTokenKGramLength() + ":tw=" + fingerprintService.getTokenWindowSize()
+                + ":lexers=" + (fingerprintService.isLexersEnabled() ? "on" : "off");
+        return suppressed.isEmpty() ? parameters
+                : parameters + ":suppressed=" + suppressed.size() + "/" + Long.toHexString(suppressed.digest());
+    }
+
+    public PairCacheStats getPairCacheStats() {
+        return pairScoreCache.getStats();
+    }
+
+    private static int[] contentGroups(List<Submission> submissions) {
+        Map<String, Integer> groups = new HashMap<>();
+        int[] result = new int[submissions.size()];
+        for (int i = 0; i < result.length; i++) {
+            String content = scoredContent(submissions.get(i));
+            result[i] = content == null ? -1 - i : groups.computeIfAbsent(content, key -> groups.size());
+        }
+        return result;
+    }
+
+    private Semaphore workerPermits() {
+        Semaphore permits = workerPermits;
+        if (permits == null) {
+            synchronized (this) {
+                if (workerPermits == null) {
+                    workerPermits = new Semaphore(effectiveParallelism(0));
+                }
+                permits = workerPermits;
+            }
+        }
+        return permits;
+    }
+
+    // Waits for one worker, then takes up to requested - 1 more of those free, so a
+    // check started while others run gets a smaller pool instead of exceeding the cap
+    static int acquireWorkers(Semaphore permits, int requested) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for check workers", e);
+        }
+        int granted = 1;
+        while (granted < requested && permits.tryAcquire()) {
+            granted++;
+        }
+        return granted;
+    }
+
+    int effectiveParallelism(int requested) {
+        int cap = maxParallelism > 0 ? maxParallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return requested > 0 ? Math.min(requested, cap) : cap;
+    }
+
+    private TopPairs indexPairs(CheckRequest request, List<Submission> submissions, long[][] hashes,
+                                CheckResult result, CheckProgressListener listener) {
+        AssignmentIndex index = submissionService.indexFor(assignmentOf(request));
+        Map<Long, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < submissions.size(); i++) {
+            ordinals.put(submissions.get(i).getId(), i);
+        }
+        TopPairs top = topPairs(request);
+        List<PairResult> found = new ArrayList<>();
+        long[] overlapping = new long[1];
+        listener.onProgress(0, hashes.length);
+        for (int i = 0; i < hashes.length; i++) {
+            int ordinal = i;
+            long submissionId = submissions.get(i).getId();
+            long[] own = hashes[i];
+            index.forEachOverlap(own, (docId, shared, docSize) -> {
+                // Each pair is reported from both sides; keep the one seen from the lower id
+                Integer other = ordinals.get(docId);
+                if (docId <= submissionId || other == null) {
+                    return;
+                }
+                overlapping[0]++;
+                double similarity = (double) shared / (own.length + docSize - shared);
+                if (similarity >= request.getThreshold()) {
+                    top.accept(ordinal, other, similarity);
+                    found.add(new PairResult(submissionId, docId, similarity));
+                }
+            });
+            if (!found.isEmpty()) {
+                listener.onPairs(found);
+                found.clear();
+            }
+            listener.onProgress(i + 1, hashes.length);
+        }
+        result.setCandidatePairs(overlapping[0]);
+        result.setComparedPairs(overlapping[0]);
+        return top;
+    }
+
+    private TopPairs lshPairs(CheckRequest request, List<Submission> submissions, long[][] hashes,
+                              FingerprintFilter suppressed, CheckResult result, CheckProgressListener listener) {
+        long[][] signatures = new long[hashes.length][];
+        for (int i = 0; i < hashes.length; i++) {
+            // Nothing left after suppression matches nothing, so it is not bucketed
+            if (hashes[i].length == 0) {
+                continue;
+            }
+            // Stored signatures cover every fingerprint, so they only do without suppression
+            byte[] stored = submissions.get(i).getMinHashSignature();
+            signatures[i] = stored != null && suppressed.isEmpty() ? MinHasher.decode(stored)
+                    : fingerprintService.minHashSignature(hashes[i]);
+        }
+        long[] candidates = new LshBands(request.getBands(), request.getRows()).candidatePairs(signatures);
+        String parameters = scoringParameters(suppressed);
+        TopPairs top = topPairs(request);
+        listener.onProgress(0, candidates.length);
+        for (int c = 0; c < candidates.length; c++) {
+            int left = LshBands.first(candidates[c]);
+            int right = LshBands.second(candidates[c]);
+            double similarity = cachedJaccard(submissions, hashes, left, right, parameters);
+            if (similarity >= request.getThreshold()) {
+                top.accept(left, right, similarity);
+                listener.onPairs(List.of(orderedPair(submissions.get(left).getId(), submissions.get(right).getId(), similarity)));
+            }
+            if ((c & 1023) == 1023 || c == candidates.length - 1) {
+                listener.onProgress(c + 1, candidates.length);
+            }
+        }
+        result.setCandidatePairs(candidates.length);
+        result.setComparedPairs(candidates.length);
+        return top;
+    }
+
+    private static TopPairs topPairs(CheckRequest request) {
+        return new TopPairs(request.getThreshold(), request.getTopK(), request.getPerSubmissionTopK());
+    }
+
+    private static List<PairResult> ranked(TopPairs top, List<Submission> submissions) {
+        List<PairResult> pairs = new ArrayList<>();
+        top.forEachRanked((first, second, score) ->
+                pairs.add(orderedPair(submissions.get(first).getId(), submissions.get(second).getId(), score)));
+        return pairs;
+    }
+
+    private static PairResult orderedPair(long first, long second, double similarity) {
+        return new PairResult(Math.min(first, second), Math.max(first, second), similarity);
+    }
+
+    private static double recall(List<PairResult> found, List<PairResult> exact) {
+        if (exact.isEmpty()) {
+            return 1.0;
+        }
+        Set<String> foundKeys = new HashSet<>();
+        for (PairResult pair : found) {
+            foundKeys.add(pairKey(pair));
+        }
+        long hits = exact.stream().filter(pair -> foundKeys.contains(pairKey(pair))).count();
+        return (double) hits / exact.size();
+    }
+
+    private static String pairKey(PairResult pair) {
+        return pair.getFirstSubmissionId() + ":" + pair.getSecondSubmissionId();
+    }
+
+    private static AssignmentKey assignmentOf(CheckRequest request) {
+        return new AssignmentKey(request.getInstructorId(), request.getAssignment());
+    }
+
+    public static void validate(CheckRequest request) {
+        if (request.getInstructorId() == null) {
+            throw new IllegalArgumentException("instructorId is required");
+        }
+        if (request.getAssignment() == null || request.getAssignment().isBlank()) {
+            throw new IllegalArgumentException("assignment is required");
+        }
+        if (request.getMode() == null) {
+            request.setMode(CheckMode.INDEX);
+        }
+        if (request.getMode() == CheckMode.MINHASH_LSH
+                && (request.getBands() < 1 || request.getRows() < 1
+                    || request.getBands() * request.getRows() > FingerprintService.SIGNATURE_LENGTH)) {
+            throw new IllegalArgumentException("bands x rows must be between 1 and " + FingerprintService.SIGNATURE_LENGTH);
+        }
+        if (request.getTopK() < 1 || request.getPerSubmissionTopK() < 0) {
+            throw new IllegalArgumentException("topK must be positive and perSubmissionTopK must not be negative");
+        }
+    }
+}
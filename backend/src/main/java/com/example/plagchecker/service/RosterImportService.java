@@ -0,0 +1,301 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.ImportError;
+import com.example.plagchecker.dto.ImportReport;
+import com.example.plagchecker.dto.InstructorImportRow;
+import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.repository.InstructorRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Creates instructor accounts from a roster streamed in the request body: CSV
+// with a header row naming the columns, or JSON as an array of accounts or one
+// per line. Rows are read one at a time and saved batchSize at a time. Ids come
+// from a pooled sequence, so Hibernate sends each batch as one JDBC batch, and
+// nothing stays managed between batches, so memory does not grow with the
+// roster. A bad row is reported and skipped; it never aborts the rest.
+@Service
+public class RosterImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_FIELD_LENGTH = 255;
+    private static final List<String> COLUMNS = List.of("username", "password", "firstName", "lastName");
+
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${plagchecker.import.batch-size:500}")
+    private int batchSize = 500;
+
+    // Row numbers are line numbers, the header being line 1. Quoted fields may
+    // hold commas and "" for a quote, but not line breaks.
+    public ImportReport importCsv(InputStream body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("Roster is empty");
+        }
+        int[] columns = columnsOf(splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header));
+        Batch batch = new Batch();
+        long line = 1;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            List<String> fields;
+            try {
+                fields = splitCsv(text);
+            } catch (IllegalArgumentException e) {
+                batch.malformed(line, e.getMessage());
+                continue;
+            }
+            batch.add(line, new InstructorImportRow(field(fields, columns[0]), field(fields, columns[1]),
+                    field(fields, columns[2]), field(fields, columns[3])));
+        }
+        return batch.finish();
+    }
+
+    // Row numbers count the accounts from 1. Reading stops at malformed JSON,
+    // after which the parser cannot find the next account reliably.
+    public ImportReport importJson(InputStream body) throws IOException {
+        Batch batch = new Batch();
+        try (MappingIterator<InstructorImportRow> rows =
+                     objectMapper.readerFor(InstructorImportRow.class).readValues(body)) {
+            for (long row = 1; ; row++) {
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    batch.add(row, rows.nextValue());
+                } catch (JsonProcessingException e) {
+                    batch.malformed(row, "Malformed JSON, the rest of the roster was not read");
+                    break;
+                }
+            }
+        }
+        return batch.finish();
+    }
+
+    private record Pending(long row, InstructorImportRow account) {}
+
+    // Rows waiting to be saved, plus the report so far
+    private final class Batch {
+        private final long started = System.nanoTime();
+        private final ImportReport report = new ImportReport();
+        private final List<Pending> pending = new ArrayList<>();
+        private final Set<String> usernames = new HashSet<>();
+
+        void add(long row, InstructorImportRow account) {
+            report.setRows(report.getRows() + 1);
+            String problem = problemWith(account);
+            if (problem != null) {
+                reject(row, account == null ? null : account.getUsername(), problem);
+            } else if (account.getPassword().startsWith(PasswordHasher.PREFIX)
+                    && !passwordHasher.isAcceptableHash(account.getPassword())) {
+                reject(row, account.getUsername(), "Password hash is malformed or has too few iterations");
+            } else if (!usernames.add(account.getUsername())) {
+                reject(row, account.getUsername(), "Username appears more than once");
+            } else {
+                pending.add(new Pending(row, account));
+                if (pending.size() >= Math.max(1, batchSize)) {
+                    save();
+                }
+            }
+        }
+
+        void malformed(long row, String message) {
+            report.setRows(report.getRows() + 1);
+            reject(row, null, message);
+        }
+
+        private void reject(long row, String username, String message) {
+            report.setRejected(report.getRejected() + 1);
+            if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+                report.getErrors().add(new ImportError(row, username, message));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+
+        ImportReport finish() {
+            save();
+            report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+            return report;
+        }
+
+        private void save() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            // Taken before this import or by an earlier batch of it
+            Set<String> taken = instructorRepository.findByUsernameIn(usernames).stream()
+                    .map(InstructorRepository.Listing::getUsername)
+                    .collect(Collectors.toSet());
+            List<Pending> fresh = new ArrayList<>(pending.size());
+            for (Pending entry : pending) {
+                if (taken.contains(entry.account().getUsername())) {
+                    reject(entry.row(), entry.account().getUsername(), "Username already exists");
+                } else {
+                    fresh.add(entry);
+                }
+            }
+            pending.clear();
+            usernames.clear();
+            if (fresh.isEmpty()) {
+                return;
+            }
+            report.setBatches(report.getBatches() + 1);
+            // Hashed once here, so the row-by-row retry below does not pay for it again
+            hashPasswords(fresh);
+            try {
+                persist(fresh);
+                report.setCreated(report.getCreated() + fresh.size());
+            } catch (RuntimeException e) {
+                // Some row broke a constraint, e.g. a username taken since the check; save one by one to find it
+                for (Pending entry : fresh) {
+                    try {
+                        persist(List.of(entry));
+                        report.setCreated(report.getCreated() + 1);
+                    } catch (RuntimeException rowFailure) {
+                        reject(entry.row(), entry.account().getUsername(), "Could not be saved");
+                    }
+                }
+            }
+        }
+    }
+
+    // One transaction and one JDBC batch for the rows
+    private void persist(List<Pending> rows) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(Math.max(1, batchSize));
+                for (Pending entry : rows) {
+                    InstructorImportRow account = entry.account();
+                    entityManager.persist(new Instructor(account.getUsername(), account.getPassword(),
+                            account.getFirstName(), account.getLastName()));
+                }
+                entityManager.flush();
+            });
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    // Hashed at the full cost on PasswordHasher's bulk pool, not the login pool,
+    // so a batch takes about rows x hash time / hashing threads. Values already
+    // in PasswordHasher's format (from another instance) were checked on arrival
+    // and are kept as they are.
+    private void hashPasswords(List<Pending> rows) {
+        List<InstructorImportRow> plain = rows.stream()
+                .map(Pending::account)
+                .filter(account -> !account.getPassword().startsWith(PasswordHasher.PREFIX))
+                .toList();
+        List<String> hashes = passwordHasher.hashAll(plain.stream().map(InstructorImportRow::getPassword).toList());
+        for (int i = 0; i < plain.size(); i++) {
+            plain.get(i).setPassword(hashes.get(i));
+        }
+    }
+
+    private static String problemWith(InstructorImportRow account) {
+        if (account == null) {
+            return "Empty row";
+        }
+        String[] values = {account.getUsername(), account.getPassword(), account.getFirstName(), account.getLastName()};
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null || values[i].isBlank()) {
+                return COLUMNS.get(i) + " is required";
+            }
+            if (values[i].length() > MAX_FIELD_LENGTH) {
+                return COLUMNS.get(i) + " is longer than " + MAX_FIELD_LENGTH + " characters";
+            }
+        }
+        return null;
+    }
+
+    // Position of each of COLUMNS in the header, matched ignoring case
+    private static int[] columnsOf(List<String> header) {
+        int[] columns = new int[COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = -1;
+            for (int j = 0; j < header.size(); j++) {
+                if (header.get(j).trim().toLowerCase(Locale.ROOT).equals(COLUMNS.get(i).toLowerCase(Locale.ROOT))) {
+                    columns[i] = j;
+                    break;
+                }
+            }
+            if (columns[i] < 0) {
+                throw new IllegalArgumentException("Roster has no " + COLUMNS.get(i) + " column");
+            }
+        }
+        return columns;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column < fields.size() ? fields.get(column) : null;
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
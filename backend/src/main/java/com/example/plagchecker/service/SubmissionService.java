@@ -0,0 +1,240 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.IndexMemoryStats;
+import com.example.plagchecker.dto.IndexStats;
+import com.example.plagchecker.dto.OverlapCandidate;
+import com.example.plagchecker.dto.PairResult;
+import com.example.plagchecker.engine.Fingerprints;
+import com.example.plagchecker.engine.MinHasher;
+import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.model.Submission;
+import com.example.plagchecker.repository.AssignmentKey;
+import com.example.plagchecker.repository.BaseCodeRepository;
+import com.example.plagchecker.repository.BlobStore;
+import com.example.plagchecker.repository.FingerprintIndex;
+import com.example.plagchecker.repository.FingerprintIndex.AssignmentIndex;
+import com.example.plagchecker.repository.InstructorRepository;
+import com.example.plagchecker.repository.PairResultStore;
+import com.example.plagchecker.repository.SubmissionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class SubmissionService {
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    @Autowired
+    private FingerprintService fingerprintService;
+
+    @Autowired
+    private FingerprintIndex fingerprintIndex;
+
+    @Autowired
+    private PairResultStore pairResultStore;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private BaseCodeRepository baseCodeRepository;
+
+    public Optional<Submission> createSubmission(Long instructorId, String assignment, String studentName,
+                                                 String fileName, String content) {
+        Optional<Instructor> instructorOpt = instructorRepository.findById(instructorId);
+        if (instructorOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(createSubmission(instructorOpt.get(), assignment, studentName, fileName, content));
+    }
+
+    // For an instructor whose id comes from a verified session token: a reference
+    // is all the foreign key needs, so the instructors table is not read
+    public Submission createSubmissionAs(long instructorId, String assignment, String studentName,
+                                         String fileName, String content) {
+        return createSubmission(instructorRepository.getReferenceById(instructorId), assignment, studentName,
+                fileName, content);
+    }
+
+    public Submission createSubmission(Instructor instructor, String assignment, String studentName,
+                                       String fileName, String content) {
+        // Load the index before saving so the new row is not picked up by the loader as well
+        AssignmentIndex index = indexFor(new AssignmentKey(instructor.getId(), assignment));
+        Submission submission = new Submission(instructor, assignment, studentName, fileName, content);
+        long[] distinctHashes = applyFingerprints(submission, content);
+        submission.setSubmittedAt(LocalDateTime.now());
+        Submission saved = submissionRepository.save(submission);
+        index.add(saved.getId(), saved.getContentHash(), distinctHashes);
+        recheckIncrementally(saved, distinctHashes);
+        return saved;
+    }
+
+    // New content for an existing submission; only the pairs involving it are recomputed
+    public Optional<Submission> replaceContent(Long id, String content) {
+        return submissionRepository.findById(id).map(submission -> {
+            long[] distinctHashes = applyFingerprints(submission, content);
+            submission.setContent(content);
+            submission.setSubmittedAt(LocalDateTime.now());
+            Submission saved = submissionRepository.save(submission);
+            indexFor(AssignmentKey.of(saved)).replace(saved.getId(), saved.getContentHash(), distinctHashes);
+            recheckIncrementally(saved, distinctHashes);
+            return saved;
+        });
+    }
+
+    public boolean deleteSubmission(Long id) {
+        Optional<Submission> submissionOpt = submissionRepository.findById(id);
+        if (submissionOpt.isEmpty()) {
+            return false;
+        }
+        Submission submission = submissionOpt.get();
+        submissionRepository.delete(submission);
+        indexFor(AssignmentKey.of(submission)).remove(id);
+        pairResultStore.removeSubmission(AssignmentKey.of(submission), id);
+        return true;
+    }
+
+    // Submissions of the same assignment sharing at least one fingerprint, most similar first
+    public Optional<List<OverlapCandidate>> findOverlapping(Long submissionId) {
+        return submissionRepository.findById(submissionId).map(submission -> overlapsOf(AssignmentKey.of(submission),
+                submissionId, Fingerprints.decode(submission.getFingerprints()).distinctHashes()));
+    }
+
+    // Suppressed fingerprints count on neither side
+    private List<OverlapCandidate> overlapsOf(AssignmentKey assignment, long submissionId, long[] distinctHashes) {
+        List<OverlapCandidate> candidates = new ArrayList<>();
+        AssignmentIndex index = indexFor(assignment);
+        long[] hashes = index.strip(distinctHashes);
+        index.forEachOverlap(hashes, (docId, shared, docSize) -> {
+            if (docId != submissionId) {
+                double similarity = (double) shared / (hashes.length + docSize - shared);
+                candidates.add(new OverlapCandidate(docId, shared, similarity));
+            }
+        });
+        candidates.sort(Comparator.comparingDouble(OverlapCandidate::getSimilarity).reversed());
+        return candidates;
+    }
+
+    // Late submissions: score the one changed submission against the index and
+    // merge its pairs into the stored results instead of re-running the check
+    private void recheckIncrementally(Submission submission, long[] distinctHashes) {
+        AssignmentKey assignment = AssignmentKey.of(submission);
+        Optional<Double> threshold = pairResultStore.getThreshold(assignment);
+        if (threshold.isEmpty()) {
+            return;
+        }
+        long id = submission.getId();
+        List<PairResult> pairs = new ArrayList<>();
+        for (OverlapCandidate candidate : overlapsOf(assignment, id, distinctHashes)) {
+            if (candidate.getSimilarity() >= threshold.get()) {
+                pairs.add(new PairResult(Math.min(id, candidate.getSubmissionId()),
+                        Math.max(id, candidate.getSubmissionId()), candidate.getSimilarity()));
+            }
+        }
+        pairResultStore.mergeSubmission(assignment, id, pairs);
+    }
+
+    // Stores the content as a blob; content seen before reuses the fingerprints computed for it
+    // then, provided they were made by the same lexer with the same k and window
+    private long[] applyFingerprints(Submission submission, String content) {
+        String contentHash = blobStore.put(content);
+        String language = fingerprintService.languageOf(submission.getFileName());
+        submission.setContentHash(contentHash);
+        submission.setLanguage(language);
+        submission.setFingerprintK(fingerprintService.getKGramLength(language));
+        submission.setFingerprintWindow(fingerprintService.getWindowSize(language));
+        Optional<Submission> twin = contentHash == null ? Optional.empty()
+                : submissionRepository.findTwin(contentHash, language, submission.getFingerprintK(),
+                        submission.getFingerprintWindow());
+        if (twin.isPresent()) {
+            submission.setFingerprints(twin.get().getFingerprints());
+            submission.setFingerprintCount(twin.get().getFingerprintCount());
+            submission.setMinHashSignature(twin.get().getMinHashSignature());
+            return Fingerprints.decode(twin.get().getFingerprints()).distinctHashes();
+        }
+        Fingerprints fingerprints = fingerprintService.fingerprint(content, submission.getFileName());
+        submission.setFingerprints(fingerprints.encode());
+        submission.setFingerprintCount(fingerprints.size());
+        long[] distinctHashes = fingerprints.distinctHashes();
+        submission.setMinHashSignature(MinHasher.encode(fingerprintService.minHashSignature(distinctHashes)));
+        return distinctHashes;
+    }
+
+    // Source text of a submission, read from the blob store unless already at hand
+    public Optional<String> getContent(Submission submission) {
+        if (submission.getContent() != null) {
+            return Optional.of(submission.getContent());
+        }
+        return blobStore.get(submission.getContentHash());
+    }
+
+    // Byte-identical submissions of the same assignment, found by hash without comparing anything
+    public Optional<List<Submission>> findExactDuplicates(Long submissionId) {
+        return submissionRepository.findById(submissionId).map(submission -> submission.getContentHash() == null
+                ? List.<Submission>of()
+                : submissionRepository.findByInstructor_IdAndAssignmentAndContentHash(submission.getInstructorId(),
+                                submission.getAssignment(), submission.getContentHash())
+                        .stream()
+                        .filter(duplicate -> !duplicate.getId().equals(submissionId))
+                        .toList());
+    }
+
+    public IndexStats getIndexStats(Long instructorId, String assignment) {
+        return indexFor(new AssignmentKey(instructorId, assignment)).stats();
+    }
+
+    // Where the loaded indexes live, next to the collector's totals since startup,
+    // so heap use and GC pauses can be compared with off-heap postings on and off
+    public IndexMemoryStats getIndexMemoryStats() {
+        IndexMemoryStats stats = new IndexMemoryStats();
+        stats.setOffHeap(fingerprintIndex.memory().isOffHeap());
+        stats.setAssignments(fingerprintIndex.loaded().size());
+        stats.setIndexBytes(fingerprintIndex.memoryFootprint());
+        stats.setOffHeapBytes(fingerprintIndex.offHeapBytes());
+        stats.setHeapUsedBytes(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            // G1 and ZGC also report their concurrent cycles, which do not stop the application
+            if (collector.getName().contains("Concurrent") || collector.getName().endsWith("Cycles")) {
+                continue;
+            }
+            stats.setGcCount(stats.getGcCount() + Math.max(0, collector.getCollectionCount()));
+            stats.setGcPauseMillis(stats.getGcPauseMillis() + Math.max(0, collector.getCollectionTime()));
+        }
+        return stats;
+    }
+
+    public AssignmentIndex indexFor(AssignmentKey assignment) {
+        return fingerprintIndex.getOrLoad(assignment, index -> {
+            index.suppress(BaseCodeService.hashesOf(baseCodeRepository.findByInstructor_IdAndAssignment(
+                    assignment.instructorId(), assignment.assignment())));
+            for (Submission submission : submissionRepository.findByInstructor_IdAndAssignment(
+                    assignment.instructorId(), assignment.assignment())) {
+                index.add(submission.getId(), submission.getContentHash(),
+                        Fingerprints.decode(submission.getFingerprints()).distinctHashes());
+            }
+        });
+    }
+
+    public Optional<Submission> getSubmissionById(Long id) {
+        return submissionRepository.findById(id);
+    }
+
+    public List<Submission> getSubmissionsByAssignment(Long instructorId, String assignment) {
+        return submissionRepository.findByInstructor_IdAndAssignment(instructorId, assignment);
+    }
+
+    public List<Submission> getSubmissionsByInstructor(Long instructorId) {
+        return submissionRepository.findByInstructor_Id(instructorId);
+    }
+}
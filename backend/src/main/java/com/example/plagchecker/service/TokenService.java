@@ -0,0 +1,136 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.model.Instructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Session tokens that prove who an instructor is without asking the database.
+// A token is base64url(payload) "." base64url(HMAC-SHA256(payload)), the payload
+// holding a version byte, the instructor id, issue and expiry times in epoch
+// millis and the username, so verifying one is a MAC and a map lookup.
+//
+// Changing a password revokes every token issued to that instructor until then.
+// Revocations live in memory only and are forgotten after one TTL, when the
+// tokens they cover have expired anyway; a restart forgets them too, but with a
+// random secret (the default) it also invalidates every token.
+@Service
+public class TokenService {
+
+    public record Claims(long instructorId, String username, long issuedAt, long expiresAt) {}
+
+    public record IssuedToken(String token, long expiresAt) {}
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 1;
+    private static final int FIXED_BYTES = 1 + 3 * Long.BYTES;
+
+    private final SecretKeySpec key;
+    private final long ttlMillis;
+    private final Clock clock;
+    // Instructor id -> time of the last revocation; tokens issued at or before it are rejected
+    private final Map<Long, Long> revokedAt = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenService(@Value("${plagchecker.auth.token-secret:}") String secret,
+                        @Value("${plagchecker.auth.token-ttl-minutes:60}") long ttlMinutes) {
+        this(secret.isBlank() ? randomSecret() : Base64.getDecoder().decode(secret.trim()),
+                TimeUnit.MINUTES.toMillis(ttlMinutes), Clock.systemUTC());
+    }
+
+    TokenService(byte[] secret, long ttlMillis, Clock clock) {
+        if (secret.length < 32) {
+            throw new IllegalArgumentException("Token secret must be at least 32 bytes");
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    public IssuedToken issue(Instructor instructor) {
+        long now = clock.millis();
+        // Never on or before a revocation in the same millisecond
+        long issuedAt = Math.max(now, revokedAt.getOrDefault(instructor.getId(), Long.MIN_VALUE) + 1);
+        byte[] username = instructor.getUsername().getBytes(StandardCharsets.UTF_8);
+        byte[] payload = ByteBuffer.allocate(FIXED_BYTES + username.length)
+                .put(VERSION)
+                .putLong(instructor.getId())
+                .putLong(issuedAt)
+                .putLong(issuedAt + ttlMillis)
+                .put(username)
+                .array();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return new IssuedToken(encoder.encodeToString(payload) + "." + encoder.encodeToString(sign(payload)),
+                issuedAt + ttlMillis);
+    }
+
+    // The token's claims if it is well formed, signed with our key, unexpired and not revoked
+    public Optional<Claims> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payload = decoder.decode(token.substring(0, dot));
+            signature = decoder.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (payload.length <= FIXED_BYTES || payload[0] != VERSION
+                || !MessageDigest.isEqual(sign(payload), signature)) {
+            return Optional.empty();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload, 1, payload.length - 1);
+        long instructorId = buffer.getLong();
+        long issuedAt = buffer.getLong();
+        long expiresAt = buffer.getLong();
+        if (clock.millis() >= expiresAt || issuedAt <= revokedAt.getOrDefault(instructorId, Long.MIN_VALUE)) {
+            return Optional.empty();
+        }
+        String username = new String(payload, FIXED_BYTES, payload.length - FIXED_BYTES, StandardCharsets.UTF_8);
+        return Optional.of(new Claims(instructorId, username, issuedAt, expiresAt));
+    }
+
+    // Rejects every token issued to the instructor so far; later ones are unaffected
+    public void revokeAll(long instructorId) {
+        long now = clock.millis();
+        revokedAt.merge(instructorId, now, Math::max);
+        revokedAt.values().removeIf(at -> at <= now - ttlMillis);
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            // Mac is not thread-safe and cheap to set up next to the hash itself
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " unavailable", e);
+        }
+    }
+
+    private static byte[] randomSecret() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return secret;
+    }
+}
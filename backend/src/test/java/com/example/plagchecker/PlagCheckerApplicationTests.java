@@ -0,0 +1,30 @@
+package com.example.plagchecker;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+
+// Starts the whole application, so a repository query Spring Data cannot derive
+// or a bean it cannot construct fails here rather than at deployment
+@SpringBootTest
+class PlagCheckerApplicationTests {
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void dataProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:contextload;DB_CLOSE_DELAY=-1");
+        registry.add("plagchecker.blobs.dir", () -> dataDir.resolve("blobs").toString());
+        registry.add("plagchecker.corpus.dir", () -> dataDir.resolve("corpus").toString());
+        registry.add("plagchecker.index.snapshot-dir", () -> dataDir.resolve("index").toString());
+    }
+
+    @Test
+    void contextLoads() {
+    }
+}
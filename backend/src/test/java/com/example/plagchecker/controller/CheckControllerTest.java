@@ -0,0 +1,133 @@
+package com.example.plagchecker.controller;
+
+import com.example.plagchecker.dto.AssignmentResults;
+import com.example.plagchecker.dto.CheckMode;
+import com.example.plagchecker.dto.CheckRequest;
+import com.example.plagchecker.service.CheckJob;
+import com.example.plagchecker.service.CheckJobService;
+import com.example.plagchecker.service.PlagiarismCheckService;
+import com.example.plagchecker.service.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CheckController.class)
+class CheckControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CheckJobService checkJobService;
+
+    @MockBean
+    private PlagiarismCheckService plagiarismCheckService;
+
+    // Needed by the token filter the slice picks up
+    @MockBean
+    private TokenService tokenService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void startCheck_ValidRequest_ShouldReturnAcceptedWithJobId() throws Exception {
+        // Given
+        CheckRequest request = new CheckRequest(1L, "hw1", CheckMode.MINHASH_LSH);
+        given(checkJobService.submit(any(CheckRequest.class))).willReturn(new CheckJob("job-1", request));
+
+        // When & Then
+        mockMvc.perform(post("/api/checks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/checks/job-1"))
+                .andExpect(jsonPath("$.id", is("job-1")))
+                .andExpect(jsonPath("$.state", is("QUEUED")));
+    }
+
+    @Test
+    void startCheck_InvalidRequest_ShouldReturnBadRequest() throws Exception {
+        // Given
+        given(checkJobService.submit(any(CheckRequest.class))).willThrow(new IllegalArgumentException("assignment is required"));
+
+        // When & Then
+        mockMvc.perform(post("/api/checks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getCheck_UnknownJob_ShouldReturnNotFound() throws Exception {
+        // Given
+        given(checkJobService.getJob("missing")).willReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/checks/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getCheck_ExistingJob_ShouldReturnStatus() throws Exception {
+        // Given
+        given(checkJobService.getJob("job-1")).willReturn(Optional.of(new CheckJob("job-1", new CheckRequest(1L, "hw1", CheckMode.INDEX))));
+
+        // When & Then
+        mockMvc.perform(get("/api/checks/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is("job-1")))
+                .andExpect(jsonPath("$.progress", is(0.0)));
+    }
+
+    @Test
+    void streamCheck_UnknownJob_ShouldReturnNotFound() throws Exception {
+        // Given
+        given(checkJobService.subscribe("missing", 0.0)).willReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/checks/missing/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getResults_CheckedAssignment_ShouldReturnStoredResults() throws Exception {
+        // Given
+        given(plagiarismCheckService.getResults(1L, "hw1"))
+                .willReturn(Optional.of(new AssignmentResults("hw1", 0.5)));
+
+        // When & Then
+        mockMvc.perform(get("/api/checks/results").param("instructorId", "1").param("assignment", "hw1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assignment", is("hw1")));
+    }
+
+    @Test
+    void getResults_UncheckedAssignment_ShouldReturnNotFound() throws Exception {
+        // Given
+        given(plagiarismCheckService.getResults(1L, "hw2")).willReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/checks/results").param("instructorId", "1").param("assignment", "hw2"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getResults_NoInstructor_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/checks/results").param("assignment", "hw1"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.plagchecker.controller;
 
 import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.dto.ImportReport;
+import com.example.plagchecker.dto.InstructorCacheStats;
+import com.example.plagchecker.dto.InstructorPage;
+import com.example.plagchecker.dto.LoginRequest;
 import com.example.plagchecker.service.InstructorService;
+import com.example.plagchecker.service.RosterImportService;
+import com.example.plagchecker.service.TokenService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,18 +16,28 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,6 +50,12 @@ class InstructorControllerTest {
     @MockBean
     private InstructorService instructorService;
 
+    @MockBean
+    private TokenService tokenService;
+
+    @MockBean
+    private RosterImportService rosterImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -57,6 +79,14 @@ class InstructorControllerTest {
         instructor2.setLastName("Singla");
     }
 
+    // For endpoints answered asynchronously: the response once the future completes
+    private ResultActions performAsync(RequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     // Test cases for createInstructor() method
     @Test
     void createInstructor_ValidInstructor_ShouldReturnCreatedInstructor() throws Exception {
@@ -65,10 +95,11 @@ class InstructorControllerTest {
         Instructor createdInstructor = new Instructor("mike_wilson", "password789", "Mike", "Wilson");
         createdInstructor.setId(3L);
 
-        given(instructorService.createInstructor(any(Instructor.class))).willReturn(createdInstructor);
+        given(instructorService.createInstructorAsync(any(Instructor.class)))
+                .willReturn(CompletableFuture.completedFuture(createdInstructor));
 
         // When & Then
-        mockMvc.perform(post("/api/instructors")
+        performAsync(post("/api/instructors")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(newInstructor)))
                 .andExpect(status().isOk())
@@ -82,16 +113,31 @@ class InstructorControllerTest {
     void createInstructor_ServiceThrowsException_ShouldReturnBadRequest() throws Exception {
         // Given
         Instructor invalidInstructor = new Instructor("", "", "", "");
-        given(instructorService.createInstructor(any(Instructor.class)))
-                .willThrow(new RuntimeException("Username already exists"));
+        given(instructorService.createInstructorAsync(any(Instructor.class)))
+                .willReturn(CompletableFuture.failedFuture(new RuntimeException("Username already exists")));
 
         // When & Then
-        mockMvc.perform(post("/api/instructors")
+        performAsync(post("/api/instructors")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(invalidInstructor)))
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createInstructor_HashPoolSaturated_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        Instructor newInstructor = new Instructor("mike_wilson", "password789", "Mike", "Wilson");
+        given(instructorService.createInstructorAsync(any(Instructor.class)))
+                .willReturn(CompletableFuture.failedFuture(new RejectedExecutionException("full")));
+
+        // When & Then
+        performAsync(post("/api/instructors")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newInstructor)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     void createInstructor_InvalidJson_ShouldReturnBadRequest() throws Exception {
         // When & Then
@@ -168,11 +214,11 @@ class InstructorControllerTest {
             "oldPassword", "password123",
             "newPassword", "newPassword456"
         );
-        given(instructorService.updatePassword("john_doe", "password123", "newPassword456"))
-            .willReturn(true);
+        given(instructorService.updatePasswordAsync("john_doe", "password123", "newPassword456"))
+            .willReturn(CompletableFuture.completedFuture(true));
 
         // When & Then
-        mockMvc.perform(put("/api/instructors/password/john_doe")
+        performAsync(put("/api/instructors/password/john_doe")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(passwordRequest)))
                 .andExpect(status().isOk())
@@ -186,11 +232,11 @@ class InstructorControllerTest {
             "oldPassword", "wrongPassword",
             "newPassword", "newPassword456"
         );
-        given(instructorService.updatePassword("john_doe", "wrongPassword", "newPassword456"))
-            .willReturn(false);
+        given(instructorService.updatePasswordAsync("john_doe", "wrongPassword", "newPassword456"))
+            .willReturn(CompletableFuture.completedFuture(false));
 
         // When & Then
-        mockMvc.perform(put("/api/instructors/password/john_doe")
+        performAsync(put("/api/instructors/password/john_doe")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(passwordRequest)))
                 .andExpect(status().isBadRequest())
@@ -204,11 +250,11 @@ class InstructorControllerTest {
             "oldPassword", "password123",
             "newPassword", "newPassword456"
         );
-        given(instructorService.updatePassword("nonexistent", "password123", "newPassword456"))
-            .willReturn(false);
+        given(instructorService.updatePasswordAsync("nonexistent", "password123", "newPassword456"))
+            .willReturn(CompletableFuture.completedFuture(false));
 
         // When & Then
-        mockMvc.perform(put("/api/instructors/password/nonexistent")
+        performAsync(put("/api/instructors/password/nonexistent")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(passwordRequest)))
                 .andExpect(status().isBadRequest())
@@ -222,11 +268,11 @@ class InstructorControllerTest {
             "oldPassword", "",
             "newPassword", "newPassword456"
         );
-        given(instructorService.updatePassword("john_doe", "", "newPassword456"))
-            .willReturn(false);
+        given(instructorService.updatePasswordAsync("john_doe", "", "newPassword456"))
+            .willReturn(CompletableFuture.completedFuture(false));
 
         // When & Then
-        mockMvc.perform(put("/api/instructors/password/john_doe")
+        performAsync(put("/api/instructors/password/john_doe")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(passwordRequest)))
                 .andExpect(status().isBadRequest())
@@ -240,26 +286,46 @@ class InstructorControllerTest {
             "oldPassword", "password123",
             "newPassword", ""
         );
-        given(instructorService.updatePassword("john_doe", "password123", ""))
-            .willReturn(false);
+        given(instructorService.updatePasswordAsync("john_doe", "password123", ""))
+            .willReturn(CompletableFuture.completedFuture(false));
 
         // When & Then
-        mockMvc.perform(put("/api/instructors/password/john_doe")
+        performAsync(put("/api/instructors/password/john_doe")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(passwordRequest)))
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("Invalid old password"));
     }
 
+    @Test
+    void updatePassword_HashPoolSaturated_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        Map<String, String> passwordRequest = Map.of(
+            "oldPassword", "password123",
+            "newPassword", "newPassword456"
+        );
+        given(instructorService.updatePasswordAsync("john_doe", "password123", "newPassword456"))
+            .willReturn(CompletableFuture.failedFuture(new RejectedExecutionException("full")));
+
+        // When & Then
+        performAsync(put("/api/instructors/password/john_doe")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(passwordRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     void updatePassword_MissingOldPassword_ShouldReturnBadRequest() throws Exception {
         // Given
         Map<String, String> passwordRequest = Map.of(
             "newPassword", "newPassword456"
         );
+        given(instructorService.updatePasswordAsync("john_doe", null, "newPassword456"))
+            .willReturn(CompletableFuture.completedFuture(false));
 
         // When & Then
-        mockMvc.perform(put("/api/instructors/password/john_doe")
+        performAsync(put("/api/instructors/password/john_doe")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(passwordRequest)))
                 .andExpect(status().isBadRequest());
@@ -271,9 +337,11 @@ class InstructorControllerTest {
         Map<String, String> passwordRequest = Map.of(
             "oldPassword", "password123"
         );
+        given(instructorService.updatePasswordAsync("john_doe", "password123", null))
+            .willReturn(CompletableFuture.completedFuture(false));
 
         // When & Then
-        mockMvc.perform(put("/api/instructors/password/john_doe")
+        performAsync(put("/api/instructors/password/john_doe")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(passwordRequest)))
                 .andExpect(status().isBadRequest());
@@ -290,10 +358,215 @@ class InstructorControllerTest {
 
     @Test
     void updatePassword_EmptyJsonBody_ShouldReturnBadRequest() throws Exception {
+        // Given
+        given(instructorService.updatePasswordAsync("john_doe", null, null))
+            .willReturn(CompletableFuture.completedFuture(false));
+
         // When & Then
-        mockMvc.perform(put("/api/instructors/password/john_doe")
+        performAsync(put("/api/instructors/password/john_doe")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content("{}"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    // Test cases for session tokens
+    @Test
+    void login_ValidCredentials_ShouldReturnInstructorWithToken() throws Exception {
+        // Given
+        LoginRequest request = new LoginRequest();
+        request.setUsername("john_doe");
+        request.setPassword("password123");
+        given(instructorService.authenticateAsync("john_doe", "password123"))
+            .willReturn(CompletableFuture.completedFuture(Optional.of(instructor1)));
+        given(tokenService.issue(instructor1)).willReturn(new TokenService.IssuedToken("signed.token", 1000L));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/instructors/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username", is("john_doe")))
+                .andExpect(jsonPath("$.token", is("signed.token")))
+                .andExpect(jsonPath("$.password").doesNotExist());
+    }
+
+    @Test
+    void login_InvalidCredentials_ShouldReturnUnauthorized() throws Exception {
+        // Given
+        LoginRequest request = new LoginRequest();
+        request.setUsername("john_doe");
+        request.setPassword("wrongPassword");
+        given(instructorService.authenticateAsync("john_doe", "wrongPassword"))
+            .willReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/instructors/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(tokenService);
+    }
+
+    @Test
+    void login_HashPoolSaturated_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        LoginRequest request = new LoginRequest();
+        request.setUsername("john_doe");
+        request.setPassword("password123");
+        given(instructorService.authenticateAsync("john_doe", "password123"))
+            .willReturn(CompletableFuture.failedFuture(new RejectedExecutionException("full")));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/instructors/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void me_ValidToken_ShouldReturnClaimsWithoutService() throws Exception {
+        // Given
+        given(tokenService.verify("signed.token"))
+            .willReturn(Optional.of(new TokenService.Claims(1L, "john_doe", 0L, 1000L)));
+
+        // When & Then
+        mockMvc.perform(get("/api/instructors/me").header("Authorization", "Bearer signed.token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.instructorId", is(1)))
+                .andExpect(jsonPath("$.username", is("john_doe")));
+        verifyNoInteractions(instructorService);
+    }
+
+    @Test
+    void me_InvalidToken_ShouldReturnUnauthorized() throws Exception {
+        // Given
+        given(tokenService.verify("forged.token")).willReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/instructors/me").header("Authorization", "Bearer forged.token"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().exists("WWW-Authenticate"));
+    }
+
+    @Test
+    void updateOwnPassword_ValidToken_ShouldUpdateByTokenId() throws Exception {
+        // Given
+        given(tokenService.verify("signed.token"))
+            .willReturn(Optional.of(new TokenService.Claims(1L, "john_doe", 0L, 1000L)));
+        given(instructorService.updatePasswordAsync(1L, "password123", "newPassword456"))
+            .willReturn(CompletableFuture.completedFuture(true));
+
+        // When & Then
+        performAsync(put("/api/instructors/me/password")
+                .header("Authorization", "Bearer signed.token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                    "oldPassword", "password123",
+                    "newPassword", "newPassword456"))))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Password updated successfully"));
+    }
+
+    @Test
+    void getCacheStats_ShouldReturnHitCounts() throws Exception {
+        // Given
+        InstructorCacheStats stats = new InstructorCacheStats();
+        stats.setHits(9);
+        stats.setMisses(1);
+        stats.setHitRate(0.9);
+        given(instructorService.getCacheStats()).willReturn(stats);
+
+        // When & Then
+        mockMvc.perform(get("/api/instructors/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits", is(9)))
+                .andExpect(jsonPath("$.hitRate", is(0.9)));
+    }
+
+    // Test cases for keyset pagination and streaming
+    @Test
+    void getInstructorPage_ShouldReturnItemsAndCursor() throws Exception {
+        // Given
+        given(instructorService.getInstructorPage(0L, 2))
+            .willReturn(new InstructorPage(Arrays.asList(instructor1, instructor2), 2L));
+
+        // When & Then
+        mockMvc.perform(get("/api/instructors/page").param("after", "0").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[1].username", is("kanav_singla")))
+                .andExpect(jsonPath("$.items[0].password").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", is(2)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamInstructors_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        // Given
+        willAnswer(invocation -> {
+            Consumer<Instructor> action = invocation.getArgument(0);
+            action.accept(instructor1);
+            action.accept(instructor2);
+            return null;
+        }).given(instructorService).forEachInstructor(any(Consumer.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/instructors/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("username").asText()).isEqualTo("john_doe");
+        assertThat(objectMapper.readTree(lines[1]).has("password")).isFalse();
+    }
+
+    // Test cases for roster import
+    @Test
+    void importCsv_ValidRoster_ShouldReturnReport() throws Exception {
+        // Given
+        ImportReport report = new ImportReport();
+        report.setRows(2);
+        report.setCreated(2);
+        given(rosterImportService.importCsv(any(InputStream.class))).willReturn(report);
+
+        // When & Then
+        mockMvc.perform(post("/api/instructors/import")
+                .contentType("text/csv")
+                .content("username,password,firstName,lastName\nalice,pw,Alice,Adams\nbob,pw,Bob,Brown\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)));
+    }
+
+    @Test
+    void importCsv_MissingColumn_ShouldReturnBadRequest() throws Exception {
+        // Given
+        given(rosterImportService.importCsv(any(InputStream.class)))
+            .willThrow(new IllegalArgumentException("Roster has no lastName column"));
+
+        // When & Then
+        mockMvc.perform(post("/api/instructors/import")
+                .contentType("text/csv")
+                .content("username,password,firstName\n"))
+                .andExpect(status().isBadRequest());
+    }
+}
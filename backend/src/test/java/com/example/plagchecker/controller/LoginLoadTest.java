@@ -0,0 +1,156 @@
+package com.example.plagchecker.controller;
+
+import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.repository.InstructorRepository;
+import com.example.plagchecker.service.InstructorCache;
+import com.example.plagchecker.service.InstructorService;
+import com.example.plagchecker.service.PasswordHasher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// POST /api/instructors/login from concurrent clients, with the instructor cache
+// on and then off, comparing the 99th percentile latency over H2 with SQL logging
+// as configured. Hashing is turned down to 1000 iterations so the lookups the
+// cache saves are not lost behind ~100 ms of PBKDF2. Run with mvn test -Pperf.
+@Tag("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoginLoadTest {
+
+    private static final int INSTRUCTORS = 200;
+    private static final int CLIENTS = 16;
+    private static final int LOGINS_PER_CLIENT = 200;
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:loginload;DB_CLOSE_DELAY=-1");
+        registry.add("plagchecker.blobs.dir", () -> dataDir.resolve("blobs").toString());
+        registry.add("plagchecker.corpus.dir", () -> dataDir.resolve("corpus").toString());
+        registry.add("plagchecker.index.snapshot-dir", () -> dataDir.resolve("index").toString());
+        registry.add("plagchecker.auth.hash-iterations", () -> "1000");
+        registry.add("plagchecker.auth.hash-queue", () -> String.valueOf(CLIENTS));
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    @Autowired
+    private InstructorService instructorService;
+
+    @Autowired
+    private InstructorCache instructorCache;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        List<Instructor> instructors = new ArrayList<>();
+        for (int i = 0; i < INSTRUCTORS; i++) {
+            instructors.add(new Instructor("load" + i, passwordHasher.hash("password" + i), "First" + i, "Last" + i));
+        }
+        instructorRepository.saveAll(instructors);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(instructorService, "instructorCache", instructorCache);
+        instructorCache.clear();
+        instructorRepository.deleteAll();
+    }
+
+    @Test
+    void login_CacheEnabled_ShouldLowerP99Latency() throws Exception {
+        // Given
+        runLogins();
+
+        // When
+        long cachedP99 = p99(runLogins());
+        ReflectionTestUtils.setField(instructorService, "instructorCache", new InstructorCache(0, 600));
+        runLogins();
+        long uncachedP99 = p99(runLogins());
+
+        // Then
+        assertThat(instructorCache.getStats().getHitRate()).isGreaterThan(0.9);
+        assertThat(cachedP99)
+                .as("login p99 of %d us with the cache, %d us without", cachedP99 / 1000, uncachedP99 / 1000)
+                .isLessThan(uncachedP99);
+    }
+
+    // Latencies in nanoseconds of every login, each client cycling through the instructors
+    private long[] runLogins() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int offset = c;
+                results.add(clients.submit(() -> {
+                    long[] latencies = new long[LOGINS_PER_CLIENT];
+                    for (int i = 0; i < LOGINS_PER_CLIENT; i++) {
+                        int instructor = (offset * 31 + i) % INSTRUCTORS;
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(login("load" + instructor, "password" + instructor),
+                                HttpResponse.BodyHandlers.discarding());
+                        latencies[i] = System.nanoTime() - start;
+                        assertThat(response.statusCode()).isEqualTo(200);
+                    }
+                    return latencies;
+                }));
+            }
+            long[] all = new long[0];
+            for (Future<long[]> result : results) {
+                long[] latencies = result.get();
+                int from = all.length;
+                all = Arrays.copyOf(all, from + latencies.length);
+                System.arraycopy(latencies, 0, all, from, latencies.length);
+            }
+            return all;
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    private HttpRequest login(String username, String password) {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/instructors/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static long p99(long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+    }
+}
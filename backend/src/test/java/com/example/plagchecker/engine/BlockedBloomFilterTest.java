@@ -0,0 +1,69 @@
+package com.example.plagchecker.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.LongBuffer;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlockedBloomFilterTest {
+
+    private static BlockedBloomFilter filterFor(int keys, double falsePositiveRate) {
+        int blocks = BlockedBloomFilter.blocksFor(keys, falsePositiveRate);
+        return new BlockedBloomFilter(LongBuffer.allocate(blocks * BlockedBloomFilter.BLOCK_LONGS),
+                BlockedBloomFilter.hashesFor(falsePositiveRate));
+    }
+
+    @Test
+    void mightContain_AddedKeys_ShouldAlwaysBeTrue() {
+        // Given
+        BlockedBloomFilter filter = filterFor(10_000, 0.01);
+        long[] keys = new Random(1).longs(10_000).toArray();
+
+        // When
+        for (long key : keys) {
+            filter.add(key);
+        }
+
+        // Then
+        for (long key : keys) {
+            assertThat(filter.mightContain(key)).isTrue();
+        }
+    }
+
+    @Test
+    void mightContain_OtherKeys_ShouldStayNearTargetRate() {
+        // Given
+        BlockedBloomFilter filter = filterFor(50_000, 0.01);
+        for (long key = 0; key < 50_000; key++) {
+            // Sequential keys, like hashes that only differ in their low bits
+            filter.add(key);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (long key = 1_000_000; key < 1_100_000; key++) {
+            if (filter.mightContain(key)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void hashesFor_ShouldFollowTargetRate() {
+        assertThat(BlockedBloomFilter.hashesFor(0.01)).isEqualTo(7);
+        assertThat(BlockedBloomFilter.hashesFor(0.5)).isEqualTo(1);
+        assertThat(BlockedBloomFilter.blocksFor(0, 0.01)).isEqualTo(1);
+    }
+
+    @Test
+    void constructor_PartialBlock_ShouldThrowException() {
+        assertThatThrownBy(() -> new BlockedBloomFilter(LongBuffer.allocate(12), 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.plagchecker.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FingerprintFilterTest {
+
+    @Test
+    void strip_ShouldKeepHashesOutsideTheSetInOrder() {
+        // Given
+        FingerprintFilter filter = FingerprintFilter.of(new long[]{0, 5, -3, 5});
+
+        // When
+        long[] kept = filter.strip(new long[]{9, 0, 5, 4, -3, 8});
+
+        // Then
+        assertThat(filter.size()).isEqualTo(3);
+        assertThat(kept).containsExactly(9L, 4L, 8L);
+    }
+
+    @Test
+    void strip_NothingSuppressed_ShouldReturnSameArray() {
+        // Given
+        long[] hashes = {1, 2, 3};
+
+        // When & Then
+        assertThat(FingerprintFilter.EMPTY.strip(hashes)).isSameAs(hashes);
+        assertThat(FingerprintFilter.of(new long[]{7}).strip(hashes)).isSameAs(hashes);
+    }
+
+    @Test
+    void union_ShouldNotDependOnOrder() {
+        // Given
+        long[] first = new long[1000];
+        long[] second = new long[1000];
+        for (int i = 0; i < first.length; i++) {
+            first[i] = i * 0x9E3779B97F4A7C15L;
+            second[i] = (first.length - 1 - i) * 0x9E3779B97F4A7C15L;
+        }
+
+        // When
+        FingerprintFilter all = FingerprintFilter.of(first);
+        FingerprintFilter halves = FingerprintFilter.of(Arrays.copyOf(second, 500))
+                .union(Arrays.copyOfRange(second, 500, 1000));
+
+        // Then
+        assertThat(halves.size()).isEqualTo(1000);
+        assertThat(halves.digest()).isEqualTo(all.digest());
+        long[] members = halves.toArray();
+        Arrays.sort(members);
+        Arrays.sort(first);
+        assertThat(members).isEqualTo(first);
+        assertThat(all.union(new long[]{first[3]}).digest()).isEqualTo(all.digest());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.plagchecker.engine;
+
+import com.example.plagchecker.engine.GreedyStringTiling.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GreedyStringTilingTest {
+
+    private static int[] randomTokens(SplittableRandom random, int length) {
+        int[] tokens = new int[length];
+        for (int i = 0; i < length; i++) {
+            tokens[i] = random.nextInt(50);
+        }
+        return tokens;
+    }
+
+    private static int[] concat(int[]... parts) {
+        int length = 0;
+        for (int[] part : parts) {
+            length += part.length;
+        }
+        int[] result = new int[length];
+        int offset = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+
+    private static int covered(List<Tile> tiles) {
+        return tiles.stream().mapToInt(Tile::length).sum();
+    }
+
+    @Test
+    void tile_IdenticalStreams_ShouldProduceSingleFullTile() {
+        // Given
+        int[] tokens = randomTokens(new SplittableRandom(1), 500);
+
+        // When
+        List<Tile> tiles = new GreedyStringTiling(10).tile(tokens, tokens.length, tokens, tokens.length);
+
+        // Then
+        assertThat(tiles).hasSize(1);
+        assertThat(tiles.get(0)).isEqualTo(new Tile(0, 0, 500));
+    }
+
+    @Test
+    void tile_ReorderedBlocks_ShouldFindEveryBlock() {
+        // Given
+        SplittableRandom random = new SplittableRandom(2);
+        int[] a = randomTokens(random, 120);
+        int[] b = randomTokens(random, 80);
+        int[] c = randomTokens(random, 40);
+        int[] left = concat(a, b, c);
+        int[] right = concat(c, randomTokens(random, 30), a, b);
+
+        // When
+        List<Tile> tiles = new GreedyStringTiling(15).tile(left, left.length, right, right.length);
+
+        // Then - b directly follows a in both, so they merge into one tile
+        assertThat(covered(tiles)).isEqualTo(240);
+        assertThat(tiles).contains(new Tile(0, 70, 200), new Tile(200, 0, 40));
+    }
+
+    @Test
+    void tile_MatchesShorterThanMinimum_ShouldBeIgnored() {
+        // Given
+        SplittableRandom random = new SplittableRandom(3);
+        int[] shared = randomTokens(random, 9);
+        int[] left = concat(randomTokens(random, 50), shared, randomTokens(random, 50));
+        int[] right = concat(new int[]{99, 98}, shared, new int[]{97});
+
+        // When
+        List<Tile> tiles = new GreedyStringTiling(10).tile(left, left.length, right, right.length);
+
+        // Then
+        assertThat(tiles).isEmpty();
+    }
+
+    @Test
+    void tile_TilesShouldNeverOverlap() {
+        // Given
+        SplittableRandom random = new SplittableRandom(4);
+        int[] block = randomTokens(random, 60);
+        int[] left = concat(block, block, randomTokens(random, 100), block);
+        int[] right = concat(randomTokens(random, 10), block, randomTokens(random, 10), block);
+
+        // When
+        List<Tile> tiles = new GreedyStringTiling(12).tile(left, left.length, right, right.length);
+
+        // Then
+        boolean[] leftUsed = new boolean[left.length];
+        boolean[] rightUsed = new boolean[right.length];
+        for (Tile tile : tiles) {
+            assertThat(tile.length()).isGreaterThanOrEqualTo(12);
+            for (int i = 0; i < tile.length(); i++) {
+                assertThat(left[tile.leftStart() + i]).isEqualTo(right[tile.rightStart() + i]);
+                assertThat(leftUsed[tile.leftStart() + i]).isFalse();
+                assertThat(rightUsed[tile.rightStart() + i]).isFalse();
+                leftUsed[tile.leftStart() + i] = true;
+                rightUsed[tile.rightStart() + i] = true;
+            }
+        }
+        assertThat(covered(tiles)).isEqualTo(120);
+    }
+
+    @Test
+    void tile_LargeMostlyCopiedStreams_ShouldRunInNearLinearTime() {
+        // Given - 100k tokens where 20 blocks were moved around and noise inserted
+        SplittableRandom random = new SplittableRandom(5);
+        int[][] blocks = new int[20][];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = randomTokens(random, 5_000);
+        }
+        int[] left = concat(blocks);
+        int[][] shuffled = new int[40][];
+        for (int i = 0; i < blocks.length; i++) {
+            shuffled[2 * i] = blocks[(i * 7) % blocks.length];
+            shuffled[2 * i + 1] = randomTokens(random, 20);
+        }
+        int[] right = concat(shuffled);
+        GreedyStringTiling tiling = new GreedyStringTiling(12);
+
+        // When
+        long start = System.nanoTime();
+        List<Tile> tiles = tiling.tile(left, left.length, right, right.length);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(covered(tiles)).isGreaterThanOrEqualTo(100_000);
+        assertThat(elapsedMillis).isLessThan(2_000);
+    }
+
+    @Test
+    void constructor_NonPositiveMinimum_ShouldThrowException() {
+        assertThatThrownBy(() -> new GreedyStringTiling(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.plagchecker.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaLexerTest {
+
+    private JavaLexer lexer;
+
+    @BeforeEach
+    void setUp() {
+        lexer = new JavaLexer();
+    }
+
+    private int[] codes(String source) {
+        TokenStream tokens = new TokenStream();
+        lexer.tokenize(source, tokens);
+        return Arrays.copyOf(tokens.codes(), tokens.size());
+    }
+
+    private List<String> texts(String source) {
+        TokenStream tokens = new TokenStream();
+        lexer.tokenize(source, tokens);
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            texts.add(source.substring(tokens.offset(i), tokens.end(i)));
+        }
+        return texts;
+    }
+
+    @Test
+    void tokenize_RenamedIdentifiersAndLiterals_ShouldProduceSameCodes() {
+        // Given
+        String original = "int total = 0; for (int i = 0; i < values.length; i++) { total += values[i]; }";
+        String renamed = "int sum   = 1; for (int k = 2; k < data.length;   k++) { sum += data[k]; } // copied";
+
+        // When & Then
+        assertThat(codes(renamed)).isEqualTo(codes(original));
+    }
+
+    @Test
+    void tokenize_ShouldKeepKeywordsApartFromIdentifiers() {
+        // When
+        int[] codes = codes("for form forward");
+
+        // Then
+        assertThat(codes).hasSize(3);
+        assertThat(codes[0]).isNotEqualTo(DfaLexer.IDENTIFIER);
+        assertThat(codes[1]).isEqualTo(DfaLexer.IDENTIFIER);
+        assertThat(codes[2]).isEqualTo(DfaLexer.IDENTIFIER);
+    }
+
+    @Test
+    void tokenize_ShouldDropCommentsAndWhitespace() {
+        // When
+        List<String> texts = texts("/* header\n * more */ x = 1; // note\n/** doc */y\t=\n2;");
+
+        // Then
+        assertThat(texts).containsExactly("x", "=", "1", ";", "y", "=", "2", ";");
+    }
+
+    @Test
+    void tokenize_ShouldMatchLongestOperators() {
+        // When
+        List<String> texts = texts("a >>>= b >> c ... d -> e..f");
+
+        // Then
+        assertThat(texts).containsExactly("a", ">>>=", "b", ">>", "c", "...", "d", "->", "e", ".", ".", "f");
+    }
+
+    @Test
+    void tokenize_Literals_ShouldSpanWholeLiteral() {
+        // When
+        List<String> texts = texts("s = \"a \\\" b\" + 'x' + '\\'' + 1_000L + 0x1F + 2.5e-3 + .5f + \"\"\"\n  text \"\" block\n\"\"\";");
+
+        // Then
+        assertThat(texts).containsExactly("s", "=", "\"a \\\" b\"", "+", "'x'", "+", "'\\''", "+", "1_000L", "+", "0x1F",
+                "+", "2.5e-3", "+", ".5f", "+", "\"\"\"\n  text \"\" block\n\"\"\"", ";");
+        assertThat(codes("\"\" + \"a\"")).containsExactly(DfaLexer.STRING, codes("+")[0], DfaLexer.STRING);
+    }
+
+    @Test
+    void tokenize_UnterminatedLiteralOrComment_ShouldStopAtEndOfInput() {
+        // When & Then
+        assertThat(texts("s = \"open\nx")).containsExactly("s", "=", "\"open", "x");
+        assertThat(texts("x /* never closed")).containsExactly("x");
+    }
+
+    @Test
+    void tokenize_UnknownCharacter_ShouldBecomeTokenOfItsOwn() {
+        // When
+        int[] codes = codes("a # b");
+
+        // Then
+        assertThat(codes).containsExactly(DfaLexer.IDENTIFIER, DfaLexer.UNKNOWN_BASE + '#', DfaLexer.IDENTIFIER);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.plagchecker.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KGramHasherTest {
+
+    // Vectorised when the test JVM has jdk.incubator.vector (surefire adds it), scalar otherwise
+    private static long[] hash(KGramHasher hasher, int[] codes, int k) {
+        long[] out = new long[Math.max(0, codes.length - k + 1)];
+        hasher.hash(codes, codes.length, out);
+        return out;
+    }
+
+    @Test
+    void hash_VectorizedAndScalar_ShouldAgreeOnEveryLength() {
+        // Given
+        Random random = new Random(17);
+        for (int k : new int[]{1, 5, 25}) {
+            KGramHasher scalar = new ScalarKGramHasher(k);
+            KGramHasher vectorized = KGramHasher.create(k, true);
+            for (int length = 0; length < 200; length++) {
+                int[] codes = random.ints(length, 0, Character.MAX_VALUE + 1).toArray();
+
+                // When & Then
+                assertThat(hash(vectorized, codes, k)).isEqualTo(hash(scalar, codes, k));
+            }
+        }
+    }
+
+    @Test
+    void hash_ShouldMatchDirectPolynomial() {
+        // Given
+        int[] codes = "publicstaticvoidmain".chars().toArray();
+        long expected = 0;
+        for (int i = 0; i < 5; i++) {
+            expected = expected * ScalarKGramHasher.BASE + codes[3 + i];
+        }
+
+        // When
+        long[] hashes = hash(KGramHasher.create(5, true), codes, 5);
+
+        // Then
+        assertThat(hashes[3]).isEqualTo(Winnower.mix(expected));
+    }
+
+    @Test
+    void create_ScalarRequested_ShouldNotVectorize() {
+        assertThat(KGramHasher.create(25, false)).isInstanceOf(ScalarKGramHasher.class);
+        assertThat(new Winnower(25, 40).isVectorized()).isFalse();
+    }
+}
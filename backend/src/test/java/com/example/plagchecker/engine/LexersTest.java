@@ -0,0 +1,34 @@
+package com.example.plagchecker.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LexersTest {
+
+    @Test
+    void load_ShouldFindBundledLanguagesByExtension() {
+        // Given
+        Lexers lexers = Lexers.load();
+
+        // When & Then
+        assertThat(lexers.forFile("src/Main.java").language()).isEqualTo("java");
+        assertThat(lexers.forFile("list.H").language()).isEqualTo("c");
+        assertThat(lexers.forFile("solution.py").language()).isEqualTo("python");
+        assertThat(lexers.forFile("README.md")).isNull();
+        assertThat(lexers.forFile("Makefile")).isNull();
+        assertThat(lexers.forFile(null)).isNull();
+    }
+
+    @Test
+    void forFile_SameExtensionTwice_ShouldKeepFirstLexer() {
+        // Given
+        JavaLexer first = new JavaLexer();
+        Lexers lexers = new Lexers(List.of(first, new JavaLexer()));
+
+        // When & Then
+        assertThat(lexers.forFile("A.java")).isSameAs(first);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.plagchecker.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LshBandsTest {
+
+    private final MinHasher minHasher = new MinHasher(128, 7L);
+
+    // Document pairs (2i, 2i+1) share a controlled fraction of their hashes; all others are disjoint
+    private long[][] corpus(int pairs, SplittableRandom random) {
+        long[][] documents = new long[pairs * 2][];
+        for (int i = 0; i < pairs; i++) {
+            int size = 200;
+            int shared = 20 + random.nextInt(180);
+            long[] left = new long[size];
+            long[] right = new long[size];
+            for (int j = 0; j < size; j++) {
+                left[j] = random.nextLong();
+                right[j] = j < shared ? left[j] : random.nextLong();
+            }
+            Arrays.sort(left);
+            Arrays.sort(right);
+            documents[2 * i] = left;
+            documents[2 * i + 1] = right;
+        }
+        return documents;
+    }
+
+    @Test
+    void signature_AgreementRate_ShouldEstimateJaccard() {
+        // Given
+        long[][] documents = corpus(1, new SplittableRandom(1));
+        double exact = MinHasher.jaccard(documents[0], documents[1]);
+
+        // When
+        long[] left = minHasher.signature(documents[0]);
+        long[] right = minHasher.signature(documents[1]);
+        int agreeing = 0;
+        for (int i = 0; i < left.length; i++) {
+            if (left[i] == right[i]) {
+                agreeing++;
+            }
+        }
+
+        // Then
+        assertThat((double) agreeing / left.length).isCloseTo(exact, within(0.15));
+    }
+
+    @Test
+    void candidatePairs_ShouldRecallNearlyAllPairsAboveThresholdFoundByExactMode() {
+        // Given
+        long[][] documents = corpus(400, new SplittableRandom(2));
+        long[][] signatures = new long[documents.length][];
+        for (int i = 0; i < documents.length; i++) {
+            signatures[i] = minHasher.signature(documents[i]);
+        }
+        LshBands lsh = new LshBands(32, 4);
+        double threshold = 0.5;
+
+        // When
+        Set<Long> candidates = new HashSet<>();
+        for (long pair : lsh.candidatePairs(signatures)) {
+            candidates.add(pair);
+        }
+        int exactAbove = 0;
+        int recalled = 0;
+        for (int i = 0; i < documents.length; i += 2) {
+            if (MinHasher.jaccard(documents[i], documents[i + 1]) >= threshold) {
+                exactAbove++;
+                if (candidates.contains(LshBands.pack(i, i + 1))) {
+                    recalled++;
+                }
+            }
+        }
+
+        // Then - theory gives at least 1 - (1 - 0.5^4)^32 = 0.87 at the threshold, more above it
+        assertThat(exactAbove).isGreaterThan(50);
+        assertThat((double) recalled / exactAbove).isGreaterThanOrEqualTo(0.9);
+        // and unrelated documents almost never collide, so far fewer than all pairs are compared
+        assertThat(candidates.size()).isLessThan(documents.length);
+    }
+
+    @Test
+    void candidatePairs_ShouldBeSortedUniqueAndOrdered() {
+        // Given
+        long[] same = minHasher.signature(new long[]{1, 2, 3});
+        long[][] signatures = {same, same.clone(), same.clone()};
+
+        // When
+        long[] pairs = new LshBands(4, 2).candidatePairs(signatures);
+
+        // Then
+        assertThat(pairs).containsExactly(LshBands.pack(0, 1), LshBands.pack(0, 2), LshBands.pack(1, 2));
+        for (long pair : pairs) {
+            assertThat(LshBands.first(pair)).isLessThan(LshBands.second(pair));
+        }
+    }
+
+    @Test
+    void candidatePairs_EmptyDocuments_ShouldNotBePaired() {
+        // Given
+        long[] same = minHasher.signature(new long[]{1, 2, 3});
+        long[][] signatures = {null, same, null, same.clone(), null};
+
+        // When
+        long[] pairs = new LshBands(4, 2).candidatePairs(signatures);
+
+        // Then
+        assertThat(pairs).containsExactly(LshBands.pack(1, 3));
+    }
+
+    @Test
+    void detectionProbability_ShouldFollowSCurve() {
+        // Given
+        LshBands lsh = new LshBands(32, 4);
+
+        // When & Then
+        assertThat(lsh.detectionProbability(0.2)).isLessThan(0.1);
+        assertThat(lsh.detectionProbability(0.8)).isGreaterThan(0.999);
+    }
+
+    @Test
+    void jaccard_ShouldUseSortedIntersection() {
+        assertThat(MinHasher.jaccard(new long[]{1, 2, 3, 4}, new long[]{3, 4, 5, 6})).isEqualTo(2.0 / 6.0);
+        assertThat(MinHasher.jaccard(new long[0], new long[0])).isEqualTo(0.0);
+    }
+
+    @Test
+    void constructor_NonPositiveBands_ShouldThrowException() {
+        assertThatThrownBy(() -> new LshBands(0, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
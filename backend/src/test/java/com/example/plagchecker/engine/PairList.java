@@ -0,0 +1,49 @@
+package com.example.plagchecker.engine;
+
+import java.util.Arrays;
+
+// Pairs scoring at or above a threshold, kept in parallel primitive arrays; a
+// plain accumulator for checking what TiledPairScheduler hands out.
+class PairList implements TiledPairScheduler.Accumulator<PairList> {
+    private final double threshold;
+    private int[] firsts = new int[16];
+    private int[] seconds = new int[16];
+    private double[] scores = new double[16];
+    private int size;
+
+    public PairList(double threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void accept(int first, int second, double score) {
+        if (score < threshold) {
+            return;
+        }
+        if (size == scores.length) {
+            firsts = Arrays.copyOf(firsts, size * 2);
+            seconds = Arrays.copyOf(seconds, size * 2);
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+        firsts[size] = first;
+        seconds[size] = second;
+        scores[size] = score;
+        size++;
+    }
+
+    @Override
+    public PairList merge(PairList other) {
+        for (int i = 0; i < other.size; i++) {
+            accept(other.firsts[i], other.seconds[i], other.scores[i]);
+        }
+        return this;
+    }
+
+    public int size() { return size; }
+
+    public int first(int index) { return firsts[index]; }
+
+    public int second(int index) { return seconds[index]; }
+
+    public double score(int index) { return scores[index]; }
+}
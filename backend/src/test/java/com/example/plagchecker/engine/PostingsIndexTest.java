@@ -0,0 +1,290 @@
+package com.example.plagchecker.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingsIndexTest {
+
+    private PostingsIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PostingsIndex(16);
+    }
+
+    private Map<Long, Integer> overlaps(long[] hashes) {
+        Map<Long, Integer> result = new HashMap<>();
+        index.forEachOverlap(hashes, (docId, shared, docSize) -> result.put(docId, shared));
+        return result;
+    }
+
+    @Test
+    void forEachOverlap_SharedHashes_ShouldCountPerDocument() {
+        // Given
+        index.add(100L, new long[]{1, 2, 3, 4});
+        index.add(200L, new long[]{3, 4, 5});
+        index.add(300L, new long[]{9});
+
+        // When
+        Map<Long, Integer> result = overlaps(new long[]{2, 3, 4, 5});
+
+        // Then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(100L)).isEqualTo(3);
+        assertThat(result.get(200L)).isEqualTo(3);
+    }
+
+    @Test
+    void forEachOverlap_NoSharedHashes_ShouldReportNothing() {
+        // Given
+        index.add(100L, new long[]{1, 2, 3});
+
+        // When & Then
+        assertThat(overlaps(new long[]{7, 8})).isEmpty();
+    }
+
+    @Test
+    void forEachOverlap_ShouldReportDocumentSize() {
+        // Given
+        index.add(100L, new long[]{0, -1, Long.MIN_VALUE, Long.MAX_VALUE});
+        int[] size = new int[1];
+
+        // When
+        index.forEachOverlap(new long[]{Long.MIN_VALUE}, (docId, shared, docSize) -> size[0] = docSize);
+
+        // Then
+        assertThat(size[0]).isEqualTo(4);
+    }
+
+    @Test
+    void add_ManyDocuments_ShouldGrowAndMatchBruteForce() {
+        // Given
+        Random random = new Random(42);
+        Map<Long, Set<Long>> documents = new HashMap<>();
+        for (long doc = 0; doc < 300; doc++) {
+            Set<Long> hashes = new HashSet<>();
+            while (hashes.size() < 50) {
+                hashes.add((long) random.nextInt(5_000));
+            }
+            documents.put(doc, hashes);
+            index.add(doc, hashes.stream().mapToLong(Long::longValue).sorted().toArray());
+        }
+        Set<Long> query = documents.get(7L);
+
+        // When
+        Map<Long, Integer> result = overlaps(query.stream().mapToLong(Long::longValue).sorted().toArray());
+
+        // Then
+        for (Map.Entry<Long, Set<Long>> document : documents.entrySet()) {
+            Set<Long> intersection = new HashSet<>(document.getValue());
+            intersection.retainAll(query);
+            assertThat(result.getOrDefault(document.getKey(), 0)).isEqualTo(intersection.size());
+        }
+        assertThat(index.documentCount()).isEqualTo(300);
+        assertThat(index.postingCount()).isEqualTo(300 * 50);
+    }
+
+    @Test
+    void documentFrequency_ShouldCountDocumentsContainingHash() {
+        // Given
+        index.add(1L, new long[]{5, 6});
+        index.add(2L, new long[]{5});
+
+        // When & Then
+        assertThat(index.documentFrequency(5)).isEqualTo(2);
+        assertThat(index.documentFrequency(6)).isEqualTo(1);
+        assertThat(index.documentFrequency(7)).isEqualTo(0);
+    }
+
+    @Test
+    void memoryFootprint_ShouldGrowWithPostings() {
+        // Given
+        long empty = index.memoryFootprint();
+        long[] hashes = new long[10_000];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = i * 7919L;
+        }
+
+        // When
+        index.add(1L, hashes);
+
+        // Then
+        assertThat(index.memoryFootprint()).isGreaterThan(empty + 10_000L * (Long.BYTES + 2 * Integer.BYTES));
+        assertThat(index.distinctFingerprints()).isEqualTo(10_000);
+    }
+
+    @Test
+    void remove_ShouldHideDocumentFromQueries() {
+        // Given
+        index.add(1L, new long[]{5, 6});
+        index.add(2L, new long[]{5});
+
+        // When
+        boolean removed = index.remove(1L);
+
+        // Then
+        assertThat(removed).isTrue();
+        assertThat(index.remove(1L)).isFalse();
+        assertThat(overlaps(new long[]{5, 6})).containsOnlyKeys(2L);
+        assertThat(index.documentFrequency(6)).isEqualTo(0);
+        assertThat(index.documentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void remove_ManyDocuments_ShouldCompactPostings() {
+        // Given
+        for (long doc = 0; doc < 100; doc++) {
+            index.add(doc, new long[]{doc, 1000 + doc % 3});
+        }
+
+        // When
+        for (long doc = 0; doc < 60; doc++) {
+            index.remove(doc);
+        }
+        index.add(500L, new long[]{1000});
+
+        // Then
+        assertThat(index.documentCount()).isEqualTo(41);
+        assertThat(index.postingCount()).isLessThan(100 * 2);
+        assertThat(overlaps(new long[]{59, 60})).containsOnlyKeys(60L);
+        assertThat(index.documentFrequency(1000)).isEqualTo(15);
+    }
+
+    @Test
+    void readFrom_WrittenIndex_ShouldAnswerLikeOriginal() {
+        // Given
+        Random random = new Random(11);
+        for (long doc = 0; doc < 200; doc++) {
+            Set<Long> hashes = new HashSet<>();
+            while (hashes.size() < 20) {
+                hashes.add((long) random.nextInt(500));
+            }
+            index.add(doc, hashes.stream().mapToLong(Long::longValue).toArray());
+        }
+        index.remove(7L);
+        ByteBuffer buffer = ByteBuffer.allocate((int) index.serializedBytes()).order(ByteOrder.LITTLE_ENDIAN);
+
+        // When
+        index.writeTo(buffer);
+        buffer.flip();
+        PostingsIndex restored = PostingsIndex.readFrom(buffer);
+
+        // Then
+        assertThat(buffer.remaining()).isEqualTo(0);
+        assertThat(restored.documentCount()).isEqualTo(199);
+        assertThat(restored.distinctFingerprints()).isEqualTo(index.distinctFingerprints());
+        long[] query = {1, 2, 3, 50, 250, 499};
+        Map<Long, Integer> expected = overlaps(query);
+        index = restored;
+        assertThat(overlaps(query)).isEqualTo(expected).doesNotContainKey(7L);
+        restored.add(1000L, query);
+        assertThat(overlaps(query).get(1000L)).isEqualTo(6);
+    }
+
+    @Test
+    void offHeap_ManyDocumentsAndRemovals_ShouldAnswerLikeHeapIndex() {
+        // Given
+        IndexMemory memory = IndexMemory.create(true);
+        PostingsIndex offHeap = new PostingsIndex(16, memory);
+        Random random = new Random(5);
+        for (long doc = 0; doc < 400; doc++) {
+            Set<Long> hashes = new HashSet<>();
+            while (hashes.size() < 30) {
+                hashes.add((long) random.nextInt(3_000));
+            }
+            long[] sorted = hashes.stream().mapToLong(Long::longValue).sorted().toArray();
+            index.add(doc, sorted);
+            offHeap.add(doc, sorted);
+        }
+        for (long doc = 0; doc < 400; doc += 3) {
+            index.remove(doc);
+            offHeap.remove(doc);
+        }
+        long[] query = random.longs(200, 0, 3_000).distinct().toArray();
+
+        // When
+        Map<Long, Integer> expected = overlaps(query);
+        index = offHeap;
+        Map<Long, Integer> result = overlaps(query);
+
+        // Then
+        assertThat(memory.isOffHeap()).isTrue();
+        assertThat(result).isEqualTo(expected);
+        assertThat(offHeap.offHeapBytes()).isGreaterThan(0);
+        assertThat(memory.offHeapBytes()).isEqualTo(offHeap.offHeapBytes());
+        offHeap.close();
+        assertThat(memory.offHeapBytes()).isEqualTo(0);
+    }
+
+    @Test
+    void readFrom_OffHeapMemory_ShouldRoundTripThroughHeapIndex() {
+        // Given
+        IndexMemory memory = IndexMemory.create(true);
+        PostingsIndex offHeap = new PostingsIndex(16, memory);
+        for (long doc = 0; doc < 50; doc++) {
+            offHeap.add(doc, new long[]{doc, 100 + doc % 5, -doc - 1});
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) offHeap.serializedBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        offHeap.writeTo(buffer);
+        buffer.flip();
+
+        // When
+        index = PostingsIndex.readFrom(buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+        PostingsIndex reread = PostingsIndex.readFrom(buffer.order(ByteOrder.LITTLE_ENDIAN), memory);
+
+        // Then
+        assertThat(overlaps(new long[]{3, 103, -4})).containsOnlyKeys(3L, 8L, 13L, 18L, 23L, 28L, 33L, 38L, 43L, 48L);
+        assertThat(overlaps(new long[]{3, 103, -4}).get(3L)).isEqualTo(3);
+        assertThat(reread.documentFrequency(103)).isEqualTo(10);
+        assertThat(reread.offHeapBytes()).isGreaterThan(0);
+        offHeap.close();
+        reread.close();
+        assertThat(memory.offHeapBytes()).isEqualTo(0);
+    }
+
+    @Test
+    void suppress_IndexedHashes_ShouldDropThemAndShrinkDocuments() {
+        // Given
+        for (long doc = 0; doc < 50; doc++) {
+            index.add(doc, new long[]{doc * 10, doc * 10 + 1, 7, 8});
+        }
+
+        // When
+        int dropped = index.suppress(new long[]{7, 8, 12345});
+
+        // Then
+        assertThat(dropped).isEqualTo(2);
+        assertThat(index.distinctFingerprints()).isEqualTo(100);
+        assertThat(index.documentFrequency(7)).isEqualTo(0);
+        Map<Long, Integer> sizes = new HashMap<>();
+        index.forEachOverlap(new long[]{7, 8, 30, 31, 490}, (docId, shared, docSize) -> sizes.put(docId, docSize));
+        assertThat(sizes).containsOnlyKeys(3L, 49L);
+        assertThat(sizes.get(3L)).isEqualTo(2);
+        for (long doc = 0; doc < 50; doc++) {
+            assertThat(index.documentFrequency(doc * 10 + 1)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void frequentHashes_ShouldSkipRemovedDocuments() {
+        // Given
+        index.add(100L, new long[]{1, 2});
+        index.add(200L, new long[]{1, 2});
+        index.add(300L, new long[]{1, 3});
+        index.remove(200L);
+
+        // When & Then
+        assertThat(index.frequentHashes(2)).containsExactly(1L);
+        assertThat(index.frequentHashes(3)).isEmpty();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.plagchecker.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PythonLexerTest {
+
+    private PythonLexer lexer;
+
+    @BeforeEach
+    void setUp() {
+        lexer = new PythonLexer();
+    }
+
+    private List<String> texts(String source) {
+        TokenStream tokens = new TokenStream();
+        lexer.tokenize(source, tokens);
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            texts.add(source.substring(tokens.offset(i), tokens.end(i)));
+        }
+        return texts;
+    }
+
+    @Test
+    void tokenize_ShouldDropCommentsAndIndentation() {
+        // When
+        List<String> texts = texts("def f(x):  # square\n    return x ** 2 // 3\n");
+
+        // Then
+        assertThat(texts).containsExactly("def", "f", "(", "x", ")", ":", "return", "x", "**", "2", "//", "3");
+    }
+
+    @Test
+    void tokenize_TripleQuotedString_ShouldBeOneToken() {
+        // When
+        List<String> texts = texts("doc = '''first\nit's \"quoted\"\n''' + \"\" + 'q'");
+
+        // Then
+        assertThat(texts).containsExactly("doc", "=", "'''first\nit's \"quoted\"\n'''", "+", "\"\"", "+", "'q'");
+    }
+
+    @Test
+    void tokenize_RenamedVariables_ShouldProduceSameCodes() {
+        // Given
+        String original = "for item in items:\n    total += item * 2\n";
+        String renamed = "for x in xs:   # loop\n    acc += x * 10\n";
+        TokenStream first = new TokenStream();
+        TokenStream second = new TokenStream();
+
+        // When
+        lexer.tokenize(original, first);
+        lexer.tokenize(renamed, second);
+
+        // Then
+        assertThat(Arrays.copyOf(second.codes(), second.size())).isEqualTo(Arrays.copyOf(first.codes(), first.size()));
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.plagchecker.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SegmentTest {
+
+    @TempDir
+    Path directory;
+
+    private static long[][] randomDocuments(Random random, int count) {
+        long[][] documents = new long[count][];
+        for (int d = 0; d < count; d++) {
+            TreeSet<Long> hashes = new TreeSet<>();
+            int size = 1 + random.nextInt(60);
+            while (hashes.size() < size) {
+                // Small value range so documents share hashes; negative values check signed ordering
+                hashes.add((long) random.nextInt(2000) - 1000);
+            }
+            documents[d] = hashes.stream().mapToLong(Long::longValue).toArray();
+        }
+        return documents;
+    }
+
+    private static Map<Long, Integer> overlaps(Segment segment, long[] query) {
+        Map<Long, Integer> result = new HashMap<>();
+        segment.forEachOverlap(query, (docId, shared, docSize) -> result.put(docId, shared));
+        return result;
+    }
+
+    private static Map<Long, Integer> overlaps(PostingsIndex index, long[] query) {
+        Map<Long, Integer> result = new HashMap<>();
+        index.forEachOverlap(query, (docId, shared, docSize) -> result.put(docId, shared));
+        return result;
+    }
+
+    @Test
+    void forEachOverlap_ShouldMatchInMemoryIndex() throws IOException {
+        // Given
+        Random random = new Random(3);
+        long[][] documents = randomDocuments(random, 150);
+        long[] ids = new long[documents.length];
+        PostingsIndex index = new PostingsIndex();
+        for (int d = 0; d < documents.length; d++) {
+            ids[d] = 1000L + d;
+            index.add(ids[d], documents[d]);
+        }
+
+        // When
+        Segment segment = SegmentWriter.write(directory.resolve("a.seg"), 1, ids, documents, 0.01);
+
+        // Then
+        assertThat(segment.documentCount()).isEqualTo(150);
+        assertThat(segment.postingCount()).isEqualTo(index.postingCount());
+        for (long[] query : randomDocuments(random, 20)) {
+            assertThat(overlaps(segment, query)).isEqualTo(overlaps(index, query));
+        }
+    }
+
+    @Test
+    void merge_ShouldAnswerLikeItsInputs() throws IOException {
+        // Given
+        Random random = new Random(5);
+        long[][] first = randomDocuments(random, 40);
+        long[][] second = randomDocuments(random, 70);
+        PostingsIndex index = new PostingsIndex();
+        long[] firstIds = new long[first.length];
+        long[] secondIds = new long[second.length];
+        for (int d = 0; d < first.length; d++) {
+            firstIds[d] = d;
+            index.add(d, first[d]);
+        }
+        for (int d = 0; d < second.length; d++) {
+            secondIds[d] = 500 + d;
+            index.add(500 + d, second[d]);
+        }
+        Segment left = SegmentWriter.write(directory.resolve("1.seg"), 1, firstIds, first, 0.01);
+        Segment right = SegmentWriter.write(directory.resolve("2.seg"), 2, secondIds, second, 0);
+
+        // When
+        Segment merged = SegmentWriter.merge(directory.resolve("1-2.seg"), List.of(left, right), 0.01);
+
+        // Then
+        assertThat(merged.hasFilter()).isTrue();
+        assertThat(merged.documentCount()).isEqualTo(110);
+        assertThat(merged.firstGeneration()).isEqualTo(1L);
+        assertThat(merged.lastGeneration()).isEqualTo(2L);
+        assertThat(merged.keyCount()).isEqualTo(index.distinctFingerprints());
+        for (long[] query : randomDocuments(random, 20)) {
+            assertThat(overlaps(merged, query)).isEqualTo(overlaps(index, query));
+        }
+    }
+
+    @Test
+    void forEachOverlap_ShouldReportDocumentSize() throws IOException {
+        // Given
+        Segment segment = SegmentWriter.write(directory.resolve("s.seg"), 1,
+                new long[]{7L}, new long[][]{{Long.MIN_VALUE, -1, 0, Long.MAX_VALUE}}, 0);
+        int[] size = new int[1];
+
+        // When
+        segment.forEachOverlap(new long[]{Long.MAX_VALUE}, (docId, shared, docSize) -> size[0] = docSize);
+
+        // Then
+        assertThat(size[0]).isEqualTo(4);
+    }
+
+    @Test
+    void open_TruncatedFile_ShouldThrowException() throws IOException {
+        // Given
+        Path file = directory.resolve("t.seg");
+        SegmentWriter.write(file, 1, new long[]{1L, 2L}, new long[][]{{1, 2, 3}, {2, 3, 4}}, 0.01);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        // When & Then
+        assertThatThrownBy(() -> Segment.open(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void forEachOverlap_AbsentHashes_ShouldBeSkippedByFilter() throws IOException {
+        // Given
+        Random random = new Random(9);
+        long[][] documents = new long[50][];
+        long[] ids = new long[documents.length];
+        for (int d = 0; d < documents.length; d++) {
+            ids[d] = d;
+            documents[d] = random.longs(100).sorted().distinct().toArray();
+        }
+        Segment segment = SegmentWriter.write(directory.resolve("f.seg"), 1, ids, documents, 0.01);
+        long[] query = random.longs(10_000).sorted().distinct().toArray();
+        FilterStats stats = new FilterStats();
+
+        // When
+        segment.forEachOverlap(query, (docId, shared, docSize) -> {}, stats);
+
+        // Then
+        assertThat(stats.getLookups()).isEqualTo((long) query.length);
+        assertThat(stats.getSkipped() + stats.getFalsePositives()).isEqualTo((long) query.length);
+        assertThat(stats.getFalsePositives()).isLessThan(query.length / 50L);
+    }
+}
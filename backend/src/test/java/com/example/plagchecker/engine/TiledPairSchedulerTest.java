@@ -0,0 +1,113 @@
+package com.example.plagchecker.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TiledPairSchedulerTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void run_ShouldScoreEveryUnorderedPairExactlyOnce() {
+        // Given
+        int documents = 203;
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        AtomicLong duplicates = new AtomicLong();
+        AtomicLong reported = new AtomicLong();
+
+        // When
+        PairList result = new TiledPairScheduler(16).run(pool, documents,
+                (first, second) -> {
+                    if (!seen.add(((long) first << 32) | second)) {
+                        duplicates.incrementAndGet();
+                    }
+                    return first < second ? 1.0 : -1.0;
+                },
+                () -> new PairList(0.0),
+                reported::addAndGet);
+
+        // Then
+        assertThat(duplicates.get()).isEqualTo(0L);
+        assertThat((long) seen.size()).isEqualTo(TiledPairScheduler.pairCount(documents));
+        assertThat(reported.get()).isEqualTo(TiledPairScheduler.pairCount(documents));
+        assertThat((long) result.size()).isEqualTo(TiledPairScheduler.pairCount(documents));
+    }
+
+    @Test
+    void run_ShouldKeepOnlyPairsAboveThreshold() {
+        // Given - documents i and i + 1 are "similar" when i is even
+        int documents = 100;
+
+        // When
+        PairList result = new TiledPairScheduler(8).run(pool, documents,
+                (first, second) -> second == first + 1 && first % 2 == 0 ? 0.9 : 0.1,
+                () -> new PairList(0.5),
+                pairs -> {});
+
+        // Then
+        assertThat(result.size()).isEqualTo(50);
+        for (int i = 0; i < result.size(); i++) {
+            assertThat(result.second(i) - result.first(i)).isEqualTo(1);
+            assertThat(result.score(i)).isEqualTo(0.9);
+        }
+    }
+
+    @Test
+    void run_SkewedWork_ShouldUseSeveralWorkers() {
+        // Given - the first documents are far more expensive to compare than the rest
+        Set<Thread> workers = ConcurrentHashMap.newKeySet();
+
+        // When
+        new TiledPairScheduler(4).run(pool, 64,
+                (first, second) -> {
+                    workers.add(Thread.currentThread());
+                    long spin = first < 4 ? 20_000 : 100;
+                    double x = 0;
+                    for (long i = 0; i < spin; i++) {
+                        x += Math.sqrt(i);
+                    }
+                    return x;
+                },
+                () -> new PairList(Double.MAX_VALUE),
+                pairs -> {});
+
+        // Then
+        assertThat(workers.size()).isGreaterThan(1);
+    }
+
+    @Test
+    void run_FewerThanTwoDocuments_ShouldCompareNothing() {
+        // When
+        PairList result = new TiledPairScheduler(8).run(pool, 1, (first, second) -> 1.0,
+                () -> new PairList(0.0), pairs -> {});
+
+        // Then
+        assertThat(result.size()).isEqualTo(0);
+        assertThat(TiledPairScheduler.pairCount(0)).isEqualTo(0L);
+    }
+
+    @Test
+    void constructor_NonPositiveTileSize_ShouldThrowException() {
+        assertThatThrownBy(() -> new TiledPairScheduler(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.plagchecker.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TopPairsTest {
+
+    private static double score(int first, int second) {
+        long mixed = Winnower.mix(((long) Math.min(first, second) << 32) | Math.max(first, second));
+        return (mixed >>> 11) * 0x1.0p-53;
+    }
+
+    private static List<long[]> ranked(TopPairs top) {
+        List<long[]> result = new ArrayList<>();
+        top.forEachRanked((first, second, score) -> result.add(new long[]{first, second, Double.doubleToLongBits(score)}));
+        return result;
+    }
+
+    @Test
+    void forEachRanked_ShouldReturnGlobalTopKInDescendingOrder() {
+        // Given
+        int documents = 120;
+        TopPairs top = new TopPairs(0.0, 25, 0);
+        List<Double> all = new ArrayList<>();
+        for (int first = 0; first < documents; first++) {
+            for (int second = first + 1; second < documents; second++) {
+                top.accept(second, first, score(first, second));
+                all.add(score(first, second));
+            }
+        }
+        all.sort((a, b) -> Double.compare(b, a));
+
+        // When
+        List<long[]> result = ranked(top);
+
+        // Then
+        assertThat(result).hasSize(25);
+        for (int i = 0; i < result.size(); i++) {
+            assertThat(Double.longBitsToDouble(result.get(i)[2])).isEqualTo(all.get(i));
+            assertThat(result.get(i)[0]).isLessThan(result.get(i)[1]);
+        }
+        assertThat(top.matched()).isEqualTo((long) documents * (documents - 1) / 2);
+    }
+
+    @Test
+    void forEachRanked_ShouldIncludeEachDocumentsBestPartnerOnce() {
+        // Given
+        TopPairs top = new TopPairs(0.5, 1, 1);
+        top.accept(0, 1, 0.9);
+        top.accept(2, 3, 0.6);
+        top.accept(1, 2, 0.7);
+        top.accept(3, 4, 0.4);
+
+        // When
+        List<long[]> result = ranked(top);
+
+        // Then
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0)[0]).isEqualTo(0L);
+        assertThat(result.get(0)[1]).isEqualTo(1L);
+        assertThat(result.get(1)[0]).isEqualTo(1L);
+        assertThat(result.get(1)[1]).isEqualTo(2L);
+        assertThat(result.get(2)[0]).isEqualTo(2L);
+        assertThat(result.get(2)[1]).isEqualTo(3L);
+        assertThat(top.matched()).isEqualTo(3L);
+    }
+
+    @Test
+    void run_ParallelScheduler_ShouldMatchSequentialSelection() {
+        // Given
+        int documents = 300;
+        TopPairs sequential = new TopPairs(0.2, 50, 2);
+        for (int first = 0; first < documents; first++) {
+            for (int second = first + 1; second < documents; second++) {
+                sequential.accept(first, second, score(first, second));
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        // When
+        TopPairs parallel;
+        try {
+            parallel = new TiledPairScheduler(16).run(pool, documents, TopPairsTest::score,
+                    () -> new TopPairs(0.2, 50, 2), pairs -> {});
+        } finally {
+            pool.shutdown();
+        }
+
+        // Then
+        List<long[]> expected = ranked(sequential);
+        List<long[]> actual = ranked(parallel);
+        assertThat(actual).hasSize(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i)).isEqualTo(expected.get(i));
+        }
+        assertThat(parallel.matched()).isEqualTo(sequential.matched());
+    }
+
+    @Test
+    void forEachRanked_PerDocumentHeaps_ShouldKeepEachDocumentsBestPartners() {
+        // Given
+        int documents = 200;
+        int perDocument = 3;
+        TopPairs top = new TopPairs(0.0, 1, perDocument);
+        Random random = new Random(7);
+        double[][] scores = new double[documents][documents];
+        for (int first = 0; first < documents; first++) {
+            for (int second = first + 1; second < documents; second++) {
+                scores[first][second] = scores[second][first] = random.nextDouble();
+                top.accept(first, second, scores[first][second]);
+            }
+        }
+
+        // When
+        Set<Long> returned = new HashSet<>();
+        top.forEachRanked((first, second, score) -> returned.add(((long) first << 32) | second));
+
+        // Then
+        for (int doc = 0; doc < documents; doc++) {
+            double[] own = scores[doc].clone();
+            own[doc] = -1;
+            double[] sorted = own.clone();
+            Arrays.sort(sorted);
+            for (int partner = 0; partner < documents; partner++) {
+                if (own[partner] >= sorted[documents - perDocument]) {
+                    long key = ((long) Math.min(doc, partner) << 32) | Math.max(doc, partner);
+                    assertThat(returned.contains(key)).isTrue();
+                }
+            }
+        }
+        assertThat(returned.size()).isLessThanOrEqualTo(1 + documents * perDocument);
+    }
+
+    @Test
+    void constructor_NonPositiveLimit_ShouldThrowException() {
+        assertThatThrownBy(() -> new TopPairs(0.5, 0, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
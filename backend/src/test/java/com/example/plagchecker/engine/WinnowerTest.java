@@ -0,0 +1,174 @@
+package com.example.plagchecker.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WinnowerTest {
+
+    private TextNormalizer normalizer;
+    private Winnower winnower;
+
+    @BeforeEach
+    void setUp() {
+        normalizer = new TextNormalizer();
+        winnower = new Winnower(5, 4);
+    }
+
+    private Fingerprints fingerprint(String text) {
+        return winnower.winnow(normalizer.normalize(text, new TokenStream()));
+    }
+
+    @Test
+    void winnow_IdenticalText_ShouldProduceIdenticalFingerprints() {
+        // Given
+        String text = "public int add(int a, int b) { return a + b; }";
+
+        // When
+        Fingerprints first = fingerprint(text);
+        Fingerprints second = fingerprint(text);
+
+        // Then
+        assertThat(first.size()).isGreaterThan(0);
+        assertThat(first.hashes()).isEqualTo(second.hashes());
+    }
+
+    @Test
+    void winnow_WhitespaceAndCaseChanges_ShouldNotChangeFingerprints() {
+        // Given
+        String original = "int total = count * price;";
+        String reformatted = "INT   total=\n\tcount*PRICE ;";
+
+        // When & Then
+        assertThat(fingerprint(original).hashes()).isEqualTo(fingerprint(reformatted).hashes());
+    }
+
+    @Test
+    void winnow_TextShorterThanKGram_ShouldProduceNoFingerprints() {
+        // When
+        Fingerprints fingerprints = fingerprint("abc");
+
+        // Then
+        assertThat(fingerprints.size()).isEqualTo(0);
+    }
+
+    @Test
+    void winnow_SharedSubstringOfGuaranteeLength_ShouldShareAFingerprint() {
+        // Given - any match of at least w + k - 1 tokens must be detected
+        String shared = "for(inti=0;i<n;i++)";
+        String left = "zzzzzzzzzzzzzzzz" + shared + "yyyyyyyyyyyy";
+        String right = "qqqqqqq" + shared + "wwwwwwwwwwwwwwwwwww";
+
+        // When
+        long[] leftHashes = fingerprint(left).distinctHashes();
+        long[] rightHashes = fingerprint(right).distinctHashes();
+
+        // Then
+        boolean shareOne = Arrays.stream(leftHashes).anyMatch(h -> Arrays.binarySearch(rightHashes, h) >= 0);
+        assertThat(shareOne).isTrue();
+    }
+
+    @Test
+    void winnow_EveryWindow_ShouldContainASelectedPosition() {
+        // Given
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append("x").append(i * 31 % 17).append(';');
+        }
+        TokenStream tokens = normalizer.normalize(text, new TokenStream());
+
+        // When
+        Fingerprints fingerprints = winnower.winnow(tokens);
+
+        // Then - the density guarantee: no gap between selections exceeds w
+        int kGrams = tokens.size() - 5 + 1;
+        int previous = -1;
+        for (int i = 0; i < fingerprints.size(); i++) {
+            assertThat(fingerprints.position(i) - previous).isLessThanOrEqualTo(4);
+            previous = fingerprints.position(i);
+        }
+        assertThat(kGrams - 1 - previous).isLessThan(4);
+    }
+
+    @Test
+    void encodeDecode_ShouldRoundTripHashesAndPositions() {
+        // Given
+        Fingerprints fingerprints = fingerprint("the quick brown fox jumps over the lazy dog");
+
+        // When
+        Fingerprints decoded = Fingerprints.decode(fingerprints.encode());
+
+        // Then
+        assertThat(decoded.size()).isEqualTo(fingerprints.size());
+        for (int i = 0; i < decoded.size(); i++) {
+            assertThat(decoded.hash(i)).isEqualTo(fingerprints.hash(i));
+            assertThat(decoded.position(i)).isEqualTo(fingerprints.position(i));
+        }
+    }
+
+    @Test
+    void distinctHashes_ShouldBeSortedAndUnique() {
+        // Given
+        Fingerprints fingerprints = fingerprint("abcdefabcdefabcdefabcdefabcdefabcdef");
+
+        // When
+        long[] distinct = fingerprints.distinctHashes();
+
+        // Then
+        for (int i = 1; i < distinct.length; i++) {
+            assertThat(distinct[i]).isGreaterThan(distinct[i - 1]);
+        }
+    }
+
+    @Test
+    void constructor_NonPositiveParameters_ShouldThrowException() {
+        assertThatThrownBy(() -> new Winnower(0, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Winnower(5, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void winnow_TenThousandLineFile_ShouldCompleteWithinMilliseconds() {
+        // Given
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            source.append("    int value").append(i).append(" = compute(value").append(i - 1).append(", ").append(i % 7).append(");\n");
+        }
+        Winnower production = new Winnower(25, 40);
+        TokenStream tokens = new TokenStream();
+        for (int i = 0; i < 20; i++) {
+            production.winnow(normalizer.normalize(source, tokens));
+        }
+
+        // When
+        long start = System.nanoTime();
+        Fingerprints fingerprints = production.winnow(normalizer.normalize(source, tokens));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then - generous bound so the check stays stable on shared CI machines
+        assertThat(fingerprints.size()).isGreaterThan(0);
+        assertThat(elapsedMillis).isLessThan(100);
+    }
+
+    @Test
+    void winnow_Vectorized_ShouldMatchScalarFingerprints() {
+        // Given
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            source.append("for (int i").append(i).append(" = 0; i").append(i).append(" < n; i").append(i).append("++) {}\n");
+        }
+        TokenStream tokens = normalizer.normalize(source, new TokenStream());
+
+        // When
+        Fingerprints scalar = new Winnower(25, 40, false).winnow(tokens);
+        Fingerprints vectorized = new Winnower(25, 40, true).winnow(tokens);
+
+        // Then
+        assertThat(vectorized.hashes()).isEqualTo(scalar.hashes());
+    }
+}
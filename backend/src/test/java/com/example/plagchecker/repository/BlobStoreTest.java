@@ -0,0 +1,72 @@
+package com.example.plagchecker.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    private BlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new BlobStore(root.toString());
+    }
+
+    @Test
+    void put_IdenticalContent_ShouldStoreOneBlob() throws IOException {
+        // Given
+        String content = "int main() { return 0; }";
+
+        // When
+        String first = blobStore.put(content);
+        String second = blobStore.put(content);
+
+        // Then
+        assertThat(first).isEqualTo(second);
+        assertThat(first).isEqualTo(BlobStore.sha256(content));
+        assertThat(blobStore.getWritten()).isEqualTo(1L);
+        assertThat(blobStore.getDeduplicated()).isEqualTo(1L);
+        try (Stream<Path> files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile).count()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    void put_ShouldShardByHashPrefix() {
+        // When
+        String hash = blobStore.put("print('hello')");
+
+        // Then
+        Path expected = root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+        assertThat(Files.exists(expected)).isTrue();
+        assertThat(blobStore.contains(hash)).isTrue();
+    }
+
+    @Test
+    void get_StoredBlob_ShouldReturnContent() {
+        // Given
+        String content = "public class Main { /* été */ }";
+        String hash = blobStore.put(content);
+
+        // When & Then
+        assertThat(blobStore.get(hash)).contains(content);
+    }
+
+    @Test
+    void get_UnknownOrMalformedHash_ShouldReturnEmpty() {
+        assertThat(blobStore.get(BlobStore.sha256("never stored"))).isNotPresent();
+        assertThat(blobStore.get("../../etc/passwd")).isNotPresent();
+        assertThat(blobStore.get(null)).isNotPresent();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.plagchecker.repository;
+
+import com.example.plagchecker.dto.CorpusStats;
+import com.example.plagchecker.engine.Segment;
+import com.example.plagchecker.engine.SegmentWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FingerprintCorpusTest {
+
+    @TempDir
+    Path directory;
+
+    private FingerprintCorpus openCorpus() throws IOException {
+        FingerprintCorpus corpus = new FingerprintCorpus(directory.toString(), 10, 4, 0.01);
+        corpus.open();
+        return corpus;
+    }
+
+    private static long[] hashesOf(long doc) {
+        // Every document shares hash 0 and has two of its own
+        return new long[]{0, doc * 2 + 1, doc * 2 + 2};
+    }
+
+    private static Map<Long, Integer> overlaps(FingerprintCorpus corpus, long[] query) {
+        Map<Long, Integer> result = new HashMap<>();
+        corpus.forEachOverlap(query, (docId, shared, docSize) -> result.put(docId, shared));
+        return result;
+    }
+
+    @Test
+    void add_ShouldFlushAndMergeSegments() throws Exception {
+        // Given
+        FingerprintCorpus corpus = openCorpus();
+
+        // When
+        for (long doc = 0; doc < 100; doc++) {
+            corpus.add(doc, hashesOf(doc));
+        }
+        corpus.close();
+
+        // Then
+        CorpusStats stats = corpus.stats();
+        assertThat(stats.getDocuments()).isEqualTo(100L);
+        assertThat(stats.getPendingDocuments()).isEqualTo(0);
+        assertThat(stats.getMerges()).isGreaterThan(0L);
+        assertThat(stats.getSegments()).isLessThan(10);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo((long) stats.getSegments());
+        }
+    }
+
+    @Test
+    void forEachOverlap_ShouldSeeFlushedAndPendingDocuments() throws Exception {
+        // Given
+        FingerprintCorpus corpus = openCorpus();
+        for (long doc = 0; doc < 15; doc++) {
+            corpus.add(doc, hashesOf(doc));
+        }
+
+        // When
+        Map<Long, Integer> result = overlaps(corpus, new long[]{0, 3, 4, 27});
+
+        // Then
+        assertThat(corpus.stats().getPendingDocuments()).isEqualTo(5);
+        assertThat(result).hasSize(15);
+        assertThat(result.get(1L)).isEqualTo(3);
+        assertThat(result.get(13L)).isEqualTo(2);
+        assertThat(result.get(0L)).isEqualTo(1);
+        corpus.close();
+    }
+
+    @Test
+    void open_ExistingDirectory_ShouldReloadSegments() throws Exception {
+        // Given
+        FingerprintCorpus first = openCorpus();
+        for (long doc = 0; doc < 57; doc++) {
+            first.add(doc, hashesOf(doc));
+        }
+        first.close();
+
+        // When
+        FingerprintCorpus reopened = openCorpus();
+
+        // Then
+        assertThat(reopened.stats().getDocuments()).isEqualTo(57L);
+        assertThat(overlaps(reopened, hashesOf(56)).get(56L)).isEqualTo(3);
+        reopened.add(100, hashesOf(100));
+        reopened.close();
+        assertThat(openCorpus().stats().getDocuments()).isEqualTo(58L);
+    }
+
+    @Test
+    void add_DocumentAlreadyArchived_ShouldSkipIt() throws Exception {
+        // Given
+        FingerprintCorpus first = openCorpus();
+        for (long doc = 0; doc < 12; doc++) {
+            first.add(doc, hashesOf(doc));
+        }
+        first.close();
+        FingerprintCorpus reopened = openCorpus();
+
+        // When
+        boolean flushed = reopened.add(3, hashesOf(3));
+        reopened.add(12, hashesOf(12));
+        boolean pending = reopened.add(12, hashesOf(12));
+        boolean added = reopened.add(13, hashesOf(13));
+
+        // Then
+        assertThat(flushed).isFalse();
+        assertThat(pending).isFalse();
+        assertThat(added).isTrue();
+        reopened.close();
+        assertThat(reopened.stats().getDocuments()).isEqualTo(14L);
+    }
+
+    @Test
+    void open_LeftoverMergeInputs_ShouldDropSupersededSegments() throws Exception {
+        // Given
+        FingerprintCorpus corpus = new FingerprintCorpus(directory.toString(), 10, 1000, 0.01);
+        corpus.open();
+        for (long doc = 0; doc < 20; doc++) {
+            corpus.add(doc, hashesOf(doc));
+        }
+        corpus.close();
+        Path[] inputs;
+        try (Stream<Path> files = Files.list(directory).sorted()) {
+            inputs = files.toArray(Path[]::new);
+        }
+        SegmentWriter.merge(directory.resolve("000000000001-000000000002.seg"),
+                List.of(Segment.open(inputs[0]), Segment.open(inputs[1])), 0.01);
+
+        // When
+        FingerprintCorpus reopened = openCorpus();
+
+        // Then
+        assertThat(reopened.stats().getSegments()).isEqualTo(1);
+        assertThat(reopened.stats().getDocuments()).isEqualTo(20L);
+        assertThat(Files.exists(inputs[0])).isFalse();
+        reopened.close();
+    }
+}
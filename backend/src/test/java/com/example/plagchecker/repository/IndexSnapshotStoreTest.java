@@ -0,0 +1,109 @@
+package com.example.plagchecker.repository;
+
+import com.example.plagchecker.repository.FingerprintIndex.AssignmentIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexSnapshotStoreTest {
+
+    private static final AssignmentKey SORTING = new AssignmentKey(7L, "hw1 – Sorting");
+
+    @TempDir
+    Path directory;
+
+    private IndexSnapshotStore store;
+    private AssignmentIndex index;
+
+    @BeforeEach
+    void setUp() {
+        store = new IndexSnapshotStore(directory.toString());
+        index = new FingerprintIndex().getOrLoad(SORTING, loaded -> {
+            loaded.add(1L, BlobStore.sha256("a"), new long[]{1, 2, 3});
+            loaded.add(2L, BlobStore.sha256("b"), new long[]{2, 3, 4});
+            loaded.add(3L, null, new long[]{9});
+        });
+    }
+
+    private static Map<Long, Integer> overlaps(FingerprintIndex.AssignmentIndex index, long[] hashes) {
+        Map<Long, Integer> result = new HashMap<>();
+        index.forEachOverlap(hashes, (docId, shared, docSize) -> result.put(docId, shared));
+        return result;
+    }
+
+    @Test
+    void readAll_WrittenIndex_ShouldRestoreItWithContentHashes() throws IOException {
+        // Given
+        store.write(index);
+
+        // When
+        List<IndexSnapshotStore.Snapshot> snapshots = store.readAll();
+
+        // Then
+        assertThat(snapshots).hasSize(1);
+        IndexSnapshotStore.Snapshot snapshot = snapshots.get(0);
+        assertThat(snapshot.assignment()).isEqualTo(SORTING);
+        assertThat(snapshot.contentHashes()).isEqualTo(index.contentHashes);
+        FingerprintIndex restored = new FingerprintIndex();
+        assertThat(restored.restore(snapshot.assignment(), snapshot.postings(), snapshot.contentHashes())).isTrue();
+        AssignmentIndex restoredIndex = restored.getOrLoad(SORTING, loaded -> {});
+        assertThat(overlaps(restoredIndex, new long[]{2, 3, 9})).isEqualTo(overlaps(index, new long[]{2, 3, 9}));
+    }
+
+    @Test
+    void write_UnchangedIndex_ShouldSkipWriting() throws IOException {
+        // Given
+        assertThat(store.write(index)).isTrue();
+
+        // When & Then
+        assertThat(store.write(index)).isFalse();
+        index.remove(3L);
+        assertThat(store.write(index)).isTrue();
+        assertThat(store.readAll().get(0).contentHashes()).containsOnlyKeys(1L, 2L);
+    }
+
+    @Test
+    void readAll_CorruptSnapshot_ShouldSetItAside() throws IOException {
+        // Given
+        store.write(index);
+        Path file = store.pathOf(SORTING);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 9] ^= 1;
+        Files.write(file, bytes);
+
+        // When
+        List<IndexSnapshotStore.Snapshot> snapshots = store.readAll();
+
+        // Then
+        assertThat(snapshots).isEmpty();
+        assertThat(Files.exists(file)).isFalse();
+        assertThat(Files.exists(file.resolveSibling(file.getFileName() + ".corrupt"))).isTrue();
+    }
+
+    @Test
+    void readAll_SuppressedFingerprints_ShouldKeepSuppressingThem() throws IOException {
+        // Given
+        index.suppress(new long[]{3, 77});
+        store.write(index);
+
+        // When
+        IndexSnapshotStore.Snapshot snapshot = store.readAll().get(0);
+
+        // Then
+        assertThat(snapshot.suppressed()).containsExactlyInAnyOrder(3L, 77L);
+        FingerprintIndex restored = new FingerprintIndex();
+        restored.restore(snapshot.assignment(), snapshot.postings(), snapshot.contentHashes(), snapshot.suppressed());
+        AssignmentIndex restoredIndex = restored.getOrLoad(SORTING, loaded -> {});
+        restoredIndex.add(4L, null, new long[]{3, 4, 77});
+        assertThat(overlaps(restoredIndex, new long[]{3, 4})).isEqualTo(Map.of(2L, 1, 4L, 1));
+    }
+}
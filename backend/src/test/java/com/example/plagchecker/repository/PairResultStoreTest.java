@@ -0,0 +1,52 @@
+package com.example.plagchecker.repository;
+
+import com.example.plagchecker.dto.PairResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PairResultStoreTest {
+
+    private static final AssignmentKey HW1 = new AssignmentKey(1L, "hw1");
+
+    private final PairResultStore store = new PairResultStore();
+
+    private List<String> storedPairs() {
+        return store.getResults(HW1).orElseThrow().getPairs().stream()
+                .map(pair -> pair.getFirstSubmissionId() + "-" + pair.getSecondSubmissionId())
+                .toList();
+    }
+
+    @Test
+    void mergeSubmission_PairBeatingTheTopK_ShouldEvictTheWeakest() {
+        // Given
+        store.replace(HW1, 0.5, 2, 0, List.of(new PairResult(1L, 2L, 0.9), new PairResult(3L, 4L, 0.8)));
+
+        // When
+        store.mergeSubmission(HW1, 5L, List.of(new PairResult(5L, 6L, 0.95), new PairResult(5L, 7L, 0.7)));
+
+        // Then
+        assertThat(storedPairs()).containsExactly("5-6", "1-2");
+    }
+
+    @Test
+    void mergeSubmission_OwnTopPairsBelowTheCutoff_ShouldStayUntilTheSubmissionIsReplaced() {
+        // Given
+        store.replace(HW1, 0.5, 2, 1, List.of(new PairResult(1L, 2L, 0.9), new PairResult(3L, 4L, 0.8)));
+
+        // When
+        store.mergeSubmission(HW1, 5L, List.of(new PairResult(5L, 6L, 0.6), new PairResult(5L, 7L, 0.55)));
+        store.mergeSubmission(HW1, 8L, List.of(new PairResult(8L, 9L, 0.99)));
+
+        // Then - 3-4 was pushed out of the top K but is still 3's and 4's best pair
+        assertThat(storedPairs()).containsExactly("8-9", "1-2", "3-4", "5-6");
+
+        // When
+        store.mergeSubmission(HW1, 5L, List.of());
+
+        // Then
+        assertThat(storedPairs()).containsExactly("8-9", "1-2", "3-4");
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.AlignmentResult;
+import com.example.plagchecker.dto.MatchRegion;
+import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.model.Submission;
+import com.example.plagchecker.repository.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class AlignmentServiceTest {
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @Spy
+    private FingerprintService fingerprintService = new FingerprintService(5, 4);
+
+    @InjectMocks
+    private AlignmentService alignmentService;
+
+    private Instructor instructor;
+
+    private static final String SHARED = "for (int i = 0; i < values.length; i++) { total += values[i] * weights[i]; }";
+
+    @BeforeEach
+    void setUp() {
+        instructor = new Instructor("john_doe", "password123", "John", "Doe");
+        instructor.setId(1L);
+    }
+
+    private Submission submission(Long id, String content) {
+        Submission submission = new Submission(instructor, "hw1", "student" + id, "Main.java", content);
+        submission.setId(id);
+        return submission;
+    }
+
+    @Test
+    void align_SharedLoop_ShouldReturnCharacterRangesOfMatch() {
+        // Given
+        String first = "int total = 0;\n" + SHARED + "\nreturn total;";
+        String second = "// weighted sum\ndouble result;\n" + SHARED;
+        given(submissionRepository.findById(1L)).willReturn(Optional.of(submission(1L, first)));
+        given(submissionRepository.findById(2L)).willReturn(Optional.of(submission(2L, second)));
+
+        // When
+        Optional<AlignmentResult> result = alignmentService.align(1L, 2L);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().getMatches()).hasSize(1);
+        MatchRegion region = result.get().getMatches().get(0);
+        assertThat(first.substring(region.getFirstStart(), region.getFirstEnd())).contains("values.length");
+        assertThat(second.substring(region.getSecondStart(), region.getSecondEnd())).contains("weights[i]");
+        assertThat(result.get().getSimilarity()).isGreaterThan(0.5);
+    }
+
+    @Test
+    void align_UnknownSubmission_ShouldReturnEmptyOptional() {
+        // Given
+        given(submissionRepository.findById(1L)).willReturn(Optional.of(submission(1L, SHARED)));
+        given(submissionRepository.findById(9L)).willReturn(Optional.empty());
+
+        // When & Then
+        assertThat(alignmentService.align(1L, 9L)).isNotPresent();
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.IngestReport;
+import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.model.Submission;
+import com.example.plagchecker.repository.InstructorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ArchiveIngestServiceTest {
+
+    private static final long MB = 1024 * 1024;
+
+    private ArchiveIngestService archiveIngestService;
+    private RecordingSubmissionService submissionService;
+    private Instructor instructor;
+
+    // Hand-rolled instead of a Mockito mock, which would retain every file's content as an invocation argument
+    private static class RecordingSubmissionService extends SubmissionService {
+        final List<String> created = new ArrayList<>();
+        final Map<Long, String> contents = new HashMap<>();
+        final Map<Long, String> names = new HashMap<>();
+        long lastId;
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        boolean keepContent = true;
+        boolean sampleHeap;
+        long peakUsedHeap;
+
+        @Override
+        public Submission createSubmission(Instructor instructor, String assignment, String studentName,
+                                           String fileName, String content) {
+            created.add(studentName + "/" + fileName);
+            if (sampleHeap && created.size() % 16 == 0) {
+                peakUsedHeap = Math.max(peakUsedHeap, usedHeapAfterGc(memory));
+            }
+            Submission submission = new Submission(instructor, assignment, studentName, fileName, "");
+            submission.setId(++lastId);
+            contents.put(submission.getId(), keepContent ? content : "");
+            names.put(submission.getId(), studentName + "/" + fileName);
+            return submission;
+        }
+
+        @Override
+        public Optional<Submission> getSubmissionById(Long id) {
+            return Optional.ofNullable(contents.get(id)).map(content -> {
+                Submission submission = new Submission();
+                submission.setId(id);
+                submission.setFileName(names.get(id).substring(names.get(id).indexOf('/') + 1));
+                submission.setContent(content);
+                return submission;
+            });
+        }
+
+        @Override
+        public Optional<Submission> replaceContent(Long id, String content) {
+            contents.put(id, content);
+            return getSubmissionById(id);
+        }
+
+        @Override
+        public boolean deleteSubmission(Long id) {
+            created.remove(names.remove(id));
+            return contents.remove(id) != null;
+        }
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    @BeforeEach
+    void setUp() {
+        instructor = new Instructor("john_doe", "password123", "John", "Doe");
+        instructor.setId(1L);
+        InstructorRepository instructorRepository = mock(InstructorRepository.class);
+        given(instructorRepository.findById(1L)).willReturn(Optional.of(instructor));
+        submissionService = new RecordingSubmissionService();
+        archiveIngestService = new ArchiveIngestService();
+        ReflectionTestUtils.setField(archiveIngestService, "submissionService", submissionService);
+        ReflectionTestUtils.setField(archiveIngestService, "instructorRepository", instructorRepository);
+    }
+
+    private static void writeEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    @Test
+    void ingest_MixedArchive_ShouldCreateSubmissionsForSourceFilesOnly() throws IOException {
+        // Given
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("alice/"));
+            zip.closeEntry();
+            writeEntry(zip, "alice/src/Main.java", "class Main {}".getBytes(StandardCharsets.UTF_8));
+            writeEntry(zip, "alice/target/Main.class", new byte[]{(byte) 0xCA, (byte) 0xFE});
+            writeEntry(zip, "bob.py", "print('hi')".getBytes(StandardCharsets.UTF_8));
+            writeEntry(zip, "__MACOSX/alice/._Main.java", new byte[16]);
+            writeEntry(zip, "carol/Huge.java", new byte[(int) (2 * MB)]);
+        }
+
+        // When
+        Optional<IngestReport> report = archiveIngestService.ingest(
+                new ByteArrayInputStream(bytes.toByteArray()), 1L, "hw1");
+
+        // Then
+        assertThat(report).isPresent();
+        assertThat(report.get().getEntries()).isEqualTo(5);
+        assertThat(report.get().getSubmissionsCreated()).isEqualTo(2);
+        assertThat(report.get().getSkippedByExtension()).isEqualTo(2);
+        assertThat(report.get().getSkippedBySize()).isEqualTo(1);
+        assertThat(submissionService.created).containsExactly("alice/src/Main.java", "bob/bob.py");
+    }
+
+    @Test
+    void ingest_UnknownInstructor_ShouldReturnEmptyOptional() throws IOException {
+        // When
+        Optional<IngestReport> report = archiveIngestService.ingest(new ByteArrayInputStream(new byte[0]), 99L, "hw1");
+
+        // Then
+        assertThat(report).isNotPresent();
+    }
+
+    @Test
+    void ingest_SeveralFilesPerStudent_ShouldCreateOneSubmissionEach() throws IOException {
+        // Given - dave's folder is split by erin's
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            writeEntry(zip, "dave/Main.java", "class Main {}".getBytes(StandardCharsets.UTF_8));
+            writeEntry(zip, "dave/Util.java", "class Util {}".getBytes(StandardCharsets.UTF_8));
+            writeEntry(zip, "erin/Main.java", "class Main { int x; }".getBytes(StandardCharsets.UTF_8));
+            writeEntry(zip, "dave/Extra.java", "class Extra {}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        // When
+        Optional<IngestReport> report = archiveIngestService.ingest(
+                new ByteArrayInputStream(bytes.toByteArray()), 1L, "hw1");
+
+        // Then
+        assertThat(report).isPresent();
+        assertThat(report.get().getSourceFiles()).isEqualTo(4);
+        assertThat(report.get().getSubmissionsCreated()).isEqualTo(2);
+        assertThat(submissionService.created).containsExactly("dave/Main.java", "erin/Main.java");
+        assertThat(submissionService.contents.get(1L)).isEqualTo("class Main {}\nclass Util {}\nclass Extra {}");
+        assertThat(submissionService.contents.get(2L)).isEqualTo("class Main { int x; }");
+    }
+
+    @Test
+    void ingest_WrapperFolder_ShouldTakeStudentsFromTheFolderBelow() throws IOException {
+        // Given
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            writeEntry(zip, "hw1/alice/src/Main.java", "class Main {}".getBytes(StandardCharsets.UTF_8));
+            writeEntry(zip, "hw1/alice/src/Util.java", "class Util {}".getBytes(StandardCharsets.UTF_8));
+            writeEntry(zip, "hw1/bob/Main.java", "class Main { int x; }".getBytes(StandardCharsets.UTF_8));
+            writeEntry(zip, "__MACOSX/hw1/bob/._Main.java", new byte[16]);
+        }
+
+        // When
+        Optional<IngestReport> report = archiveIngestService.ingest(
+                new ByteArrayInputStream(bytes.toByteArray()), 1L, "hw1");
+
+        // Then
+        assertThat(report).isPresent();
+        assertThat(report.get().getSubmissionsCreated()).isEqualTo(2);
+        assertThat(submissionService.created).containsExactly("alice/src/Main.java", "bob/Main.java");
+        assertThat(submissionService.contents.values()).contains("class Main {}\nclass Util {}");
+    }
+
+    @Test
+    void ingest_StudentFolderWithSubfolders_ShouldMergeThemIntoOneSubmission() throws IOException {
+        // Given - alice's subfolders look like students until bob's folder shows up
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            writeEntry(zip, "alice/src/Main.java", "class Main {}".getBytes(StandardCharsets.UTF_8));
+            writeEntry(zip, "alice/test/MainTest.java", "class MainTest {}".getBytes(StandardCharsets.UTF_8));
+            writeEntry(zip, "bob/Main.java", "class Main { int x; }".getBytes(StandardCharsets.UTF_8));
+        }
+
+        // When
+        Optional<IngestReport> report = archiveIngestService.ingest(
+                new ByteArrayInputStream(bytes.toByteArray()), 1L, "hw1");
+
+        // Then
+        assertThat(report).isPresent();
+        assertThat(report.get().getSourceFiles()).isEqualTo(3);
+        assertThat(report.get().getSubmissionsCreated()).isEqualTo(2);
+        assertThat(submissionService.created).containsExactly("alice/src/Main.java", "bob/Main.java");
+        assertThat(submissionService.contents.values())
+                .containsExactlyInAnyOrder("class Main {}\nclass MainTest {}", "class Main { int x; }");
+    }
+
+    @Test
+    void ingest_StudentOverByteCap_ShouldSkipTheRestAndReportTheStudent() throws IOException {
+        // Given
+        ReflectionTestUtils.setField(archiveIngestService, "maxStudentBytes", 2048L);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            writeEntry(zip, "heidi/A.java", new byte[1500]);
+            writeEntry(zip, "heidi/B.java", new byte[1500]);
+            writeEntry(zip, "ivan/Main.java", "class Main {}".getBytes(StandardCharsets.UTF_8));
+            writeEntry(zip, "heidi/C.java", new byte[500]);
+        }
+
+        // When
+        Optional<IngestReport> report = archiveIngestService.ingest(
+                new ByteArrayInputStream(bytes.toByteArray()), 1L, "hw1");
+
+        // Then
+        assertThat(report).isPresent();
+        assertThat(report.get().getSourceFiles()).isEqualTo(3);
+        assertThat(report.get().getSkippedBySize()).isEqualTo(1);
+        assertThat(report.get().getTruncatedStudents()).containsExactly("heidi");
+        assertThat(submissionService.contents.get(1L)).hasSize(1500 + 1 + 500);
+    }
+
+    @Test
+    void ingest_OversizedEntryWithoutSize_ShouldReadNoMoreThanTheCap() throws IOException {
+        // Given - deflated entries carry no size in the local header, so the cap is enforced while reading
+        ReflectionTestUtils.setField(archiveIngestService, "maxFileBytes", 1024);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            writeEntry(zip, "frank/Big.java", new byte[(int) (4 * MB)]);
+            writeEntry(zip, "grace/Main.java", "class Main {}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        // When
+        Optional<IngestReport> report = archiveIngestService.ingest(
+                new ByteArrayInputStream(bytes.toByteArray()), 1L, "hw1");
+
+        // Then
+        assertThat(report).isPresent();
+        assertThat(report.get().getSkippedBySize()).isEqualTo(1);
+        assertThat(report.get().getSubmissionsCreated()).isEqualTo(1);
+        assertThat(report.get().getBytesRead()).isLessThanOrEqualTo(1025 + "class Main {}".length());
+    }
+
+    // Streams 1 GB and samples the heap after System.gc(): slow and sensitive to the collector, so -Pperf only
+    @Tag("perf")
+    @Test
+    void ingest_OneGigabyteArchive_ShouldKeepHeapFlat() throws Exception {
+        // Given - 1 GB streamed through a pipe: per student one source file and 8 MB of build output
+        int students = 128;
+        PipedInputStream archive = new PipedInputStream(64 * 1024);
+        OutputStream pipe = new PipedOutputStream(archive);
+        Thread producer = new Thread(() -> {
+            try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(pipe, 64 * 1024))) {
+                zip.setLevel(Deflater.BEST_SPEED);
+                byte[] chunk = new byte[(int) MB];
+                for (int s = 0; s < students; s++) {
+                    writeEntry(zip, "student" + s + "/Main.java",
+                            ("class Main { int id = " + s + "; }").getBytes(StandardCharsets.UTF_8));
+                    zip.putNextEntry(new ZipEntry("student" + s + "/build/app.jar"));
+                    for (int i = 0; i < 8; i++) {
+                        zip.write(chunk);
+                    }
+                    zip.closeEntry();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        long baseline = usedHeapAfterGc(submissionService.memory);
+        submissionService.keepContent = false;
+        submissionService.sampleHeap = true;
+        producer.start();
+
+        // When
+        Optional<IngestReport> report = archiveIngestService.ingest(archive, 1L, "hw1");
+        producer.join();
+
+        // Then
+        assertThat(report).isPresent();
+        assertThat(report.get().getSubmissionsCreated()).isEqualTo(students);
+        assertThat(report.get().getSkippedByExtension()).isEqualTo(students);
+        assertThat(submissionService.peakUsedHeap).isGreaterThan(0L);
+        assertThat(submissionService.peakUsedHeap - baseline).isLessThan(64 * MB);
+    }
+}
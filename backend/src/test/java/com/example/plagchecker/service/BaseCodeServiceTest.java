@@ -0,0 +1,76 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.model.BaseCode;
+import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.repository.AssignmentKey;
+import com.example.plagchecker.repository.BaseCodeRepository;
+import com.example.plagchecker.repository.FingerprintIndex;
+import com.example.plagchecker.repository.IndexSnapshotStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BaseCodeServiceTest {
+
+    @Mock
+    private BaseCodeRepository baseCodeRepository;
+
+    @Mock
+    private FingerprintIndex fingerprintIndex;
+
+    @Mock
+    private IndexSnapshotStore indexSnapshotStore;
+
+    @InjectMocks
+    private BaseCodeService baseCodeService;
+
+    private BaseCode baseCode;
+
+    @BeforeEach
+    void setUp() {
+        Instructor owner = new Instructor("john_doe", "password123", "John", "Doe");
+        owner.setId(1L);
+        baseCode = new BaseCode(owner, "hw1", "Main.java");
+        baseCode.setId(7L);
+    }
+
+    @Test
+    void deleteBaseCode_Owner_ShouldDeleteAndReindex() throws Exception {
+        // Given
+        given(baseCodeRepository.findById(7L)).willReturn(Optional.of(baseCode));
+
+        // When
+        boolean deleted = baseCodeService.deleteBaseCode(1L, 7L);
+
+        // Then
+        assertThat(deleted).isTrue();
+        verify(baseCodeRepository).delete(baseCode);
+        verify(fingerprintIndex).evict(new AssignmentKey(1L, "hw1"));
+        verify(indexSnapshotStore).delete(new AssignmentKey(1L, "hw1"));
+    }
+
+    @Test
+    void deleteBaseCode_OtherInstructor_ShouldLeaveItAlone() {
+        // Given
+        given(baseCodeRepository.findById(7L)).willReturn(Optional.of(baseCode));
+
+        // When
+        boolean deleted = baseCodeService.deleteBaseCode(2L, 7L);
+
+        // Then
+        assertThat(deleted).isFalse();
+        verify(baseCodeRepository, never()).delete(any());
+        verifyNoInteractions(fingerprintIndex, indexSnapshotStore);
+    }
+}
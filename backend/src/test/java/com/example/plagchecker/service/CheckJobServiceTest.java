@@ -0,0 +1,166 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.CheckJobStatus;
+import com.example.plagchecker.dto.CheckMode;
+import com.example.plagchecker.dto.CheckRequest;
+import com.example.plagchecker.dto.CheckResult;
+import com.example.plagchecker.dto.PairResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class CheckJobServiceTest {
+
+    @Mock
+    private PlagiarismCheckService plagiarismCheckService;
+
+    @InjectMocks
+    private CheckJobService checkJobService;
+
+    @AfterEach
+    void tearDown() {
+        checkJobService.shutdown();
+    }
+
+    @Test
+    void submit_ShouldRunCheckOnVirtualThreadAndComplete() throws Exception {
+        // Given
+        CheckRequest request = new CheckRequest(1L, "hw1", CheckMode.INDEX);
+        CheckResult expected = new CheckResult("hw1", CheckMode.INDEX);
+        AtomicBoolean ranOnVirtualThread = new AtomicBoolean();
+        given(plagiarismCheckService.runCheck(eq(request), any(CheckProgressListener.class))).willAnswer(invocation -> {
+            ranOnVirtualThread.set(Thread.currentThread().isVirtual());
+            return expected;
+        });
+
+        // When
+        CheckJob job = checkJobService.submit(request);
+        CheckResult result = job.getCompletion().get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(result).isSameAs(expected);
+        assertThat(ranOnVirtualThread.get()).isTrue();
+        assertThat(job.getState()).isEqualTo(CheckJob.State.COMPLETED);
+        assertThat(job.toStatus().getProgress()).isEqualTo(1.0);
+        assertThat(checkJobService.getJob(job.getId())).isPresent();
+    }
+
+    @Test
+    void submit_ShouldReturnBeforeCheckFinishesAndExposePartialResults() throws Exception {
+        // Given
+        CountDownLatch halfway = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(plagiarismCheckService.runCheck(any(CheckRequest.class), any(CheckProgressListener.class))).willAnswer(invocation -> {
+            CheckProgressListener listener = invocation.getArgument(1);
+            listener.onPairs(List.of(new PairResult(1L, 2L, 0.9)));
+            listener.onProgress(50, 100);
+            halfway.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new CheckResult("hw1", CheckMode.INDEX);
+        });
+
+        // When
+        CheckJob job = checkJobService.submit(new CheckRequest(1L, "hw1", CheckMode.INDEX));
+        assertThat(halfway.await(5, TimeUnit.SECONDS)).isTrue();
+        CheckJobStatus status = job.toStatus();
+        release.countDown();
+
+        // Then
+        assertThat(status.getState()).isEqualTo("RUNNING");
+        assertThat(status.getProgress()).isEqualTo(0.5);
+        assertThat(status.getEtaMillis()).isNotNull();
+        assertThat(status.getPartialPairs()).hasSize(1);
+        assertThat(status.getResult()).isNull();
+    }
+
+    @Test
+    void submit_CheckThrows_ShouldMarkJobFailed() {
+        // Given
+        given(plagiarismCheckService.runCheck(any(CheckRequest.class), any(CheckProgressListener.class)))
+                .willThrow(new IllegalStateException("index unavailable"));
+
+        // When
+        CheckJob job = checkJobService.submit(new CheckRequest(1L, "hw1", CheckMode.INDEX));
+
+        // Then
+        assertThatThrownBy(() -> job.getCompletion().get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class);
+        assertThat(job.getState()).isEqualTo(CheckJob.State.FAILED);
+        assertThat(job.toStatus().getError()).isEqualTo("index unavailable");
+    }
+
+    @Test
+    void submit_CheckThrowsError_ShouldMarkJobFailed() {
+        // Given
+        given(plagiarismCheckService.runCheck(any(CheckRequest.class), any(CheckProgressListener.class)))
+                .willThrow(new StackOverflowError());
+
+        // When
+        CheckJob job = checkJobService.submit(new CheckRequest(1L, "hw1", CheckMode.INDEX));
+
+        // Then
+        assertThatThrownBy(() -> job.getCompletion().get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(job.getState()).isEqualTo(CheckJob.State.FAILED);
+        assertThat(job.toStatus().getError()).isEqualTo("StackOverflowError");
+    }
+
+    @Test
+    void onProgress_ReportsOutOfOrder_ShouldNeverGoBackwards() throws Exception {
+        // Given - workers finishing tiles concurrently, each reporting its running total
+        CheckJob job = new CheckJob("job", new CheckRequest(1L, "hw1", CheckMode.ALL_PAIRS));
+        job.markRunning();
+        Thread[] workers = new Thread[4];
+        for (int w = 0; w < workers.length; w++) {
+            int offset = w;
+            workers[w] = new Thread(() -> {
+                for (long completed = 1000 - offset; completed > 0; completed -= workers.length) {
+                    job.onProgress(completed, 1000);
+                }
+            });
+        }
+
+        // When
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        job.onProgress(10, 1000);
+
+        // Then
+        CheckJobStatus status = job.toStatus();
+        assertThat(status.getCompletedUnits()).isEqualTo(1000);
+        assertThat(status.getTotalUnits()).isEqualTo(1000);
+        assertThat(status.getProgress()).isEqualTo(1.0);
+    }
+
+    @Test
+    void submit_InvalidRequest_ShouldThrowBeforeQueueing() {
+        assertThatThrownBy(() -> checkJobService.submit(new CheckRequest()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getJob_UnknownId_ShouldReturnEmptyOptional() {
+        assertThat(checkJobService.getJob("missing")).isNotPresent();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.CheckJobStatus;
+import com.example.plagchecker.dto.CheckMode;
+import com.example.plagchecker.dto.CheckRequest;
+import com.example.plagchecker.dto.CheckResult;
+import com.example.plagchecker.dto.PairResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckSubscriptionTest {
+
+    private record Event(String name, Object data) {}
+
+    private static List<PairResult> pairs(int count, double similarity) {
+        List<PairResult> pairs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            pairs.add(new PairResult((long) i, (long) i + 1, similarity));
+        }
+        return pairs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long streamedPairs(List<Event> events) {
+        return events.stream().filter(event -> event.name().equals("pairs"))
+                .mapToLong(event -> ((List<PairResult>) event.data()).size()).sum();
+    }
+
+    @Test
+    void run_FinishedJob_ShouldSendBufferedPairsThenComplete() {
+        // Given
+        CheckJob job = new CheckJob("job-1", new CheckRequest(1L, "hw1", CheckMode.INDEX));
+        CheckSubscription subscription = new CheckSubscription(job, 1000, 0.0, 50);
+        job.subscribe(subscription);
+        job.markRunning();
+        job.onPairs(pairs(300, 0.9));
+        job.markCompleted(new CheckResult("hw1", CheckMode.INDEX));
+        List<Event> events = new ArrayList<>();
+
+        // When
+        boolean completed = subscription.run((name, data) -> events.add(new Event(name, data)));
+
+        // Then
+        assertThat(completed).isTrue();
+        assertThat(events.get(0).name()).isEqualTo("status");
+        assertThat(events.get(events.size() - 1).name()).isEqualTo("complete");
+        assertThat(((CheckJobStatus) events.get(events.size() - 1).data()).getResult()).isNotNull();
+        assertThat(streamedPairs(events)).isEqualTo(300);
+        assertThat(job.subscriberCount()).isEqualTo(0);
+    }
+
+    @Test
+    void offer_FullBuffer_ShouldDropAndCountInsteadOfBlocking() {
+        // Given
+        CheckJob job = new CheckJob("job-1", new CheckRequest(1L, "hw1", CheckMode.ALL_PAIRS));
+        CheckSubscription subscription = new CheckSubscription(job, 10, 0.5, 50);
+        job.subscribe(subscription);
+
+        // When
+        job.onPairs(pairs(25, 0.9));
+        job.onPairs(pairs(5, 0.2));
+        job.markCompleted(new CheckResult("hw1", CheckMode.ALL_PAIRS));
+        List<Event> events = new ArrayList<>();
+        subscription.run((name, data) -> events.add(new Event(name, data)));
+
+        // Then
+        assertThat(subscription.getDroppedPairs()).isEqualTo(15);
+        assertThat(streamedPairs(events)).isEqualTo(10);
+    }
+
+    @Test
+    void run_RunningJob_ShouldStreamPairsAndProgressAsTheyArrive() throws Exception {
+        // Given
+        CheckJob job = new CheckJob("job-1", new CheckRequest(1L, "hw1", CheckMode.INDEX));
+        CheckSubscription subscription = new CheckSubscription(job, 100, 0.0, 10);
+        job.subscribe(subscription);
+        job.markRunning();
+        List<Event> events = new ArrayList<>();
+        CountDownLatch firstPairs = new CountDownLatch(1);
+        CompletableFuture<Boolean> stream = CompletableFuture.supplyAsync(() -> subscription.run((name, data) -> {
+            synchronized (events) {
+                events.add(new Event(name, data));
+            }
+            if (name.equals("pairs")) {
+                firstPairs.countDown();
+            }
+        }));
+
+        // When
+        job.onProgress(1, 4);
+        job.onPairs(pairs(1, 0.8));
+        assertThat(firstPairs.await(5, TimeUnit.SECONDS)).isTrue();
+        job.onProgress(4, 4);
+        job.markCompleted(new CheckResult("hw1", CheckMode.INDEX));
+
+        // Then
+        assertThat(stream.get(5, TimeUnit.SECONDS)).isTrue();
+        synchronized (events) {
+            assertThat(events.get(0).name()).isEqualTo("status");
+            assertThat(streamedPairs(events)).isEqualTo(1);
+            assertThat(events.get(events.size() - 1).name()).isEqualTo("complete");
+        }
+    }
+
+    @Test
+    void run_ClientGone_ShouldStopAndUnsubscribe() {
+        // Given
+        CheckJob job = new CheckJob("job-1", new CheckRequest(1L, "hw1", CheckMode.INDEX));
+        CheckSubscription subscription = new CheckSubscription(job, 100, 0.0, 10);
+        job.subscribe(subscription);
+        job.markRunning();
+
+        // When
+        boolean completed = subscription.run((name, data) -> {
+            throw new IOException("Broken pipe");
+        });
+
+        // Then
+        assertThat(completed).isFalse();
+        assertThat(subscription.isCancelled()).isTrue();
+        assertThat(job.subscriberCount()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.plagchecker.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FingerprintServiceTest {
+
+    private static final String SOURCE = """
+            int total = 0;
+            for (int i = 0; i < values.length; i++) {
+                total += values[i] * weights[i];
+            }
+            return total / values.length;
+            """;
+
+    private final FingerprintService fingerprintService = new FingerprintService(25, 40, 5, 4, false);
+
+    @Test
+    void fingerprint_SourceWithLexer_ShouldUseTokenKAndWindow() {
+        // When
+        String language = fingerprintService.languageOf("Main.java");
+
+        // Then
+        assertThat(fingerprintService.getKGramLength(language)).isEqualTo(5);
+        assertThat(fingerprintService.getWindowSize(language)).isEqualTo(4);
+        assertThat(fingerprintService.fingerprint(SOURCE, "Main.java").encode())
+                .isEqualTo(new FingerprintService(5, 4).fingerprint(SOURCE, "Main.java").encode());
+    }
+
+    @Test
+    void fingerprint_PlainText_ShouldUseCharacterKAndWindow() {
+        // When
+        String language = fingerprintService.languageOf("notes.txt");
+
+        // Then
+        assertThat(language).isEqualTo(FingerprintService.TEXT);
+        assertThat(fingerprintService.getKGramLength(language)).isEqualTo(25);
+        assertThat(fingerprintService.getWindowSize(language)).isEqualTo(40);
+        assertThat(fingerprintService.fingerprint(SOURCE, "notes.txt").encode())
+                .isEqualTo(new FingerprintService(25, 40).fingerprint(SOURCE).encode());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.engine.IndexMemory;
+import com.example.plagchecker.engine.PostingsIndex;
+import com.example.plagchecker.repository.AssignmentKey;
+import com.example.plagchecker.repository.FingerprintIndex;
+import com.example.plagchecker.repository.IndexSnapshotStore;
+import com.example.plagchecker.repository.SubmissionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndexSnapshotServiceTest {
+
+    private static final AssignmentKey HW1 = new AssignmentKey(1L, "hw1");
+
+    @Spy
+    private FingerprintIndex fingerprintIndex = new FingerprintIndex();
+
+    @Mock
+    private IndexSnapshotStore indexSnapshotStore;
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @InjectMocks
+    private IndexSnapshotService indexSnapshotService;
+
+    private static SubmissionRepository.ContentVersion version(Long id, String contentHash) {
+        return new SubmissionRepository.ContentVersion() {
+            @Override
+            public Long getId() { return id; }
+
+            @Override
+            public String getContentHash() { return contentHash; }
+        };
+    }
+
+    private static IndexSnapshotStore.Snapshot snapshot(Map<Long, String> contentHashes) {
+        PostingsIndex postings = new PostingsIndex();
+        postings.add(1L, new long[]{1, 2, 3});
+        postings.add(2L, new long[]{2, 3, 4});
+        return new IndexSnapshotStore.Snapshot(HW1, postings, contentHashes);
+    }
+
+    @Test
+    void restore_MatchingDatabase_ShouldRegisterIndex() throws IOException {
+        // Given
+        given(indexSnapshotStore.readAll(IndexMemory.heap())).willReturn(List.of(snapshot(Map.of(1L, "aa", 2L, "bb"))));
+        given(submissionRepository.findContentVersionsByInstructor_IdAndAssignment(1L, "hw1"))
+                .willReturn(List.of(version(1L, "aa"), version(2L, "bb")));
+
+        // When
+        int restored = indexSnapshotService.restore();
+
+        // Then
+        assertThat(restored).isEqualTo(1);
+        assertThat(fingerprintIndex.isLoaded(HW1)).isTrue();
+        verify(indexSnapshotStore, never()).delete(any());
+    }
+
+    @Test
+    void restore_ChangedSubmission_ShouldDropSnapshot() throws IOException {
+        // Given
+        given(indexSnapshotStore.readAll(IndexMemory.heap())).willReturn(List.of(snapshot(Map.of(1L, "aa", 2L, "bb"))));
+        given(submissionRepository.findContentVersionsByInstructor_IdAndAssignment(1L, "hw1"))
+                .willReturn(List.of(version(1L, "aa"), version(2L, "cc")));
+
+        // When
+        int restored = indexSnapshotService.restore();
+
+        // Then
+        assertThat(restored).isEqualTo(0);
+        assertThat(fingerprintIndex.isLoaded(HW1)).isFalse();
+        verify(indexSnapshotStore).delete(HW1);
+    }
+
+    @Test
+    void writeAll_ShouldWriteLoadedIndexes() throws IOException {
+        // Given
+        fingerprintIndex.getOrLoad(HW1, index -> index.add(1L, "aa", new long[]{1, 2}));
+        fingerprintIndex.getOrLoad(new AssignmentKey(1L, "hw2"), index -> index.add(2L, "bb", new long[]{3}));
+        given(indexSnapshotStore.write(any())).willReturn(true);
+
+        // When
+        int written = indexSnapshotService.writeAll();
+
+        // Then
+        assertThat(written).isEqualTo(2);
+        verify(indexSnapshotStore, times(2)).write(any());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.plagchecker.service;
 
+import com.example.plagchecker.dto.InstructorPage;
 import com.example.plagchecker.model.Instructor;
 import com.example.plagchecker.repository.InstructorRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,16 +8,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -26,6 +33,15 @@ class InstructorServiceTest {
     @Mock
     private InstructorRepository instructorRepository;
 
+    @Mock
+    private TokenService tokenService;
+
+    @Spy
+    private InstructorCache instructorCache = new InstructorCache(100, 600);
+
+    @Spy
+    private PasswordHasher passwordHasher = new PasswordHasher(1000, 1, 4);
+
     @InjectMocks
     private InstructorService instructorService;
 
@@ -286,10 +302,26 @@ class InstructorServiceTest {
 
         // Then
         assertThat(result).isTrue();
-        assertThat(instructor1.getPassword()).isEqualTo("newPassword456");
+        assertThat(passwordHasher.matches("newPassword456", instructor1.getPassword())).isTrue();
         
         verify(instructorRepository, times(1)).findByUsername("john_doe");
         verify(instructorRepository, times(1)).save(instructor1);
+        verify(tokenService, times(1)).revokeAll(1L);
+    }
+
+    @Test
+    void updatePassword_ByTokenId_ShouldUpdateAndRevokeSessions() {
+        // Given
+        given(instructorRepository.findById(1L)).willReturn(Optional.of(instructor1));
+        given(instructorRepository.save(instructor1)).willReturn(instructor1);
+
+        // When
+        boolean result = instructorService.updatePassword(1L, "password123", "newPassword456");
+
+        // Then
+        assertThat(result).isTrue();
+        assertThat(passwordHasher.matches("newPassword456", instructor1.getPassword())).isTrue();
+        verify(tokenService, times(1)).revokeAll(1L);
     }
 
     @Test
@@ -413,7 +445,7 @@ class InstructorServiceTest {
 
         // Then
         assertThat(result).isTrue();
-        assertThat(instructor1.getPassword()).isEmpty();
+        assertThat(passwordHasher.matches("", instructor1.getPassword())).isTrue();
         
         verify(instructorRepository, times(1)).findByUsername("john_doe");
         verify(instructorRepository, times(1)).save(instructor1);
@@ -430,7 +462,7 @@ class InstructorServiceTest {
 
         // Then
         assertThat(result).isTrue();
-        assertThat(instructor1.getPassword()).isEqualTo("password123");
+        assertThat(passwordHasher.matches("password123", instructor1.getPassword())).isTrue();
         
         verify(instructorRepository, times(1)).findByUsername("john_doe");
         verify(instructorRepository, times(1)).save(instructor1);
@@ -485,7 +517,7 @@ class InstructorServiceTest {
         // Then
         assertThat(result1).isTrue();
         assertThat(result2).isTrue();
-        assertThat(instructor1.getPassword()).isEqualTo("finalPassword789");
+        assertThat(passwordHasher.matches("finalPassword789", instructor1.getPassword())).isTrue();
         
         verify(instructorRepository, times(2)).findByUsername("john_doe");
         verify(instructorRepository, times(2)).save(instructor1);
@@ -506,9 +538,243 @@ class InstructorServiceTest {
 
         // Then
         assertThat(result).isTrue();
-        assertThat(testInstructor.getPassword()).isEqualTo("superSecureNewPassword123!");
+        assertThat(passwordHasher.matches("superSecureNewPassword123!", testInstructor.getPassword())).isTrue();
         
         verify(instructorRepository, times(1)).findByUsername("test_user");
         verify(instructorRepository, times(1)).save(testInstructor);
     }
-}
\ No newline at end of file
+
+    // Test cases for the instructor cache
+    @Test
+    void getInstructorById_CalledTwice_ShouldQueryRepositoryOnce() {
+        // Given
+        given(instructorRepository.findById(1L)).willReturn(Optional.of(instructor1));
+
+        // When
+        Optional<Instructor> first = instructorService.getInstructorById(1L);
+        Optional<Instructor> second = instructorService.getInstructorById(1L);
+
+        // Then
+        assertThat(first).contains(instructor1);
+        assertThat(second).contains(instructor1);
+        verify(instructorRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getInstructorById_NotFound_ShouldNotBeCached() {
+        // Given
+        given(instructorRepository.findById(1L)).willReturn(Optional.empty(), Optional.of(instructor1));
+
+        // When
+        Optional<Instructor> before = instructorService.getInstructorById(1L);
+        Optional<Instructor> after = instructorService.getInstructorById(1L);
+
+        // Then
+        assertThat(before).isEmpty();
+        assertThat(after).contains(instructor1);
+    }
+
+    @Test
+    void authenticate_AfterPasswordUpdate_ShouldReloadInstructor() {
+        // Given
+        given(instructorRepository.findByUsername("john_doe")).willReturn(Optional.of(instructor1));
+        given(instructorRepository.save(instructor1)).willReturn(instructor1);
+        assertThat(instructorService.authenticate("john_doe", "password123")).isPresent();
+
+        // When
+        instructorService.updatePassword("john_doe", "password123", "newPassword456");
+
+        // Then
+        assertThat(instructorService.authenticate("john_doe", "password123")).isEmpty();
+        assertThat(instructorService.authenticate("john_doe", "newPassword456")).isPresent();
+        verify(instructorRepository, times(3)).findByUsername("john_doe");
+        assertThat(instructorService.getCacheStats().getHits()).isEqualTo(1);
+    }
+
+    // Test cases for password hashing
+    @Test
+    void createInstructor_ShouldStoreHashedPassword() {
+        // Given
+        Instructor newInstructor = new Instructor("mike_wilson", "password789", "Mike", "Wilson");
+        given(instructorRepository.save(newInstructor)).willReturn(newInstructor);
+
+        // When
+        instructorService.createInstructor(newInstructor);
+
+        // Then
+        assertThat(newInstructor.getPassword()).startsWith(PasswordHasher.PREFIX);
+        assertThat(passwordHasher.matches("password789", newInstructor.getPassword())).isTrue();
+    }
+
+    @Test
+    void authenticate_LegacyPlaintextPassword_ShouldRehashOnLogin() {
+        // Given
+        Instructor fresh = new Instructor("john_doe", "password123", "John", "Doe");
+        fresh.setId(1L);
+        given(instructorRepository.findByUsername("john_doe")).willReturn(Optional.of(instructor1));
+        given(instructorRepository.findById(1L)).willReturn(Optional.of(fresh));
+
+        // When
+        Optional<Instructor> result = instructorService.authenticate("john_doe", "password123");
+
+        // Then
+        assertThat(result).contains(instructor1);
+        assertThat(passwordHasher.needsRehash(fresh.getPassword())).isFalse();
+        assertThat(passwordHasher.matches("password123", fresh.getPassword())).isTrue();
+        verify(instructorRepository, times(1)).save(fresh);
+        verify(instructorCache, times(1)).invalidate(fresh);
+    }
+
+    @Test
+    void authenticate_WrongPassword_ShouldNotRehash() {
+        // Given
+        given(instructorRepository.findByUsername("john_doe")).willReturn(Optional.of(instructor1));
+
+        // When
+        Optional<Instructor> result = instructorService.authenticate("john_doe", "wrongPassword");
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(instructorRepository, never()).findById(any());
+        verify(instructorRepository, never()).save(any());
+    }
+
+    @Test
+    void authenticate_CurrentHash_ShouldNotRehash() {
+        // Given
+        instructor1.setPassword(passwordHasher.hash("password123"));
+        given(instructorRepository.findByUsername("john_doe")).willReturn(Optional.of(instructor1));
+
+        // When
+        Optional<Instructor> result = instructorService.authenticate("john_doe", "password123");
+
+        // Then
+        assertThat(result).contains(instructor1);
+        verify(instructorRepository, never()).save(any());
+    }
+
+    @Test
+    void authenticateAsync_ValidCredentials_ShouldCompleteOnHashPool() {
+        // Given
+        instructor1.setPassword(passwordHasher.hash("password123"));
+        given(instructorRepository.findByUsername("john_doe")).willReturn(Optional.of(instructor1));
+
+        // When
+        CompletableFuture<Optional<Instructor>> result = instructorService.authenticateAsync("john_doe", "password123");
+
+        // Then
+        assertThat(result.join()).contains(instructor1);
+        verify(passwordHasher, times(1)).submit(any());
+    }
+
+    @Test
+    void authenticateAsync_UnknownUser_ShouldStillHashOnHashPool() {
+        // Given
+        given(instructorRepository.findByUsername("nobody")).willReturn(Optional.empty());
+
+        // When
+        CompletableFuture<Optional<Instructor>> result = instructorService.authenticateAsync("nobody", "password123");
+
+        // Then
+        assertThat(result.join()).isEmpty();
+        verify(passwordHasher).submit(any());
+        verify(passwordHasher).matchesNone("password123");
+    }
+
+    @Test
+    void createInstructorAsync_ShouldHashOnHashPool() {
+        // Given
+        Instructor newInstructor = new Instructor("mike_wilson", "password789", "Mike", "Wilson");
+        given(instructorRepository.save(newInstructor)).willReturn(newInstructor);
+
+        // When
+        Instructor created = instructorService.createInstructorAsync(newInstructor).join();
+
+        // Then
+        assertThat(passwordHasher.matches("password789", created.getPassword())).isTrue();
+        verify(passwordHasher, times(1)).submit(any());
+    }
+
+    @Test
+    void updatePasswordAsync_ValidCredentials_ShouldUpdateOnHashPool() {
+        // Given
+        given(instructorRepository.findByUsername("john_doe")).willReturn(Optional.of(instructor1));
+
+        // When
+        boolean result = instructorService.updatePasswordAsync("john_doe", "password123", "newPassword456").join();
+
+        // Then
+        assertThat(result).isTrue();
+        assertThat(passwordHasher.matches("newPassword456", instructor1.getPassword())).isTrue();
+        verify(passwordHasher, times(1)).submit(any());
+        verify(instructorRepository, times(1)).save(instructor1);
+    }
+
+    @Test
+    void updatePasswordAsync_UnknownUser_ShouldNotUseHashPool() {
+        // Given
+        given(instructorRepository.findById(99L)).willReturn(Optional.empty());
+
+        // When
+        boolean result = instructorService.updatePasswordAsync(99L, "password123", "newPassword456").join();
+
+        // Then
+        assertThat(result).isFalse();
+        verify(passwordHasher, never()).submit(any());
+    }
+
+    // Test cases for keyset pagination and streaming
+    @Test
+    void getInstructorPage_FullPage_ShouldReturnLastIdAsCursor() {
+        // Given
+        given(instructorRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+            .willReturn(Arrays.asList(instructor1, instructor2));
+
+        // When
+        InstructorPage page = instructorService.getInstructorPage(0L, 2);
+
+        // Then
+        assertThat(page.getItems()).containsExactly(instructor1, instructor2);
+        assertThat(page.getNextCursor()).isEqualTo(2L);
+    }
+
+    @Test
+    void getInstructorPage_LastPage_ShouldHaveNoCursor() {
+        // Given
+        given(instructorRepository.findByIdGreaterThanOrderByIdAsc(eq(1L), any(Limit.class)))
+            .willReturn(List.of(instructor2));
+
+        // When
+        InstructorPage page = instructorService.getInstructorPage(1L, 2);
+
+        // Then
+        assertThat(page.getItems()).containsExactly(instructor2);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void forEachInstructor_ShouldPassUnmanagedCopiesWithoutPassword() {
+        // Given
+        given(instructorRepository.streamAllByOrderByIdAsc()).willReturn(Stream.of(listing(instructor1), listing(instructor2)));
+        List<Instructor> seen = new ArrayList<>();
+
+        // When
+        instructorService.forEachInstructor(seen::add);
+
+        // Then
+        assertThat(seen).hasSize(2);
+        assertThat(seen.get(0).getId()).isEqualTo(1L);
+        assertThat(seen.get(1).getUsername()).isEqualTo("kanav_singla");
+        assertThat(seen.get(0).getPassword()).isNull();
+        verify(instructorRepository, never()).findAll();
+    }
+
+    private static InstructorRepository.Listing listing(Instructor instructor) {
+        return new InstructorRepository.Listing() {
+            public Long getId() { return instructor.getId(); }
+            public String getUsername() { return instructor.getUsername(); }
+            public String getFirstName() { return instructor.getFirstName(); }
+            public String getLastName() { return instructor.getLastName(); }
+        };
+    }
+}
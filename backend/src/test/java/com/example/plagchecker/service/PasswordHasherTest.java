@@ -0,0 +1,178 @@
+package com.example.plagchecker.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        passwordHasher = new PasswordHasher(1000, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void matches_HashedPassword_ShouldAcceptOnlyTheOriginal() {
+        // Given
+        String stored = passwordHasher.hash("password123");
+
+        // When & Then
+        assertThat(stored).startsWith(PasswordHasher.PREFIX + "1000$");
+        assertThat(passwordHasher.matches("password123", stored)).isTrue();
+        assertThat(passwordHasher.matches("password124", stored)).isFalse();
+        assertThat(passwordHasher.matches(null, stored)).isFalse();
+    }
+
+    @Test
+    void hash_SamePasswordTwice_ShouldUseDifferentSalts() {
+        // When
+        String first = passwordHasher.hash("password123");
+        String second = passwordHasher.hash("password123");
+
+        // Then
+        assertThat(first).isNotEqualTo(second);
+        assertThat(passwordHasher.matches("password123", second)).isTrue();
+    }
+
+    @Test
+    void matches_LegacyPlaintext_ShouldCompareDirectlyAndNeedRehash() {
+        // When & Then
+        assertThat(passwordHasher.matches("password123", "password123")).isTrue();
+        assertThat(passwordHasher.matches("password123", "password")).isFalse();
+        assertThat(passwordHasher.matches("password123", null)).isFalse();
+        assertThat(passwordHasher.needsRehash("password123")).isTrue();
+    }
+
+    @Test
+    void needsRehash_HashWithFewerIterations_ShouldBeTrue() {
+        // Given - counts at or above the minimum, as calibration produces
+        PasswordHasher current = new PasswordHasher(PasswordHasher.MIN_ITERATIONS, 1, 1);
+        PasswordHasher stronger = new PasswordHasher(PasswordHasher.MIN_ITERATIONS + 20_000, 1, 1);
+        String weak = current.hash("password123");
+
+        // When & Then
+        assertThat(stronger.needsRehash(weak)).isTrue();
+        assertThat(stronger.matches("password123", weak)).isTrue();
+        assertThat(current.needsRehash(weak)).isFalse();
+        assertThat(current.needsRehash(stronger.hash("password123"))).isFalse();
+        current.shutdown();
+        stronger.shutdown();
+    }
+
+    @Test
+    void matches_HashBelowMinimumIterations_ShouldBeFalse() {
+        // Given
+        PasswordHasher production = new PasswordHasher(PasswordHasher.MIN_ITERATIONS, 1, 1);
+        String weak = passwordHasher.hash("password123");
+
+        // When & Then
+        assertThat(production.matches("password123", weak)).isFalse();
+        assertThat(production.isAcceptableHash(weak)).isFalse();
+        assertThat(passwordHasher.isAcceptableHash(weak)).isTrue();
+        assertThat(passwordHasher.isAcceptableHash("password123")).isFalse();
+        assertThat(passwordHasher.isAcceptableHash(PasswordHasher.PREFIX + "1000$c2FsdA$c2hvcnQ")).isFalse();
+        production.shutdown();
+    }
+
+    @Test
+    void matches_HashAboveMaximumIterations_ShouldBeFalse() {
+        // Given
+        PasswordHasher costly = new PasswordHasher(1000 * PasswordHasher.MAX_ITERATION_FACTOR + 1, 1, 1);
+        PasswordHasher headroom = new PasswordHasher(1000 * PasswordHasher.MAX_ITERATION_FACTOR, 1, 1);
+        String tooCostly = costly.hash("password123");
+
+        // When & Then
+        assertThat(passwordHasher.matches("password123", tooCostly)).isFalse();
+        assertThat(passwordHasher.isAcceptableHash(tooCostly)).isFalse();
+        assertThat(passwordHasher.matches("password123", headroom.hash("password123"))).isTrue();
+        assertThat(passwordHasher.isAcceptableHash(PasswordHasher.PREFIX + Integer.MAX_VALUE + "$c2FsdA$"
+                + "A".repeat(43))).isFalse();
+        costly.shutdown();
+        headroom.shutdown();
+    }
+
+    @Test
+    void matches_MalformedHash_ShouldBeFalse() {
+        // When & Then
+        assertThat(passwordHasher.matches("password123", PasswordHasher.PREFIX + "1000$not base64!$x")).isFalse();
+        assertThat(passwordHasher.matches("password123", PasswordHasher.PREFIX + "many")).isFalse();
+        assertThat(passwordHasher.needsRehash(PasswordHasher.PREFIX + "many")).isTrue();
+    }
+
+    @Test
+    void submit_PoolAndQueueFull_ShouldFailWithoutWaiting() throws Exception {
+        // Given - one thread busy and the one queue slot taken
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = passwordHasher.submit(() -> {
+            started.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        started.await();
+        CompletableFuture<String> queued = passwordHasher.submit(() -> "queued");
+
+        // When
+        CompletableFuture<String> rejected = passwordHasher.submit(() -> "rejected");
+
+        // Then
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        release.countDown();
+        assertThat(running.join()).isTrue();
+        assertThat(queued.join()).isEqualTo("queued");
+    }
+
+    @Test
+    void hashAll_SeveralPasswords_ShouldHashEachInOrder() {
+        // Given
+        PasswordHasher pooled = new PasswordHasher(1000, 4, 1);
+        List<String> passwords = List.of("pw1", "pw2", "pw3", "pw4", "pw5");
+
+        // When
+        List<String> hashes;
+        try {
+            hashes = pooled.hashAll(passwords);
+        } finally {
+            pooled.shutdown();
+        }
+
+        // Then
+        assertThat(hashes).hasSize(passwords.size());
+        for (int i = 0; i < passwords.size(); i++) {
+            assertThat(passwordHasher.matches(passwords.get(i), hashes.get(i))).isTrue();
+        }
+    }
+
+    @Test
+    void calibrate_ShouldReturnAPositiveMultipleOfTenThousand() {
+        // When
+        int iterations = PasswordHasher.calibrate(5);
+
+        // Then
+        assertThat(iterations).isPositive();
+        assertThat(iterations % 10_000).isZero();
+    }
+}
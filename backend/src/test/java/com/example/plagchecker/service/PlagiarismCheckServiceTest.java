@@ -0,0 +1,303 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.CheckMode;
+import com.example.plagchecker.dto.CheckRequest;
+import com.example.plagchecker.dto.CheckResult;
+import com.example.plagchecker.dto.PairResult;
+import com.example.plagchecker.engine.Fingerprints;
+import com.example.plagchecker.engine.MinHasher;
+import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.model.Submission;
+import com.example.plagchecker.repository.AssignmentKey;
+import com.example.plagchecker.repository.BlobStore;
+import com.example.plagchecker.repository.FingerprintIndex;
+import com.example.plagchecker.repository.PairResultStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PlagiarismCheckServiceTest {
+
+    @Mock
+    private SubmissionService submissionService;
+
+    @Spy
+    private FingerprintService fingerprintService = new FingerprintService(5, 4);
+
+    @Spy
+    private PairResultStore pairResultStore = new PairResultStore();
+
+    @Spy
+    private PairScoreCache pairScoreCache = new PairScoreCache(1 << 20);
+
+    @InjectMocks
+    private PlagiarismCheckService plagiarismCheckService;
+
+    private List<Submission> submissions;
+
+    private static final AssignmentKey HW1 = new AssignmentKey(1L, "hw1");
+
+    private static final String ORIGINAL = "int sum(int[] values) { int total = 0; for (int v : values) { total += v; } return total; }";
+    private static final String COMMENTED_COPY = "int sum(int[] values) { int total = 0; for (int v : values) { total += v; } return total; } // mine";
+    private static final String UNRELATED = "String greet(String name) { return \"Hello, \" + name + \"!\"; }";
+
+    @BeforeEach
+    void setUp() {
+        Instructor instructor = new Instructor("john_doe", "password123", "John", "Doe");
+        instructor.setId(1L);
+        submissions = List.of(
+                submission(instructor, 1L, ORIGINAL),
+                submission(instructor, 2L, COMMENTED_COPY),
+                submission(instructor, 3L, UNRELATED));
+        FingerprintIndex.AssignmentIndex index = new FingerprintIndex().getOrLoad(HW1, loaded -> {
+            for (Submission submission : submissions) {
+                loaded.add(submission.getId(), submission.getContentHash(), Fingerprints.decode(submission.getFingerprints()).distinctHashes());
+            }
+        });
+        given(submissionService.getSubmissionsByAssignment(1L, "hw1")).willReturn(submissions);
+        given(submissionService.indexFor(HW1)).willReturn(index);
+    }
+
+    private Submission submission(Instructor instructor, Long id, String content) {
+        Submission submission = new Submission(instructor, "hw1", "student" + id, "Sum.java", content);
+        submission.setId(id);
+        submission.setContentHash(BlobStore.sha256(content));
+        long[] hashes = fingerprintService.fingerprint(content).distinctHashes();
+        submission.setFingerprints(fingerprintService.fingerprint(content).encode());
+        submission.setMinHashSignature(MinHasher.encode(fingerprintService.minHashSignature(hashes)));
+        return submission;
+    }
+
+    @Test
+    void runCheck_IndexMode_ShouldReportCopiedPair() {
+        // Given
+        CheckRequest request = new CheckRequest(1L, "hw1", CheckMode.INDEX);
+
+        // When
+        CheckResult result = plagiarismCheckService.runCheck(request);
+
+        // Then
+        assertThat(result.getSubmissions()).isEqualTo(3);
+        assertThat(result.getPairs()).hasSize(1);
+        PairResult pair = result.getPairs().get(0);
+        assertThat(pair.getFirstSubmissionId()).isEqualTo(1L);
+        assertThat(pair.getSecondSubmissionId()).isEqualTo(2L);
+        assertThat(pair.getSimilarity()).isGreaterThan(0.5);
+        assertThat(result.getRecall()).isNull();
+    }
+
+    @Test
+    void runCheck_LshMode_ShouldFindSamePairsAsIndexModeWithFullRecall() {
+        // Given
+        CheckRequest request = new CheckRequest(1L, "hw1", CheckMode.MINHASH_LSH);
+        request.setMeasureRecall(true);
+
+        // When
+        CheckResult result = plagiarismCheckService.runCheck(request);
+
+        // Then
+        assertThat(result.getMode()).isEqualTo(CheckMode.MINHASH_LSH);
+        assertThat(result.getPairs()).hasSize(1);
+        assertThat(result.getPairs().get(0).getFirstSubmissionId()).isEqualTo(1L);
+        assertThat(result.getComparedPairs()).isLessThan(3);
+        assertThat(result.getRecall()).isEqualTo(1.0);
+    }
+
+    @Test
+    void runCheck_LshModeEmptySubmissions_ShouldNotPairThem() {
+        // Given
+        Instructor instructor = submissions.get(0).getInstructor();
+        List<Submission> withEmpty = List.of(submissions.get(0), submissions.get(1),
+                submission(instructor, 4L, ""), submission(instructor, 5L, " "));
+        given(submissionService.getSubmissionsByAssignment(1L, "hw1")).willReturn(withEmpty);
+        CheckRequest request = new CheckRequest(1L, "hw1", CheckMode.MINHASH_LSH);
+        request.setThreshold(0.0);
+
+        // When
+        CheckResult result = plagiarismCheckService.runCheck(request);
+
+        // Then
+        assertThat(result.getCandidatePairs()).isEqualTo(1);
+        assertThat(result.getPairs()).extracting(PairResult::getSecondSubmissionId).containsExactly(2L);
+    }
+
+    @Test
+    void runCheck_AllPairsMode_ShouldCompareEveryPairAndReportThroughput() {
+        // Given
+        CheckRequest request = new CheckRequest(1L, "hw1", CheckMode.ALL_PAIRS);
+        request.setParallelism(2);
+
+        // When
+        CheckResult result = plagiarismCheckService.runCheck(request);
+
+        // Then
+        assertThat(result.getComparedPairs()).isEqualTo(3L);
+        assertThat(result.getPairs()).hasSize(1);
+        assertThat(result.getPairs().get(0).getFirstSubmissionId()).isEqualTo(1L);
+        assertThat(result.getPairs().get(0).getSecondSubmissionId()).isEqualTo(2L);
+        assertThat(result.getPairsPerSecond()).isGreaterThan(0.0);
+    }
+
+    @Test
+    void runCheck_AllPairsModeIdenticalEmptySubmissions_ShouldNotScoreThemAsCopies() {
+        // Given
+        Instructor instructor = submissions.get(0).getInstructor();
+        List<Submission> withEmpty = List.of(submissions.get(0), submissions.get(1),
+                submission(instructor, 4L, ""), submission(instructor, 5L, ""));
+        given(submissionService.getSubmissionsByAssignment(1L, "hw1")).willReturn(withEmpty);
+        CheckRequest request = new CheckRequest(1L, "hw1", CheckMode.ALL_PAIRS);
+
+        // When
+        CheckResult result = plagiarismCheckService.runCheck(request);
+
+        // Then
+        assertThat(result.getComparedPairs()).isEqualTo(6L);
+        assertThat(result.getPairs()).extracting(PairResult::getSecondSubmissionId).containsExactly(2L);
+    }
+
+    @Test
+    void runCheck_FingerprintsInMostSubmissions_ShouldBeLeftOutOfEveryMode() {
+        // Given: with three submissions, anything two of them share counts as common
+        ReflectionTestUtils.setField(plagiarismCheckService, "commonMinSubmissions", 3);
+        CheckRequest request = new CheckRequest(1L, "hw1", CheckMode.ALL_PAIRS);
+
+        // When
+        CheckResult result = plagiarismCheckService.runCheck(request);
+
+        // Then
+        assertThat(result.getSuppressedFingerprints()).isGreaterThan(0);
+        assertThat(result.getPairs()).isEmpty();
+        assertThat(submissionService.indexFor(HW1).stats().getSuppressedFingerprints())
+                .isEqualTo(result.getSuppressedFingerprints());
+    }
+
+    @Test
+    void runCheck_TopKLimit_ShouldReturnOnlyMostSimilarPairs() {
+        // Given
+        CheckRequest request = new CheckRequest(1L, "hw1", CheckMode.ALL_PAIRS);
+        request.setThreshold(0.0);
+        request.setTopK(1);
+        request.setPerSubmissionTopK(0);
+
+        // When
+        CheckResult result = plagiarismCheckService.runCheck(request);
+
+        // Then
+        assertThat(result.getMatchedPairs()).isEqualTo(3L);
+        assertThat(result.getPairs()).hasSize(1);
+        assertThat(result.getPairs().get(0).getFirstSubmissionId()).isEqualTo(1L);
+        assertThat(result.getPairs().get(0).getSecondSubmissionId()).isEqualTo(2L);
+        assertThat(plagiarismCheckService.getResults(1L, "hw1").orElseThrow().getPairs()).hasSize(1);
+    }
+
+    @Test
+    void runCheck_NonPositiveTopK_ShouldThrowException() {
+        // Given
+        CheckRequest request = new CheckRequest(1L, "hw1", CheckMode.INDEX);
+        request.setTopK(0);
+
+        // When & Then
+        assertThatThrownBy(() -> plagiarismCheckService.runCheck(request))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void runCheck_RepeatedAllPairsCheck_ShouldServeScoresFromCache() {
+        // Given
+        CheckRequest request = new CheckRequest(1L, "hw1", CheckMode.ALL_PAIRS);
+
+        // When
+        CheckResult first = plagiarismCheckService.runCheck(request);
+        CheckResult second = plagiarismCheckService.runCheck(request);
+
+        // Then
+        assertThat(second.getPairs()).hasSize(first.getPairs().size());
+        assertThat(plagiarismCheckService.getPairCacheStats().getMisses()).isEqualTo(3L);
+        assertThat(plagiarismCheckService.getPairCacheStats().getHits()).isEqualTo(3L);
+    }
+
+    @Test
+    void runCheck_LanguageOrLexerSettingChanged_ShouldNotReuseCachedScores() {
+        // Given
+        CheckRequest request = new CheckRequest(1L, "hw1", CheckMode.ALL_PAIRS);
+        plagiarismCheckService.runCheck(request);
+
+        // When
+        submissions.get(0).setLanguage("java");
+        plagiarismCheckService.runCheck(request);
+        ReflectionTestUtils.setField(fingerprintService, "lexersEnabled", false);
+        plagiarismCheckService.runCheck(request);
+
+        // Then
+        assertThat(plagiarismCheckService.getPairCacheStats().getHits()).isEqualTo(1L);
+        assertThat(plagiarismCheckService.getPairCacheStats().getMisses()).isEqualTo(3L + 2L + 3L);
+    }
+
+    @Test
+    void effectiveParallelism_ShouldNeverExceedConfiguredCap() {
+        // Given
+        ReflectionTestUtils.setField(plagiarismCheckService, "maxParallelism", 3);
+
+        // When & Then
+        assertThat(plagiarismCheckService.effectiveParallelism(64)).isEqualTo(3);
+        assertThat(plagiarismCheckService.effectiveParallelism(2)).isEqualTo(2);
+        assertThat(plagiarismCheckService.effectiveParallelism(0)).isEqualTo(3);
+    }
+
+    @Test
+    void acquireWorkers_ConcurrentChecks_ShouldShareTheCap() {
+        // Given
+        Semaphore permits = new Semaphore(3);
+
+        // When
+        int first = PlagiarismCheckService.acquireWorkers(permits, 2);
+        int second = PlagiarismCheckService.acquireWorkers(permits, 4);
+
+        // Then
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(1);
+        assertThat(permits.availablePermits()).isZero();
+    }
+
+    @Test
+    void runCheck_LshModeWithTooManyRows_ShouldThrowException() {
+        // Given
+        CheckRequest request = new CheckRequest(1L, "hw1", CheckMode.MINHASH_LSH);
+        request.setBands(64);
+        request.setRows(4);
+
+        // When & Then
+        assertThatThrownBy(() -> plagiarismCheckService.runCheck(request))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void runCheck_MissingAssignment_ShouldThrowException() {
+        assertThatThrownBy(() -> plagiarismCheckService.runCheck(new CheckRequest(1L, null, CheckMode.INDEX)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("assignment is required");
+    }
+
+    @Test
+    void runCheck_MissingInstructor_ShouldThrowException() {
+        assertThatThrownBy(() -> plagiarismCheckService.runCheck(new CheckRequest(null, "hw1", CheckMode.INDEX)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("instructorId is required");
+    }
+}
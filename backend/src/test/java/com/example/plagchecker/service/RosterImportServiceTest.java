@@ -0,0 +1,222 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.ImportError;
+import com.example.plagchecker.dto.ImportReport;
+import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.repository.InstructorRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class RosterImportServiceTest {
+
+    private RosterImportService rosterImportService;
+    private InstructorRepository instructorRepository;
+    private EntityManager entityManager;
+    private Session session;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        instructorRepository = mock(InstructorRepository.class);
+        entityManager = mock(EntityManager.class);
+        session = mock(Session.class);
+        given(entityManager.unwrap(Session.class)).willReturn(session);
+        given(instructorRepository.findByUsernameIn(anyCollection())).willReturn(List.of());
+        passwordHasher = new PasswordHasher(1000, 1, 4);
+        rosterImportService = new RosterImportService();
+        ReflectionTestUtils.setField(rosterImportService, "passwordHasher", passwordHasher);
+        ReflectionTestUtils.setField(rosterImportService, "instructorRepository", instructorRepository);
+        ReflectionTestUtils.setField(rosterImportService, "entityManager", entityManager);
+        ReflectionTestUtils.setField(rosterImportService, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(rosterImportService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(rosterImportService, "batchSize", 2);
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static InstructorRepository.Listing listing(String username) {
+        return new InstructorRepository.Listing() {
+            public Long getId() { return 1L; }
+            public String getUsername() { return username; }
+            public String getFirstName() { return "First"; }
+            public String getLastName() { return "Last"; }
+        };
+    }
+
+    @Test
+    void importCsv_ValidRoster_ShouldSaveInBatches() throws Exception {
+        // Given
+        String roster = "username,password,firstName,lastName\n"
+                + "alice,pw1,Alice,Adams\n"
+                + "bob,pw2,\"Bob, Jr.\",Brown\n"
+                + "carol,pw3,Carol,\"O\"\"Neil\"\n";
+
+        // When
+        ImportReport report = rosterImportService.importCsv(body(roster));
+
+        // Then
+        assertThat(report.getRows()).isEqualTo(3);
+        assertThat(report.getCreated()).isEqualTo(3);
+        assertThat(report.getRejected()).isZero();
+        assertThat(report.getBatches()).isEqualTo(2);
+        ArgumentCaptor<Instructor> saved = ArgumentCaptor.forClass(Instructor.class);
+        verify(entityManager, times(3)).persist(saved.capture());
+        assertThat(saved.getAllValues().get(1).getFirstName()).isEqualTo("Bob, Jr.");
+        assertThat(saved.getAllValues().get(2).getLastName()).isEqualTo("O\"Neil");
+        assertThat(passwordHasher.matches("pw1", saved.getAllValues().get(0).getPassword())).isTrue();
+        assertThat(saved.getAllValues().get(0).getPassword()).isNotEqualTo("pw1");
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(session, times(2)).setJdbcBatchSize(2);
+    }
+
+    @Test
+    void importCsv_AlreadyHashedPassword_ShouldBeKept() throws Exception {
+        // Given
+        String hash = passwordHasher.hash("pw1");
+        String roster = "username,password,firstName,lastName\n"
+                + "alice," + hash + ",Alice,Adams\n";
+
+        // When
+        ImportReport report = rosterImportService.importCsv(body(roster));
+
+        // Then
+        assertThat(report.getCreated()).isEqualTo(1);
+        ArgumentCaptor<Instructor> saved = ArgumentCaptor.forClass(Instructor.class);
+        verify(entityManager).persist(saved.capture());
+        assertThat(saved.getValue().getPassword()).isEqualTo(hash);
+    }
+
+    @Test
+    void importCsv_HashBelowMinimumIterations_ShouldBeRejected() throws Exception {
+        // Given
+        String weak = passwordHasher.hash("pw1");
+        PasswordHasher production = new PasswordHasher(PasswordHasher.MIN_ITERATIONS, 1, 4);
+        ReflectionTestUtils.setField(rosterImportService, "passwordHasher", production);
+        String roster = "username,password,firstName,lastName\n"
+                + "alice," + weak + ",Alice,Adams\n";
+
+        // When
+        ImportReport report;
+        try {
+            report = rosterImportService.importCsv(body(roster));
+        } finally {
+            production.shutdown();
+        }
+
+        // Then
+        assertThat(report.getCreated()).isZero();
+        assertThat(report.getRejected()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getMessage()).contains("too few iterations");
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void importCsv_BadRows_ShouldBeReportedWithoutAborting() throws Exception {
+        // Given
+        given(instructorRepository.findByUsernameIn(anyCollection())).willReturn(List.of(listing("taken")));
+        String roster = "lastName,firstName,username,password\n"
+                + "Adams,Alice,alice,pw1\n"
+                + "Brown,,bob,pw2\n"
+                + "Adams,Again,alice,pw3\n"
+                + "Tak,En,taken,pw4\n"
+                + "\"Unclosed,Dan,dan,pw5\n"
+                + "Evans,Eve,eve,pw6\n";
+
+        // When
+        ImportReport report = rosterImportService.importCsv(body(roster));
+
+        // Then
+        assertThat(report.getRows()).isEqualTo(6);
+        assertThat(report.getCreated()).isEqualTo(2);
+        assertThat(report.getRejected()).isEqualTo(4);
+        assertThat(report.getErrors()).extracting(ImportError::getRow).containsExactlyInAnyOrder(3L, 4L, 5L, 6L);
+        assertThat(report.getErrors()).extracting(ImportError::getMessage)
+                .contains("firstName is required", "Username appears more than once", "Username already exists");
+    }
+
+    @Test
+    void importCsv_MissingColumn_ShouldThrow() {
+        // When & Then
+        assertThatThrownBy(() -> rosterImportService.importCsv(body("username,password,firstName\nalice,pw,Alice\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void importCsv_BatchFails_ShouldRetryRowsOneByOne() throws Exception {
+        // Given - the batch flush fails, then the rows are saved alone and only the second fails again
+        willThrow(new PersistenceException("batch"))
+                .willDoNothing()
+                .willThrow(new PersistenceException("bob"))
+                .given(entityManager).flush();
+        String roster = "username,password,firstName,lastName\nalice,pw1,Alice,Adams\nbob,pw2,Bob,Brown\n";
+
+        // When
+        ImportReport report = rosterImportService.importCsv(body(roster));
+
+        // Then
+        assertThat(report.getCreated()).isEqualTo(1);
+        assertThat(report.getRejected()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getUsername()).isEqualTo("bob");
+    }
+
+    @Test
+    void importJson_ArrayAndLines_ShouldBothBeRead() throws Exception {
+        // Given
+        String array = "[{\"username\":\"alice\",\"password\":\"pw1\",\"firstName\":\"Alice\",\"lastName\":\"Adams\"},"
+                + "{\"username\":\"bob\",\"password\":\"pw2\",\"firstName\":\"Bob\",\"lastName\":\"Brown\"}]";
+        String lines = "{\"username\":\"carol\",\"password\":\"pw3\",\"firstName\":\"Carol\",\"lastName\":\"Clark\"}\n"
+                + "{\"username\":\"dan\",\"password\":\"pw4\",\"firstName\":\"Dan\"}\n";
+
+        // When
+        ImportReport fromArray = rosterImportService.importJson(body(array));
+        ImportReport fromLines = rosterImportService.importJson(body(lines));
+
+        // Then
+        assertThat(fromArray.getCreated()).isEqualTo(2);
+        assertThat(fromLines.getCreated()).isEqualTo(1);
+        assertThat(fromLines.getErrors()).extracting(ImportError::getMessage).containsExactly("lastName is required");
+    }
+
+    @Test
+    void importJson_MalformedAccount_ShouldKeepEarlierRowsAndStop() throws Exception {
+        // Given
+        String lines = "{\"username\":\"alice\",\"password\":\"pw1\",\"firstName\":\"Alice\",\"lastName\":\"Adams\"}\n"
+                + "{\"username\": oops}\n"
+                + "{\"username\":\"bob\",\"password\":\"pw2\",\"firstName\":\"Bob\",\"lastName\":\"Brown\"}\n";
+
+        // When
+        ImportReport report = rosterImportService.importJson(body(lines));
+
+        // Then
+        assertThat(report.getCreated()).isEqualTo(1);
+        assertThat(report.getRejected()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getRow()).isEqualTo(2L);
+        verify(entityManager, times(1)).persist(any(Instructor.class));
+    }
+}
@@ -0,0 +1,434 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.dto.AssignmentResults;
+import com.example.plagchecker.dto.IndexMemoryStats;
+import com.example.plagchecker.dto.OverlapCandidate;
+import com.example.plagchecker.dto.PairResult;
+import com.example.plagchecker.engine.Fingerprints;
+import com.example.plagchecker.model.BaseCode;
+import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.model.Submission;
+import com.example.plagchecker.repository.AssignmentKey;
+import com.example.plagchecker.repository.BaseCodeRepository;
+import com.example.plagchecker.repository.BlobStore;
+import com.example.plagchecker.repository.FingerprintIndex;
+import com.example.plagchecker.repository.InstructorRepository;
+import com.example.plagchecker.repository.PairResultStore;
+import com.example.plagchecker.repository.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubmissionServiceTest {
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @Mock
+    private InstructorRepository instructorRepository;
+
+    @Spy
+    private FingerprintService fingerprintService = new FingerprintService(5, 4);
+
+    @Spy
+    private FingerprintIndex fingerprintIndex = new FingerprintIndex();
+
+    @Spy
+    private PairResultStore pairResultStore = new PairResultStore();
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private BaseCodeRepository baseCodeRepository;
+
+    @InjectMocks
+    private SubmissionService submissionService;
+
+    private Instructor instructor;
+
+    private static final AssignmentKey HW1 = new AssignmentKey(1L, "hw1");
+
+    @BeforeEach
+    void setUp() {
+        instructor = new Instructor("john_doe", "password123", "John", "Doe");
+        instructor.setId(1L);
+    }
+
+    // Test cases for createSubmission() method
+    @Test
+    void createSubmission_ValidInstructor_ShouldStoreFingerprints() {
+        // Given
+        String content = "public class Main { public static void main(String[] args) { System.out.println(42); } }";
+        given(instructorRepository.findById(1L)).willReturn(Optional.of(instructor));
+        given(submissionRepository.save(any(Submission.class))).willAnswer(invocation -> {
+            Submission saved = invocation.getArgument(0);
+            saved.setId(10L);
+            return saved;
+        });
+
+        // When
+        Optional<Submission> result = submissionService.createSubmission(1L, "hw1", "alice", "Main.java", content);
+
+        // Then
+        assertThat(result).isPresent();
+        Submission submission = result.get();
+        assertThat(submission.getId()).isEqualTo(10L);
+        assertThat(submission.getInstructor()).isEqualTo(instructor);
+        assertThat(submission.getAssignment()).isEqualTo("hw1");
+        assertThat(submission.getSubmittedAt()).isNotNull();
+        assertThat(submission.getFingerprintCount()).isGreaterThan(0);
+        assertThat(Fingerprints.decode(submission.getFingerprints()).hashes())
+                .isEqualTo(fingerprintService.fingerprint(content, "Main.java").hashes());
+        assertThat(submission.getLanguage()).isEqualTo("java");
+
+        verify(submissionRepository, times(1)).save(any(Submission.class));
+    }
+
+    @Test
+    void createSubmission_InstructorNotFound_ShouldReturnEmptyOptional() {
+        // Given
+        given(instructorRepository.findById(999L)).willReturn(Optional.empty());
+
+        // When
+        Optional<Submission> result = submissionService.createSubmission(999L, "hw1", "alice", "Main.java", "content");
+
+        // Then
+        assertThat(result).isNotPresent();
+
+        verify(submissionRepository, never()).save(any(Submission.class));
+        verify(fingerprintService, never()).fingerprint(any(), any());
+    }
+
+    @Test
+    void createSubmission_ShouldAddFingerprintsToAssignmentIndex() {
+        // Given
+        given(instructorRepository.findById(1L)).willReturn(Optional.of(instructor));
+        given(submissionRepository.save(any(Submission.class))).willAnswer(invocation -> {
+            Submission saved = invocation.getArgument(0);
+            saved.setId(10L);
+            return saved;
+        });
+
+        // When
+        submissionService.createSubmission(1L, "hw1", "alice", "Main.java", "int x = compute(y) + 1;");
+
+        // Then
+        assertThat(submissionService.getIndexStats(1L, "hw1").getDocuments()).isEqualTo(1);
+        assertThat(submissionService.getIndexStats(1L, "hw2").getDocuments()).isEqualTo(0);
+        assertThat(submissionService.getIndexStats(2L, "hw1").getDocuments()).isEqualTo(0);
+    }
+
+    @Test
+    void getIndexMemoryStats_HeapIndex_ShouldReportLoadedAssignments() {
+        // Given
+        given(submissionRepository.findByInstructor_IdAndAssignment(1L, "hw1")).willReturn(List.of());
+        submissionService.indexFor(HW1);
+
+        // When
+        IndexMemoryStats stats = submissionService.getIndexMemoryStats();
+
+        // Then
+        assertThat(stats.isOffHeap()).isFalse();
+        assertThat(stats.getAssignments()).isEqualTo(1);
+        assertThat(stats.getIndexBytes()).isGreaterThan(0);
+        assertThat(stats.getOffHeapBytes()).isEqualTo(0);
+        assertThat(stats.getHeapUsedBytes()).isGreaterThan(0);
+    }
+
+    @Test
+    void createSubmission_KnownContent_ShouldReuseStoredFingerprints() {
+        // Given
+        String content = "int total = 0; for (int i = 0; i < n; i++) { total += values[i]; } return total;";
+        String hash = BlobStore.sha256(content);
+        Submission earlier = new Submission(instructor, "hw1", "alice", "Main.java", content);
+        earlier.setId(1L);
+        earlier.setFingerprints(new FingerprintService(5, 4).fingerprint(content, "Main.java").encode());
+        earlier.setFingerprintCount(7);
+        earlier.setLanguage("java");
+        earlier.setFingerprintK(5);
+        earlier.setFingerprintWindow(4);
+        given(blobStore.put(content)).willReturn(hash);
+        given(submissionRepository.findTwin(hash, "java", 5, 4)).willReturn(Optional.of(earlier));
+        given(instructorRepository.findById(1L)).willReturn(Optional.of(instructor));
+        given(submissionRepository.save(any(Submission.class))).willAnswer(invocation -> {
+            Submission saved = invocation.getArgument(0);
+            saved.setId(10L);
+            return saved;
+        });
+
+        // When
+        Optional<Submission> result = submissionService.createSubmission(1L, "hw2", "bob", "Main.java", content);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().getContentHash()).isEqualTo(hash);
+        assertThat(result.get().getFingerprints()).isEqualTo(earlier.getFingerprints());
+        assertThat(result.get().getFingerprintCount()).isEqualTo(7);
+        assertThat(submissionService.getIndexStats(1L, "hw2").getDocuments()).isEqualTo(1);
+
+        verify(fingerprintService, never()).fingerprint(any(), any());
+    }
+
+    @Test
+    void createSubmission_KnownContentOfOtherLanguage_ShouldFingerprintAgain() {
+        // Given
+        String content = "total = 0\nfor value in values:\n    total += value\n";
+        String hash = BlobStore.sha256(content);
+        Submission earlier = new Submission(instructor, "hw1", "alice", "notes.txt", content);
+        earlier.setId(1L);
+        earlier.setFingerprints(new FingerprintService(5, 4).fingerprint(content).encode());
+        earlier.setLanguage("text");
+        given(blobStore.put(content)).willReturn(hash);
+        given(instructorRepository.findById(1L)).willReturn(Optional.of(instructor));
+        given(submissionRepository.save(any(Submission.class))).willAnswer(invocation -> {
+            Submission saved = invocation.getArgument(0);
+            saved.setId(2L);
+            return saved;
+        });
+
+        // When
+        Optional<Submission> result = submissionService.createSubmission(1L, "hw1", "bob", "sum.py", content);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().getLanguage()).isEqualTo("python");
+        verify(submissionRepository).findTwin(hash, "python", 5, 4);
+        assertThat(result.get().getFingerprints())
+                .isNotEqualTo(earlier.getFingerprints())
+                .isEqualTo(fingerprintService.fingerprint(content, "sum.py").encode());
+    }
+
+    @Test
+    void createSubmission_KnownContentOfOtherWindow_ShouldFingerprintAgain() {
+        // Given
+        String content = "int total = 0; for (int i = 0; i < n; i++) { total += values[i]; } return total;";
+        String hash = BlobStore.sha256(content);
+        Submission earlier = new Submission(instructor, "hw1", "alice", "Main.java", content);
+        earlier.setId(1L);
+        earlier.setFingerprints(new FingerprintService(5, 8).fingerprint(content, "Main.java").encode());
+        earlier.setLanguage("java");
+        earlier.setFingerprintK(5);
+        earlier.setFingerprintWindow(8);
+        given(blobStore.put(content)).willReturn(hash);
+        given(instructorRepository.findById(1L)).willReturn(Optional.of(instructor));
+        given(submissionRepository.save(any(Submission.class))).willAnswer(invocation -> {
+            Submission saved = invocation.getArgument(0);
+            saved.setId(2L);
+            return saved;
+        });
+
+        // When
+        Optional<Submission> result = submissionService.createSubmission(1L, "hw2", "bob", "Main.java", content);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().getFingerprintK()).isEqualTo(5);
+        assertThat(result.get().getFingerprintWindow()).isEqualTo(4);
+        verify(submissionRepository).findTwin(hash, "java", 5, 4);
+        assertThat(result.get().getFingerprints())
+                .isNotEqualTo(earlier.getFingerprints())
+                .isEqualTo(fingerprintService.fingerprint(content, "Main.java").encode());
+    }
+
+    @Test
+    void findExactDuplicates_ShouldReturnOtherSubmissionsWithSameHash() {
+        // Given
+        Submission original = new Submission(instructor, "hw1", "alice", "Main.java", "content");
+        original.setId(1L);
+        original.setContentHash("abc");
+        Submission copy = new Submission(instructor, "hw1", "bob", "Main.java", "content");
+        copy.setId(2L);
+        copy.setContentHash("abc");
+        given(submissionRepository.findById(2L)).willReturn(Optional.of(copy));
+        given(submissionRepository.findByInstructor_IdAndAssignmentAndContentHash(1L, "hw1", "abc")).willReturn(List.of(original, copy));
+
+        // When
+        Optional<List<Submission>> result = submissionService.findExactDuplicates(2L);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get()).containsExactly(original);
+    }
+
+    // Test cases for findOverlapping() method
+    @Test
+    void findOverlapping_CopiedSubmission_ShouldReturnOriginalAsCandidate() {
+        // Given
+        String original = "int total = 0; for (int i = 0; i < n; i++) { total += values[i]; } return total;";
+        Submission first = submissionWithFingerprints(1L, original);
+        Submission copy = submissionWithFingerprints(2L, original);
+        Submission unrelated = submissionWithFingerprints(3L, "System.out.println(\"hello world, nothing to see\");");
+        given(submissionRepository.findByInstructor_IdAndAssignment(1L, "hw1")).willReturn(List.of(first, copy, unrelated));
+        given(submissionRepository.findById(2L)).willReturn(Optional.of(copy));
+
+        // When
+        Optional<List<OverlapCandidate>> result = submissionService.findOverlapping(2L);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get()).hasSize(1);
+        assertThat(result.get().get(0).getSubmissionId()).isEqualTo(1L);
+        assertThat(result.get().get(0).getSimilarity()).isEqualTo(1.0);
+    }
+
+    @Test
+    void findOverlapping_OnlyStarterCodeShared_ShouldReturnNoCandidates() {
+        // Given
+        String template = "import java.util.Scanner;\npublic class Main {\n    public static void main(String[] args) {\n"
+                + "        Scanner in = new Scanner(System.in);\n        int n = in.nextInt();\n        // TODO\n    }\n}\n";
+        Submission sum = submissionWithFingerprints(1L, template.replace("// TODO",
+                "long total = 0; for (int i = 0; i < n; i++) { total += in.nextLong(); } System.out.println(total);"));
+        Submission name = submissionWithFingerprints(2L, template.replace("// TODO",
+                "String name = in.next(); if (name.isEmpty()) { throw new IllegalStateException(\"empty\"); }"));
+        BaseCode baseCode = new BaseCode(instructor, "hw1", "Main.java");
+        baseCode.setFingerprints(fingerprintService.fingerprint(template, "Main.java").encode());
+        given(baseCodeRepository.findByInstructor_IdAndAssignment(1L, "hw1")).willReturn(List.of(baseCode));
+        given(submissionRepository.findByInstructor_IdAndAssignment(1L, "hw1")).willReturn(List.of(sum, name));
+        given(submissionRepository.findById(2L)).willReturn(Optional.of(name));
+
+        // When
+        Optional<List<OverlapCandidate>> result = submissionService.findOverlapping(2L);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get()).isEmpty();
+        assertThat(submissionService.getIndexStats(1L, "hw1").getSuppressedFingerprints()).isGreaterThan(0);
+    }
+
+    // Test cases for incremental re-checks
+    @Test
+    void createSubmission_AfterFullCheck_ShouldMergeOnlyNewPairs() {
+        // Given
+        String original = "int total = 0; for (int i = 0; i < n; i++) { total += values[i]; } return total;";
+        Submission first = submissionWithFingerprints(1L, original);
+        Submission unrelated = submissionWithFingerprints(2L, "System.out.println(\"hello world, nothing to see\");");
+        given(submissionRepository.findByInstructor_IdAndAssignment(1L, "hw1")).willReturn(List.of(first, unrelated));
+        given(instructorRepository.findById(1L)).willReturn(Optional.of(instructor));
+        given(submissionRepository.save(any(Submission.class))).willAnswer(invocation -> {
+            Submission saved = invocation.getArgument(0);
+            saved.setId(3L);
+            return saved;
+        });
+        pairResultStore.replace(HW1, 0.5, 500, 3, List.of());
+
+        // When
+        submissionService.createSubmission(1L, "hw1", "carol", "Main.java", original);
+
+        // Then
+        AssignmentResults results = pairResultStore.getResults(HW1).orElseThrow();
+        assertThat(results.getPairs()).hasSize(1);
+        PairResult pair = results.getPairs().get(0);
+        assertThat(pair.getFirstSubmissionId()).isEqualTo(1L);
+        assertThat(pair.getSecondSubmissionId()).isEqualTo(3L);
+        assertThat(pair.getSimilarity()).isEqualTo(1.0);
+        assertThat(results.getIncrementalUpdates()).isEqualTo(1);
+    }
+
+    @Test
+    void createSubmission_WithoutFullCheck_ShouldNotStoreResults() {
+        // Given
+        given(instructorRepository.findById(1L)).willReturn(Optional.of(instructor));
+        given(submissionRepository.save(any(Submission.class))).willAnswer(invocation -> {
+            Submission saved = invocation.getArgument(0);
+            saved.setId(10L);
+            return saved;
+        });
+
+        // When
+        submissionService.createSubmission(1L, "hw1", "alice", "Main.java", "int x = compute(y) + 1;");
+
+        // Then
+        assertThat(pairResultStore.getResults(HW1)).isNotPresent();
+    }
+
+    @Test
+    void deleteSubmission_ShouldDropItsPairsAndIndexEntry() {
+        // Given
+        String original = "int total = 0; for (int i = 0; i < n; i++) { total += values[i]; } return total;";
+        Submission first = submissionWithFingerprints(1L, original);
+        Submission copy = submissionWithFingerprints(2L, original);
+        given(submissionRepository.findByInstructor_IdAndAssignment(1L, "hw1")).willReturn(List.of(first, copy));
+        given(submissionRepository.findById(2L)).willReturn(Optional.of(copy));
+        pairResultStore.replace(HW1, 0.5, 500, 3, List.of(new PairResult(1L, 2L, 1.0)));
+
+        // When
+        boolean deleted = submissionService.deleteSubmission(2L);
+
+        // Then
+        assertThat(deleted).isTrue();
+        assertThat(pairResultStore.getResults(HW1).orElseThrow().getPairs()).isEmpty();
+        assertThat(submissionService.getIndexStats(1L, "hw1").getDocuments()).isEqualTo(1);
+
+        verify(submissionRepository, times(1)).delete(copy);
+    }
+
+    @Test
+    void replaceContent_RewrittenSubmission_ShouldDropStalePair() {
+        // Given
+        String original = "int total = 0; for (int i = 0; i < n; i++) { total += values[i]; } return total;";
+        Submission first = submissionWithFingerprints(1L, original);
+        Submission copy = submissionWithFingerprints(2L, original);
+        given(submissionRepository.findByInstructor_IdAndAssignment(1L, "hw1")).willReturn(List.of(first, copy));
+        given(submissionRepository.findById(2L)).willReturn(Optional.of(copy));
+        given(submissionRepository.save(any(Submission.class))).willAnswer(invocation -> invocation.getArgument(0));
+        pairResultStore.replace(HW1, 0.5, 500, 3, List.of(new PairResult(1L, 2L, 1.0)));
+
+        // When
+        Optional<Submission> result = submissionService.replaceContent(2L, "String greet(String name) { return name.trim(); }");
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(pairResultStore.getResults(HW1).orElseThrow().getPairs()).isEmpty();
+        assertThat(submissionService.findOverlapping(2L).orElseThrow()).isEmpty();
+    }
+
+    private Submission submissionWithFingerprints(Long id, String content) {
+        Submission submission = new Submission(instructor, "hw1", "student" + id, "Main.java", content);
+        submission.setId(id);
+        submission.setFingerprints(fingerprintService.fingerprint(content, "Main.java").encode());
+        submission.setLanguage("java");
+        return submission;
+    }
+
+    // Test cases for lookup methods
+    @Test
+    void getSubmissionsByAssignment_ShouldDelegateToRepository() {
+        // Given
+        Submission submission = new Submission(instructor, "hw1", "alice", "Main.java", "content");
+        given(submissionRepository.findByInstructor_IdAndAssignment(1L, "hw1")).willReturn(List.of(submission));
+
+        // When
+        List<Submission> result = submissionService.getSubmissionsByAssignment(1L, "hw1");
+
+        // Then
+        assertThat(result).containsExactly(submission);
+
+        verify(submissionRepository, times(1)).findByInstructor_IdAndAssignment(1L, "hw1");
+    }
+
+    @Test
+    void getSubmissionById_NotFound_ShouldReturnEmptyOptional() {
+        // Given
+        given(submissionRepository.findById(5L)).willReturn(Optional.empty());
+
+        // When
+        Optional<Submission> result = submissionService.getSubmissionById(5L);
+
+        // Then
+        assertThat(result).isNotPresent();
+    }
+}
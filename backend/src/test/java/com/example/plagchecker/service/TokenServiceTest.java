@@ -0,0 +1,122 @@
+package com.example.plagchecker.service;
+
+import com.example.plagchecker.model.Instructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenServiceTest {
+
+    private static final long TTL = 60_000;
+
+    private final MutableClock clock = new MutableClock();
+    private final byte[] secret = new byte[32];
+    private TokenService tokenService;
+    private Instructor instructor;
+
+    @BeforeEach
+    void setUp() {
+        Arrays.fill(secret, (byte) 7);
+        tokenService = new TokenService(secret, TTL, clock);
+        instructor = new Instructor("john_doe", "password123", "John", "Doe");
+        instructor.setId(1L);
+    }
+
+    @Test
+    void verify_IssuedToken_ShouldReturnItsClaims() {
+        // Given
+        TokenService.IssuedToken issued = tokenService.issue(instructor);
+
+        // When
+        Optional<TokenService.Claims> claims = tokenService.verify(issued.token());
+
+        // Then
+        assertThat(claims).isPresent();
+        assertThat(claims.get().instructorId()).isEqualTo(1L);
+        assertThat(claims.get().username()).isEqualTo("john_doe");
+        assertThat(claims.get().expiresAt()).isEqualTo(issued.expiresAt());
+    }
+
+    @Test
+    void verify_TamperedOrForeignToken_ShouldBeRejected() {
+        // Given
+        String token = tokenService.issue(instructor).token();
+        Instructor other = new Instructor("kanav_singla", "password456", "Kanav", "Singla");
+        other.setId(2L);
+        String otherPayload = tokenService.issue(other).token().split("\\.")[0];
+        byte[] otherSecret = secret.clone();
+        otherSecret[0] = 8;
+        String foreign = new TokenService(otherSecret, TTL, clock).issue(instructor).token();
+
+        // When & Then
+        assertThat(tokenService.verify(otherPayload + "." + token.split("\\.")[1])).isEmpty();
+        assertThat(tokenService.verify(foreign)).isEmpty();
+        assertThat(tokenService.verify(token + "x")).isEmpty();
+        assertThat(tokenService.verify("not a token")).isEmpty();
+        assertThat(tokenService.verify(null)).isEmpty();
+    }
+
+    @Test
+    void verify_ExpiredToken_ShouldBeRejected() {
+        // Given
+        String token = tokenService.issue(instructor).token();
+
+        // When
+        clock.advance(TTL);
+
+        // Then
+        assertThat(tokenService.verify(token)).isEmpty();
+    }
+
+    @Test
+    void revokeAll_ShouldRejectEarlierTokensOnly() {
+        // Given
+        Instructor other = new Instructor("kanav_singla", "password456", "Kanav", "Singla");
+        other.setId(2L);
+        String before = tokenService.issue(instructor).token();
+        String untouched = tokenService.issue(other).token();
+
+        // When - a new login in the same millisecond as the revocation
+        tokenService.revokeAll(1L);
+        String after = tokenService.issue(instructor).token();
+
+        // Then
+        assertThat(tokenService.verify(before)).isEmpty();
+        assertThat(tokenService.verify(after)).isPresent();
+        assertThat(tokenService.verify(untouched)).isPresent();
+    }
+
+    @Test
+    void constructor_ShortSecret_ShouldThrow() {
+        // When & Then
+        assertThatThrownBy(() -> new TokenService(new byte[16], TTL, clock))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static class MutableClock extends Clock {
+        private long millis = 1_700_000_000_000L;
+
+        void advance(long delta) { millis += delta; }
+
+        @Override
+        public long millis() { return millis; }
+
+        @Override
+        public Instant instant() { return Instant.ofEpochMilli(millis); }
+
+        @Override
+        public ZoneId getZone() { return ZoneOffset.UTC; }
+
+        @Override
+        public Clock withZone(ZoneId zone) { return this; }
+    }
+}
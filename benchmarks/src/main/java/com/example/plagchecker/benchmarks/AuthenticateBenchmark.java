@@ -0,0 +1,52 @@
+package com.example.plagchecker.benchmarks;
+
+import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.service.InstructorService;
+import com.example.plagchecker.service.PasswordHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// InstructorService.authenticate against an in-memory repository, so the numbers
+// reflect the credential check itself rather than the database round trip.
+// storage=plaintext is the check before passwords were hashed, pbkdf2 the one after.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticateBenchmark {
+
+    @Param({"plaintext", "pbkdf2"})
+    private String storage;
+
+    @Param({"on", "off"})
+    private String cache;
+
+    private PasswordHasher passwordHasher;
+    private InstructorService instructorService;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        passwordHasher = new PasswordHasher(InMemoryInstructors.ITERATIONS, 0, 1, 1);
+        instructorService = InMemoryInstructors.service(passwordHasher,
+                storage.equals("pbkdf2") ? "instructor500" : null, cache.equals("on"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Benchmark
+    public Optional<Instructor> validCredentials() {
+        return instructorService.authenticate("instructor500", "password500");
+    }
+
+    @Benchmark
+    public Optional<Instructor> wrongPassword() {
+        return instructorService.authenticate("instructor500", "not-the-password");
+    }
+}
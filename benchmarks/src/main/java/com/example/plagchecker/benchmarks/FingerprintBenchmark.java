@@ -0,0 +1,41 @@
+package com.example.plagchecker.benchmarks;
+
+import com.example.plagchecker.engine.Fingerprints;
+import com.example.plagchecker.service.FingerprintService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FingerprintBenchmark {
+
+    @Param({"4096", "65536"})
+    private int length;
+
+    // Same k and window as application.properties
+    private final FingerprintService fingerprintService = new FingerprintService(25, 40);
+    private String source;
+    private long[] distinctHashes;
+
+    @Setup
+    public void setUp() {
+        source = SyntheticCorpus.source(new Random(42), length);
+        distinctHashes = fingerprintService.fingerprint(source).distinctHashes();
+    }
+
+    @Benchmark
+    public Fingerprints winnow() {
+        return fingerprintService.fingerprint(source);
+    }
+
+    @Benchmark
+    public long[] minHashSignature() {
+        return fingerprintService.minHashSignature(distinctHashes);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.plagchecker.benchmarks;
+
+import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.repository.InstructorRepository;
+import com.example.plagchecker.service.InstructorCache;
+import com.example.plagchecker.service.InstructorService;
+import com.example.plagchecker.service.PasswordHasher;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// An InstructorService over an in-memory repository, so login benchmarks measure
+// the credential check rather than the database round trip. instructor<i> has
+// password<i>. With an in-memory repository the instructor cache saves almost
+// nothing, so cache=on against off shows its own overhead; LoginLoadTest in the
+// backend measures what it saves against the database.
+final class InMemoryInstructors {
+
+    static final int INSTRUCTORS = 1000;
+    // PasswordHasher's floor, fixed rather than calibrated so runs stay comparable
+    static final int ITERATIONS = 100_000;
+
+    private InMemoryInstructors() {}
+
+    // hashedUsername's password is stored as a hash, everyone else's in plaintext as
+    // before hashing. findById finds nobody, so plaintext rows are never rehashed.
+    static InstructorService service(PasswordHasher passwordHasher, String hashedUsername, boolean cached)
+            throws ReflectiveOperationException {
+        Map<String, Instructor> instructors = new HashMap<>();
+        for (int i = 0; i < INSTRUCTORS; i++) {
+            String username = "instructor" + i;
+            String password = "password" + i;
+            Instructor instructor = new Instructor(username,
+                    username.equals(hashedUsername) ? passwordHasher.hash(password) : password, "First" + i, "Last" + i);
+            instructor.setId((long) i + 1);
+            instructors.put(username, instructor);
+        }
+        InstructorRepository repository = (InstructorRepository) Proxy.newProxyInstance(
+                InstructorRepository.class.getClassLoader(), new Class<?>[]{InstructorRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByUsername")) {
+                        return Optional.ofNullable(instructors.get((String) args[0]));
+                    }
+                    if (method.getName().equals("findById")) {
+                        return Optional.empty();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        InstructorService instructorService = new InstructorService();
+        set(instructorService, "instructorRepository", repository);
+        set(instructorService, "instructorCache", new InstructorCache(cached ? INSTRUCTORS : 0, 600));
+        set(instructorService, "passwordHasher", passwordHasher);
+        return instructorService;
+    }
+
+    private static void set(InstructorService instructorService, String name, Object value)
+            throws ReflectiveOperationException {
+        Field field = InstructorService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(instructorService, value);
+    }
+}
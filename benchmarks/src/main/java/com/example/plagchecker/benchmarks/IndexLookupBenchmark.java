@@ -0,0 +1,62 @@
+package com.example.plagchecker.benchmarks;
+
+import com.example.plagchecker.engine.IndexMemory;
+import com.example.plagchecker.engine.PostingsIndex;
+import com.example.plagchecker.service.FingerprintService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// One overlap query against an assignment index, cycling through the documents
+// so that both copied and original submissions are looked up. With offHeap the
+// postings are held in native memory; add -prof gc to compare collector time.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class IndexLookupBenchmark {
+
+    @Param({"1000", "10000"})
+    private int documents;
+
+    @Param({"false", "true"})
+    private boolean offHeap;
+
+    private IndexMemory memory;
+    private PostingsIndex index;
+    private long[][] hashes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        memory = IndexMemory.create(offHeap);
+        if (offHeap && !memory.isOffHeap()) {
+            throw new IllegalStateException("java.lang.foreign needs --enable-preview in this JVM");
+        }
+        FingerprintService fingerprintService = new FingerprintService(25, 40);
+        String[] sources = SyntheticCorpus.documents(7, documents, 4096, 0.2);
+        hashes = new long[documents][];
+        index = new PostingsIndex(1 << 12, memory);
+        for (int i = 0; i < documents; i++) {
+            hashes[i] = fingerprintService.fingerprint(sources[i]).distinctHashes();
+            index.add(i, hashes[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        index.close();
+        memory.close();
+    }
+
+    @Benchmark
+    public long forEachOverlap() {
+        long[] query = hashes[next];
+        next = next + 1 == documents ? 0 : next + 1;
+        long[] shared = new long[1];
+        index.forEachOverlap(query, (docId, sharedCount, docSize) -> shared[0] += sharedCount);
+        return shared[0];
+    }
+}
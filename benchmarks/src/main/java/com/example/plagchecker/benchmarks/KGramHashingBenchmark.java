@@ -0,0 +1,59 @@
+package com.example.plagchecker.benchmarks;
+
+import com.example.plagchecker.engine.Fingerprints;
+import com.example.plagchecker.engine.KGramHasher;
+import com.example.plagchecker.engine.ScalarKGramHasher;
+import com.example.plagchecker.engine.TextNormalizer;
+import com.example.plagchecker.engine.TokenStream;
+import com.example.plagchecker.service.FingerprintService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Scalar rolling hash against the Vector API hasher, alone and inside winnowing.
+// The fork gets the incubator module, so vectorized=true really is vectorised.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class KGramHashingBenchmark {
+
+    @Param({"4096", "65536"})
+    private int length;
+
+    @Param({"false", "true"})
+    private boolean vectorized;
+
+    private KGramHasher hasher;
+    private FingerprintService fingerprintService;
+    private TokenStream tokens;
+    private long[] hashes;
+    private String source;
+
+    @Setup
+    public void setUp() {
+        // Same k and window as application.properties
+        hasher = KGramHasher.create(25, vectorized);
+        fingerprintService = new FingerprintService(25, 40, vectorized);
+        if (vectorized && (hasher instanceof ScalarKGramHasher || !fingerprintService.isVectorized())) {
+            throw new IllegalStateException("jdk.incubator.vector is not available in this JVM");
+        }
+        source = SyntheticCorpus.source(new Random(42), length);
+        tokens = new TextNormalizer().normalize(source, new TokenStream());
+        hashes = new long[tokens.size()];
+    }
+
+    @Benchmark
+    public long[] hashKGrams() {
+        hasher.hash(tokens.codes(), tokens.size(), hashes);
+        return hashes;
+    }
+
+    @Benchmark
+    public Fingerprints winnow() {
+        return fingerprintService.fingerprint(source);
+    }
+}
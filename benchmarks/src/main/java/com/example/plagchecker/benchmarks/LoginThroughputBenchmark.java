@@ -0,0 +1,103 @@
+package com.example.plagchecker.benchmarks;
+
+import com.example.plagchecker.model.Instructor;
+import com.example.plagchecker.service.InstructorService;
+import com.example.plagchecker.service.PasswordHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Logins per second with 16 concurrent callers, standing in for request threads.
+// blocking hashes on the callers themselves, as authenticate does; pooled hands the
+// hash to PasswordHasher's pool, as the login endpoint does, with the default
+// pool size (half the cores) and a queue shorter than the number of callers, so
+// some logins are turned away. The accepted and rejected counters split the
+// pooled score; only accepted logins did any hashing. A turned-away caller waits
+// REJECT_BACKOFF_MILLIS, as a client told to retry would, rather than spinning on
+// the cores the pool needs. pooledLatency samples the same logins one by one, so
+// JMH reports their percentiles (p99 included, rejections with their backoff).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class LoginThroughputBenchmark {
+
+    private static final long REJECT_BACKOFF_MILLIS = 10;
+
+    @Param({"plaintext", "pbkdf2"})
+    private String storage;
+
+    @Param({"on", "off"})
+    private String cache;
+
+    private PasswordHasher passwordHasher;
+    private InstructorService instructorService;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long accepted;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            accepted = 0;
+            rejected = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        passwordHasher = new PasswordHasher(InMemoryInstructors.ITERATIONS, 0, 0, 4);
+        instructorService = InMemoryInstructors.service(passwordHasher,
+                storage.equals("pbkdf2") ? "instructor500" : null, cache.equals("on"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Benchmark
+    public Optional<Instructor> blocking() {
+        return instructorService.authenticate("instructor500", "password500");
+    }
+
+    @Benchmark
+    public Optional<Instructor> pooled(Outcomes outcomes) {
+        Optional<Instructor> instructor = pooledLogin();
+        if (instructor == null) {
+            outcomes.rejected++;
+            return Optional.empty();
+        }
+        outcomes.accepted++;
+        return instructor;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Optional<Instructor> pooledLatency() {
+        return pooledLogin();
+    }
+
+    // null when the pool turned the login away, after the backoff
+    private Optional<Instructor> pooledLogin() {
+        try {
+            return instructorService.authenticateAsync("instructor500", "password500").join();
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof RejectedExecutionException)) {
+                throw e;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(REJECT_BACKOFF_MILLIS));
+            return null;
+        }
+    }
+}
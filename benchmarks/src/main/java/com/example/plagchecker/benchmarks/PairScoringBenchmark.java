@@ -0,0 +1,75 @@
+package com.example.plagchecker.benchmarks;
+
+import com.example.plagchecker.engine.GreedyStringTiling;
+import com.example.plagchecker.engine.MinHasher;
+import com.example.plagchecker.engine.TiledPairScheduler;
+import com.example.plagchecker.engine.TokenStream;
+import com.example.plagchecker.engine.TopPairs;
+import com.example.plagchecker.service.FingerprintService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PairScoringBenchmark {
+
+    @Param({"500"})
+    private int documents;
+
+    private long[][] hashes;
+    private long[] leftHashes;
+    private long[] rightHashes;
+    private TokenStream leftTokens;
+    private TokenStream rightTokens;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        FingerprintService fingerprintService = new FingerprintService(25, 40);
+        String[] sources = SyntheticCorpus.documents(11, documents, 4096, 0.2);
+        hashes = new long[documents][];
+        for (int i = 0; i < documents; i++) {
+            hashes[i] = fingerprintService.fingerprint(sources[i]).distinctHashes();
+        }
+        String original = SyntheticCorpus.source(new Random(3), 8192);
+        String copy = SyntheticCorpus.disguise(original, new Random(4));
+        leftHashes = fingerprintService.fingerprint(original).distinctHashes();
+        rightHashes = fingerprintService.fingerprint(copy).distinctHashes();
+        leftTokens = fingerprintService.tokenize(original, new TokenStream());
+        rightTokens = fingerprintService.tokenize(copy, new TokenStream());
+        pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double jaccard() {
+        return MinHasher.jaccard(leftHashes, rightHashes);
+    }
+
+    @Benchmark
+    public int greedyStringTiling() {
+        return new GreedyStringTiling(30)
+                .tile(leftTokens.codes(), leftTokens.size(), rightTokens.codes(), rightTokens.size())
+                .size();
+    }
+
+    // Exact all-pairs check of the whole corpus, as run by ALL_PAIRS mode
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long allPairs() {
+        return new TiledPairScheduler(64).run(pool, documents,
+                (first, second) -> MinHasher.jaccard(hashes[first], hashes[second]),
+                () -> new TopPairs(0.5, 500, 3), pairs -> {}).matched();
+    }
+}
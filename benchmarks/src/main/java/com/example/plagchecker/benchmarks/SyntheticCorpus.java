@@ -0,0 +1,75 @@
+package com.example.plagchecker.benchmarks;
+
+import java.util.Random;
+
+// Reproducible Java-like sources for the benchmarks. The same seed always yields
+// the same corpus, and a share of documents are lightly disguised copies of
+// earlier ones, so index lookups and pair scoring see realistic overlap.
+final class SyntheticCorpus {
+
+    private static final String[] TYPES = {"int", "long", "double", "String", "boolean", "List<Integer>"};
+    private static final String[] NAMES = {"total", "count", "index", "value", "result", "buffer", "left", "right",
+            "node", "sum", "limit", "offset", "current", "next", "item", "score"};
+    private static final String[] CALLS = {"compute", "update", "process", "merge", "check", "append", "visit", "scale"};
+
+    private SyntheticCorpus() {}
+
+    static String source(Random random, int length) {
+        StringBuilder out = new StringBuilder(length + 128);
+        out.append("public class Solution").append(random.nextInt(1000)).append(" {\n");
+        while (out.length() < length) {
+            out.append("    ").append(TYPES[random.nextInt(TYPES.length)]).append(' ')
+                    .append(CALLS[random.nextInt(CALLS.length)]).append(random.nextInt(100)).append("(int n) {\n");
+            int statements = 3 + random.nextInt(8);
+            for (int i = 0; i < statements && out.length() < length; i++) {
+                statement(random, out);
+            }
+            out.append("    }\n\n");
+        }
+        return out.append("}\n").toString();
+    }
+
+    static String[] documents(long seed, int count, int length, double copiedFraction) {
+        Random random = new Random(seed);
+        String[] documents = new String[count];
+        for (int i = 0; i < count; i++) {
+            documents[i] = i > 0 && random.nextDouble() < copiedFraction
+                    ? disguise(documents[random.nextInt(i)], random)
+                    : source(random, length);
+        }
+        return documents;
+    }
+
+    // Renames a few identifiers and inserts comments, as a student hiding a copy would
+    static String disguise(String original, Random random) {
+        String copy = original;
+        for (int i = 0; i < 3; i++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            copy = copy.replace(" " + name + " ", " " + name + random.nextInt(10) + " ");
+        }
+        StringBuilder out = new StringBuilder(copy.length() + 256);
+        for (String line : copy.split("\n")) {
+            out.append(line).append('\n');
+            if (random.nextInt(12) == 0) {
+                out.append("        // my own work\n");
+            }
+        }
+        return out.toString();
+    }
+
+    private static void statement(Random random, StringBuilder out) {
+        String name = NAMES[random.nextInt(NAMES.length)];
+        String other = NAMES[random.nextInt(NAMES.length)];
+        switch (random.nextInt(4)) {
+            case 0 -> out.append("        int ").append(name).append(" = ").append(other).append(" * ")
+                    .append(random.nextInt(64)).append(" + n;\n");
+            case 1 -> out.append("        for (int i = 0; i < n; i++) { ").append(name).append(" += ")
+                    .append(other).append("[i]; }\n");
+            case 2 -> out.append("        if (").append(name).append(" > ").append(other).append(") { return ")
+                    .append(CALLS[random.nextInt(CALLS.length)]).append('(').append(name).append("); }\n");
+            default -> out.append("        ").append(name).append(" = ")
+                    .append(CALLS[random.nextInt(CALLS.length)]).append('(').append(other).append(", ")
+                    .append(random.nextInt(1000)).append(");\n");
+        }
+    }
+}
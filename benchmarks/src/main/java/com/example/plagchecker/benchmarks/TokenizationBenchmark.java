@@ -0,0 +1,42 @@
+package com.example.plagchecker.benchmarks;
+
+import com.example.plagchecker.engine.JavaLexer;
+import com.example.plagchecker.engine.TextNormalizer;
+import com.example.plagchecker.engine.TokenStream;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizationBenchmark {
+
+    @Param({"4096", "65536"})
+    private int length;
+
+    private final TextNormalizer normalizer = new TextNormalizer();
+    private final JavaLexer lexer = new JavaLexer();
+    private final TokenStream tokens = new TokenStream();
+    private String source;
+
+    @Setup
+    public void setUp() {
+        source = SyntheticCorpus.source(new Random(42), length);
+    }
+
+    @Benchmark
+    public int normalize() {
+        return normalizer.normalize(source, tokens).size();
+    }
+
+    @Benchmark
+    public int lexJava() {
+        lexer.tokenize(source, tokens);
+        return tokens.size();
+    }
+}
@@ -1,6 +1,9 @@
 import React, { useState } from 'react';
 import './App.css';
 
+// Rows kept in the live results table; the full ranking is in the final result
+const MAX_LIVE_PAIRS = 200;
+
 function App() {
     const [showSignInModal, setShowSignInModal] = useState(false);
     const [showSignUpModal, setShowSignUpModal] = useState(false);
@@ -32,6 +35,15 @@ function App() {
     });
     const [passwordError, setPasswordError] = useState('');
 
+    // Running check, followed live over Server-Sent Events
+    const [checkForm, setCheckForm] = useState({ assignment: '', mode: 'INDEX' });
+    const [checkStatus, setCheckStatus] = useState(null);
+    const [livePairs, setLivePairs] = useState([]);
+    const eventSourceRef = React.useRef(null);
+
+    // Session token from login, sent instead of credentials
+    const authHeaders = () => (user && user.token ? { Authorization: `Bearer ${user.token}` } : {});
+
     // Handle Sign In
     const handleSignIn = async (e) => {
         e.preventDefault();
@@ -47,6 +59,11 @@ function App() {
                 return;
             }
 
+            if (res.status === 503) {
+                setMessage('Too many sign-ins right now. Please try again in a moment.');
+                return;
+            }
+
             if (!res.ok) {
                 setMessage('Sign in failed. Please try again.');
                 return;
@@ -79,6 +96,8 @@ function App() {
             if (response.ok) {
                 const newInstructor = await response.json();
                 setMessage(`Welcome ${newInstructor.firstName}! Your account has been created successfully.`);
+            } else if (response.status === 503) {
+                setMessage('Too many sign-ups right now. Please try again in a moment.');
             } else {
                 setMessage('Error creating account. Username might already exist.');
             }
@@ -117,8 +136,91 @@ function App() {
         setPasswordError('');
     };
 
+    // Most similar first; a pair seen again (e.g. after a reconnect) replaces the earlier copy
+    const mergePairs = (current, incoming) => {
+        const byKey = new Map(current.map(pair => [`${pair.firstSubmissionId}:${pair.secondSubmissionId}`, pair]));
+        incoming.forEach(pair => byKey.set(`${pair.firstSubmissionId}:${pair.secondSubmissionId}`, pair));
+        return Array.from(byKey.values())
+            .sort((a, b) => b.similarity - a.similarity)
+            .slice(0, MAX_LIVE_PAIRS);
+    };
+
+    const stopCheckStream = () => {
+        if (eventSourceRef.current) {
+            eventSourceRef.current.close();
+            eventSourceRef.current = null;
+        }
+    };
+
+    // Start a check, then render its pairs and progress as the backend streams them
+    const handleStartCheck = async (e) => {
+        e.preventDefault();
+        stopCheckStream();
+        setLivePairs([]);
+        setCheckStatus(null);
+        try {
+            const response = await fetch('http://localhost:8080/api/checks', {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json', ...authHeaders() },
+                body: JSON.stringify(checkForm)
+            });
+
+            if (!response.ok) {
+                setCheckStatus({ state: 'FAILED', error: 'Could not start the check' });
+                return;
+            }
+
+            const job = await response.json();
+            setCheckStatus({ state: job.state, progress: 0, droppedPairs: 0 });
+            const source = new EventSource(`http://localhost:8080/api/checks/${job.id}/events`
+                + (user && user.token ? `?token=${encodeURIComponent(user.token)}` : ''));
+            eventSourceRef.current = source;
+
+            source.addEventListener('status', (event) => {
+                const status = JSON.parse(event.data);
+                setLivePairs(current => mergePairs(current, status.partialPairs || []));
+                setCheckStatus(current => ({ ...current, state: status.state, progress: status.progress }));
+            });
+            source.addEventListener('pairs', (event) => {
+                const pairs = JSON.parse(event.data);
+                setLivePairs(current => mergePairs(current, pairs));
+            });
+            source.addEventListener('progress', (event) => {
+                const progress = JSON.parse(event.data);
+                setCheckStatus(current => ({ ...current, ...progress }));
+            });
+            source.addEventListener('complete', (event) => {
+                const status = JSON.parse(event.data);
+                // Closed here, or the browser would reconnect and replay the finished job
+                stopCheckStream();
+                setLivePairs(current => status.result ? status.result.pairs.slice(0, MAX_LIVE_PAIRS) : current);
+                setCheckStatus(current => ({ ...current, state: status.state, progress: status.progress, error: status.error }));
+            });
+            source.onerror = () => {
+                // The browser reconnects by itself unless the stream was refused
+                if (source.readyState === EventSource.CLOSED) {
+                    eventSourceRef.current = null;
+                    setCheckStatus(current => ({ ...current, state: 'FAILED', error: 'Lost connection to the check' }));
+                }
+            };
+        } catch (error) {
+            setCheckStatus({ state: 'FAILED', error: 'Error connecting to server' });
+        }
+    };
+
+    const handleCheckFormChange = (e) => {
+        setCheckForm({
+            ...checkForm,
+            [e.target.name]: e.target.value
+        });
+    };
+
+    // Close the stream when leaving the dashboard
+    React.useEffect(() => stopCheckStream, []);
+
     // Handle logout
     const handleLogout = () => {
+        stopCheckStream();
         setUser(null);
         setIsLoggedIn(false);
         setMessage('');
@@ -147,10 +249,12 @@ function App() {
         }
         
         try {
-            const response = await fetch(`http://localhost:8080/api/instructors/password/${user.username}`, {
+            // The session token says who we are; changing the password ends the session
+            const response = await fetch('http://localhost:8080/api/instructors/me/password', {
                 method: 'PUT',
                 headers: {
                     'Content-Type': 'application/json',
+                    ...authHeaders()
                 },
                 body: JSON.stringify({
                     oldPassword: passwordData.oldPassword,
@@ -170,6 +274,8 @@ function App() {
                     setShowProfileDropdown(false);
                     handleLogout();
                 }, 2000);
+            } else if (response.status === 503) {
+                setPasswordError('Too many requests right now. Please try again in a moment.');
             } else {
                 setPasswordError('Invalid old password');
             }
@@ -430,7 +536,71 @@ function App() {
                             <p>View your previous plagiarism check reports</p>
                             <button className="btn btn-secondary">View Reports</button>
                         </div>
+
+                        <div className="card">
+                            <h3>Run Check</h3>
+                            <p>Compare all submissions of an assignment; pairs appear as they are found</p>
+                            <form className="check-form" onSubmit={handleStartCheck}>
+                                <input
+                                    type="text"
+                                    name="assignment"
+                                    placeholder="Assignment"
+                                    value={checkForm.assignment}
+                                    onChange={handleCheckFormChange}
+                                    required
+                                />
+                                <select name="mode" value={checkForm.mode} onChange={handleCheckFormChange}>
+                                    <option value="INDEX">Index</option>
+                                    <option value="MINHASH_LSH">MinHash LSH</option>
+                                    <option value="ALL_PAIRS">All pairs</option>
+                                </select>
+                                <button type="submit" className="btn btn-primary">Run</button>
+                            </form>
+                        </div>
                     </div>
+
+                    {checkStatus && (
+                        <div className="check-panel">
+                            <div className="check-progress">
+                                <div
+                                    className="check-progress-bar"
+                                    style={{ width: `${Math.round((checkStatus.progress || 0) * 100)}%` }}
+                                />
+                            </div>
+                            <div className="check-summary">
+                                {checkStatus.state} · {Math.round((checkStatus.progress || 0) * 100)}%
+                                {checkStatus.etaMillis != null && checkStatus.state === 'RUNNING' &&
+                                    ` · about ${Math.ceil(checkStatus.etaMillis / 1000)}s left`}
+                                {checkStatus.droppedPairs > 0 &&
+                                    ` · ${checkStatus.droppedPairs} pairs not shown yet, they arrive with the final result`}
+                            </div>
+                            {checkStatus.error && (
+                                <div className="form-error">
+                                    {checkStatus.error}
+                                </div>
+                            )}
+                            {livePairs.length > 0 && (
+                                <table className="pairs-table">
+                                    <thead>
+                                        <tr>
+                                            <th>Submission</th>
+                                            <th>Submission</th>
+                                            <th>Similarity</th>
+                                        </tr>
+                                    </thead>
+                                    <tbody>
+                                        {livePairs.map(pair => (
+                                            <tr key={`${pair.firstSubmissionId}:${pair.secondSubmissionId}`}>
+                                                <td>{pair.firstSubmissionId}</td>
+                                                <td>{pair.secondSubmissionId}</td>
+                                                <td>{(pair.similarity * 100).toFixed(1)}%</td>
+                                            </tr>
+                                        ))}
+                                    </tbody>
+                                </table>
+                            )}
+                        </div>
+                    )}
                 </div>
             </main>
 